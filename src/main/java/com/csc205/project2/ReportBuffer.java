@@ -0,0 +1,86 @@
+package com.csc205.project2;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Reusable text buffer for large reports.
+ * <p>
+ * Callers append to {@link #text()} and call {@link #flushIfFull()} after
+ * each record; the text is encoded in the stream's charset into one
+ * reused byte buffer and written in chunks of about {@link #CAPACITY}
+ * characters, instead of one formatted string and one write per line.
+ * <p>
+ * This class is not thread-safe.
+ */
+class ReportBuffer {
+
+    /** Number of characters buffered before a flush. */
+    static final int CAPACITY = 16 * 1024;
+
+    private final PrintStream out;
+
+    private final StringBuilder text = new StringBuilder(CAPACITY + 1024);
+
+    private final CharsetEncoder encoder;
+
+    private final ByteBuffer bytes;
+
+    /**
+     * Constructs a buffer that writes to a stream in the stream's charset.
+     *
+     * @param out destination stream
+     */
+    ReportBuffer(PrintStream out) {
+        this.out = out;
+        this.encoder = out.charset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocate((int) (CAPACITY * encoder.maxBytesPerChar()));
+    }
+
+    /**
+     * Returns the builder that holds unwritten text.
+     *
+     * @return text buffer
+     */
+    StringBuilder text() {
+        return text;
+    }
+
+    /**
+     * Writes the buffered text if it has reached {@link #CAPACITY}.
+     */
+    void flushIfFull() {
+        if (text.length() >= CAPACITY) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all buffered text and flushes the stream.
+     */
+    void flush() {
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, true);
+            if (result.isUnderflow() && encoder.flush(bytes).isUnderflow()) {
+                break;
+            }
+            writeBytes();
+        }
+        writeBytes();
+        out.flush();
+        text.setLength(0);
+    }
+
+    private void writeBytes() {
+        out.write(bytes.array(), 0, bytes.position());
+        bytes.clear();
+    }
+}
@@ -1,21 +1,63 @@
 package com.csc205.project2;
 
+import com.csc205.project2.analysis.AnalysisEngine;
+import com.csc205.project2.analysis.AnalysisResult;
+import com.csc205.project2.analysis.MetricSummary;
+import com.csc205.project2.instrumentation.ExportEvent;
+import com.csc205.project2.instrumentation.Instrumentation;
+import com.csc205.project2.instrumentation.Operation;
+import com.csc205.project2.instrumentation.OperationStatistics;
+import com.csc205.project2.pipeline.AggregatingSink;
+import com.csc205.project2.pipeline.PipelineResult;
+import com.csc205.project2.pipeline.ShapeFileSink;
+import com.csc205.project2.pipeline.ShapePipeline;
+import com.csc205.project2.pipeline.ShapeSink;
+import com.csc205.project2.server.ShapeServer;
 import com.csc205.project2.shapes.*;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * Driver program for analyzing 3D shapes.
  * Demonstrates polymorphism, comparative analysis, user interaction,
- * performance timing, and formatted output.
+ * and formatted output.
+ * <p>
+ * Performance is measured with the JMH benchmarks under
+ * {@code src/test/java}; run them with
+ * {@code mvn -P benchmarks test-compile exec:exec}.
+ * <p>
+ * With {@code --serve [port]} the program runs the {@link ShapeServer}
+ * HTTP service instead of the interactive session. With
+ * {@code --pipeline <csv> [shape file]} it streams a CSV file through a
+ * {@link ShapePipeline}, prints the aggregation summary and optionally
+ * exports the shapes to a binary shape file.
+ * <p>
+ * Run with {@code -Dshapes.instrumentation=true} to print per-operation
+ * call counts and latencies at the end (see {@link Instrumentation}).
  */
 public class ShapeDriver {
 
-    public static void main(String[] args) {
+    private static final AnalysisEngine ANALYSIS_ENGINE = new AnalysisEngine();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--serve")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : ShapeServer.DEFAULT_PORT;
+            ShapeServer server = ShapeServer.start(port);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.out.println("Shape service listening on port " + server.getPort());
+            return;
+        }
+
+        if (args.length > 1 && args[0].equals("--pipeline")) {
+            runPipeline(Path.of(args[1]), args.length > 2 ? Path.of(args[2]) : null);
+            return;
+        }
+
         System.out.println("=== 3D Shape Analysis System ===\n");
 
-        List<Shape3D> shapes = new ArrayList<>();
+        ShapeRegistry shapes = new ShapeRegistry();
 
         // Predefined shapes
         shapes.add(new Sphere(5.0, "Red Ball", "Red"));
@@ -24,116 +66,150 @@ public class ShapeDriver {
         shapes.add(new RectangularPrism(2.0, 5.0, 6.0, "Yellow Brick", "Yellow"));
         shapes.add(new RectangularPyramid(4.0, 6.0, 9.0, "Purple Pyramid", "Purple"));
 
-        printShapes(shapes);
-        runAnalysis(shapes);
-        measurePerformance(shapes);
+        printShapes(shapes.snapshot());
+        runAnalysis(shapes.snapshot());
         interactiveShapeCreation(shapes);
 
+        if (Instrumentation.isEnabled()) {
+            System.out.println("\nInstrumentation:");
+            for (OperationStatistics statistics : Instrumentation.getAllStatistics()) {
+                System.out.println("- " + statistics);
+            }
+        }
         System.out.println("\n=== Program Complete ===");
     }
 
+    /**
+     * Streams a CSV file through aggregation and, optionally, export,
+     * without holding the whole file in memory.
+     */
+    private static void runPipeline(Path csv, Path export) throws IOException {
+        AggregatingSink aggregation = new AggregatingSink();
+        List<ShapeSink> sinks = export == null
+                ? List.of(aggregation)
+                : List.of(aggregation, new ShapeFileSink(export));
+        PipelineResult result = new ShapePipeline(sinks).run(csv);
+        System.out.println("Processed " + result.shapeCount() + " shapes in " + result.batchCount() + " batches");
+        System.out.println(aggregation.summary());
+    }
+
     /**
      * Prints all created shapes with formatted details and properties.
+     * Text is built in one reusable buffer and written in large chunks,
+     * without per-line format strings. Volumes and surface areas are
+     * computed up front with one loop per shape class (see
+     * {@link TypePartitionedShapes}) and printed in list order.
      */
     private static void printShapes(List<Shape3D> shapes) {
+        boolean instrumented = Instrumentation.isEnabled();
+        long start = instrumented ? Instrumentation.start() : 0;
+        ExportEvent event = new ExportEvent();
+        event.begin();
         System.out.println("Created Shapes:");
 
-        int index = 1;
-        for (Shape3D shape : shapes) {
-            System.out.printf("%d. %s %s%n", index++, shape.getClass().getSimpleName(),
-                    formatProperties(shape));
-
-            System.out.printf("   - Surface Area: %.2f square units%n",
-                    shape.getSurfaceArea());
-            System.out.printf("   - Volume: %.2f cubic units%n%n",
-                    shape.getVolume());
+        double[] volumes = new double[shapes.size()];
+        double[] surfaceAreas = new double[shapes.size()];
+        new TypePartitionedShapes(shapes).computeMetrics(volumes, surfaceAreas);
+
+        ReportBuffer report = new ReportBuffer(System.out);
+        String newLine = System.lineSeparator();
+        for (int i = 0; i < shapes.size(); i++) {
+            Shape3D shape = shapes.get(i);
+            StringBuilder sb = report.text();
+            sb.append(i + 1).append(". ").append(shape.getClass().getSimpleName()).append(' ');
+            appendProperties(sb, shape).append(newLine);
+
+            FixedDecimal.append(sb.append("   - Surface Area: "), surfaceAreas[i], 2)
+                    .append(" square units").append(newLine);
+            FixedDecimal.append(sb.append("   - Volume: "), volumes[i], 2)
+                    .append(" cubic units").append(newLine).append(newLine);
+            report.flushIfFull();
+        }
+        report.flush();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.destination = "stdout";
+            event.format = "text";
+            event.shapeCount = shapes.size();
+            event.commit();
+        }
+        if (instrumented) {
+            Instrumentation.record(Operation.PRINT_SHAPES, start);
         }
     }
 
     /**
-     * Formats shape-specific properties for output.
+     * Appends shape-specific properties for output.
      */
-    private static String formatProperties(Shape3D shape) {
-        if (shape instanceof Sphere s) {
-            return String.format("{name='%s', radius=%.1f}",
-                    s.getName(), s.getRadius());
-        }
-        if (shape instanceof Cube c) {
-            return String.format("{name='%s', side=%.1f}",
-                    c.getName(), c.getSideLength());
-        }
-        if (shape instanceof Cylinder c) {
-            return String.format("{name='%s', radius=%.1f, height=%.1f}",
-                    c.getName(), c.getRadius(), c.getHeight());
-        }
-        if (shape instanceof RectangularPrism r) {
-            return String.format("{name='%s', length=%.1f, width=%.1f, height=%.1f}",
-                    r.getName(), r.getLength(), r.getWidth(), r.getHeight());
-        }
-        if (shape instanceof RectangularPyramid p) {
-            return String.format("{name='%s', baseLength=%.1f, baseWidth=%.1f, height=%.1f}",
-                    p.getName(), p.getBaseLength(), p.getBaseWidth(), p.getHeight());
+    private static StringBuilder appendProperties(StringBuilder sb, Shape3D shape) {
+        sb.append("{name='").append(shape.getName()).append('\'');
+        switch (shape) {
+            case Sphere s -> appendProperty(sb, "radius", s.getRadius());
+            case Cube c -> appendProperty(sb, "side", c.getSideLength());
+            case Cylinder c -> {
+                appendProperty(sb, "radius", c.getRadius());
+                appendProperty(sb, "height", c.getHeight());
+            }
+            case RectangularPrism r -> {
+                appendProperty(sb, "length", r.getLength());
+                appendProperty(sb, "width", r.getWidth());
+                appendProperty(sb, "height", r.getHeight());
+            }
+            case RectangularPyramid p -> {
+                appendProperty(sb, "baseLength", p.getBaseLength());
+                appendProperty(sb, "baseWidth", p.getBaseWidth());
+                appendProperty(sb, "height", p.getHeight());
+            }
+            default -> {
+            }
         }
-        return "{name='" + shape.getName() + "'}";
+        return sb.append('}');
+    }
+
+    private static void appendProperty(StringBuilder sb, String label, double value) {
+        FixedDecimal.append(sb.append(", ").append(label).append('='), value, 1);
     }
 
     /**
      * Performs comparative analysis on the shapes.
      */
     private static void runAnalysis(List<Shape3D> shapes) {
-        Shape3D maxVolume = shapes.get(0);
-        Shape3D maxSurface = shapes.get(0);
-        Shape3D mostEfficient = shapes.get(0);
-
-        for (Shape3D shape : shapes) {
-            if (shape.getVolume() > maxVolume.getVolume()) {
-                maxVolume = shape;
-            }
-            if (shape.getSurfaceArea() > maxSurface.getSurfaceArea()) {
-                maxSurface = shape;
-            }
-            if (shape.getVolume() / shape.getSurfaceArea() >
-                    mostEfficient.getVolume() / mostEfficient.getSurfaceArea()) {
-                mostEfficient = shape;
-            }
-        }
+        boolean instrumented = Instrumentation.isEnabled();
+        long start = instrumented ? Instrumentation.start() : 0;
+        AnalysisResult result = ANALYSIS_ENGINE.analyzeParallel(new TypePartitionedShapes(shapes));
+        Shape3D maxVolume = result.largestVolume();
+        Shape3D maxSurface = result.largestSurfaceArea();
+        Shape3D mostEfficient = result.mostEfficient();
 
         System.out.println("Analysis Results:");
         System.out.printf("- Largest Volume: %s (%.2f)%n",
-                maxVolume.getName(), maxVolume.getVolume());
+                maxVolume.getName(), result.volume().max());
         System.out.printf("- Largest Surface Area: %s (%.2f)%n",
-                maxSurface.getName(), maxSurface.getSurfaceArea());
-        System.out.printf("- Most Efficient (Volume/Surface): %s (%.2f)%n%n",
-                mostEfficient.getName(),
-                mostEfficient.getVolume() / mostEfficient.getSurfaceArea());
+                maxSurface.getName(), result.surfaceArea().max());
+        System.out.printf("- Most Efficient (Volume/Surface): %s (%.2f)%n",
+                mostEfficient.getName(), result.efficiency().max());
+        printSummary("Volume", result.volume());
+        printSummary("Surface Area", result.surfaceArea());
+        System.out.printf("- Efficiency: mean=%.2f, min=%.2f, max=%.2f%n%n",
+                result.efficiency().mean(), result.efficiency().min(), result.efficiency().max());
+        if (instrumented) {
+            Instrumentation.record(Operation.ANALYSIS, start);
+        }
     }
 
     /**
-     * Measures performance of volume and surface area calculations.
+     * Prints the total, mean and range of one metric.
      */
-    private static void measurePerformance(List<Shape3D> shapes) {
-        System.out.println("Performance Timing:");
-
-        for (Shape3D shape : shapes) {
-            long start = System.nanoTime();
-            for (int i = 0; i < 1_000_000; i++) {
-                shape.getVolume();
-                shape.getSurfaceArea();
-            }
-            long end = System.nanoTime();
-
-            System.out.printf("- %s: %.2f ms%n",
-                    shape.getClass().getSimpleName(),
-                    (end - start) / 1_000_000.0);
-        }
-
-        System.out.println();
+    private static void printSummary(String label, MetricSummary summary) {
+        System.out.printf("- %s: total=%.2f, mean=%.2f, min=%.2f, max=%.2f%n",
+                label, summary.total(), summary.mean(), summary.min(), summary.max());
     }
 
     /**
      * Allows the user to interactively create a shape.
      */
-    private static void interactiveShapeCreation(List<Shape3D> shapes) {
+    private static void interactiveShapeCreation(ShapeRegistry shapes) {
         Scanner scanner = new Scanner(System.in);
 
         System.out.println("Create a Custom Shape:");
@@ -170,6 +246,6 @@ public class ShapeDriver {
         }
 
         System.out.println("\nUpdated Shape List:\n");
-        printShapes(shapes);
+        printShapes(shapes.snapshot());
     }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeType;
+import com.csc205.project2.shapes.StringDictionary;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable per-(shape type, color) rollup produced by a
+ * {@link ShapeAggregator}.
+ * <p>
+ * Statistics are held in a few flat primitive arrays indexed by group, so
+ * a summary over any number of shapes costs O(types × colors) memory.
+ * Summaries of disjoint inputs combine with {@link #merge}.
+ * <p>
+ * Volume histograms use {@link #HISTOGRAM_BINS} power-of-two bins:
+ * bin {@code i} counts volumes in
+ * [{@link #binLowerBound(int) binLowerBound(i)}, {@code binLowerBound(i + 1)}),
+ * except that the first and last bins are open-ended.
+ */
+public final class AggregationSummary {
+
+    /** Number of volume histogram bins. */
+    public static final int HISTOGRAM_BINS = 32;
+
+    /** Base-2 exponent of the lower bound of bin 1. */
+    private static final int FIRST_EXPONENT = -7;
+
+    private final GroupAccumulator groups;
+
+    AggregationSummary(GroupAccumulator groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * Returns an empty summary.
+     *
+     * @return summary with no shapes
+     */
+    public static AggregationSummary empty() {
+        return new AggregationSummary(new GroupAccumulator(0));
+    }
+
+    /** Histogram bin of a volume. */
+    static int binOf(double volume) {
+        if (!(volume >= binLowerBound(1))) {
+            return 0;
+        }
+        int bin = Math.getExponent(volume) - FIRST_EXPONENT + 1;
+        return Math.min(bin, HISTOGRAM_BINS - 1);
+    }
+
+    /**
+     * Returns the smallest volume counted in a histogram bin.
+     *
+     * @param bin bin index
+     * @return inclusive lower bound; negative infinity for bin 0
+     * @throws IllegalArgumentException if bin is out of range
+     */
+    public static double binLowerBound(int bin) {
+        if (bin < 0 || bin >= HISTOGRAM_BINS) {
+            throw new IllegalArgumentException("Bin must be between 0 and " + (HISTOGRAM_BINS - 1) + ".");
+        }
+        return bin == 0 ? Double.NEGATIVE_INFINITY : Math.scalb(1.0, FIRST_EXPONENT + bin - 1);
+    }
+
+    /**
+     * Returns a new summary that combines this one with another.
+     *
+     * @param other summary of a disjoint set of shapes
+     * @return combined summary
+     */
+    public AggregationSummary merge(AggregationSummary other) {
+        return new AggregationSummary(groups.copy().merge(other.groups));
+    }
+
+    /**
+     * Returns the total number of shapes.
+     *
+     * @return shape count
+     */
+    public long count() {
+        long total = 0;
+        for (long count : groups.counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the statistics of one type and color.
+     *
+     * @param type  shape type
+     * @param color shape color
+     * @return group statistics, with a zero count if no shape matched
+     * @throws IllegalArgumentException if color is null
+     */
+    public GroupStatistics group(ShapeType type, String color) {
+        int colorId = colorIdOf(color);
+        return colorId < 0 ? emptyGroup(type, color)
+                : rollup(type, color.trim(), type.ordinal(), colorId);
+    }
+
+    /**
+     * Returns the statistics of one type over all colors.
+     *
+     * @param type shape type
+     * @return type rollup
+     */
+    public GroupStatistics byType(ShapeType type) {
+        return rollup(type, null, type.ordinal(), -1);
+    }
+
+    /**
+     * Returns the statistics of one color over all types.
+     *
+     * @param color shape color
+     * @return color rollup, with a zero count if no shape matched
+     * @throws IllegalArgumentException if color is null
+     */
+    public GroupStatistics byColor(String color) {
+        int colorId = colorIdOf(color);
+        return colorId < 0 ? emptyGroup(null, color) : rollup(null, color.trim(), -1, colorId);
+    }
+
+    private static int colorIdOf(String color) {
+        if (color == null) {
+            throw new IllegalArgumentException("Shape color cannot be null or blank.");
+        }
+        return Shape3D.getColorDictionary().idOf(color.trim());
+    }
+
+    private static GroupStatistics emptyGroup(ShapeType type, String color) {
+        return new GroupStatistics(type, color.trim(), 0, 0, 0, 0, new long[HISTOGRAM_BINS]);
+    }
+
+    /**
+     * Returns the statistics of every non-empty (type, color) group,
+     * ordered by color id, then type.
+     *
+     * @return groups
+     */
+    public List<GroupStatistics> groups() {
+        StringDictionary colors = Shape3D.getColorDictionary();
+        List<GroupStatistics> result = new ArrayList<>();
+        for (int g = 0; g < groups.counts.length; g++) {
+            if (groups.counts[g] > 0) {
+                int colorId = g / GroupAccumulator.TYPES;
+                int type = g % GroupAccumulator.TYPES;
+                result.add(rollup(ShapeType.fromTag(type), colors.lookup(colorId), type, colorId));
+            }
+        }
+        return result;
+    }
+
+    /** Sums the groups matching a type ordinal and color id, where -1 matches all. */
+    private GroupStatistics rollup(ShapeType type, String color, int typeFilter, int colorId) {
+        long count = 0;
+        double volume = 0;
+        double area = 0;
+        double efficiency = 0;
+        long[] histogram = new long[HISTOGRAM_BINS];
+        for (int g = 0; g < groups.counts.length; g++) {
+            if ((typeFilter >= 0 && g % GroupAccumulator.TYPES != typeFilter)
+                    || (colorId >= 0 && g / GroupAccumulator.TYPES != colorId)
+                    || groups.counts[g] == 0) {
+                continue;
+            }
+            count += groups.counts[g];
+            volume += groups.volumes[g];
+            area += groups.areas[g];
+            efficiency += groups.efficiencies[g];
+            for (int b = 0; b < HISTOGRAM_BINS; b++) {
+                histogram[b] += groups.histograms[g * HISTOGRAM_BINS + b];
+            }
+        }
+        return new GroupStatistics(type, color, count, volume, area, efficiency, histogram);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AggregationSummary other && groups().equals(other.groups());
+    }
+
+    @Override
+    public int hashCode() {
+        return groups().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AggregationSummary" + groups();
+    }
+}
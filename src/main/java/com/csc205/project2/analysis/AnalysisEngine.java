@@ -0,0 +1,325 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.instrumentation.AnalysisEvent;
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.TypePartitionedShapes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes summary statistics for a shape collection in a single pass.
+ * <p>
+ * Volume and surface area are read once per shape. The pass reports the
+ * shapes with the largest volume, largest surface area and best
+ * volume/surface ratio, plus minimum, maximum, total and mean of each of
+ * those three metrics.
+ * <p>
+ * {@link #analyzeParallel(List)} splits the collection with a
+ * {@link ShapeSpliterator} and reduces it on a fork-join pool.
+ * {@link #analyze(List)} walks the same tree of blocks sequentially, so
+ * both methods return identical results, down to the last bit of every
+ * total. Each pass emits an {@link AnalysisEvent}.
+ * <p>
+ * The {@link TypePartitionedShapes} overloads first compute every volume
+ * and surface area with one loop per shape class, where the formulas are
+ * inlined, and then reduce the precomputed values over the same tree of
+ * blocks in list order, so they too return results identical to
+ * {@link #analyze(List)}.
+ */
+public class AnalysisEngine {
+
+    /** Default number of shapes reduced sequentially by one task. */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private final ForkJoinPool pool;
+
+    private final int blockSize;
+
+    /**
+     * Constructs an engine that runs parallel passes on the common pool.
+     */
+    public AnalysisEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructs an engine with a specific pool and block size.
+     *
+     * @param pool      pool used by {@link #analyzeParallel(List)}
+     * @param blockSize number of shapes reduced sequentially by one task
+     * @throws IllegalArgumentException if pool is null or blockSize is not positive
+     */
+    public AnalysisEngine(ForkJoinPool pool, int blockSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null.");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be greater than zero.");
+        }
+        this.pool = pool;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Analyzes the shapes on the calling thread.
+     *
+     * @param shapes the shapes to analyze
+     * @return analysis result
+     * @throws IllegalArgumentException if shapes is null or empty
+     */
+    public AnalysisResult analyze(List<? extends Shape3D> shapes) {
+        AnalysisEvent event = new AnalysisEvent();
+        event.begin();
+        AnalysisResult result = reduce(spliterator(shapes)).toResult();
+        event.commit("analyze", result.count());
+        return result;
+    }
+
+    /**
+     * Analyzes the shapes in parallel on this engine's fork-join pool.
+     *
+     * @param shapes the shapes to analyze
+     * @return analysis result, identical to {@link #analyze(List)}
+     * @throws IllegalArgumentException if shapes is null or empty
+     */
+    public AnalysisResult analyzeParallel(List<? extends Shape3D> shapes) {
+        AnalysisEvent event = new AnalysisEvent();
+        event.begin();
+        AnalysisResult result = pool.invoke(new AnalysisTask(spliterator(shapes))).toResult();
+        event.commit("analyzeParallel", result.count());
+        return result;
+    }
+
+    /**
+     * Analyzes grouped shapes on the calling thread.
+     *
+     * @param shapes the shapes to analyze
+     * @return analysis result, identical to {@link #analyze(List)} for the
+     *         shapes in their original order
+     * @throws IllegalArgumentException if shapes is null or empty
+     */
+    public AnalysisResult analyze(TypePartitionedShapes shapes) {
+        AnalysisEvent event = new AnalysisEvent();
+        event.begin();
+        Metrics metrics = metrics(shapes);
+        shapes.computeMetrics(metrics.volumes(), metrics.surfaceAreas());
+        AnalysisResult result = reduce(spliterator(metrics.shapes()), metrics).toResult();
+        event.commit("analyze", result.count());
+        return result;
+    }
+
+    /**
+     * Analyzes grouped shapes in parallel on this engine's fork-join pool.
+     *
+     * @param shapes the shapes to analyze
+     * @return analysis result, identical to {@link #analyze(List)} for the
+     *         shapes in their original order
+     * @throws IllegalArgumentException if shapes is null or empty
+     */
+    public AnalysisResult analyzeParallel(TypePartitionedShapes shapes) {
+        AnalysisEvent event = new AnalysisEvent();
+        event.begin();
+        Metrics metrics = metrics(shapes);
+        pool.invoke(new MetricsTask(shapes, metrics, 0, shapes.size()));
+        AnalysisResult result = pool.invoke(new AnalysisTask(spliterator(metrics.shapes()), metrics)).toResult();
+        event.commit("analyzeParallel", result.count());
+        return result;
+    }
+
+    private static Metrics metrics(TypePartitionedShapes shapes) {
+        if (shapes == null || shapes.size() == 0) {
+            throw new IllegalArgumentException("Shape list cannot be null or empty.");
+        }
+        return new Metrics(shapes.getShapes(), new double[shapes.size()], new double[shapes.size()]);
+    }
+
+    private ShapeSpliterator spliterator(List<? extends Shape3D> shapes) {
+        if (shapes == null || shapes.isEmpty()) {
+            throw new IllegalArgumentException("Shape list cannot be null or empty.");
+        }
+        List<? extends Shape3D> list = shapes instanceof RandomAccess ? shapes : new ArrayList<>(shapes);
+        return new ShapeSpliterator(list, blockSize);
+    }
+
+    private static Accumulator reduce(ShapeSpliterator spliterator) {
+        return reduce(spliterator, null);
+    }
+
+    private static Accumulator reduce(ShapeSpliterator spliterator, Metrics metrics) {
+        ShapeSpliterator prefix = spliterator.trySplit();
+        if (prefix == null) {
+            return Accumulator.of(spliterator, metrics);
+        }
+        Accumulator left = reduce(prefix, metrics);
+        return left.merge(reduce(spliterator, metrics));
+    }
+
+    /**
+     * Precomputed volumes and surface areas of a shape list, by index.
+     */
+    private record Metrics(List<Shape3D> shapes, double[] volumes, double[] surfaceAreas) {
+    }
+
+    /**
+     * Fills {@link Metrics} for a range of grouped shapes, splitting on
+     * {@link TypePartitionedShapes#BLOCK_SIZE} boundaries.
+     */
+    private static final class MetricsTask extends RecursiveAction {
+
+        private final TypePartitionedShapes shapes;
+        private final Metrics metrics;
+        private final int from;
+        private final int to;
+
+        private MetricsTask(TypePartitionedShapes shapes, Metrics metrics, int from, int to) {
+            this.shapes = shapes;
+            this.metrics = metrics;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int blocks = (to - from + TypePartitionedShapes.BLOCK_SIZE - 1) / TypePartitionedShapes.BLOCK_SIZE;
+            if (blocks <= 1) {
+                shapes.computeMetrics(from, to, metrics.volumes(), metrics.surfaceAreas());
+                return;
+            }
+            int mid = from + blocks / 2 * TypePartitionedShapes.BLOCK_SIZE;
+            invokeAll(new MetricsTask(shapes, metrics, from, mid), new MetricsTask(shapes, metrics, mid, to));
+        }
+    }
+
+    /**
+     * Fork-join task that mirrors {@link #reduce(ShapeSpliterator)}.
+     */
+    private static final class AnalysisTask extends RecursiveTask<Accumulator> {
+
+        private final ShapeSpliterator spliterator;
+
+        /** Precomputed metrics, or null to read them from the shapes. */
+        private final Metrics metrics;
+
+        private AnalysisTask(ShapeSpliterator spliterator) {
+            this(spliterator, null);
+        }
+
+        private AnalysisTask(ShapeSpliterator spliterator, Metrics metrics) {
+            this.spliterator = spliterator;
+            this.metrics = metrics;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            ShapeSpliterator prefix = spliterator.trySplit();
+            if (prefix == null) {
+                return Accumulator.of(spliterator, metrics);
+            }
+            AnalysisTask left = new AnalysisTask(prefix, metrics);
+            left.fork();
+            Accumulator right = new AnalysisTask(spliterator, metrics).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Running statistics for a contiguous range of shapes.
+     */
+    private static final class Accumulator {
+
+        private int count;
+
+        private Shape3D largestVolume;
+        private Shape3D largestSurfaceArea;
+        private Shape3D mostEfficient;
+
+        private double minVolume = Double.POSITIVE_INFINITY;
+        private double maxVolume = Double.NEGATIVE_INFINITY;
+        private double totalVolume;
+
+        private double minArea = Double.POSITIVE_INFINITY;
+        private double maxArea = Double.NEGATIVE_INFINITY;
+        private double totalArea;
+
+        private double minEfficiency = Double.POSITIVE_INFINITY;
+        private double maxEfficiency = Double.NEGATIVE_INFINITY;
+        private double totalEfficiency;
+
+        private static Accumulator of(ShapeSpliterator spliterator, Metrics metrics) {
+            Accumulator acc = new Accumulator();
+            if (metrics == null) {
+                spliterator.forEachRemaining(shape -> acc.add(shape, shape.getVolume(), shape.getSurfaceArea()));
+                return acc;
+            }
+            int end = spliterator.getIndex() + (int) spliterator.estimateSize();
+            for (int i = spliterator.getIndex(); i < end; i++) {
+                acc.add(metrics.shapes().get(i), metrics.volumes()[i], metrics.surfaceAreas()[i]);
+            }
+            return acc;
+        }
+
+        private void add(Shape3D shape, double volume, double area) {
+            double efficiency = volume / area;
+            count++;
+
+            if (volume > maxVolume) {
+                maxVolume = volume;
+                largestVolume = shape;
+            }
+            minVolume = Math.min(minVolume, volume);
+            totalVolume += volume;
+
+            if (area > maxArea) {
+                maxArea = area;
+                largestSurfaceArea = shape;
+            }
+            minArea = Math.min(minArea, area);
+            totalArea += area;
+
+            if (efficiency > maxEfficiency) {
+                maxEfficiency = efficiency;
+                mostEfficient = shape;
+            }
+            minEfficiency = Math.min(minEfficiency, efficiency);
+            totalEfficiency += efficiency;
+        }
+
+        /** Merges the statistics of the range that directly follows this one. */
+        private Accumulator merge(Accumulator next) {
+            count += next.count;
+
+            if (next.maxVolume > maxVolume) {
+                maxVolume = next.maxVolume;
+                largestVolume = next.largestVolume;
+            }
+            minVolume = Math.min(minVolume, next.minVolume);
+            totalVolume += next.totalVolume;
+
+            if (next.maxArea > maxArea) {
+                maxArea = next.maxArea;
+                largestSurfaceArea = next.largestSurfaceArea;
+            }
+            minArea = Math.min(minArea, next.minArea);
+            totalArea += next.totalArea;
+
+            if (next.maxEfficiency > maxEfficiency) {
+                maxEfficiency = next.maxEfficiency;
+                mostEfficient = next.mostEfficient;
+            }
+            minEfficiency = Math.min(minEfficiency, next.minEfficiency);
+            totalEfficiency += next.totalEfficiency;
+            return this;
+        }
+
+        private AnalysisResult toResult() {
+            return new AnalysisResult(count, largestVolume, largestSurfaceArea, mostEfficient,
+                    new MetricSummary(minVolume, maxVolume, totalVolume, count),
+                    new MetricSummary(minArea, maxArea, totalArea, count),
+                    new MetricSummary(minEfficiency, maxEfficiency, totalEfficiency, count));
+        }
+    }
+}
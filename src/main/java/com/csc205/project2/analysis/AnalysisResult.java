@@ -0,0 +1,26 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.Shape3D;
+
+/**
+ * Result of a single analysis pass over a shape collection.
+ * <p>
+ * When several shapes tie for a leading value, the one that comes first
+ * in the collection is reported.
+ *
+ * @param count              number of shapes analyzed
+ * @param largestVolume      shape with the largest volume
+ * @param largestSurfaceArea shape with the largest surface area
+ * @param mostEfficient      shape with the largest volume/surface area ratio
+ * @param volume             volume statistics
+ * @param surfaceArea        surface area statistics
+ * @param efficiency         volume/surface area ratio statistics
+ */
+public record AnalysisResult(int count,
+                             Shape3D largestVolume,
+                             Shape3D largestSurfaceArea,
+                             Shape3D mostEfficient,
+                             MetricSummary volume,
+                             MetricSummary surfaceArea,
+                             MetricSummary efficiency) {
+}
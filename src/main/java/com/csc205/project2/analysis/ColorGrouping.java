@@ -0,0 +1,109 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.StringDictionary;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups and filters shapes by color using their dictionary ids.
+ * <p>
+ * Each shape's color is compared as the int returned by
+ * {@link Shape3D#getColorId()}; color strings are only resolved once per
+ * group, never per shape.
+ */
+public final class ColorGrouping {
+
+    private ColorGrouping() {
+    }
+
+    /**
+     * Groups shapes by color.
+     *
+     * @param shapes the shapes to group
+     * @return lists of shapes keyed by color, in order of color id, each
+     *         list in iteration order
+     * @throws IllegalArgumentException if shapes is null
+     */
+    public static Map<String, List<Shape3D>> groupByColor(Iterable<? extends Shape3D> shapes) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Shape list cannot be null.");
+        }
+        StringDictionary colors = Shape3D.getColorDictionary();
+        List<List<Shape3D>> groups = new ArrayList<>(Collections.nCopies(colors.size(), null));
+        for (Shape3D shape : shapes) {
+            int colorId = shape.getColorId();
+            while (colorId >= groups.size()) {
+                groups.add(null);
+            }
+            List<Shape3D> group = groups.get(colorId);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.set(colorId, group);
+            }
+            group.add(shape);
+        }
+        Map<String, List<Shape3D>> result = new LinkedHashMap<>();
+        for (int colorId = 0; colorId < groups.size(); colorId++) {
+            if (groups.get(colorId) != null) {
+                result.put(colors.lookup(colorId), groups.get(colorId));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts shapes per color id.
+     *
+     * @param shapes the shapes to count
+     * @return counts indexed by color id, with one entry per id assigned
+     *         when counting finished
+     * @throws IllegalArgumentException if shapes is null
+     */
+    public static int[] countByColorId(Iterable<? extends Shape3D> shapes) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Shape list cannot be null.");
+        }
+        int[] counts = new int[Shape3D.getColorDictionary().size()];
+        for (Shape3D shape : shapes) {
+            int colorId = shape.getColorId();
+            if (colorId >= counts.length) {
+                counts = Arrays.copyOf(counts, Shape3D.getColorDictionary().size());
+            }
+            counts[colorId]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the shapes with a given color.
+     *
+     * @param shapes the shapes to filter
+     * @param color  the color, compared after trimming like {@link Shape3D#setColor(String)}
+     * @return matching shapes in iteration order; empty if no shape has ever used the color
+     * @throws IllegalArgumentException if shapes or color is null
+     */
+    public static List<Shape3D> filterByColor(Iterable<? extends Shape3D> shapes, String color) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Shape list cannot be null.");
+        }
+        if (color == null) {
+            throw new IllegalArgumentException("Shape color cannot be null or blank.");
+        }
+        int colorId = Shape3D.getColorDictionary().idOf(color.trim());
+        List<Shape3D> result = new ArrayList<>();
+        if (colorId < 0) {
+            return result;
+        }
+        for (Shape3D shape : shapes) {
+            if (shape.getColorId() == colorId) {
+                result.add(shape);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeType;
+import java.util.Arrays;
+
+/**
+ * Primitive per-group accumulators, one group per (shape type, color id).
+ * <p>
+ * Group {@code g = colorId * TYPES + type.ordinal()}; every statistic is
+ * a flat array indexed by group (histograms by group and bin). Arrays
+ * start at the requested capacity and grow to the largest color id
+ * actually added, so their size does not depend on how many colors the
+ * process-wide dictionary holds. This class is not thread-safe; see
+ * {@link ShapeAggregator} for concurrent use.
+ */
+final class GroupAccumulator {
+
+    static final int TYPES = ShapeType.values().length;
+
+    /** Number of volume histogram bins. */
+    static final int BINS = AggregationSummary.HISTOGRAM_BINS;
+
+    long[] counts;
+    double[] volumes;
+    double[] areas;
+    double[] efficiencies;
+    long[] histograms;
+
+    /** One more than the largest color id added or merged so far. */
+    private int colorsUsed;
+
+    /**
+     * @param colorCount initial capacity in colors; callers that do not know
+     *                   their colors in advance pass 0 and let it grow
+     */
+    GroupAccumulator(int colorCount) {
+        int groups = Math.max(1, colorCount) * TYPES;
+        counts = new long[groups];
+        volumes = new double[groups];
+        areas = new double[groups];
+        efficiencies = new double[groups];
+        histograms = new long[groups * BINS];
+    }
+
+    int colorCount() {
+        return counts.length / TYPES;
+    }
+
+    void add(Shape3D shape) {
+        add(ShapeType.of(shape), shape.getColorId(), shape.getVolume(), shape.getSurfaceArea());
+    }
+
+    void add(ShapeType type, int colorId, double volume, double area) {
+        int group = colorId * TYPES + type.ordinal();
+        if (group >= counts.length) {
+            grow(colorId + 1);
+        }
+        colorsUsed = Math.max(colorsUsed, colorId + 1);
+        counts[group]++;
+        volumes[group] += volume;
+        areas[group] += area;
+        efficiencies[group] += volume / area;
+        histograms[group * BINS + AggregationSummary.binOf(volume)]++;
+    }
+
+    /**
+     * Adds every used group of another accumulator into this one. The other
+     * accumulator must not be modified concurrently.
+     */
+    GroupAccumulator merge(GroupAccumulator other) {
+        int groups = other.colorsUsed * TYPES;
+        if (groups > counts.length) {
+            grow(other.colorsUsed);
+        }
+        colorsUsed = Math.max(colorsUsed, other.colorsUsed);
+        for (int g = 0; g < groups; g++) {
+            counts[g] += other.counts[g];
+            volumes[g] += other.volumes[g];
+            areas[g] += other.areas[g];
+            efficiencies[g] += other.efficiencies[g];
+        }
+        for (int i = 0; i < groups * BINS; i++) {
+            histograms[i] += other.histograms[i];
+        }
+        return this;
+    }
+
+    GroupAccumulator copy() {
+        return new GroupAccumulator(0).merge(this);
+    }
+
+    private void grow(int colorCount) {
+        int groups = Math.max(colorCount, colorCount() + (colorCount() >> 1)) * TYPES;
+        counts = Arrays.copyOf(counts, groups);
+        volumes = Arrays.copyOf(volumes, groups);
+        areas = Arrays.copyOf(areas, groups);
+        efficiencies = Arrays.copyOf(efficiencies, groups);
+        histograms = Arrays.copyOf(histograms, groups * BINS);
+    }
+}
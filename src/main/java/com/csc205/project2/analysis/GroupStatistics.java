@@ -0,0 +1,61 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.ShapeType;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Rollup of one group of an {@link AggregationSummary}.
+ *
+ * @param type             shape type, or null for a rollup over all types
+ * @param color            color, or null for a rollup over all colors
+ * @param count            number of shapes
+ * @param totalVolume      sum of volumes
+ * @param totalSurfaceArea sum of surface areas
+ * @param totalEfficiency  sum of volume/surface area ratios
+ * @param volumeHistogram  shape counts per volume bin (see
+ *                         {@link AggregationSummary#binLowerBound(int)})
+ */
+public record GroupStatistics(ShapeType type,
+                              String color,
+                              long count,
+                              double totalVolume,
+                              double totalSurfaceArea,
+                              double totalEfficiency,
+                              long[] volumeHistogram) {
+
+    /**
+     * Returns the mean volume/surface area ratio.
+     *
+     * @return mean efficiency, or NaN if the group is empty
+     */
+    public double meanEfficiency() {
+        return count == 0 ? Double.NaN : totalEfficiency / count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof GroupStatistics other
+                && type == other.type
+                && Objects.equals(color, other.color)
+                && count == other.count
+                && Double.compare(totalVolume, other.totalVolume) == 0
+                && Double.compare(totalSurfaceArea, other.totalSurfaceArea) == 0
+                && Double.compare(totalEfficiency, other.totalEfficiency) == 0
+                && Arrays.equals(volumeHistogram, other.volumeHistogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, color, count, totalVolume, totalSurfaceArea, totalEfficiency)
+                * 31 + Arrays.hashCode(volumeHistogram);
+    }
+
+    @Override
+    public String toString() {
+        return "GroupStatistics[type=" + type + ", color=" + color + ", count=" + count
+                + ", totalVolume=" + totalVolume + ", totalSurfaceArea=" + totalSurfaceArea
+                + ", totalEfficiency=" + totalEfficiency
+                + ", volumeHistogram=" + Arrays.toString(volumeHistogram) + "]";
+    }
+}
@@ -0,0 +1,364 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Analysis summary of a changing shape collection, kept up to date as
+ * shapes are added, removed or resized.
+ * <p>
+ * The collection is ordered by insertion. For each of volume, surface area
+ * and efficiency the statistics keep one indexed binary max-heap and one
+ * min-heap of the tracked shapes, ordered by (value, insertion order), so
+ * the current maximum and minimum are always at the heap roots. Adding,
+ * removing or re-keying a shape sifts it within the six heaps, O(log n),
+ * even when it was the current maximum and shrinks. Totals are kept with
+ * compensated (Neumaier) summation, so removing a large value does not
+ * leave its rounding error behind; they may still differ from the totals
+ * of a fresh {@link AnalysisEngine} pass in the last few bits.
+ * <p>
+ * The statistics register a {@link ShapeChangeListener} on every tracked
+ * shape and update as soon as a dimension setter changes it. After each
+ * change a new {@link AnalysisResult} is published, and
+ * {@link #current()} returns it in O(1) without locking. Leaders and
+ * ties follow {@link AnalysisResult}: the earliest-added shape wins a tie.
+ * Call {@link #close()} to stop following the shapes. Updates are
+ * serialized, so the statistics are thread-safe.
+ */
+public class LiveStatistics implements AutoCloseable {
+
+    private static final int VOLUME = 0;
+    private static final int SURFACE_AREA = 1;
+    private static final int EFFICIENCY = 2;
+    private static final int METRICS = 3;
+
+    /** Heap {@code m} is the max-heap of metric {@code m}; heap {@code METRICS + m} the min-heap. */
+    private final Heap[] heaps = new Heap[2 * METRICS];
+
+    private final Map<Shape3D, Entry> entries = new IdentityHashMap<>();
+
+    /** Compensated running sum of each metric. */
+    private final double[] totals = new double[METRICS];
+    private final double[] compensations = new double[METRICS];
+
+    private long nextSequence;
+
+    private boolean closed;
+
+    /** Summary as of the last change, or null when no shapes are tracked. */
+    private volatile AnalysisResult current;
+
+    /**
+     * Constructs statistics over an empty collection.
+     */
+    public LiveStatistics() {
+        for (int h = 0; h < heaps.length; h++) {
+            heaps[h] = new Heap(h);
+        }
+    }
+
+    /**
+     * Constructs statistics over the given shapes, in iteration order.
+     *
+     * @param shapes the shapes to track
+     * @throws IllegalArgumentException if shapes or a shape is null, or a
+     *                                  shape occurs more than once
+     */
+    public LiveStatistics(Collection<? extends Shape3D> shapes) {
+        this();
+        if (shapes == null) {
+            throw new IllegalArgumentException("Shape collection cannot be null.");
+        }
+        for (Shape3D shape : shapes) {
+            add(shape);
+        }
+    }
+
+    /**
+     * Starts tracking a shape, after all shapes already tracked.
+     *
+     * @param shape the shape
+     * @throws IllegalArgumentException if shape is null or already tracked
+     * @throws IllegalStateException    if the statistics are closed
+     */
+    public synchronized void add(Shape3D shape) {
+        if (shape == null) {
+            throw new IllegalArgumentException("Shape cannot be null.");
+        }
+        if (closed) {
+            throw new IllegalStateException("Statistics are closed.");
+        }
+        if (entries.containsKey(shape)) {
+            throw new IllegalArgumentException("Shape is already tracked.");
+        }
+        Entry entry = new Entry(shape, nextSequence++);
+        // Listen before measuring: a change made from here on reaches update(),
+        // which waits for this monitor and then measures the shape again
+        shape.addChangeListener(entry);
+        entries.put(shape, entry);
+        try {
+            entry.measure();
+        } catch (RuntimeException e) {
+            entries.remove(shape);
+            shape.removeChangeListener(entry);
+            throw e;
+        }
+        for (int m = 0; m < METRICS; m++) {
+            accumulate(m, entry.values[m]);
+        }
+        for (Heap heap : heaps) {
+            heap.insert(entry);
+        }
+        publish();
+    }
+
+    /**
+     * Stops tracking a shape.
+     *
+     * @param shape the shape
+     * @return true if the shape was tracked
+     */
+    public synchronized boolean remove(Shape3D shape) {
+        Entry entry = entries.remove(shape);
+        if (entry == null) {
+            return false;
+        }
+        shape.removeChangeListener(entry);
+        for (int m = 0; m < METRICS; m++) {
+            accumulate(m, -entry.values[m]);
+        }
+        for (Heap heap : heaps) {
+            heap.remove(entry);
+        }
+        publish();
+        return true;
+    }
+
+    /**
+     * Returns the number of tracked shapes.
+     *
+     * @return shape count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the summary of the tracked shapes as of the last change.
+     *
+     * @return analysis result, or null if no shapes are tracked
+     */
+    public AnalysisResult current() {
+        return current;
+    }
+
+    /**
+     * Stops following changes to the tracked shapes. {@link #current()}
+     * keeps returning the summary as of the last change seen.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Entry entry : entries.values()) {
+            entry.shape.removeChangeListener(entry);
+        }
+    }
+
+    /** Re-measures a resized shape and moves it within every heap. */
+    private synchronized void update(Entry entry) {
+        if (closed || entries.get(entry.shape) != entry) {
+            return;
+        }
+        double[] old = entry.values.clone();
+        entry.measure();
+        for (int m = 0; m < METRICS; m++) {
+            accumulate(m, -old[m]);
+            accumulate(m, entry.values[m]);
+        }
+        for (Heap heap : heaps) {
+            heap.update(entry);
+        }
+        publish();
+    }
+
+    /** Adds a value to a metric total with Neumaier compensation. */
+    private void accumulate(int metric, double value) {
+        double total = totals[metric];
+        double sum = total + value;
+        if (Math.abs(total) >= Math.abs(value)) {
+            compensations[metric] += (total - sum) + value;
+        } else {
+            compensations[metric] += (value - sum) + total;
+        }
+        totals[metric] = sum;
+    }
+
+    private void publish() {
+        int count = entries.size();
+        if (count == 0) {
+            // Start the next collection from exact zero
+            Arrays.fill(totals, 0);
+            Arrays.fill(compensations, 0);
+            current = null;
+            return;
+        }
+        current = new AnalysisResult(count,
+                heaps[VOLUME].top().shape,
+                heaps[SURFACE_AREA].top().shape,
+                heaps[EFFICIENCY].top().shape,
+                summary(VOLUME, count),
+                summary(SURFACE_AREA, count),
+                summary(EFFICIENCY, count));
+    }
+
+    private MetricSummary summary(int metric, int count) {
+        return new MetricSummary(
+                heaps[METRICS + metric].top().values[metric],
+                heaps[metric].top().values[metric],
+                totals[metric] + compensations[metric],
+                count);
+    }
+
+    /**
+     * A tracked shape with its current metrics and heap positions.
+     */
+    private final class Entry implements ShapeChangeListener {
+
+        private final Shape3D shape;
+
+        /** Insertion order, the tie-breaker within every heap. */
+        private final long sequence;
+
+        private final double[] values = new double[METRICS];
+
+        /** Position of this entry in each heap. */
+        private final int[] positions = new int[2 * METRICS];
+
+        private Entry(Shape3D shape, long sequence) {
+            this.shape = shape;
+            this.sequence = sequence;
+        }
+
+        private void measure() {
+            double volume = shape.getVolume();
+            double area = shape.getSurfaceArea();
+            values[VOLUME] = volume;
+            values[SURFACE_AREA] = area;
+            values[EFFICIENCY] = volume / area;
+        }
+
+        @Override
+        public void dimensionsChanged(Shape3D changed) {
+            update(this);
+        }
+    }
+
+    /**
+     * Indexed binary heap of entries by one metric, maximum or minimum
+     * first, with ties broken by insertion order.
+     */
+    private static final class Heap {
+
+        private final int index;
+
+        private final int metric;
+
+        private final boolean max;
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        private Heap(int index) {
+            this.index = index;
+            this.metric = index % METRICS;
+            this.max = index < METRICS;
+        }
+
+        private Entry top() {
+            return entries.get(0);
+        }
+
+        private void insert(Entry entry) {
+            entries.add(entry);
+            entry.positions[index] = entries.size() - 1;
+            siftUp(entries.size() - 1);
+        }
+
+        private void remove(Entry entry) {
+            int position = entry.positions[index];
+            Entry last = entries.remove(entries.size() - 1);
+            if (last != entry) {
+                set(position, last);
+                update(last);
+            }
+        }
+
+        private void update(Entry entry) {
+            int position = entry.positions[index];
+            if (!siftUp(position)) {
+                siftDown(position);
+            }
+        }
+
+        /** Returns whether the entry at the position moved. */
+        private boolean siftUp(int position) {
+            Entry entry = entries.get(position);
+            int start = position;
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                Entry above = entries.get(parent);
+                if (!before(entry, above)) {
+                    break;
+                }
+                set(position, above);
+                position = parent;
+            }
+            set(position, entry);
+            return position != start;
+        }
+
+        private void siftDown(int position) {
+            Entry entry = entries.get(position);
+            int size = entries.size();
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && before(entries.get(child + 1), entries.get(child))) {
+                    child++;
+                }
+                Entry below = entries.get(child);
+                if (!before(below, entry)) {
+                    break;
+                }
+                set(position, below);
+                position = child;
+            }
+            set(position, entry);
+        }
+
+        private void set(int position, Entry entry) {
+            entries.set(position, entry);
+            entry.positions[index] = position;
+        }
+
+        /** Whether a belongs nearer the root than b. */
+        private boolean before(Entry a, Entry b) {
+            double x = a.values[metric];
+            double y = b.values[metric];
+            if (x != y) {
+                return max ? x > y : x < y;
+            }
+            return a.sequence < b.sequence;
+        }
+    }
+}
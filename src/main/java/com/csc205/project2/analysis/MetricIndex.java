@@ -0,0 +1,477 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Sorted secondary index from a per-shape key, such as volume or surface
+ * area, to shape ids.
+ * <p>
+ * Shape ids are positions in the list the index was built from. Entries
+ * are kept ordered by (key, id) in a two-level blocked array: leaves of at
+ * most {@link #LEAF_CAPACITY} primitive (key, id) pairs, plus one array of
+ * the first key of every leaf. A range lookup costs two binary searches,
+ * O(log n), plus one step per match; an update moves at most one leaf's
+ * worth of entries.
+ * <p>
+ * The index registers a {@link ShapeChangeListener} on every shape and
+ * re-keys a shape as soon as a dimension setter changes it, so the key
+ * must depend only on the shape's dimensions. Call {@link #close()} to
+ * stop following the shapes. The index is thread-safe: queries share a
+ * read lock and updates take a write lock.
+ */
+public class MetricIndex implements AutoCloseable {
+
+    /** Maximum number of entries per leaf. */
+    static final int LEAF_CAPACITY = 256;
+
+    private final List<Shape3D> shapes;
+
+    private final ToDoubleFunction<? super Shape3D> key;
+
+    /** Indexed key of each shape, by id. */
+    private final double[] keys;
+
+    private final IdListener[] listeners;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Leaf[] leaves;
+
+    /** First key of each leaf; also the search key of each leaf's first id. */
+    private double[] firstKeys;
+
+    private int leafCount;
+
+    private boolean closed;
+
+    /**
+     * Builds an index over the given shapes.
+     *
+     * @param shapes the shapes to index; ids are positions in this list
+     * @param key    index key, a function of a shape's dimensions only
+     * @throws IllegalArgumentException if shapes, a shape or key is null,
+     *                                  or a key is NaN
+     */
+    public MetricIndex(List<? extends Shape3D> shapes, ToDoubleFunction<? super Shape3D> key) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Shape list cannot be null.");
+        }
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null.");
+        }
+        this.shapes = List.copyOf(shapes);
+        this.key = key;
+        int size = this.shapes.size();
+        keys = new double[size];
+        listeners = new IdListener[size];
+        // Listen before measuring: a change made after a shape is measured
+        // then always reaches update(), which waits for the build and re-keys
+        lock.writeLock().lock();
+        try {
+            for (int id = 0; id < size; id++) {
+                listeners[id] = new IdListener(id);
+                this.shapes.get(id).addChangeListener(listeners[id]);
+            }
+            int[] order = new int[size];
+            for (int id = 0; id < size; id++) {
+                keys[id] = checkKey(key.applyAsDouble(this.shapes.get(id)));
+                order[id] = id;
+            }
+            sortByKey(order, new int[size], 0, size);
+            bulkLoad(order);
+        } catch (RuntimeException e) {
+            closed = true;
+            for (int id = 0; id < size && listeners[id] != null; id++) {
+                this.shapes.get(id).removeChangeListener(listeners[id]);
+            }
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds an index by volume.
+     *
+     * @param shapes the shapes to index
+     * @return a new index
+     */
+    public static MetricIndex byVolume(List<? extends Shape3D> shapes) {
+        return new MetricIndex(shapes, ShapeMetric.VOLUME);
+    }
+
+    /**
+     * Builds an index by surface area.
+     *
+     * @param shapes the shapes to index
+     * @return a new index
+     */
+    public static MetricIndex bySurfaceArea(List<? extends Shape3D> shapes) {
+        return new MetricIndex(shapes, ShapeMetric.SURFACE_AREA);
+    }
+
+    /** Stable merge sort of ids by key; ids start in ascending order, so ties stay ordered by id. */
+    private void sortByKey(int[] ids, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortByKey(ids, buffer, from, mid);
+        sortByKey(ids, buffer, mid, to);
+        if (Double.compare(keys[ids[mid - 1]], keys[ids[mid]]) <= 0) {
+            return;
+        }
+        System.arraycopy(ids, from, buffer, from, to - from);
+        for (int i = from, left = from, right = mid; i < to; i++) {
+            if (right >= to || (left < mid && Double.compare(keys[buffer[left]], keys[buffer[right]]) <= 0)) {
+                ids[i] = buffer[left++];
+            } else {
+                ids[i] = buffer[right++];
+            }
+        }
+    }
+
+    /** Fills leaves three-quarters full so early inserts rarely split. */
+    private void bulkLoad(int[] order) {
+        int perLeaf = LEAF_CAPACITY * 3 / 4;
+        leafCount = Math.max(1, (order.length + perLeaf - 1) / perLeaf);
+        leaves = new Leaf[leafCount];
+        firstKeys = new double[leafCount];
+        for (int l = 0; l < leafCount; l++) {
+            Leaf leaf = new Leaf();
+            int from = l * perLeaf;
+            int to = Math.min(order.length, from + perLeaf);
+            for (int i = from; i < to; i++) {
+                int id = order[i];
+                leaf.keys[leaf.size] = keys[id];
+                leaf.ids[leaf.size++] = id;
+            }
+            leaves[l] = leaf;
+            firstKeys[l] = leaf.size > 0 ? leaf.keys[0] : 0;
+        }
+    }
+
+    /**
+     * Returns the number of indexed shapes.
+     *
+     * @return shape count
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the shape with the given id.
+     *
+     * @param id the shape id
+     * @return the shape
+     * @throws IndexOutOfBoundsException if id is out of range
+     */
+    public Shape3D getShape(int id) {
+        return shapes.get(id);
+    }
+
+    /**
+     * Returns the ids of all shapes whose key is within a closed range, in
+     * ascending key order (ties by id).
+     *
+     * @param min smallest key to include
+     * @param max largest key to include
+     * @return matching ids
+     * @throws IllegalArgumentException if min or max is NaN or min is greater than max
+     */
+    public int[] rangeIds(double min, double max) {
+        checkRange(min, max);
+        lock.readLock().lock();
+        try {
+            int[] result = new int[16];
+            int count = 0;
+            long position = lowerBound(min, Integer.MIN_VALUE);
+            for (int l = (int) (position >>> 32), i = (int) position; l < leafCount; l++, i = 0) {
+                Leaf leaf = leaves[l];
+                for (; i < leaf.size; i++) {
+                    if (leaf.keys[i] > max) {
+                        return Arrays.copyOf(result, count);
+                    }
+                    if (count == result.length) {
+                        result = Arrays.copyOf(result, count * 2);
+                    }
+                    result[count++] = leaf.ids[i];
+                }
+            }
+            return Arrays.copyOf(result, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns all shapes whose key is within a closed range, in ascending
+     * key order.
+     *
+     * @param min smallest key to include
+     * @param max largest key to include
+     * @return matching shapes
+     * @throws IllegalArgumentException if min or max is NaN or min is greater than max
+     */
+    public List<Shape3D> range(double min, double max) {
+        int[] ids = rangeIds(min, max);
+        List<Shape3D> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(shapes.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Returns all shapes whose key is at least {@code min}.
+     *
+     * @param min smallest key to include
+     * @return matching shapes, in ascending key order
+     * @throws IllegalArgumentException if min is NaN
+     */
+    public List<Shape3D> atLeast(double min) {
+        return range(min, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns all shapes whose key is at most {@code max}.
+     *
+     * @param max largest key to include
+     * @return matching shapes, in ascending key order
+     * @throws IllegalArgumentException if max is NaN
+     */
+    public List<Shape3D> atMost(double max) {
+        return range(Double.NEGATIVE_INFINITY, max);
+    }
+
+    /**
+     * Counts the shapes whose key is within a closed range, visiting only
+     * leaf sizes rather than individual entries.
+     *
+     * @param min smallest key to include
+     * @param max largest key to include
+     * @return number of matching shapes
+     * @throws IllegalArgumentException if min or max is NaN or min is greater than max
+     */
+    public int count(double min, double max) {
+        checkRange(min, max);
+        lock.readLock().lock();
+        try {
+            long from = lowerBound(min, Integer.MIN_VALUE);
+            long to = upperBound(max);
+            int count = (int) to - (int) from;
+            for (int l = (int) (from >>> 32); l < (int) (to >>> 32); l++) {
+                count += leaves[l].size;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stops following changes to the indexed shapes. Queries keep
+     * returning the keys as of the last change seen.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (int id = 0; id < listeners.length; id++) {
+            shapes.get(id).removeChangeListener(listeners[id]);
+        }
+    }
+
+    /** Moves a shape to the entry for its new key. */
+    private void update(int id) {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            double newKey = checkKey(key.applyAsDouble(shapes.get(id)));
+            if (Double.compare(newKey, keys[id]) == 0) {
+                return;
+            }
+            remove(keys[id], id);
+            keys[id] = newKey;
+            insert(newKey, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(double k, int id) {
+        int l = leafFor(k, id);
+        Leaf leaf = leaves[l];
+        int pos = leaf.lowerBound(k, id);
+        if (leaf.size == LEAF_CAPACITY) {
+            Leaf right = leaf.splitHalf();
+            insertLeaf(l + 1, right);
+            if (pos > leaf.size) {
+                pos -= leaf.size;
+                leaf = right;
+                l++;
+            }
+        }
+        leaf.insertAt(pos, k, id);
+        firstKeys[l] = leaf.keys[0];
+    }
+
+    private void remove(double k, int id) {
+        int l = leafFor(k, id);
+        Leaf leaf = leaves[l];
+        int pos = leaf.lowerBound(k, id);
+        leaf.removeAt(pos);
+        if (leaf.size == 0 && leafCount > 1) {
+            System.arraycopy(leaves, l + 1, leaves, l, leafCount - l - 1);
+            System.arraycopy(firstKeys, l + 1, firstKeys, l, leafCount - l - 1);
+            leaves[--leafCount] = null;
+        } else if (leaf.size > 0) {
+            firstKeys[l] = leaf.keys[0];
+        }
+    }
+
+    private void insertLeaf(int l, Leaf leaf) {
+        if (leafCount == leaves.length) {
+            int capacity = leafCount + (leafCount >> 1) + 1;
+            leaves = Arrays.copyOf(leaves, capacity);
+            firstKeys = Arrays.copyOf(firstKeys, capacity);
+        }
+        System.arraycopy(leaves, l, leaves, l + 1, leafCount - l);
+        System.arraycopy(firstKeys, l, firstKeys, l + 1, leafCount - l);
+        leaves[l] = leaf;
+        firstKeys[l] = leaf.keys[0];
+        leafCount++;
+    }
+
+    /** Returns the last leaf whose first entry is not after (k, id), or leaf 0. */
+    private int leafFor(double k, int id) {
+        int low = 1;
+        int high = leafCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Leaf leaf = leaves[mid];
+            if (compare(firstKeys[mid], leaf.ids[0], k, id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low - 1;
+    }
+
+    /** Position (leaf in the high half, slot in the low half) of the first entry not before (k, id). */
+    private long lowerBound(double k, int id) {
+        int l = leafFor(k, id);
+        int pos = leaves[l].lowerBound(k, id);
+        if (pos == leaves[l].size && l + 1 < leafCount) {
+            l++;
+            pos = 0;
+        }
+        return ((long) l << 32) | pos;
+    }
+
+    /** Position of the first entry whose key is greater than k (ids are always below MAX_VALUE). */
+    private long upperBound(double k) {
+        return lowerBound(k, Integer.MAX_VALUE);
+    }
+
+    private static int compare(double key, int id, double otherKey, int otherId) {
+        int c = Double.compare(key, otherKey);
+        return c != 0 ? c : Integer.compare(id, otherId);
+    }
+
+    private static double checkKey(double k) {
+        if (Double.isNaN(k)) {
+            throw new IllegalArgumentException("Index key cannot be NaN.");
+        }
+        return k;
+    }
+
+    private static void checkRange(double min, double max) {
+        if (Double.isNaN(min) || Double.isNaN(max) || min > max) {
+            throw new IllegalArgumentException("Range must satisfy min <= max.");
+        }
+    }
+
+    /**
+     * Sorted run of (key, id) entries.
+     */
+    private static final class Leaf {
+
+        private final double[] keys = new double[LEAF_CAPACITY];
+        private final int[] ids = new int[LEAF_CAPACITY];
+        private int size;
+
+        private int lowerBound(double k, int id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(keys[mid], ids[mid], k, id) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void insertAt(int pos, double k, int id) {
+            System.arraycopy(keys, pos, keys, pos + 1, size - pos);
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            keys[pos] = k;
+            ids[pos] = id;
+            size++;
+        }
+
+        private void removeAt(int pos) {
+            System.arraycopy(keys, pos + 1, keys, pos, size - pos - 1);
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+
+        /** Moves the upper half of this leaf into a new leaf. */
+        private Leaf splitHalf() {
+            Leaf right = new Leaf();
+            int half = size / 2;
+            right.size = size - half;
+            System.arraycopy(keys, half, right.keys, 0, right.size);
+            System.arraycopy(ids, half, right.ids, 0, right.size);
+            size = half;
+            return right;
+        }
+    }
+
+    /**
+     * Re-keys one shape when its dimensions change.
+     */
+    private final class IdListener implements ShapeChangeListener {
+
+        private final int id;
+
+        private IdListener(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public void dimensionsChanged(Shape3D shape) {
+            update(id);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.csc205.project2.analysis;
+
+/**
+ * Minimum, maximum and total of one metric over a shape collection.
+ *
+ * @param min   smallest value
+ * @param max   largest value
+ * @param total sum of all values
+ * @param count number of values
+ */
+public record MetricSummary(double min, double max, double total, long count) {
+
+    /**
+     * Returns the arithmetic mean of the values.
+     *
+     * @return mean, or NaN if there are no values
+     */
+    public double mean() {
+        return count == 0 ? Double.NaN : total / count;
+    }
+}
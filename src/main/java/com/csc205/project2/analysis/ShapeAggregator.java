@@ -0,0 +1,302 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.instrumentation.AnalysisEvent;
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group-by aggregation of shapes by shape type and color.
+ * <p>
+ * For every (type, color) group the aggregator keeps the count, total
+ * volume, total surface area, total volume/surface ratio and a volume
+ * histogram in primitive arrays, keyed by {@link Shape3D#getColorId()}
+ * rather than by color string.
+ * <p>
+ * {@link #add(Shape3D)} may be called from any number of threads. As in
+ * {@link java.util.concurrent.atomic.LongAdder}, adds go to one of a fixed
+ * number of cells (by default the CPU count rounded up to a power of two)
+ * chosen by a hash of the calling thread; a thread whose cell is busy moves
+ * on to the next free one, so feeding threads rarely contend, and the
+ * memory held does not grow with the number of threads that have ever
+ * added.
+ * {@link #summary()} merges the cells. Like
+ * {@link java.util.concurrent.atomic.LongAdder#sum()}, a summary taken
+ * while other threads are still adding is not an atomic snapshot; it is
+ * exact once the adding threads have finished (for example after joining
+ * them or shutting down their executor).
+ * <p>
+ * {@link #aggregate(List)} and {@link #aggregateParallel(List)} summarize
+ * a whole list in one call; both walk the same {@link ShapeSpliterator}
+ * tree, so their results are identical.
+ */
+public class ShapeAggregator {
+
+    /** Default number of cells: the CPU count rounded up to a power of two. */
+    static final int CELLS = cellsFor(Runtime.getRuntime().availableProcessors());
+
+    /** Cells, created on first use; the length is a power of two. */
+    private final AtomicReferenceArray<Cell> cells;
+
+    /**
+     * Creates an aggregator with one cell per CPU.
+     */
+    public ShapeAggregator() {
+        this(CELLS);
+    }
+
+    /**
+     * Creates an aggregator with at most the given number of cells. Callers
+     * whose adds are already serialized, such as a pipeline sink, pass 1 to
+     * keep a single accumulator.
+     *
+     * @param maxCells maximum number of cells, rounded up to a power of two
+     * @throws IllegalArgumentException if maxCells is not greater than zero
+     */
+    public ShapeAggregator(int maxCells) {
+        if (maxCells <= 0) {
+            throw new IllegalArgumentException("Cell count must be greater than zero.");
+        }
+        cells = new AtomicReferenceArray<>(cellsFor(maxCells));
+    }
+
+    /**
+     * Adds a shape to its group.
+     *
+     * @param shape the shape
+     * @throws IllegalArgumentException if shape is null or of an unknown type
+     */
+    public void add(Shape3D shape) {
+        if (shape == null) {
+            throw new IllegalArgumentException("Shape cannot be null.");
+        }
+        Cell cell = lockCell();
+        try {
+            cell.groups.add(shape);
+        } finally {
+            cell.unlock();
+        }
+    }
+
+    /**
+     * Adds a shape given by its type, color and precomputed metrics, for
+     * callers that hold shapes in columnar form rather than as objects.
+     *
+     * @param type        the shape type
+     * @param color       the shape color
+     * @param volume      the shape's volume
+     * @param surfaceArea the shape's surface area
+     * @throws IllegalArgumentException if type is null or color is null or blank
+     */
+    public void add(ShapeType type, String color, double volume, double surfaceArea) {
+        if (type == null) {
+            throw new IllegalArgumentException("Shape type cannot be null.");
+        }
+        if (color == null || color.trim().isEmpty()) {
+            throw new IllegalArgumentException("Shape color cannot be null or blank.");
+        }
+        int colorId = Shape3D.getColorDictionary().intern(color.trim());
+        Cell cell = lockCell();
+        try {
+            cell.groups.add(type, colorId, volume, surfaceArea);
+        } finally {
+            cell.unlock();
+        }
+    }
+
+    /**
+     * Adds every shape to its group.
+     *
+     * @param shapes the shapes
+     * @throws IllegalArgumentException if shapes or a shape is null, or a
+     *                                  shape is of an unknown type
+     */
+    public void addAll(Iterable<? extends Shape3D> shapes) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Shape list cannot be null.");
+        }
+        Cell cell = lockCell();
+        try {
+            for (Shape3D shape : shapes) {
+                if (shape == null) {
+                    throw new IllegalArgumentException("Shape cannot be null.");
+                }
+                cell.groups.add(shape);
+            }
+        } finally {
+            cell.unlock();
+        }
+    }
+
+    /**
+     * Returns the combined statistics of all shapes added so far.
+     *
+     * @return summary
+     */
+    public AggregationSummary summary() {
+        GroupAccumulator total = new GroupAccumulator(0);
+        for (int i = 0; i < cells.length(); i++) {
+            Cell cell = cells.get(i);
+            if (cell != null) {
+                cell.lock();
+                try {
+                    total.merge(cell.groups);
+                } finally {
+                    cell.unlock();
+                }
+            }
+        }
+        return new AggregationSummary(total);
+    }
+
+    /** Returns the number of cells created so far. */
+    int cellCount() {
+        int count = 0;
+        for (int i = 0; i < cells.length(); i++) {
+            if (cells.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Locks and returns the calling thread's cell, or the first free cell
+     * after it; blocks on the thread's own cell only if every cell is busy.
+     */
+    private Cell lockCell() {
+        int mask = cells.length() - 1;
+        int start = probe() & mask;
+        for (int i = 0; i <= mask; i++) {
+            Cell cell = cell((start + i) & mask);
+            if (cell.tryLock()) {
+                return cell;
+            }
+        }
+        Cell cell = cell(start);
+        cell.lock();
+        return cell;
+    }
+
+    private Cell cell(int index) {
+        Cell cell = cells.get(index);
+        if (cell == null) {
+            Cell created = new Cell();
+            cell = cells.compareAndExchange(index, null, created);
+            if (cell == null) {
+                cell = created;
+            }
+        }
+        return cell;
+    }
+
+    private static int cellsFor(int count) {
+        return count <= 1 ? 1 : Integer.highestOneBit(count - 1) << 1;
+    }
+
+    /** Spreads thread ids, which are sequential, over the cells. */
+    private static int probe() {
+        int h = Long.hashCode(Thread.currentThread().threadId()) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Summarizes a list on the calling thread.
+     *
+     * @param shapes the shapes
+     * @return summary
+     * @throws IllegalArgumentException if shapes or a shape is null, or a
+     *                                  shape is of an unknown type
+     */
+    public static AggregationSummary aggregate(List<? extends Shape3D> shapes) {
+        AnalysisEvent event = new AnalysisEvent();
+        event.begin();
+        AggregationSummary summary = new AggregationSummary(reduce(spliterator(shapes)));
+        event.commit("aggregate", shapes.size());
+        return summary;
+    }
+
+    /**
+     * Summarizes a list in parallel on the common fork-join pool.
+     *
+     * @param shapes the shapes
+     * @return summary, identical to {@link #aggregate(List)}
+     * @throws IllegalArgumentException if shapes or a shape is null, or a
+     *                                  shape is of an unknown type
+     */
+    public static AggregationSummary aggregateParallel(List<? extends Shape3D> shapes) {
+        AnalysisEvent event = new AnalysisEvent();
+        event.begin();
+        AggregationSummary summary =
+                new AggregationSummary(ForkJoinPool.commonPool().invoke(new AggregationTask(spliterator(shapes))));
+        event.commit("aggregateParallel", shapes.size());
+        return summary;
+    }
+
+    private static ShapeSpliterator spliterator(List<? extends Shape3D> shapes) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Shape list cannot be null.");
+        }
+        List<? extends Shape3D> list = shapes instanceof RandomAccess ? shapes : new ArrayList<>(shapes);
+        return new ShapeSpliterator(list, AnalysisEngine.DEFAULT_BLOCK_SIZE);
+    }
+
+    private static GroupAccumulator leaf(ShapeSpliterator spliterator) {
+        GroupAccumulator accumulator = new GroupAccumulator(0);
+        spliterator.forEachRemaining(shape -> {
+            if (shape == null) {
+                throw new IllegalArgumentException("Shape cannot be null.");
+            }
+            accumulator.add(shape);
+        });
+        return accumulator;
+    }
+
+    private static GroupAccumulator reduce(ShapeSpliterator spliterator) {
+        ShapeSpliterator prefix = spliterator.trySplit();
+        if (prefix == null) {
+            return leaf(spliterator);
+        }
+        GroupAccumulator left = reduce(prefix);
+        return left.merge(reduce(spliterator));
+    }
+
+    /**
+     * Accumulator guarded by its own lock. A {@link ReentrantLock} rather
+     * than a monitor, so virtual threads adding to it are not pinned.
+     */
+    private static final class Cell extends ReentrantLock {
+
+        final GroupAccumulator groups = new GroupAccumulator(0);
+    }
+
+    /**
+     * Fork-join task that mirrors {@link #reduce(ShapeSpliterator)}.
+     */
+    private static final class AggregationTask extends RecursiveTask<GroupAccumulator> {
+
+        private final ShapeSpliterator spliterator;
+
+        private AggregationTask(ShapeSpliterator spliterator) {
+            this.spliterator = spliterator;
+        }
+
+        @Override
+        protected GroupAccumulator compute() {
+            ShapeSpliterator prefix = spliterator.trySplit();
+            if (prefix == null) {
+                return leaf(spliterator);
+            }
+            AggregationTask left = new AggregationTask(prefix);
+            left.fork();
+            GroupAccumulator right = new AggregationTask(spliterator).compute();
+            return left.join().merge(right);
+        }
+    }
+}
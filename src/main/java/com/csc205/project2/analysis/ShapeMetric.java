@@ -0,0 +1,34 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.Shape3D;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Standard per-shape metrics used as ranking keys.
+ */
+public enum ShapeMetric implements ToDoubleFunction<Shape3D> {
+
+    /** {@link Shape3D#getVolume()}. */
+    VOLUME {
+        @Override
+        public double applyAsDouble(Shape3D shape) {
+            return shape.getVolume();
+        }
+    },
+
+    /** {@link Shape3D#getSurfaceArea()}. */
+    SURFACE_AREA {
+        @Override
+        public double applyAsDouble(Shape3D shape) {
+            return shape.getSurfaceArea();
+        }
+    },
+
+    /** Volume divided by surface area. */
+    EFFICIENCY {
+        @Override
+        public double applyAsDouble(Shape3D shape) {
+            return shape.getVolume() / shape.getSurfaceArea();
+        }
+    }
+}
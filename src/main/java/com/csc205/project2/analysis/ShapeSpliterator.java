@@ -0,0 +1,98 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.Shape3D;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a range of a random-access shape list that always splits
+ * on multiples of a fixed block size.
+ * <p>
+ * Split points depend only on the range and the block size, never on the
+ * number of threads, so recursively splitting a spliterator yields the
+ * same tree of ranges every time. Reducing over that tree in a fixed
+ * left-to-right order gives bit-identical floating-point results whether
+ * the leaves run sequentially or in parallel.
+ */
+public final class ShapeSpliterator implements Spliterator<Shape3D> {
+
+    private final List<? extends Shape3D> shapes;
+    private final int blockSize;
+    private int index;
+    private final int fence;
+
+    /**
+     * Constructs a spliterator over the whole list.
+     *
+     * @param shapes    a random-access list of shapes
+     * @param blockSize the smallest range that is not split further
+     * @throws IllegalArgumentException if blockSize is not positive
+     */
+    public ShapeSpliterator(List<? extends Shape3D> shapes, int blockSize) {
+        this(shapes, blockSize, 0, shapes.size());
+    }
+
+    private ShapeSpliterator(List<? extends Shape3D> shapes, int blockSize, int index, int fence) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be greater than zero.");
+        }
+        this.shapes = shapes;
+        this.blockSize = blockSize;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    /**
+     * Returns the list index of the next element this spliterator will visit.
+     *
+     * @return current position
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Shape3D> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(shapes.get(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Shape3D> action) {
+        for (int i = index; i < fence; i++) {
+            action.accept(shapes.get(i));
+        }
+        index = fence;
+    }
+
+    /**
+     * Splits off the first half of the remaining blocks, or returns null if
+     * at most one block remains.
+     */
+    @Override
+    public ShapeSpliterator trySplit() {
+        int remaining = fence - index;
+        if (remaining <= blockSize) {
+            return null;
+        }
+        int blocks = (remaining + blockSize - 1) / blockSize;
+        int mid = index + (blocks / 2) * blockSize;
+        ShapeSpliterator prefix = new ShapeSpliterator(shapes, blockSize, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+}
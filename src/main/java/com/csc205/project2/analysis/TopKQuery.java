@@ -0,0 +1,243 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.Shape3D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Finds the shapes with the largest values of a key without sorting.
+ * <p>
+ * Each pass keeps a bounded min-heap of at most {@code k} entries in two
+ * primitive arrays (key and list index). The arrays start no larger than
+ * the range being scanned and grow only as entries arrive, so memory stays
+ * O(min(k, n)) per worker even when k is huge, and each shape costs one key evaluation
+ * plus, only if it beats the current k-th best, O(log k) heap work.
+ * <p>
+ * {@link #topParallel} splits the list with a {@link ShapeSpliterator},
+ * builds one heap per leaf on a fork-join pool and merges the heaps of
+ * adjacent ranges. Equal keys rank by list position (earlier first), so
+ * {@link #top} and {@link #topParallel} always return the same shapes in
+ * the same order. Shapes whose key is NaN are skipped.
+ */
+public class TopKQuery {
+
+    private final ForkJoinPool pool;
+
+    private final int blockSize;
+
+    /**
+     * Constructs a query that runs parallel passes on the common pool.
+     */
+    public TopKQuery() {
+        this(ForkJoinPool.commonPool(), AnalysisEngine.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructs a query with a specific pool and block size.
+     *
+     * @param pool      pool used by {@link #topParallel}
+     * @param blockSize number of shapes scanned sequentially by one task
+     * @throws IllegalArgumentException if pool is null or blockSize is not positive
+     */
+    public TopKQuery(ForkJoinPool pool, int blockSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null.");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be greater than zero.");
+        }
+        this.pool = pool;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns the {@code k} shapes with the largest keys, on the calling thread.
+     *
+     * @param shapes the shapes to rank
+     * @param k      maximum number of shapes to return
+     * @param key    ranking key, for example a {@link ShapeMetric}
+     * @return up to k shapes, largest key first
+     * @throws IllegalArgumentException if shapes or key is null or k is not positive
+     */
+    public List<Shape3D> top(List<? extends Shape3D> shapes, int k, ToDoubleFunction<? super Shape3D> key) {
+        List<? extends Shape3D> list = prepare(shapes, k, key);
+        Heap heap = new Heap(k, list.size());
+        heap.scan(list, 0, list.size(), key);
+        return heap.toList(list);
+    }
+
+    /**
+     * Returns the {@code k} shapes with the largest keys, computed in
+     * parallel on this query's fork-join pool.
+     *
+     * @param shapes the shapes to rank
+     * @param k      maximum number of shapes to return
+     * @param key    ranking key, for example a {@link ShapeMetric}; must be
+     *               safe to call from several threads
+     * @return up to k shapes, largest key first, identical to {@link #top}
+     * @throws IllegalArgumentException if shapes or key is null or k is not positive
+     */
+    public List<Shape3D> topParallel(List<? extends Shape3D> shapes, int k,
+                                     ToDoubleFunction<? super Shape3D> key) {
+        List<? extends Shape3D> list = prepare(shapes, k, key);
+        Heap heap = pool.invoke(new TopKTask(list, new ShapeSpliterator(list, blockSize), k, key));
+        return heap.toList(list);
+    }
+
+    private static List<? extends Shape3D> prepare(List<? extends Shape3D> shapes, int k,
+                                                   ToDoubleFunction<? super Shape3D> key) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Shape list cannot be null.");
+        }
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null.");
+        }
+        if (k <= 0) {
+            throw new IllegalArgumentException("K must be greater than zero.");
+        }
+        return shapes instanceof RandomAccess ? shapes : new ArrayList<>(shapes);
+    }
+
+    /**
+     * Fork-join task that builds one heap per leaf range and merges them.
+     */
+    private static final class TopKTask extends RecursiveTask<Heap> {
+
+        private final List<? extends Shape3D> shapes;
+        private final ShapeSpliterator spliterator;
+        private final int k;
+        private final ToDoubleFunction<? super Shape3D> key;
+
+        private TopKTask(List<? extends Shape3D> shapes, ShapeSpliterator spliterator, int k,
+                         ToDoubleFunction<? super Shape3D> key) {
+            this.shapes = shapes;
+            this.spliterator = spliterator;
+            this.k = k;
+            this.key = key;
+        }
+
+        @Override
+        protected Heap compute() {
+            ShapeSpliterator prefix = spliterator.trySplit();
+            if (prefix == null) {
+                int from = spliterator.getIndex();
+                int count = (int) spliterator.estimateSize();
+                Heap heap = new Heap(k, count);
+                heap.scan(shapes, from, from + count, key);
+                return heap;
+            }
+            TopKTask left = new TopKTask(shapes, prefix, k, key);
+            left.fork();
+            Heap right = new TopKTask(shapes, spliterator, k, key).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Bounded binary min-heap of (key, index) pairs. The root is the
+     * weakest entry kept: the smallest key, or among equal keys the
+     * largest index.
+     */
+    private static final class Heap {
+
+        /** Maximum number of entries kept. */
+        private final int capacity;
+        private double[] keys;
+        private int[] indices;
+        private int size;
+
+        private Heap(int capacity, int expected) {
+            this.capacity = capacity;
+            int length = Math.min(capacity, expected);
+            keys = new double[length];
+            indices = new int[length];
+        }
+
+        private void scan(List<? extends Shape3D> shapes, int from, int to,
+                          ToDoubleFunction<? super Shape3D> key) {
+            for (int i = from; i < to; i++) {
+                offer(key.applyAsDouble(shapes.get(i)), i);
+            }
+        }
+
+        private void offer(double key, int index) {
+            if (Double.isNaN(key)) {
+                return;
+            }
+            if (size < capacity) {
+                if (size == keys.length) {
+                    int length = (int) Math.min(capacity, Math.max(16L, 2L * size));
+                    keys = Arrays.copyOf(keys, length);
+                    indices = Arrays.copyOf(indices, length);
+                }
+                int child = size++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (!weaker(key, index, keys[parent], indices[parent])) {
+                        break;
+                    }
+                    keys[child] = keys[parent];
+                    indices[child] = indices[parent];
+                    child = parent;
+                }
+                keys[child] = key;
+                indices[child] = index;
+            } else if (weaker(keys[0], indices[0], key, index)) {
+                siftDownRoot(key, index);
+            }
+        }
+
+        /** Replaces the root and restores the heap order. */
+        private void siftDownRoot(double key, int index) {
+            int parent = 0;
+            int half = size >>> 1;
+            while (parent < half) {
+                int child = 2 * parent + 1;
+                int right = child + 1;
+                if (right < size && weaker(keys[right], indices[right], keys[child], indices[child])) {
+                    child = right;
+                }
+                if (!weaker(keys[child], indices[child], key, index)) {
+                    break;
+                }
+                keys[parent] = keys[child];
+                indices[parent] = indices[child];
+                parent = child;
+            }
+            keys[parent] = key;
+            indices[parent] = index;
+        }
+
+        private static boolean weaker(double key, int index, double otherKey, int otherIndex) {
+            return key < otherKey || (key == otherKey && index > otherIndex);
+        }
+
+        /** Offers the entries of the smaller heap to the larger one and returns the larger. */
+        private Heap merge(Heap other) {
+            Heap target = size >= other.size ? this : other;
+            Heap source = target == this ? other : this;
+            for (int i = 0; i < source.size; i++) {
+                target.offer(source.keys[i], source.indices[i]);
+            }
+            return target;
+        }
+
+        /** Empties the heap into a list ordered from strongest to weakest. */
+        private List<Shape3D> toList(List<? extends Shape3D> shapes) {
+            Shape3D[] ranked = new Shape3D[size];
+            while (size > 0) {
+                ranked[size - 1] = shapes.get(indices[0]);
+                int last = --size;
+                if (last > 0) {
+                    siftDownRoot(keys[last], indices[last]);
+                }
+            }
+            return List.of(ranked);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.csc205.project2.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one analysis pass over a shape collection.
+ */
+@Name("com.csc205.project2.Analysis")
+@Label("Shape Analysis")
+@Category("Shapes")
+@Description("One analysis pass over a collection of shapes")
+public final class AnalysisEvent extends Event {
+
+    /** Name of the analysis, such as {@code analyze} or {@code aggregateParallel}. */
+    @Label("Kind")
+    public String kind;
+
+    /** Number of shapes analyzed. */
+    @Label("Shape Count")
+    public long shapeCount;
+
+    /**
+     * Ends the event and commits it if it is enabled and passes the
+     * recording's threshold.
+     *
+     * @param kind       name of the analysis
+     * @param shapeCount number of shapes analyzed
+     */
+    public void commit(String kind, long shapeCount) {
+        end();
+        if (shouldCommit()) {
+            this.kind = kind;
+            this.shapeCount = shapeCount;
+            commit();
+        }
+    }
+}
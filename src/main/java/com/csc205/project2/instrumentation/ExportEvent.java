@@ -0,0 +1,35 @@
+package com.csc205.project2.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for writing shapes out, to a file or as a report.
+ */
+@Name("com.csc205.project2.Export")
+@Label("Shape Export")
+@Category("Shapes")
+@Description("Writing a shape collection to a file or report")
+public final class ExportEvent extends Event {
+
+    /** File or stream written. */
+    @Label("Destination")
+    public String destination;
+
+    /** Output format, {@code binary} or {@code text}. */
+    @Label("Format")
+    public String format;
+
+    /** Number of shapes written. */
+    @Label("Shape Count")
+    public long shapeCount;
+
+    /** Number of bytes written, or 0 if unknown. */
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,35 @@
+package com.csc205.project2.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for loading shapes from a file.
+ */
+@Name("com.csc205.project2.Ingest")
+@Label("Shape Ingestion")
+@Category("Shapes")
+@Description("Loading a shape collection from a file")
+public final class IngestEvent extends Event {
+
+    /** File read. */
+    @Label("Source")
+    public String source;
+
+    /** File format, {@code csv} or {@code binary}. */
+    @Label("Format")
+    public String format;
+
+    /** Number of shapes loaded. */
+    @Label("Shape Count")
+    public long shapeCount;
+
+    /** Size of the file. */
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,201 @@
+package com.csc205.project2.instrumentation;
+
+import com.csc205.project2.shapes.Cube;
+import com.csc205.project2.shapes.Cylinder;
+import com.csc205.project2.shapes.RectangularPrism;
+import com.csc205.project2.shapes.RectangularPyramid;
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeType;
+import com.csc205.project2.shapes.Sphere;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counters and latency histograms for hot operations.
+ * <p>
+ * Instrumented code brackets an operation with {@link #start()} and
+ * {@link #record(Operation, Shape3D, long)}; results are kept per
+ * {@link Operation} and {@link ShapeType} and read with
+ * {@link #getStatistics(Operation, ShapeType)}.
+ * <p>
+ * Instrumentation is off unless the system property
+ * {@code shapes.instrumentation} is {@code true}, and can be switched at
+ * any time with {@link #setEnabled(boolean)}. While it is off an
+ * instrumented operation costs one volatile read and a not-taken branch.
+ * While it is on each call reads the clock twice and updates three
+ * {@link LongAdder}s, so concurrent callers do not contend.
+ * <p>
+ * Batch operations (analysis passes, ingestion and export) additionally
+ * emit the JDK Flight Recorder events {@link AnalysisEvent},
+ * {@link IngestEvent} and {@link ExportEvent}, which are switched on and
+ * off by the flight recording settings rather than by this class.
+ */
+public final class Instrumentation {
+
+    private static final ShapeType[] TYPES = ShapeType.values();
+
+    /** Slots per operation: one per shape type plus one for untyped calls. */
+    private static final int SLOTS = TYPES.length + 1;
+
+    private static final Recorder[] RECORDERS = new Recorder[Operation.values().length * SLOTS];
+
+    static {
+        for (int i = 0; i < RECORDERS.length; i++) {
+            RECORDERS[i] = new Recorder();
+        }
+    }
+
+    private static volatile boolean enabled = Boolean.getBoolean("shapes.instrumentation");
+
+    private Instrumentation() {
+    }
+
+    /**
+     * Returns whether operations are being measured.
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches measurement on or off. Counts recorded so far are kept.
+     *
+     * @param enabled true to measure operations
+     */
+    public static void setEnabled(boolean enabled) {
+        Instrumentation.enabled = enabled;
+    }
+
+    /**
+     * Returns the start time of an operation.
+     *
+     * @return current {@link System#nanoTime()}
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a call of a shape operation that began at {@code startNanos}.
+     *
+     * @param operation  the operation
+     * @param shape      the shape operated on; shapes of other than the
+     *                   built-in types are recorded as untyped
+     * @param startNanos value of {@link #start()} when the call began
+     */
+    public static void record(Operation operation, Shape3D shape, long startNanos) {
+        recorder(operation, typeSlot(shape)).add(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records a call of an operation that is not tied to a shape type.
+     *
+     * @param operation  the operation
+     * @param startNanos value of {@link #start()} when the call began
+     */
+    public static void record(Operation operation, long startNanos) {
+        recorder(operation, TYPES.length).add(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns the statistics recorded for an operation and shape type.
+     *
+     * @param operation the operation
+     * @param type      the shape type, or null for untyped calls
+     * @return statistics so far
+     * @throws IllegalArgumentException if operation is null
+     */
+    public static OperationStatistics getStatistics(Operation operation, ShapeType type) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null.");
+        }
+        return recorder(operation, type == null ? TYPES.length : type.ordinal()).snapshot(operation, type);
+    }
+
+    /**
+     * Returns the statistics of every operation and type with at least one
+     * recorded call, by operation and then type, untyped last.
+     *
+     * @return non-empty statistics
+     */
+    public static List<OperationStatistics> getAllStatistics() {
+        List<OperationStatistics> all = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                OperationStatistics statistics = getStatistics(operation, slot < TYPES.length ? TYPES[slot] : null);
+                if (statistics.count() > 0) {
+                    all.add(statistics);
+                }
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Clears every counter and histogram. Calls that are being recorded
+     * concurrently may be partly kept.
+     */
+    public static void reset() {
+        for (Recorder recorder : RECORDERS) {
+            recorder.reset();
+        }
+    }
+
+    private static Recorder recorder(Operation operation, int slot) {
+        return RECORDERS[operation.ordinal() * SLOTS + slot];
+    }
+
+    private static int typeSlot(Shape3D shape) {
+        return switch (shape) {
+            case Sphere s -> ShapeType.SPHERE.ordinal();
+            case Cube c -> ShapeType.CUBE.ordinal();
+            case Cylinder c -> ShapeType.CYLINDER.ordinal();
+            case RectangularPrism r -> ShapeType.RECTANGULAR_PRISM.ordinal();
+            case RectangularPyramid p -> ShapeType.RECTANGULAR_PYRAMID.ordinal();
+            case null, default -> TYPES.length;
+        };
+    }
+
+    /**
+     * Counters of one operation and type.
+     */
+    private static final class Recorder {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAdder[] buckets = new LongAdder[OperationStatistics.BUCKETS];
+
+        private Recorder() {
+            for (int b = 0; b < buckets.length; b++) {
+                buckets[b] = new LongAdder();
+            }
+        }
+
+        private void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            buckets[OperationStatistics.bucketOf(nanos)].increment();
+        }
+
+        private OperationStatistics snapshot(Operation operation, ShapeType type) {
+            long[] histogram = new long[buckets.length];
+            for (int b = 0; b < buckets.length; b++) {
+                histogram[b] = buckets[b].sum();
+            }
+            return new OperationStatistics(operation, type, count.sum(), totalNanos.sum(), histogram);
+        }
+
+        private void reset() {
+            count.reset();
+            totalNanos.reset();
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+        }
+    }
+}
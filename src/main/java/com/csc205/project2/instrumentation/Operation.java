@@ -0,0 +1,25 @@
+package com.csc205.project2.instrumentation;
+
+/**
+ * Operations measured by {@link Instrumentation}.
+ */
+public enum Operation {
+
+    /** {@link com.csc205.project2.shapes.Shape3D#getVolume()}. */
+    VOLUME,
+
+    /** {@link com.csc205.project2.shapes.Shape3D#getSurfaceArea()}. */
+    SURFACE_AREA,
+
+    /**
+     * {@link com.csc205.project2.shapes.Shape3D#appendTo(StringBuilder)},
+     * which also backs {@code toString()} and {@code writeTo(ByteBuffer)}.
+     */
+    FORMAT,
+
+    /** Printing the shape list in {@link com.csc205.project2.ShapeDriver}. */
+    PRINT_SHAPES,
+
+    /** The comparative analysis in {@link com.csc205.project2.ShapeDriver}. */
+    ANALYSIS
+}
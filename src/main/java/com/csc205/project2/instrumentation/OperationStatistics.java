@@ -0,0 +1,104 @@
+package com.csc205.project2.instrumentation;
+
+import com.csc205.project2.shapes.ShapeType;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Call count and latency distribution of one operation, for one shape
+ * type or for calls not tied to a shape type.
+ * <p>
+ * Latencies are kept in power-of-two buckets: bucket 0 counts calls that
+ * took 0 ns and bucket {@code b > 0} counts calls that took from
+ * 2<sup>b-1</sup> to 2<sup>b</sup>-1 ns. Percentiles are therefore upper
+ * bounds, accurate to a factor of two.
+ *
+ * @param operation       the operation
+ * @param type            the shape type, or null for untyped calls
+ * @param count           number of calls
+ * @param totalNanos      total time spent in the calls
+ * @param latencyBuckets  number of calls per latency bucket
+ */
+public record OperationStatistics(Operation operation,
+                                  ShapeType type,
+                                  long count,
+                                  long totalNanos,
+                                  long[] latencyBuckets) {
+
+    /** Number of latency buckets; the last also counts every longer call. */
+    public static final int BUCKETS = 48;
+
+    /**
+     * Returns the largest latency counted in a bucket.
+     *
+     * @param bucket bucket index
+     * @return upper bound in nanoseconds
+     */
+    public static long bucketUpperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    /**
+     * Returns the bucket that counts a latency.
+     *
+     * @param nanos latency in nanoseconds
+     * @return bucket index
+     */
+    static int bucketOf(long nanos) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+
+    /**
+     * Returns the mean latency.
+     *
+     * @return mean in nanoseconds, or 0 if there were no calls
+     */
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * Returns an upper bound of a latency percentile.
+     *
+     * @param percentile percentile, from 0 (exclusive) to 100
+     * @return upper bound of the bucket holding the percentile, or 0 if there were no calls
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long percentileNanos(double percentile) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be greater than 0 and at most 100.");
+        }
+        long total = Arrays.stream(latencyBuckets).sum();
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int b = 0; b < latencyBuckets.length; b++) {
+            seen += latencyBuckets[b];
+            if (seen >= rank && seen > 0) {
+                return bucketUpperBound(b);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof OperationStatistics other
+                && operation == other.operation
+                && type == other.type
+                && count == other.count
+                && totalNanos == other.totalNanos
+                && Arrays.equals(latencyBuckets, other.latencyBuckets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operation, type, count, totalNanos) * 31 + Arrays.hashCode(latencyBuckets);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: count=%d, mean=%.0f ns, p50<=%d ns, p99<=%d ns",
+                operation, type == null ? "-" : type, count, meanNanos(),
+                percentileNanos(50), percentileNanos(99));
+    }
+}
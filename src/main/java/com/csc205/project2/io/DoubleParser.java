@@ -0,0 +1,118 @@
+package com.csc205.project2.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses decimal numbers directly from ASCII bytes without allocating.
+ * <p>
+ * Numbers with at most 18 significant digits and a decimal exponent within
+ * ±22 are converted exactly with a single multiplication or division by
+ * a power of ten (Clinger's fast path), which covers the dimension values
+ * found in shape files. Anything else falls back to
+ * {@link Double#parseDouble(String)}, so every input gives the same value
+ * as the JDK parser.
+ */
+final class DoubleParser {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private DoubleParser() {
+    }
+
+    /**
+     * Parses the bytes in {@code [start, end)} of a buffer.
+     *
+     * @param buffer source bytes, read with absolute gets
+     * @param start  index of the first byte
+     * @param end    index after the last byte
+     * @return parsed value
+     * @throws NumberFormatException if the bytes are not a valid number
+     */
+    static double parse(ByteBuffer buffer, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean anyDigits = false;
+
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            anyDigits = true;
+            if (mantissa != 0 || digit != 0) {
+                mantissa = mantissa * 10 + digit;
+                significantDigits++;
+            }
+        }
+        if (i < end && buffer.get(i) == '.') {
+            for (i++; i < end; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                anyDigits = true;
+                if (mantissa != 0 || digit != 0) {
+                    mantissa = mantissa * 10 + digit;
+                    significantDigits++;
+                }
+                exponent--;
+            }
+        }
+        if (anyDigits && i < end && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negativeExponent = buffer.get(i) == '-';
+                i++;
+            }
+            int explicit = 0;
+            int exponentStart = i;
+            for (; i < end; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9 || explicit > 100_000) {
+                    break;
+                }
+                explicit = explicit * 10 + digit;
+            }
+            if (i == exponentStart) {
+                return slowParse(buffer, start, end);
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        if (!anyDigits || i != end || significantDigits > 18) {
+            return slowParse(buffer, start, end);
+        }
+        double value;
+        if (mantissa == 0) {
+            value = 0.0;
+        } else if (mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            value = exponent >= 0
+                    ? mantissa * POWERS_OF_TEN[exponent]
+                    : mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return slowParse(buffer, start, end);
+        }
+        return negative ? -value : value;
+    }
+
+    private static double slowParse(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,461 @@
+package com.csc205.project2.io;
+
+import com.csc205.project2.instrumentation.IngestEvent;
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeStore;
+import com.csc205.project2.shapes.ShapeType;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Loads shapes from CSV files by memory-mapping them and parsing chunks of
+ * rows in parallel.
+ * <p>
+ * Each row has the form {@code type,name,color,dim1[,dim2[,dim3]]}, where
+ * {@code type} is a {@link ShapeType} name or shape class name in any case
+ * ({@code sphere}, {@code RectangularPrism}, {@code rectangular_pyramid},
+ * ...) and the dimensions follow constructor order. Trailing dimensions a
+ * type does not use may be omitted or left empty, but a row has at most
+ * six fields. Blank lines and an optional header row whose first field is
+ * {@code type} are skipped.
+ * <p>
+ * The file is cut into chunks of about {@link #DEFAULT_CHUNK_SIZE} bytes
+ * that end on line boundaries. Each chunk is mapped with
+ * {@link FileChannel#map} and parsed on the common fork-join pool straight
+ * from the mapped bytes: numbers go through an allocation-free parser and
+ * repeated names and colors reuse one {@code String} per chunk. Results
+ * keep file order. Each load emits an {@link IngestEvent}.
+ */
+public class ShapeCsvLoader {
+
+    /** Default size, in bytes, of the chunks parsed in parallel. */
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    private static final byte[][] TYPE_NAMES = new byte[ShapeType.values().length][];
+
+    static {
+        for (ShapeType type : ShapeType.values()) {
+            TYPE_NAMES[type.ordinal()] = type.name().replace("_", "").toLowerCase()
+                    .getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final int chunkSize;
+
+    /**
+     * Constructs a loader with the default chunk size.
+     */
+    public ShapeCsvLoader() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a loader with a specific chunk size.
+     *
+     * @param chunkSize approximate number of bytes per parallel chunk
+     * @throws IllegalArgumentException if chunkSize is not positive
+     */
+    public ShapeCsvLoader(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than zero.");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Loads every row of a file as a {@link Shape3D} object.
+     *
+     * @param file the CSV file
+     * @return the shapes, in file order
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed or describes an invalid shape
+     */
+    public List<Shape3D> loadShapes(Path file) throws IOException {
+        IngestEvent event = new IngestEvent();
+        event.begin();
+        List<List<Shape3D>> parts = load(file, () -> new RowSink<List<Shape3D>>() {
+            private final List<Shape3D> shapes = new ArrayList<>();
+
+            @Override
+            public void accept(ShapeType type, double d0, double d1, double d2, String name, String color) {
+                shapes.add(type.create(d0, d1, d2, name, color));
+            }
+
+            @Override
+            public List<Shape3D> result() {
+                return shapes;
+            }
+        });
+        List<Shape3D> shapes = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+        for (int i = 0; i < parts.size(); i++) {
+            shapes.addAll(parts.get(i));
+            parts.set(i, null);
+        }
+        commit(event, file, shapes.size());
+        return shapes;
+    }
+
+    /**
+     * Loads every row of a file into columnar storage, without creating
+     * {@link Shape3D} objects.
+     *
+     * @param file the CSV file
+     * @return a store holding the shapes, with ids in file order
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed or describes an invalid shape
+     */
+    public ShapeStore loadStore(Path file) throws IOException {
+        IngestEvent event = new IngestEvent();
+        event.begin();
+        List<ShapeStore> parts = load(file, () -> new RowSink<ShapeStore>() {
+            private final ShapeStore store = new ShapeStore();
+
+            @Override
+            public void accept(ShapeType type, double d0, double d1, double d2, String name, String color) {
+                store.add(type, d0, d1, d2, name, color);
+            }
+
+            @Override
+            public ShapeStore result() {
+                return store;
+            }
+        });
+        // Moves the chunk columns into place without holding the shapes twice
+        ShapeStore store = ShapeStore.concat(parts);
+        commit(event, file, store.size());
+        return store;
+    }
+
+    /**
+     * Streams the rows of a file to an action in batches of columnar
+     * storage, in file order.
+     * <p>
+     * Unlike the other load methods, chunks are mapped and parsed one at a
+     * time on the calling thread, and each batch is handed to the action
+     * as soon as it is full, so heap use is bounded by the batch size
+     * rather than the file size. The action may block, which pauses
+     * reading; it owns each batch it receives.
+     *
+     * @param file      the CSV file
+     * @param batchSize maximum number of shapes per batch
+     * @param action    receives each batch; the last one may be smaller
+     * @return number of shapes read
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if batchSize is not positive, or a
+     *                                  row is malformed or describes an invalid shape
+     */
+    public long forEachBatch(Path file, int batchSize, Consumer<? super ShapeStore> action) throws IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than zero.");
+        }
+        IngestEvent event = new IngestEvent();
+        event.begin();
+        RowSink<Long> sink = new RowSink<>() {
+            private ShapeStore batch = new ShapeStore(batchSize);
+            private long count;
+
+            @Override
+            public void accept(ShapeType type, double d0, double d1, double d2, String name, String color) {
+                batch.add(type, d0, d1, d2, name, color);
+                count++;
+                if (batch.size() == batchSize) {
+                    action.accept(batch);
+                    batch = new ShapeStore(batchSize);
+                }
+            }
+
+            @Override
+            public Long result() {
+                if (batch.size() > 0) {
+                    action.accept(batch);
+                    batch = new ShapeStore(batchSize);
+                }
+                return count;
+            }
+        };
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            try {
+                for (int i = 0; i < bounds.length - 1; i++) {
+                    parseChunk(channel, bounds[i], bounds[i + 1], sink);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        long count = sink.result();
+        commit(event, file, count);
+        return count;
+    }
+
+    private static void commit(IngestEvent event, Path file, long shapeCount) throws IOException {
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = file.toString();
+            event.format = "csv";
+            event.shapeCount = shapeCount;
+            event.bytes = Files.size(file);
+            event.commit();
+        }
+    }
+
+    private <T> List<T> load(Path file, Supplier<RowSink<T>> sinks) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            try {
+                return IntStream.range(0, bounds.length - 1)
+                        .parallel()
+                        .mapToObj(i -> {
+                            RowSink<T> sink = sinks.get();
+                            parseChunk(channel, bounds[i], bounds[i + 1], sink);
+                            return sink.result();
+                        })
+                        .collect(Collectors.toCollection(ArrayList::new));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /** Returns chunk start offsets followed by the file size; every chunk ends after a newline or at EOF. */
+    private long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        long start = 0;
+        bounds.add(start);
+        while (start < size) {
+            long end = start + chunkSize >= size ? size : nextLineStart(channel, start + chunkSize, size);
+            bounds.add(end);
+            start = end;
+        }
+        if (size == 0) {
+            bounds.add(0L);
+        }
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 << 10);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static void parseChunk(FileChannel channel, long offset, long end, RowSink<?> sink) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, end - offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        new ChunkParser(buffer, offset, sink).parse();
+    }
+
+    /** Matches a type name ignoring case, spaces, underscores and hyphens. */
+    private static ShapeType parseType(ByteBuffer buffer, int start, int end) {
+        for (ShapeType type : ShapeType.values()) {
+            byte[] expected = TYPE_NAMES[type.ordinal()];
+            int matched = 0;
+            boolean ok = true;
+            for (int i = start; i < end && ok; i++) {
+                int c = buffer.get(i);
+                if (c == ' ' || c == '_' || c == '-') {
+                    continue;
+                }
+                ok = matched < expected.length && Character.toLowerCase(c) == expected[matched++];
+            }
+            if (ok && matched == expected.length) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static boolean equalsIgnoreCase(ByteBuffer buffer, int start, int end, String text) {
+        start = skipSpaces(buffer, start, end);
+        end = trimSpaces(buffer, start, end);
+        if (end - start != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.toLowerCase(buffer.get(start + i)) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipSpaces(ByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimSpaces(ByteBuffer buffer, int start, int end) {
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Parses the rows of one mapped chunk, reusing its scratch arrays for
+     * every row.
+     */
+    private static final class ChunkParser {
+
+        private static final int MAX_FIELDS = 3 + ShapeType.MAX_DIMENSIONS;
+
+        private final ByteBuffer buffer;
+        private final long offset;
+        private final RowSink<?> sink;
+        private final StringCache strings = new StringCache();
+        private final int[] fieldStart = new int[MAX_FIELDS];
+        private final int[] fieldEnd = new int[MAX_FIELDS];
+        private final double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+
+        private ChunkParser(ByteBuffer buffer, long offset, RowSink<?> sink) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.sink = sink;
+        }
+
+        private void parse() {
+            int limit = buffer.limit();
+            int pos = 0;
+            boolean firstLine = offset == 0;
+            while (pos < limit) {
+                int lineEnd = pos;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int contentEnd = lineEnd;
+                if (contentEnd > pos && buffer.get(contentEnd - 1) == '\r') {
+                    contentEnd--;
+                }
+                if (contentEnd > pos) {
+                    try {
+                        parseRow(pos, contentEnd, firstLine);
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException(
+                                "Malformed row at byte offset " + (offset + pos) + ": " + e.getMessage(), e);
+                    }
+                    firstLine = false;
+                }
+                pos = lineEnd + 1;
+            }
+        }
+
+        private void parseRow(int start, int end, boolean mayBeHeader) {
+            int fields = 0;
+            int fieldBegin = start;
+            for (int i = start; i <= end; i++) {
+                if (i == end || buffer.get(i) == ',') {
+                    if (fields == MAX_FIELDS) {
+                        throw new IllegalArgumentException("expected at most " + MAX_FIELDS + " fields");
+                    }
+                    fieldStart[fields] = fieldBegin;
+                    fieldEnd[fields] = i;
+                    fields++;
+                    fieldBegin = i + 1;
+                }
+            }
+
+            ShapeType type = parseType(buffer, fieldStart[0], fieldEnd[0]);
+            if (type == null) {
+                if (mayBeHeader && equalsIgnoreCase(buffer, fieldStart[0], fieldEnd[0], "type")) {
+                    return;
+                }
+                throw new IllegalArgumentException("unknown shape type");
+            }
+            int dimensionCount = type.getDimensionCount();
+            if (fields < 3 + dimensionCount) {
+                throw new IllegalArgumentException("expected " + dimensionCount + " dimension(s) for " + type);
+            }
+            for (int d = 0; d < dimensionCount; d++) {
+                int s = skipSpaces(buffer, fieldStart[3 + d], fieldEnd[3 + d]);
+                int e = trimSpaces(buffer, s, fieldEnd[3 + d]);
+                dims[d] = DoubleParser.parse(buffer, s, e);
+            }
+            sink.accept(type, dims[0], dims[1], dims[2],
+                    strings.get(buffer, fieldStart[1], fieldEnd[1]),
+                    strings.get(buffer, fieldStart[2], fieldEnd[2]));
+        }
+    }
+
+    /**
+     * Receives parsed rows for one chunk.
+     */
+    private interface RowSink<T> {
+
+        void accept(ShapeType type, double d0, double d1, double d2, String name, String color);
+
+        T result();
+    }
+
+    /**
+     * Small direct-mapped cache from raw field bytes to strings, so a chunk
+     * with few distinct names and colors creates each string only once.
+     */
+    private static final class StringCache {
+
+        private static final int SIZE = 1024;
+
+        private final byte[][] keys = new byte[SIZE][];
+        private final String[] values = new String[SIZE];
+
+        private String get(ByteBuffer buffer, int start, int end) {
+            start = skipSpaces(buffer, start, end);
+            end = trimSpaces(buffer, start, end);
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+            int slot = (hash ^ (hash >>> 16)) & (SIZE - 1);
+            byte[] key = keys[slot];
+            if (key != null && key.length == end - start && matches(key, buffer, start)) {
+                return values[slot];
+            }
+            key = new byte[end - start];
+            buffer.get(start, key);
+            keys[slot] = key;
+            values[slot] = new String(key, StandardCharsets.UTF_8);
+            return values[slot];
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buffer, int start) {
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.csc205.project2.pipeline;
+
+import com.csc205.project2.analysis.AggregationSummary;
+import com.csc205.project2.analysis.ShapeAggregator;
+import com.csc205.project2.shapes.ShapeStore;
+
+/**
+ * Sink that groups shapes by type and color with a {@link ShapeAggregator},
+ * using the metrics computed by the pipeline.
+ * <p>
+ * The pipeline delivers batches to a sink one at a time, but possibly on a
+ * different thread each time, so the aggregator is kept to a single cell:
+ * its memory depends only on the colors seen, not on how many threads have
+ * run the sink.
+ */
+public class AggregatingSink implements ShapeSink {
+
+    private final ShapeAggregator aggregator = new ShapeAggregator(1);
+
+    @Override
+    public void accept(ShapeBatch batch) {
+        ShapeStore store = batch.getStore();
+        for (int id = 0; id < batch.size(); id++) {
+            aggregator.add(store.getType(id), store.getColor(id), batch.getVolume(id), batch.getSurfaceArea(id));
+        }
+    }
+
+    /**
+     * Returns the statistics of all shapes received so far; complete once
+     * the pipeline run has returned.
+     *
+     * @return summary
+     */
+    public AggregationSummary summary() {
+        return aggregator.summary();
+    }
+}
@@ -0,0 +1,196 @@
+package com.csc205.project2.pipeline;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Validate-and-compute stage of a {@link ShapePipeline}.
+ * <p>
+ * Keeps up to {@code parallelism} batches requested from upstream and
+ * computes each on its own task, then republishes them downstream in
+ * sequence order. A batch that finishes early waits in a reorder map until
+ * every earlier batch has been published; the map never holds more than
+ * {@code parallelism} batches. A new batch is requested only after one has
+ * been published, so a full downstream buffer, which blocks publishing,
+ * stops requests upstream. State is guarded by a {@link ReentrantLock}
+ * rather than a monitor, because publishing blocks while holding it and a
+ * virtual thread blocked inside {@code synchronized} would pin its carrier
+ * thread, starving the sinks that would unblock it.
+ */
+final class ComputeStage extends SubmissionPublisher<ShapeBatch>
+        implements Flow.Processor<ShapeBatch, ShapeBatch> {
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    private final ShapeFilter filter;
+
+    /** Called once with the cause when the stage fails. */
+    private final Consumer<Throwable> onFailure;
+
+    /** Called once when the stage has closed, normally or not. */
+    private final Runnable onClose;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Flow.Subscription subscription;
+
+    /** Computed batches waiting for an earlier batch, by sequence number. */
+    private final Map<Long, ShapeBatch> completed = new HashMap<>();
+
+    private long nextSequence;
+
+    /** Batches received but not yet published. */
+    private int inFlight;
+
+    private boolean upstreamDone;
+
+    private boolean finished;
+
+    private long shapeCount;
+
+    private long rejectedCount;
+
+    ComputeStage(Executor executor, int bufferSize, int parallelism, ShapeFilter filter,
+                 Consumer<Throwable> onFailure, Runnable onClose) {
+        super(executor, bufferSize);
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.filter = filter;
+        this.onFailure = onFailure;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        lock.lock();
+        try {
+            this.subscription = subscription;
+            if (finished) {
+                subscription.cancel();
+            } else {
+                subscription.request(parallelism);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onNext(ShapeBatch batch) {
+        lock.lock();
+        try {
+            if (finished) {
+                return;
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        executor.execute(() -> {
+            int rejected;
+            try {
+                rejected = batch.compute(filter);
+            } catch (RuntimeException | Error e) {
+                fail(e);
+                return;
+            }
+            publish(batch, rejected);
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        lock.lock();
+        try {
+            upstreamDone = true;
+            closeIfDone();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getShapeCount() {
+        lock.lock();
+        try {
+            return shapeCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejectedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the stage: cancels the upstream subscription, which releases a
+     * producer blocked on it, and fails every downstream subscriber.
+     */
+    void fail(Throwable cause) {
+        lock.lock();
+        try {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            completed.clear();
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        } finally {
+            lock.unlock();
+        }
+        onFailure.accept(cause);
+        closeExceptionally(cause);
+        onClose.run();
+    }
+
+    /** Publishes every computed batch that is next in sequence. */
+    private void publish(ShapeBatch batch, int rejected) {
+        lock.lock();
+        try {
+            if (finished) {
+                return;
+            }
+            rejectedCount += rejected;
+            completed.put(batch.getSequence(), batch);
+            for (ShapeBatch next; (next = completed.remove(nextSequence)) != null; nextSequence++) {
+                shapeCount += next.size();
+                if (next.size() > 0) {
+                    // Blocks while any sink's buffer is full
+                    submit(next);
+                }
+                inFlight--;
+                subscription.request(1);
+            }
+            closeIfDone();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeIfDone() {
+        if (upstreamDone && inFlight == 0 && !finished) {
+            finished = true;
+            close();
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.csc205.project2.pipeline;
+
+/**
+ * Counts of one {@link ShapePipeline} run.
+ *
+ * @param shapeCount    number of shapes that reached the sinks
+ * @param rejectedCount number of shapes dropped by the {@link ShapeFilter}
+ * @param batchCount    number of batches read from the source
+ */
+public record PipelineResult(long shapeCount, long rejectedCount, long batchCount) {
+}
@@ -0,0 +1,125 @@
+package com.csc205.project2.pipeline;
+
+import com.csc205.project2.shapes.ShapeStore;
+import com.csc205.project2.shapes.ShapeType;
+
+/**
+ * A chunk of shapes in columnar form travelling through a
+ * {@link ShapePipeline}, together with their computed metrics.
+ * <p>
+ * Batches are numbered in source order and delivered to every
+ * {@link ShapeSink} in that order. Sinks share each batch, so they must
+ * treat it as read-only and must not keep it after
+ * {@link ShapeSink#accept(ShapeBatch)} returns.
+ */
+public final class ShapeBatch {
+
+    private final long sequence;
+
+    private ShapeStore store;
+
+    private double[] volumes;
+
+    private double[] surfaceAreas;
+
+    ShapeBatch(long sequence, ShapeStore store) {
+        this.sequence = sequence;
+        this.store = store;
+    }
+
+    /**
+     * Returns the position of this batch in the source, starting at 0.
+     *
+     * @return batch sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the number of shapes in this batch.
+     *
+     * @return shape count
+     */
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Returns the shapes of this batch; ids run from 0 to {@link #size()}.
+     *
+     * @return columnar shape storage
+     */
+    public ShapeStore getStore() {
+        return store;
+    }
+
+    /**
+     * Returns the computed volume of a shape.
+     *
+     * @param id the shape id
+     * @return volume
+     * @throws IndexOutOfBoundsException if id is out of range
+     */
+    public double getVolume(int id) {
+        return volumes[id];
+    }
+
+    /**
+     * Returns the computed surface area of a shape.
+     *
+     * @param id the shape id
+     * @return surface area
+     * @throws IndexOutOfBoundsException if id is out of range
+     */
+    public double getSurfaceArea(int id) {
+        return surfaceAreas[id];
+    }
+
+    /**
+     * Drops the shapes the filter rejects and computes the metrics of the
+     * rest with the batch kernels.
+     *
+     * @param filter validation filter, or null to accept every shape
+     * @return number of rejected shapes
+     */
+    int compute(ShapeFilter filter) {
+        int rejected = 0;
+        if (filter != null) {
+            int size = store.size();
+            ShapeStore accepted = null;
+            for (int id = 0; id < size; id++) {
+                if (!filter.accept(store, id)) {
+                    if (accepted == null) {
+                        accepted = new ShapeStore(size, store.getPrecision());
+                        for (int kept = 0; kept < id; kept++) {
+                            copy(kept, accepted);
+                        }
+                    }
+                    rejected++;
+                } else if (accepted != null) {
+                    copy(id, accepted);
+                }
+            }
+            if (accepted != null) {
+                store = accepted;
+            }
+        }
+        volumes = new double[store.size()];
+        surfaceAreas = new double[store.size()];
+        store.computeVolumes(volumes);
+        store.computeSurfaceAreas(surfaceAreas);
+        return rejected;
+    }
+
+    private void copy(int id, ShapeStore target) {
+        ShapeType type = store.getType(id);
+        int dimensionCount = type.getDimensionCount();
+        target.add(type,
+                store.getDimension(id, 0),
+                dimensionCount > 1 ? store.getDimension(id, 1) : 0,
+                dimensionCount > 2 ? store.getDimension(id, 2) : 0,
+                store.getName(id),
+                store.getColor(id));
+    }
+}
@@ -0,0 +1,52 @@
+package com.csc205.project2.pipeline;
+
+import com.csc205.project2.shapes.ShapeFileWriter;
+import com.csc205.project2.shapes.ShapeStore;
+import com.csc205.project2.shapes.ShapeType;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Sink that exports shapes to a {@link com.csc205.project2.shapes.ShapeFile}.
+ * The file appears, complete, when the pipeline run returns; if the run
+ * fails, whatever was at the path before is left unchanged.
+ */
+public class ShapeFileSink implements ShapeSink {
+
+    private final ShapeFileWriter writer;
+
+    /**
+     * Creates or replaces a shape file.
+     *
+     * @param file the file to write
+     * @throws IOException if the temporary file cannot be created
+     */
+    public ShapeFileSink(Path file) throws IOException {
+        this.writer = new ShapeFileWriter(file);
+    }
+
+    @Override
+    public void accept(ShapeBatch batch) throws IOException {
+        ShapeStore store = batch.getStore();
+        for (int id = 0; id < batch.size(); id++) {
+            ShapeType type = store.getType(id);
+            int dimensionCount = type.getDimensionCount();
+            writer.add(type,
+                    store.getDimension(id, 0),
+                    dimensionCount > 1 ? store.getDimension(id, 1) : 0,
+                    dimensionCount > 2 ? store.getDimension(id, 2) : 0,
+                    store.getName(id),
+                    store.getColor(id));
+        }
+    }
+
+    @Override
+    public void complete() throws IOException {
+        writer.close();
+    }
+
+    @Override
+    public void abort() {
+        writer.abort();
+    }
+}
@@ -0,0 +1,24 @@
+package com.csc205.project2.pipeline;
+
+import com.csc205.project2.shapes.ShapeStore;
+
+/**
+ * Validation stage of a {@link ShapePipeline}: decides which shapes go on
+ * to the compute stage. Rejected shapes are dropped and counted in
+ * {@link PipelineResult#rejectedCount()}.
+ * <p>
+ * Filters run on the compute workers, possibly on several batches at
+ * once, so they must be thread-safe.
+ */
+@FunctionalInterface
+public interface ShapeFilter {
+
+    /**
+     * Tests one shape of a batch.
+     *
+     * @param batch the batch's shapes
+     * @param id    the shape id within the batch
+     * @return true to keep the shape
+     */
+    boolean accept(ShapeStore batch, int id);
+}
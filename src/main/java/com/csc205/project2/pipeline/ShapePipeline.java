@@ -0,0 +1,404 @@
+package com.csc205.project2.pipeline;
+
+import com.csc205.project2.io.ShapeCsvLoader;
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streaming shape pipeline with bounded buffers and backpressure:
+ * ingest &rarr; validate &rarr; compute &rarr; sinks (aggregate, export,
+ * ...).
+ * <p>
+ * The source is cut into {@link ShapeBatch batches} of up to
+ * {@code batchSize} shapes held in a {@link ShapeStore}, so shapes travel
+ * through the pipeline as primitive columns rather than objects. Stages
+ * are connected by {@link SubmissionPublisher}s:
+ * <ol>
+ *   <li>The source is read on the calling thread (or the source
+ *       publisher's thread) and each batch is submitted to a publisher
+ *       with a buffer of {@code bufferSize} batches.</li>
+ *   <li>A {@link ComputeStage} applies the {@link ShapeFilter} and runs
+ *       the batch kernels on up to {@code parallelism} batches at once,
+ *       republishing them in source order.</li>
+ *   <li>Every {@link ShapeSink} subscribes to the compute stage with its
+ *       own buffer of {@code bufferSize} batches and runs on its own
+ *       thread.</li>
+ * </ol>
+ * Each stage requests a new batch only after handing one on, and
+ * submitting to a full buffer blocks, so the slowest stage sets the pace
+ * of the whole pipeline and reading pauses while it catches up. At any
+ * time there are at most {@code bufferSize} batches waiting for the
+ * compute stage, {@code parallelism} in it, {@code bufferSize + 1} in each
+ * sink and one being read, whatever the size of the input, so a CSV file
+ * is limited only by disk. ({@link SubmissionPublisher} rounds buffer
+ * sizes up to a power of two.) All stages run on virtual threads owned by
+ * the run.
+ * <p>
+ * If a stage fails, the run is cancelled, every sink is
+ * {@linkplain ShapeSink#abort() aborted}, and the run method rethrows the
+ * first failure.
+ */
+public class ShapePipeline {
+
+    /** Default number of shapes per batch. */
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    /** Default number of batches buffered between stages. */
+    public static final int DEFAULT_BUFFER_SIZE = 16;
+
+    private final int batchSize;
+
+    private final int bufferSize;
+
+    private final int parallelism;
+
+    private final ShapeFilter filter;
+
+    private final List<ShapeSink> sinks;
+
+    /**
+     * Constructs a pipeline with default sizes, no filter and one compute
+     * task per processor.
+     *
+     * @param sinks the final stages, each fed every batch
+     * @throws IllegalArgumentException if sinks or a sink is null
+     */
+    public ShapePipeline(List<? extends ShapeSink> sinks) {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_BUFFER_SIZE, Runtime.getRuntime().availableProcessors(), null, sinks);
+    }
+
+    /**
+     * Constructs a pipeline.
+     *
+     * @param batchSize   maximum number of shapes per batch
+     * @param bufferSize  maximum number of batches buffered before each
+     *                    compute stage and each sink
+     * @param parallelism maximum number of batches computed at once
+     * @param filter      validation stage, or null to accept every shape
+     * @param sinks       the final stages, each fed every batch
+     * @throws IllegalArgumentException if a size is not positive, or sinks
+     *                                  or a sink is null
+     */
+    public ShapePipeline(int batchSize, int bufferSize, int parallelism, ShapeFilter filter,
+                         List<? extends ShapeSink> sinks) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than zero.");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be greater than zero.");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than zero.");
+        }
+        if (sinks == null) {
+            throw new IllegalArgumentException("Sinks cannot be null.");
+        }
+        for (ShapeSink sink : sinks) {
+            if (sink == null) {
+                throw new IllegalArgumentException("Sink cannot be null.");
+            }
+        }
+        this.batchSize = batchSize;
+        this.bufferSize = bufferSize;
+        this.parallelism = parallelism;
+        this.filter = filter;
+        this.sinks = List.copyOf(sinks);
+    }
+
+    /**
+     * Runs the pipeline over a collection of shapes, read in iteration
+     * order on the calling thread.
+     *
+     * @param shapes the shapes
+     * @return counts of the run
+     * @throws IOException              if a sink fails with an I/O error
+     * @throws IllegalArgumentException if shapes or a shape is null
+     */
+    public PipelineResult run(Iterable<? extends Shape3D> shapes) throws IOException {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Shape collection cannot be null.");
+        }
+        Run run = new Run();
+        try {
+            ShapeStore batch = new ShapeStore(batchSize);
+            for (Shape3D shape : shapes) {
+                batch.add(shape);
+                if (batch.size() == batchSize) {
+                    run.submit(batch);
+                    batch = new ShapeStore(batchSize);
+                }
+            }
+            if (batch.size() > 0) {
+                run.submit(batch);
+            }
+        } catch (RuntimeException | Error e) {
+            run.fail(e);
+        }
+        return run.finish();
+    }
+
+    /**
+     * Runs the pipeline over a CSV file in the {@link ShapeCsvLoader}
+     * format, streaming it from disk on the calling thread.
+     *
+     * @param file the CSV file
+     * @return counts of the run
+     * @throws IOException              if the file cannot be read or a sink
+     *                                  fails with an I/O error
+     * @throws IllegalArgumentException if a row is malformed or describes an invalid shape
+     */
+    public PipelineResult run(Path file) throws IOException {
+        Run run = new Run();
+        try {
+            new ShapeCsvLoader().forEachBatch(file, batchSize, run::submit);
+        } catch (IOException | RuntimeException | Error e) {
+            run.fail(e);
+        }
+        return run.finish();
+    }
+
+    /**
+     * Runs the pipeline over a reactive source. Shapes are requested
+     * {@code batchSize} at a time, and the next request is made only once
+     * the pipeline has accepted the previous batch, so the source is
+     * backpressured too.
+     *
+     * @param source the shape publisher
+     * @return counts of the run
+     * @throws IOException              if a sink fails with an I/O error
+     * @throws IllegalArgumentException if source is null, or the source
+     *                                  publishes a null shape
+     */
+    public PipelineResult run(Flow.Publisher<? extends Shape3D> source) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException("Source cannot be null.");
+        }
+        Run run = new Run();
+        CountDownLatch sourceDone = new CountDownLatch(1);
+        source.subscribe(new Flow.Subscriber<Shape3D>() {
+            private Flow.Subscription subscription;
+            private ShapeStore batch = new ShapeStore(batchSize);
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(batchSize);
+            }
+
+            @Override
+            public void onNext(Shape3D shape) {
+                if (done) {
+                    return;
+                }
+                try {
+                    batch.add(shape);
+                    if (batch.size() == batchSize) {
+                        run.submit(batch);
+                        batch = new ShapeStore(batchSize);
+                        subscription.request(batchSize);
+                    }
+                } catch (RuntimeException | Error e) {
+                    subscription.cancel();
+                    onError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                if (!done) {
+                    done = true;
+                    run.fail(throwable);
+                    sourceDone.countDown();
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    try {
+                        if (batch.size() > 0) {
+                            run.submit(batch);
+                        }
+                    } catch (RuntimeException | Error e) {
+                        run.fail(e);
+                    }
+                    sourceDone.countDown();
+                }
+            }
+        });
+        run.await(sourceDone);
+        return run.finish();
+    }
+
+    /**
+     * State of one run: the stages, their completion and the first failure.
+     */
+    private final class Run {
+
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        private final SubmissionPublisher<ShapeBatch> source;
+
+        private final ComputeStage compute;
+
+        /** Counted down by the compute stage and by every sink when they finish. */
+        private final CountDownLatch done = new CountDownLatch(1 + sinks.size());
+
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private long batchCount;
+
+        private Run() {
+            source = new SubmissionPublisher<>(executor, bufferSize);
+            compute = new ComputeStage(executor, bufferSize, parallelism, filter, this::fail, done::countDown);
+            for (ShapeSink sink : sinks) {
+                compute.subscribe(new SinkSubscriber(sink, this));
+            }
+            source.subscribe(compute);
+        }
+
+        /** Hands a batch to the compute stage, blocking while its buffer is full. */
+        private void submit(ShapeStore batch) {
+            if (failure.get() != null) {
+                throw new Aborted();
+            }
+            source.submit(new ShapeBatch(batchCount++, batch));
+        }
+
+        /** Records the first failure and cancels every stage. */
+        private void fail(Throwable cause) {
+            if (cause instanceof Aborted || !failure.compareAndSet(null, cause)) {
+                return;
+            }
+            source.closeExceptionally(cause);
+            compute.fail(cause);
+        }
+
+        /** Waits for every stage to finish and rethrows the first failure. */
+        private PipelineResult finish() throws IOException {
+            source.close();
+            await(done);
+            executor.close();
+            Throwable cause = failure.get();
+            switch (cause) {
+                case null -> {
+                    return new PipelineResult(compute.getShapeCount(), compute.getRejectedCount(), batchCount);
+                }
+                case IOException e -> throw e;
+                case UncheckedIOException e -> throw e.getCause();
+                case RuntimeException e -> throw e;
+                case Error e -> throw e;
+                default -> throw new IllegalStateException("Pipeline failed.", cause);
+            }
+        }
+
+        private void await(CountDownLatch latch) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    latch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    fail(e);
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Feeds one sink one batch at a time.
+     */
+    private static final class SinkSubscriber implements Flow.Subscriber<ShapeBatch> {
+
+        private final ShapeSink sink;
+
+        private final Run run;
+
+        private Flow.Subscription subscription;
+
+        private boolean finished;
+
+        private SinkSubscriber(ShapeSink sink, Run run) {
+            this.sink = sink;
+            this.run = run;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(ShapeBatch batch) {
+            if (finished) {
+                return;
+            }
+            try {
+                sink.accept(batch);
+            } catch (IOException | RuntimeException | Error e) {
+                subscription.cancel();
+                abort();
+                run.fail(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            abort();
+        }
+
+        @Override
+        public void onComplete() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            try {
+                sink.complete();
+            } catch (IOException | RuntimeException | Error e) {
+                sink.abort();
+                run.fail(e);
+            } finally {
+                run.done.countDown();
+            }
+        }
+
+        private void abort() {
+            if (!finished) {
+                finished = true;
+                sink.abort();
+                run.done.countDown();
+            }
+        }
+    }
+
+    /**
+     * Stops a source loop once the run has failed; the real cause is
+     * rethrown by {@link Run#finish()}.
+     */
+    private static final class Aborted extends RuntimeException {
+
+        private Aborted() {
+            super(null, null, false, false);
+        }
+    }
+}
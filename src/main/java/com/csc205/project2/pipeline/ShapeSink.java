@@ -0,0 +1,38 @@
+package com.csc205.project2.pipeline;
+
+import java.io.IOException;
+
+/**
+ * Final stage of a {@link ShapePipeline}, such as aggregation or export.
+ * <p>
+ * Each sink of a pipeline runs on its own thread and receives every batch
+ * in source order; the calls for one sink never overlap. A sink that is
+ * slower than the rest of the pipeline holds back the source once its
+ * buffer is full.
+ */
+public interface ShapeSink {
+
+    /**
+     * Consumes one batch. The batch is shared with the other sinks and
+     * must not be modified or kept.
+     *
+     * @param batch the batch, with metrics computed
+     * @throws IOException if the sink fails; the pipeline run is aborted
+     */
+    void accept(ShapeBatch batch) throws IOException;
+
+    /**
+     * Called once after the last batch of a successful run.
+     *
+     * @throws IOException if the sink fails; the pipeline run fails
+     */
+    default void complete() throws IOException {
+    }
+
+    /**
+     * Called instead of {@link #complete()} when the run fails, so the
+     * sink can release its resources.
+     */
+    default void abort() {
+    }
+}
@@ -0,0 +1,791 @@
+package com.csc205.project2.scene;
+
+import com.csc205.project2.shapes.BoundingBox;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bounding-volume hierarchy over the world-space bounding boxes of placed
+ * shapes, for finding overlapping boxes without comparing every pair.
+ * <p>
+ * The tree is a binary tree with one shape per leaf, built top-down. Each
+ * node's shapes are split by the surface area heuristic over
+ * {@value #BINS} bins of box centroids along the axis where the centroids
+ * spread furthest; below depth {@value #MAX_SAH_DEPTH} nodes are split at
+ * the centroid median instead, which bounds the depth for any input.
+ * A node of {@code k} shapes owns the {@code 2k - 1} consecutive node
+ * slots starting at its own, its left child is the next slot and its
+ * right child follows the left child's subtree, so disjoint subtrees are
+ * built on different fork-join tasks without coordination.
+ * <p>
+ * The hierarchy registers a {@link PlacementListener} on every shape.
+ * When a shape moves, turns or is resized, its leaf box is replaced and
+ * the boxes above it are refit, stopping at the first ancestor whose box
+ * does not change. Refitting keeps every query exact but not the tree's
+ * quality: after most shapes have moved far, call {@link #rebuild()}.
+ * <p>
+ * {@link #overlappingPairs()} walks the tree against itself, so each
+ * overlapping pair is found once, and runs disjoint parts of the walk on
+ * separate fork-join tasks. Queries and refits are serialized, so the
+ * hierarchy is thread-safe; a change made during a query waits until the
+ * query ends. Call {@link #close()} to stop following the shapes.
+ */
+public class BoundingVolumeHierarchy implements AutoCloseable {
+
+    /** Number of centroid bins evaluated per split. */
+    public static final int BINS = 16;
+
+    /** Depth from which nodes are split at the centroid median. */
+    public static final int MAX_SAH_DEPTH = 48;
+
+    /** Number of shapes below which a subtree is built or walked by one task. */
+    private static final int TASK_SIZE = 2048;
+
+    private final PlacedShape[] shapes;
+
+    private final ForkJoinPool pool;
+
+    /** Bounds of node {@code n} at {@code 6n}: minX, minY, minZ, maxX, maxY, maxZ. */
+    private final double[] bounds;
+
+    /** Right child of each internal node; -1 for leaves. The left child is the next node. */
+    private final int[] right;
+
+    /** Shape index of each leaf; -1 for internal nodes. */
+    private final int[] primitive;
+
+    /** Parent of each node; -1 for the root. */
+    private final int[] parent;
+
+    /** Number of shapes under each node. */
+    private final int[] leafCount;
+
+    /** Leaf node of each shape. */
+    private final int[] leafOf;
+
+    /** Listener registered on each shape. */
+    private final Leaf[] leaves;
+
+    private boolean closed;
+
+    /**
+     * Builds a hierarchy on the common pool.
+     *
+     * @param shapes the placed shapes; index {@code i} of the list is shape
+     *               {@code i} of the hierarchy
+     * @throws IllegalArgumentException if shapes or a shape is null, or a
+     *                                  shape occurs more than once
+     */
+    public BoundingVolumeHierarchy(List<? extends PlacedShape> shapes) {
+        this(shapes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds a hierarchy on a specific pool.
+     *
+     * @param shapes the placed shapes; index {@code i} of the list is shape
+     *               {@code i} of the hierarchy
+     * @param pool   pool used for building and for {@link #overlappingPairs()}
+     * @throws IllegalArgumentException if shapes, a shape or pool is null, or
+     *                                  a shape occurs more than once
+     */
+    public BoundingVolumeHierarchy(List<? extends PlacedShape> shapes, ForkJoinPool pool) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Shape list cannot be null.");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null.");
+        }
+        this.shapes = shapes.toArray(new PlacedShape[0]);
+        this.pool = pool;
+        int size = this.shapes.length;
+        Set<PlacedShape> seen = Collections.newSetFromMap(new IdentityHashMap<>(size));
+        for (PlacedShape shape : this.shapes) {
+            if (shape == null) {
+                throw new IllegalArgumentException("Shape cannot be null.");
+            }
+            if (!seen.add(shape)) {
+                throw new IllegalArgumentException("Shape occurs more than once.");
+            }
+        }
+        int nodes = size == 0 ? 0 : 2 * size - 1;
+        this.bounds = new double[6 * nodes];
+        this.right = new int[nodes];
+        this.primitive = new int[nodes];
+        this.parent = new int[nodes];
+        this.leafCount = new int[nodes];
+        this.leafOf = new int[size];
+        this.leaves = new Leaf[size];
+        // Listen before reading any box: a change from here on calls refit(),
+        // which waits for this monitor and then reads the shape's new box
+        synchronized (this) {
+            for (int i = 0; i < size; i++) {
+                leaves[i] = new Leaf(i);
+                this.shapes[i].addPlacementListener(leaves[i]);
+            }
+            try {
+                build();
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the tree from the shapes' current boxes, in parallel. Refits
+     * keep queries exact as shapes move, but a tree refit after shapes have
+     * moved far from where it was built has large, overlapping nodes and
+     * slow queries; rebuilding restores its quality.
+     */
+    public synchronized void rebuild() {
+        build();
+    }
+
+    private void build() {
+        int size = shapes.length;
+        if (size > 0) {
+            Build build = new Build(size);
+            pool.invoke(new BoxTask(build, 0, size));
+            pool.invoke(new BuildTask(build, 0, -1, 0, size, 0));
+        }
+    }
+
+    /**
+     * Returns the number of shapes.
+     *
+     * @return shape count
+     */
+    public int size() {
+        return shapes.length;
+    }
+
+    /**
+     * Returns a shape by index.
+     *
+     * @param index the shape index
+     * @return the placed shape
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public PlacedShape getShape(int index) {
+        return shapes[index];
+    }
+
+    /**
+     * Returns the box enclosing every shape.
+     *
+     * @return the root box, or null if there are no shapes
+     */
+    public synchronized BoundingBox getBounds() {
+        return shapes.length == 0 ? null : box(0);
+    }
+
+    /**
+     * Finds the shapes whose bounding boxes intersect a box.
+     *
+     * @param box the query box
+     * @return indices of the shapes, in ascending order
+     * @throws IllegalArgumentException if box is null
+     */
+    public synchronized int[] query(BoundingBox box) {
+        if (box == null) {
+            throw new IllegalArgumentException("Bounding box cannot be null.");
+        }
+        if (shapes.length == 0) {
+            return new int[0];
+        }
+        int[] found = new int[16];
+        int count = 0;
+        IntStack stack = new IntStack();
+        stack.push(0);
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            int b = 6 * node;
+            if (bounds[b] > box.maxX() || box.minX() > bounds[b + 3]
+                    || bounds[b + 1] > box.maxY() || box.minY() > bounds[b + 4]
+                    || bounds[b + 2] > box.maxZ() || box.minZ() > bounds[b + 5]) {
+                continue;
+            }
+            if (right[node] < 0) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, 2 * count);
+                }
+                found[count++] = primitive[node];
+            } else {
+                stack.push(right[node]);
+                stack.push(node + 1);
+            }
+        }
+        found = Arrays.copyOf(found, count);
+        Arrays.sort(found);
+        return found;
+    }
+
+    /**
+     * Finds every pair of shapes whose bounding boxes intersect, in
+     * parallel. Each pair is packed into a long with the smaller index in
+     * the high 32 bits; see {@link #firstIndex(long)} and
+     * {@link #secondIndex(long)}.
+     *
+     * @return the pairs, in ascending order
+     */
+    public synchronized long[] overlappingPairs() {
+        if (shapes.length < 2) {
+            return new long[0];
+        }
+        ConcurrentLinkedQueue<LongList> results = new ConcurrentLinkedQueue<>();
+        pool.invoke(new PairTask(0, 0, results));
+        int total = 0;
+        for (LongList list : results) {
+            total += list.size;
+        }
+        long[] pairs = new long[total];
+        int offset = 0;
+        for (LongList list : results) {
+            System.arraycopy(list.values, 0, pairs, offset, list.size);
+            offset += list.size;
+        }
+        Arrays.parallelSort(pairs);
+        return pairs;
+    }
+
+    /**
+     * Returns the smaller shape index of a pair from {@link #overlappingPairs()}.
+     *
+     * @param pair the packed pair
+     * @return the first shape index
+     */
+    public static int firstIndex(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    /**
+     * Returns the larger shape index of a pair from {@link #overlappingPairs()}.
+     *
+     * @param pair the packed pair
+     * @return the second shape index
+     */
+    public static int secondIndex(long pair) {
+        return (int) pair;
+    }
+
+    /**
+     * Stops following changes to the shapes. Queries keep answering for
+     * the boxes as of the last change seen.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = 0; i < shapes.length; i++) {
+            shapes[i].removePlacementListener(leaves[i]);
+        }
+    }
+
+    /** Replaces a changed shape's leaf box and refits the boxes above it. */
+    private synchronized void refit(int index) {
+        if (closed) {
+            return;
+        }
+        int node = leafOf[index];
+        setBox(node, shapes[index].getBoundingBox());
+        for (node = parent[node]; node >= 0; node = parent[node]) {
+            if (!unionChildren(node)) {
+                break;
+            }
+        }
+    }
+
+    private BoundingBox box(int node) {
+        int b = 6 * node;
+        return new BoundingBox(bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3], bounds[b + 4], bounds[b + 5]);
+    }
+
+    private void setBox(int node, BoundingBox box) {
+        int b = 6 * node;
+        bounds[b] = box.minX();
+        bounds[b + 1] = box.minY();
+        bounds[b + 2] = box.minZ();
+        bounds[b + 3] = box.maxX();
+        bounds[b + 4] = box.maxY();
+        bounds[b + 5] = box.maxZ();
+    }
+
+    /** Sets an internal node's box to the union of its children's; returns whether it changed. */
+    private boolean unionChildren(int node) {
+        int b = 6 * node;
+        int l = 6 * (node + 1);
+        int r = 6 * right[node];
+        boolean changed = false;
+        for (int k = 0; k < 3; k++) {
+            double min = Math.min(bounds[l + k], bounds[r + k]);
+            double max = Math.max(bounds[l + k + 3], bounds[r + k + 3]);
+            changed |= min != bounds[b + k] || max != bounds[b + k + 3];
+            bounds[b + k] = min;
+            bounds[b + k + 3] = max;
+        }
+        return changed;
+    }
+
+    private boolean intersects(int a, int c) {
+        int p = 6 * a;
+        int q = 6 * c;
+        return bounds[p] <= bounds[q + 3] && bounds[q] <= bounds[p + 3]
+                && bounds[p + 1] <= bounds[q + 4] && bounds[q + 1] <= bounds[p + 4]
+                && bounds[p + 2] <= bounds[q + 5] && bounds[q + 2] <= bounds[p + 5];
+    }
+
+    /**
+     * Collects the overlapping pairs of one walk item on the calling
+     * thread: all pairs within node {@code a} when {@code a == c}, else all
+     * pairs between nodes {@code a} and {@code c}. The walk uses an
+     * explicit stack, so deep trees cannot overflow the thread's stack.
+     */
+    private void collectPairs(int a, int c, LongList out) {
+        IntStack stack = new IntStack();
+        stack.push(a);
+        stack.push(c);
+        while (!stack.isEmpty()) {
+            c = stack.pop();
+            a = stack.pop();
+            if (a == c) {
+                if (right[a] >= 0) {
+                    int l = a + 1;
+                    int r = right[a];
+                    stack.push(l);
+                    stack.push(l);
+                    stack.push(r);
+                    stack.push(r);
+                    stack.push(l);
+                    stack.push(r);
+                }
+            } else if (intersects(a, c)) {
+                boolean aLeaf = right[a] < 0;
+                boolean cLeaf = right[c] < 0;
+                if (aLeaf && cLeaf) {
+                    out.add(pair(primitive[a], primitive[c]));
+                } else if (cLeaf || (!aLeaf && leafCount[a] >= leafCount[c])) {
+                    // Descend into the larger node
+                    stack.push(a + 1);
+                    stack.push(c);
+                    stack.push(right[a]);
+                    stack.push(c);
+                } else {
+                    stack.push(a);
+                    stack.push(c + 1);
+                    stack.push(a);
+                    stack.push(right[c]);
+                }
+            }
+        }
+    }
+
+    private static long pair(int i, int j) {
+        return i < j ? (long) i << 32 | j : (long) j << 32 | i;
+    }
+
+    /**
+     * Walks one item of the self-overlap walk, splitting large items into
+     * forked subtasks: a node against itself becomes its two children
+     * against themselves and against each other, and two nodes become the
+     * larger one's children against the other.
+     */
+    private final class PairTask extends RecursiveAction {
+
+        private final int a;
+        private final int c;
+        private final ConcurrentLinkedQueue<LongList> results;
+
+        private PairTask(int a, int c, ConcurrentLinkedQueue<LongList> results) {
+            this.a = a;
+            this.c = c;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (a != c && !intersects(a, c)) {
+                return;
+            }
+            int count = a == c ? leafCount[a] : leafCount[a] + leafCount[c];
+            if (count <= TASK_SIZE) {
+                LongList out = new LongList();
+                collectPairs(a, c, out);
+                if (out.size > 0) {
+                    results.add(out);
+                }
+            } else if (a == c) {
+                int l = a + 1;
+                int r = right[a];
+                invokeAll(new PairTask(l, l, results), new PairTask(r, r, results), new PairTask(l, r, results));
+            } else if (right[c] < 0 || (right[a] >= 0 && leafCount[a] >= leafCount[c])) {
+                invokeAll(new PairTask(a + 1, c, results), new PairTask(right[a], c, results));
+            } else {
+                invokeAll(new PairTask(a, c + 1, results), new PairTask(a, right[c], results));
+            }
+        }
+    }
+
+    /**
+     * Scratch state of one build: the shapes in build order, each with its
+     * box and centroid. The build partitions all three together, so every
+     * pass over a node's shapes reads consecutive memory.
+     */
+    private static final class Build {
+
+        private final double[] boxes;
+        private final double[] centroids;
+        private final int[] order;
+
+        private Build(int size) {
+            boxes = new double[6 * size];
+            centroids = new double[3 * size];
+            order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int index = order[i];
+            order[i] = order[j];
+            order[j] = index;
+            for (int k = 0; k < 3; k++) {
+                double centroid = centroids[3 * i + k];
+                centroids[3 * i + k] = centroids[3 * j + k];
+                centroids[3 * j + k] = centroid;
+            }
+            for (int k = 0; k < 6; k++) {
+                double bound = boxes[6 * i + k];
+                boxes[6 * i + k] = boxes[6 * j + k];
+                boxes[6 * j + k] = bound;
+            }
+        }
+    }
+
+    /** Reads the world boxes of a range of shapes. */
+    private final class BoxTask extends RecursiveAction {
+
+        private final Build build;
+        private final int from;
+        private final int to;
+
+        private BoxTask(Build build, int from, int to) {
+            this.build = build;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > TASK_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BoxTask(build, from, mid), new BoxTask(build, mid, to));
+                return;
+            }
+            double[] boxes = build.boxes;
+            double[] centroids = build.centroids;
+            for (int i = from; i < to; i++) {
+                BoundingBox box = shapes[i].getBoundingBox();
+                boxes[6 * i] = box.minX();
+                boxes[6 * i + 1] = box.minY();
+                boxes[6 * i + 2] = box.minZ();
+                boxes[6 * i + 3] = box.maxX();
+                boxes[6 * i + 4] = box.maxY();
+                boxes[6 * i + 5] = box.maxZ();
+                for (int k = 0; k < 3; k++) {
+                    centroids[3 * i + k] = (boxes[6 * i + k] + boxes[6 * i + k + 3]) * 0.5;
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the subtree of the shapes at build positions
+     * {@code [from, to)} into the node slots starting at {@code node},
+     * forking both halves while they are large.
+     */
+    private final class BuildTask extends RecursiveAction {
+
+        private final Build build;
+        private final int node;
+        private final int parentNode;
+        private final int from;
+        private final int to;
+        private final int depth;
+
+        private BuildTask(Build build, int node, int parentNode, int from, int to, int depth) {
+            this.build = build;
+            this.node = node;
+            this.parentNode = parentNode;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            Splitter splitter = new Splitter(build);
+            if (to - from <= TASK_SIZE) {
+                buildNode(splitter, node, parentNode, from, to, depth);
+                return;
+            }
+            int mid = splitter.split(from, to, depth);
+            link(node, parentNode, to - from, mid - from);
+            invokeAll(new BuildTask(build, node + 1, node, from, mid, depth + 1),
+                    new BuildTask(build, node + 2 * (mid - from), node, mid, to, depth + 1));
+            unionChildren(node);
+        }
+    }
+
+    /** Builds a subtree on the calling thread. */
+    private void buildNode(Splitter splitter, int node, int parentNode, int from, int to, int depth) {
+        if (to - from == 1) {
+            int index = splitter.build.order[from];
+            parent[node] = parentNode;
+            right[node] = -1;
+            primitive[node] = index;
+            leafCount[node] = 1;
+            leafOf[index] = node;
+            System.arraycopy(splitter.build.boxes, 6 * from, bounds, 6 * node, 6);
+            return;
+        }
+        int mid = splitter.split(from, to, depth);
+        link(node, parentNode, to - from, mid - from);
+        buildNode(splitter, node + 1, node, from, mid, depth + 1);
+        buildNode(splitter, node + 2 * (mid - from), node, mid, to, depth + 1);
+        unionChildren(node);
+    }
+
+    private void link(int node, int parentNode, int count, int leftCount) {
+        parent[node] = parentNode;
+        right[node] = node + 2 * leftCount;
+        primitive[node] = -1;
+        leafCount[node] = count;
+    }
+
+    /**
+     * Chooses and applies the split of a node, with bin scratch space
+     * reused across the nodes built by one task.
+     */
+    private static final class Splitter {
+
+        private final Build build;
+        private final int[] binCounts = new int[BINS];
+        private final double[] binBounds = new double[6 * BINS];
+        private final double[] rightCosts = new double[BINS];
+
+        private Splitter(Build build) {
+            this.build = build;
+        }
+
+        /**
+         * Partitions the shapes at build positions {@code [from, to)}, at
+         * least two, into two non-empty halves and returns where the second
+         * begins.
+         */
+        private int split(int from, int to, int depth) {
+            double[] centroids = build.centroids;
+            double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+            double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+            for (int i = from; i < to; i++) {
+                int c = 3 * i;
+                for (int k = 0; k < 3; k++) {
+                    min[k] = Math.min(min[k], centroids[c + k]);
+                    max[k] = Math.max(max[k], centroids[c + k]);
+                }
+            }
+            int axis = 0;
+            for (int k = 1; k < 3; k++) {
+                if (max[k] - min[k] > max[axis] - min[axis]) {
+                    axis = k;
+                }
+            }
+            double extent = max[axis] - min[axis];
+            int median = (from + to) >>> 1;
+            if (!(extent > 0)) {
+                // All centroids coincide: any balanced split is as good as another
+                return median;
+            }
+            if (depth >= MAX_SAH_DEPTH) {
+                select(from, to, median, axis);
+                return median;
+            }
+            double scale = BINS / extent;
+            Arrays.fill(binCounts, 0);
+            for (int b = 0; b < BINS; b++) {
+                emptyBox(binBounds, 6 * b);
+            }
+            for (int i = from; i < to; i++) {
+                int bin = bin(i, axis, min[axis], scale);
+                binCounts[bin]++;
+                include(binBounds, 6 * bin, build.boxes, 6 * i);
+            }
+            // Cost of the right side of each split plane, which lies after bin b
+            double[] box = new double[6];
+            emptyBox(box, 0);
+            int count = 0;
+            for (int b = BINS - 1; b > 0; b--) {
+                include(box, 0, binBounds, 6 * b);
+                count += binCounts[b];
+                rightCosts[b - 1] = count == 0 ? 0 : count * halfArea(box);
+            }
+            emptyBox(box, 0);
+            count = 0;
+            int best = -1;
+            double bestCost = Double.POSITIVE_INFINITY;
+            for (int b = 0; b < BINS - 1; b++) {
+                include(box, 0, binBounds, 6 * b);
+                count += binCounts[b];
+                if (count == 0 || count == to - from) {
+                    continue;
+                }
+                double cost = count * halfArea(box) + rightCosts[b];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best = b;
+                }
+            }
+            if (best < 0) {
+                // Only when every cost overflowed; the lowest and highest
+                // centroids fall in the first and last bins, so some plane
+                // always has shapes on both sides
+                select(from, to, median, axis);
+                return median;
+            }
+            int i = from;
+            int j = to - 1;
+            while (true) {
+                while (i <= j && bin(i, axis, min[axis], scale) <= best) {
+                    i++;
+                }
+                while (i <= j && bin(j, axis, min[axis], scale) > best) {
+                    j--;
+                }
+                if (i >= j) {
+                    return i;
+                }
+                build.swap(i++, j--);
+            }
+        }
+
+        private int bin(int position, int axis, double min, double scale) {
+            return Math.min(BINS - 1, (int) ((build.centroids[3 * position + axis] - min) * scale));
+        }
+
+        /**
+         * Reorders the shapes at build positions {@code [from, to)} so that
+         * the shape at {@code k} has the k-th smallest centroid along the
+         * axis, no shape before it is larger and none after it is smaller.
+         */
+        private void select(int from, int to, int k, int axis) {
+            double[] centroids = build.centroids;
+            int lo = from;
+            int hi = to - 1;
+            while (lo < hi) {
+                double pivot = centroids[3 * ((lo + hi) >>> 1) + axis];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (centroids[3 * i + axis] < pivot) {
+                        i++;
+                    }
+                    while (centroids[3 * j + axis] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        build.swap(i++, j--);
+                    }
+                }
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private static void emptyBox(double[] box, int at) {
+            for (int k = 0; k < 3; k++) {
+                box[at + k] = Double.POSITIVE_INFINITY;
+                box[at + k + 3] = Double.NEGATIVE_INFINITY;
+            }
+        }
+
+        private static void include(double[] box, int at, double[] other, int otherAt) {
+            for (int k = 0; k < 3; k++) {
+                box[at + k] = Math.min(box[at + k], other[otherAt + k]);
+                box[at + k + 3] = Math.max(box[at + k + 3], other[otherAt + k + 3]);
+            }
+        }
+
+        /** Half the surface area of a box, or 0 for an empty one. */
+        private static double halfArea(double[] box) {
+            double dx = box[3] - box[0];
+            double dy = box[4] - box[1];
+            double dz = box[5] - box[2];
+            return dx < 0 ? 0 : dx * dy + dy * dz + dz * dx;
+        }
+    }
+
+    /** Follows one shape and refits its leaf when it changes. */
+    private final class Leaf implements PlacementListener {
+
+        private final int index;
+
+        private Leaf(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void placementChanged(PlacedShape placed) {
+            refit(index);
+        }
+    }
+
+    /** Growable stack of ints. */
+    private static final class IntStack {
+
+        private int[] values = new int[64];
+        private int size;
+
+        private void push(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+
+        private int pop() {
+            return values[--size];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    /** Growable list of longs. */
+    private static final class LongList {
+
+        private long[] values = new long[64];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+    }
+}
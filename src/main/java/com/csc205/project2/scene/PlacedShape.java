@@ -0,0 +1,335 @@
+package com.csc205.project2.scene;
+
+import com.csc205.project2.shapes.BoundingBox;
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeChangeListener;
+import java.util.Arrays;
+
+/**
+ * A shape placed in a scene: the shape plus a position and an orientation.
+ * <p>
+ * The shape's local frame (see
+ * {@link com.csc205.project2.shapes.ThreeDimensionalShape}) is rotated by
+ * the orientation, a unit quaternion, and then moved so that its origin
+ * lies at the position. The shape itself is not copied: changing its
+ * dimensions changes the placed shape too.
+ * <p>
+ * Structures built over placed shapes, such as a
+ * {@link BoundingVolumeHierarchy}, follow them with
+ * {@link #addPlacementListener(PlacementListener)}. Listeners are told of
+ * every change of position or orientation and of every dimension change
+ * of the shape.
+ * <p>
+ * Position and orientation are replaced together as one immutable
+ * snapshot, so a reader never sees half of an update. Setters may be
+ * called from any thread.
+ */
+public class PlacedShape {
+
+    private final Shape3D shape;
+
+    private volatile Pose pose;
+
+    /** Listeners notified of changes, or null when there are none. */
+    private volatile PlacementListener[] listeners;
+
+    /** Forwards dimension changes of the shape while listeners are registered. */
+    private final ShapeChangeListener dimensionListener = changed -> placementChanged();
+
+    /**
+     * Places a shape at the origin with no rotation.
+     *
+     * @param shape the shape
+     * @throws IllegalArgumentException if shape is null
+     */
+    public PlacedShape(Shape3D shape) {
+        this(shape, 0, 0, 0);
+    }
+
+    /**
+     * Places a shape at a position with no rotation.
+     *
+     * @param shape the shape
+     * @param x     x coordinate of the shape's origin
+     * @param y     y coordinate of the shape's origin
+     * @param z     z coordinate of the shape's origin
+     * @throws IllegalArgumentException if shape is null or a coordinate is not finite
+     */
+    public PlacedShape(Shape3D shape, double x, double y, double z) {
+        this(shape, x, y, z, 1, 0, 0, 0);
+    }
+
+    /**
+     * Places a shape at a position with an orientation.
+     *
+     * @param shape the shape
+     * @param x     x coordinate of the shape's origin
+     * @param y     y coordinate of the shape's origin
+     * @param z     z coordinate of the shape's origin
+     * @param qw    scalar part of the orientation quaternion
+     * @param qx    x part of the orientation quaternion
+     * @param qy    y part of the orientation quaternion
+     * @param qz    z part of the orientation quaternion
+     * @throws IllegalArgumentException if shape is null, a coordinate is not
+     *                                  finite, or the quaternion is zero or not finite
+     */
+    public PlacedShape(Shape3D shape, double x, double y, double z, double qw, double qx, double qy, double qz) {
+        if (shape == null) {
+            throw new IllegalArgumentException("Shape cannot be null.");
+        }
+        this.shape = shape;
+        this.pose = Pose.of(x, y, z, qw, qx, qy, qz);
+    }
+
+    /**
+     * Returns the placed shape.
+     *
+     * @return the shape
+     */
+    public Shape3D getShape() {
+        return shape;
+    }
+
+    /**
+     * Returns the x coordinate of the shape's origin.
+     *
+     * @return the x coordinate
+     */
+    public double getX() {
+        return pose.x;
+    }
+
+    /**
+     * Returns the y coordinate of the shape's origin.
+     *
+     * @return the y coordinate
+     */
+    public double getY() {
+        return pose.y;
+    }
+
+    /**
+     * Returns the z coordinate of the shape's origin.
+     *
+     * @return the z coordinate
+     */
+    public double getZ() {
+        return pose.z;
+    }
+
+    /**
+     * Returns the orientation as a unit quaternion.
+     *
+     * @return {@code {qw, qx, qy, qz}}
+     */
+    public double[] getOrientation() {
+        Pose current = pose;
+        return new double[] {current.qw, current.qx, current.qy, current.qz};
+    }
+
+    /**
+     * Moves the shape's origin to a new position.
+     *
+     * @param x new x coordinate
+     * @param y new y coordinate
+     * @param z new z coordinate
+     * @throws IllegalArgumentException if a coordinate is not finite
+     */
+    public void setPosition(double x, double y, double z) {
+        synchronized (this) {
+            Pose current = pose;
+            pose = Pose.of(x, y, z, current.qw, current.qx, current.qy, current.qz);
+        }
+        placementChanged();
+    }
+
+    /**
+     * Turns the shape to a new orientation. The quaternion is normalized,
+     * so it need not have unit length.
+     *
+     * @param qw scalar part of the quaternion
+     * @param qx x part of the quaternion
+     * @param qy y part of the quaternion
+     * @param qz z part of the quaternion
+     * @throws IllegalArgumentException if the quaternion is zero or not finite
+     */
+    public void setOrientation(double qw, double qx, double qy, double qz) {
+        synchronized (this) {
+            Pose current = pose;
+            pose = Pose.of(current.x, current.y, current.z, qw, qx, qy, qz);
+        }
+        placementChanged();
+    }
+
+    /**
+     * Returns the world-space axis-aligned box enclosing the shape's
+     * bounding box after rotation and translation. The box is tight for
+     * unrotated shapes and for rotated cubes and prisms; for other rotated
+     * shapes it encloses the rotated local box and may be larger than the
+     * shape needs.
+     *
+     * @return the world-space bounding box
+     */
+    public BoundingBox getBoundingBox() {
+        Pose p = pose;
+        BoundingBox local = shape.getBoundingBox();
+        double cx = (local.minX() + local.maxX()) * 0.5;
+        double cy = (local.minY() + local.maxY()) * 0.5;
+        double cz = (local.minZ() + local.maxZ()) * 0.5;
+        double hx = (local.maxX() - local.minX()) * 0.5;
+        double hy = (local.maxY() - local.minY()) * 0.5;
+        double hz = (local.maxZ() - local.minZ()) * 0.5;
+        double wx = p.x + p.m00 * cx + p.m01 * cy + p.m02 * cz;
+        double wy = p.y + p.m10 * cx + p.m11 * cy + p.m12 * cz;
+        double wz = p.z + p.m20 * cx + p.m21 * cy + p.m22 * cz;
+        // Extent of the rotated box along each world axis
+        double ex = Math.abs(p.m00) * hx + Math.abs(p.m01) * hy + Math.abs(p.m02) * hz;
+        double ey = Math.abs(p.m10) * hx + Math.abs(p.m11) * hy + Math.abs(p.m12) * hz;
+        double ez = Math.abs(p.m20) * hx + Math.abs(p.m21) * hy + Math.abs(p.m22) * hz;
+        return new BoundingBox(wx - ex, wy - ey, wz - ez, wx + ex, wy + ey, wz + ez);
+    }
+
+    /**
+     * Tests whether a world-space point lies inside or on the shape.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return true if the point is inside the placed shape
+     */
+    public boolean contains(double x, double y, double z) {
+        Pose p = pose;
+        double dx = x - p.x;
+        double dy = y - p.y;
+        double dz = z - p.z;
+        // The inverse of a rotation is its transpose
+        return shape.contains(
+                p.m00 * dx + p.m10 * dy + p.m20 * dz,
+                p.m01 * dx + p.m11 * dy + p.m21 * dz,
+                p.m02 * dx + p.m12 * dy + p.m22 * dz);
+    }
+
+    /**
+     * Registers a listener to be notified after every change of position,
+     * orientation or shape dimensions.
+     *
+     * @param listener the listener
+     * @throws IllegalArgumentException if listener is null
+     */
+    public void addPlacementListener(PlacementListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null.");
+        }
+        synchronized (this) {
+            PlacementListener[] current = listeners;
+            if (current == null) {
+                listeners = new PlacementListener[] {listener};
+                shape.addChangeListener(dimensionListener);
+            } else {
+                current = Arrays.copyOf(current, current.length + 1);
+                current[current.length - 1] = listener;
+                listeners = current;
+            }
+        }
+    }
+
+    /**
+     * Removes one registration of a listener.
+     *
+     * @param listener the listener
+     * @return true if the listener was registered
+     */
+    public boolean removePlacementListener(PlacementListener listener) {
+        synchronized (this) {
+            PlacementListener[] current = listeners;
+            if (current == null) {
+                return false;
+            }
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == listener) {
+                    PlacementListener[] remaining = new PlacementListener[current.length - 1];
+                    System.arraycopy(current, 0, remaining, 0, i);
+                    System.arraycopy(current, i + 1, remaining, i, remaining.length - i);
+                    if (remaining.length == 0) {
+                        listeners = null;
+                        shape.removeChangeListener(dimensionListener);
+                    } else {
+                        listeners = remaining;
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private void placementChanged() {
+        PlacementListener[] current = listeners;
+        if (current != null) {
+            for (PlacementListener listener : current) {
+                listener.placementChanged(this);
+            }
+        }
+    }
+
+    /**
+     * Returns a string describing the shape and its placement.
+     *
+     * @return formatted description
+     */
+    @Override
+    public String toString() {
+        Pose p = pose;
+        return String.format("%s at (%.2f, %.2f, %.2f)", shape, p.x, p.y, p.z);
+    }
+
+    /**
+     * Immutable position and orientation, with the orientation also kept
+     * as a rotation matrix.
+     */
+    private static final class Pose {
+
+        private final double x;
+        private final double y;
+        private final double z;
+
+        private final double qw;
+        private final double qx;
+        private final double qy;
+        private final double qz;
+
+        private final double m00, m01, m02;
+        private final double m10, m11, m12;
+        private final double m20, m21, m22;
+
+        private Pose(double x, double y, double z, double qw, double qx, double qy, double qz) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.qw = qw;
+            this.qx = qx;
+            this.qy = qy;
+            this.qz = qz;
+            m00 = 1 - 2 * (qy * qy + qz * qz);
+            m01 = 2 * (qx * qy - qw * qz);
+            m02 = 2 * (qx * qz + qw * qy);
+            m10 = 2 * (qx * qy + qw * qz);
+            m11 = 1 - 2 * (qx * qx + qz * qz);
+            m12 = 2 * (qy * qz - qw * qx);
+            m20 = 2 * (qx * qz - qw * qy);
+            m21 = 2 * (qy * qz + qw * qx);
+            m22 = 1 - 2 * (qx * qx + qy * qy);
+        }
+
+        private static Pose of(double x, double y, double z, double qw, double qx, double qy, double qz) {
+            if (!Double.isFinite(x) || !Double.isFinite(y) || !Double.isFinite(z)) {
+                throw new IllegalArgumentException("Position coordinates must be finite.");
+            }
+            double norm = Math.sqrt(qw * qw + qx * qx + qy * qy + qz * qz);
+            if (!(norm > 0) || !Double.isFinite(norm)) {
+                throw new IllegalArgumentException("Orientation must be a finite, non-zero quaternion.");
+            }
+            return new Pose(x, y, z, qw / norm, qx / norm, qy / norm, qz / norm);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.csc205.project2.scene;
+
+/**
+ * Receives notice that a placed shape's world-space extent may have
+ * changed.
+ *
+ * @see PlacedShape#addPlacementListener(PlacementListener)
+ */
+@FunctionalInterface
+public interface PlacementListener {
+
+    /**
+     * Called on the thread that made the change, after the shape has been
+     * moved, turned or resized.
+     *
+     * @param placed the placed shape that changed
+     */
+    void placementChanged(PlacedShape placed);
+}
@@ -0,0 +1,266 @@
+package com.csc205.project2.server;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Minimal pull parser for the JSON request bodies of {@link ShapeServer}.
+ * <p>
+ * Reads one token at a time from a character stream, so arbitrarily large
+ * arrays can be processed element by element. Supports objects, arrays,
+ * strings (with all escapes), numbers, booleans and null. Malformed input
+ * raises {@link IllegalArgumentException} with the character offset.
+ * <p>
+ * {@link #skipValue()} walks nested values with an explicit stack rather
+ * than recursion, and fails once they nest deeper than {@link #MAX_DEPTH}.
+ * The reader can also be limited to a maximum number of characters, so a
+ * hostile body cannot exhaust the stack or keep a request running forever.
+ */
+final class JsonReader {
+
+    /** Deepest nesting of arrays and objects accepted by {@link #skipValue()}. */
+    static final int MAX_DEPTH = 64;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader in;
+
+    /** Largest number of characters that may be read. */
+    private final long maxLength;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    /** Characters consumed before the current buffer. */
+    private long consumed;
+
+    private final StringBuilder text = new StringBuilder();
+
+    /** Closing bracket of each container open in {@link #skipValue()}, innermost last. */
+    private final char[] closers = new char[MAX_DEPTH];
+
+    JsonReader(Reader in) {
+        this(in, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a reader that fails once more than {@code maxLength}
+     * characters have been read.
+     */
+    JsonReader(Reader in, long maxLength) {
+        this.in = in;
+        this.maxLength = maxLength;
+    }
+
+    /** Starts an array. */
+    void beginArray() throws IOException {
+        expect('[');
+    }
+
+    /** Starts an object. */
+    void beginObject() throws IOException {
+        expect('{');
+    }
+
+    /** Ends an object. */
+    void endObject() throws IOException {
+        expect('}');
+    }
+
+    /**
+     * Returns whether the current array or object has another element,
+     * consuming the separating comma or the closing bracket.
+     *
+     * @param close the closing bracket of the current container
+     * @param first whether no element has been read yet
+     * @return true if another element follows
+     */
+    boolean hasNext(char close, boolean first) throws IOException {
+        int c = peekToken();
+        if (c == close) {
+            position++;
+            return false;
+        }
+        if (!first) {
+            if (c != ',') {
+                throw error("Expected ',' or '" + close + "'");
+            }
+            position++;
+        }
+        return true;
+    }
+
+    /** Reads an object member name and its colon. */
+    String nextName() throws IOException {
+        String name = nextString();
+        expect(':');
+        return name;
+    }
+
+    /** Reads a string value. */
+    String nextString() throws IOException {
+        expect('"');
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c == '\\') {
+                int e = read();
+                switch (e) {
+                    case '"', '\\', '/' -> text.append((char) e);
+                    case 'b' -> text.append('\b');
+                    case 'f' -> text.append('\f');
+                    case 'n' -> text.append('\n');
+                    case 'r' -> text.append('\r');
+                    case 't' -> text.append('\t');
+                    case 'u' -> {
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(read(), 16);
+                            if (digit < 0) {
+                                throw error("Invalid \\u escape");
+                            }
+                            code = code * 16 + digit;
+                        }
+                        text.append((char) code);
+                    }
+                    default -> throw error("Invalid escape");
+                }
+            } else if (c < 0x20) {
+                throw error("Unescaped control character in string");
+            } else {
+                text.append((char) c);
+            }
+        }
+    }
+
+    /** Reads a number. */
+    double nextDouble() throws IOException {
+        peekToken();
+        text.setLength(0);
+        while (true) {
+            int c = peek();
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                text.append((char) c);
+                position++;
+            } else {
+                break;
+            }
+        }
+        try {
+            return Double.parseDouble(text.toString());
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + text + "'");
+        }
+    }
+
+    /** Skips any value, nested at most {@link #MAX_DEPTH} deep. */
+    void skipValue() throws IOException {
+        int depth = 0;
+        boolean first = false;
+        while (true) {
+            if (depth > 0) {
+                char close = closers[depth - 1];
+                boolean more = hasNext(close, first);
+                first = false;
+                if (!more) {
+                    if (--depth == 0) {
+                        return;
+                    }
+                    continue;
+                }
+                if (close == '}') {
+                    nextName();
+                }
+            }
+            int c = peekToken();
+            switch (c) {
+                case '"' -> nextString();
+                case '{', '[' -> {
+                    if (depth == MAX_DEPTH) {
+                        throw error("Nesting deeper than " + MAX_DEPTH);
+                    }
+                    position++;
+                    closers[depth++] = c == '{' ? '}' : ']';
+                    first = true;
+                }
+                case 't' -> literal("true");
+                case 'f' -> literal("false");
+                case 'n' -> literal("null");
+                default -> nextDouble();
+            }
+            if (depth == 0) {
+                return;
+            }
+        }
+    }
+
+    /** Fails unless only whitespace remains. */
+    void endDocument() throws IOException {
+        if (peekToken() != -1) {
+            throw error("Unexpected data after end of document");
+        }
+    }
+
+    private void literal(String word) throws IOException {
+        for (int i = 0; i < word.length(); i++) {
+            if (read() != word.charAt(i)) {
+                throw error("Expected " + word);
+            }
+        }
+    }
+
+    private void expect(char c) throws IOException {
+        if (peekToken() != c) {
+            throw error("Expected '" + c + "'");
+        }
+        position++;
+    }
+
+    /** Skips whitespace and returns the next character without consuming it, or -1. */
+    private int peekToken() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                position++;
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c < 0) {
+            throw error("Unexpected end of input");
+        }
+        position++;
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        consumed += limit;
+        position = 0;
+        limit = Math.max(0, in.read(buffer));
+        if (consumed + limit > maxLength) {
+            throw new IllegalArgumentException("Input exceeds " + maxLength + " characters");
+        }
+        return limit > 0;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + (consumed + position));
+    }
+}
@@ -0,0 +1,416 @@
+package com.csc205.project2.server;
+
+import com.csc205.project2.analysis.MetricSummary;
+import com.csc205.project2.shapes.ShapeKernels;
+import com.csc205.project2.shapes.ShapeType;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP service for shape computations.
+ * <p>
+ * Built on the JDK {@code com.sun.net.httpserver} server with one virtual
+ * thread per request. Endpoints:
+ * <ul>
+ *   <li>{@code POST /shapes/metrics} - volume and surface area of every
+ *       shape, in request order, followed by the analysis summary.</li>
+ *   <li>{@code POST /shapes/analysis} - the analysis summary only.</li>
+ *   <li>{@code GET /health} - {@code {"status":"UP"}}.</li>
+ * </ul>
+ * Request bodies are JSON arrays of shapes:
+ * <pre>
+ * [{"type":"CYLINDER","dimensions":[3.0,7.0],"name":"Green Can","color":"Green"}, ...]
+ * </pre>
+ * where {@code type} is a {@link ShapeType} name, {@code dimensions} are
+ * in constructor order, and {@code name} and {@code color} are optional.
+ * <p>
+ * Bodies are read and written incrementally: each shape's result is
+ * written as soon as the shape has been parsed, using a chunked response,
+ * so the response to a large batch starts before the request has been
+ * fully received. Invalid input detected before the first result yields
+ * {@code 400} with {@code {"error":"..."}}; after that the status has
+ * already been sent, so the document ends with an {@code "error"} member
+ * instead of {@code "summary"}.
+ * <p>
+ * A request holds only the shape being parsed and a running summary:
+ * metrics are computed from the type and dimensions with
+ * {@link ShapeKernels}, no {@code Shape3D} is created and client strings
+ * are never interned. Bodies longer than the configured number of
+ * characters, with more than the configured number of shapes, or nested
+ * deeper than {@link JsonReader#MAX_DEPTH} are rejected the same way as
+ * other invalid input.
+ */
+public class ShapeServer implements AutoCloseable {
+
+    /** Port used when none is given. */
+    public static final int DEFAULT_PORT = 8080;
+
+    /** Maximum number of pending connections queued by the operating system. */
+    public static final int DEFAULT_BACKLOG = 16384;
+
+    /** Maximum number of shapes in one request used when none is given. */
+    public static final int DEFAULT_MAX_SHAPES = 1_000_000;
+
+    /** Maximum request body length in characters used when none is given. */
+    public static final long DEFAULT_MAX_BODY_LENGTH = 128L * 1024 * 1024;
+
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final int maxShapes;
+
+    private final long maxBodyLength;
+
+    private ShapeServer(HttpServer server, ExecutorService executor, int maxShapes, long maxBodyLength) {
+        this.server = server;
+        this.executor = executor;
+        this.maxShapes = maxShapes;
+        this.maxBodyLength = maxBodyLength;
+    }
+
+    /**
+     * Starts a server on all interfaces with the default request limits.
+     *
+     * @param port port to listen on, or 0 for any free port
+     * @return the running server
+     * @throws IOException if the port cannot be bound
+     */
+    public static ShapeServer start(int port) throws IOException {
+        return start(port, DEFAULT_MAX_SHAPES, DEFAULT_MAX_BODY_LENGTH);
+    }
+
+    /**
+     * Starts a server on all interfaces.
+     *
+     * @param port          port to listen on, or 0 for any free port
+     * @param maxShapes     largest number of shapes accepted in one request
+     * @param maxBodyLength largest request body accepted, in characters
+     * @return the running server
+     * @throws IOException              if the port cannot be bound
+     * @throws IllegalArgumentException if a limit is not positive
+     */
+    public static ShapeServer start(int port, int maxShapes, long maxBodyLength) throws IOException {
+        if (maxShapes <= 0) {
+            throw new IllegalArgumentException("Maximum shape count must be greater than zero.");
+        }
+        if (maxBodyLength <= 0) {
+            throw new IllegalArgumentException("Maximum body length must be greater than zero.");
+        }
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), DEFAULT_BACKLOG);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        ShapeServer shapeServer = new ShapeServer(server, executor, maxShapes, maxBodyLength);
+        server.setExecutor(executor);
+        server.createContext("/shapes/metrics", exchange -> shapeServer.handleShapes(exchange, true));
+        server.createContext("/shapes/analysis", exchange -> shapeServer.handleShapes(exchange, false));
+        server.createContext("/health", ShapeServer::handleHealth);
+        server.start();
+        return shapeServer;
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return bound port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests and shuts the server down, waiting up to one
+     * second for running exchanges.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.close();
+    }
+
+    private static void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Method not allowed.");
+                return;
+            }
+            byte[] body = "{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private void handleShapes(HttpExchange exchange, boolean perShape) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Method not allowed.");
+                return;
+            }
+            JsonReader reader = new JsonReader(
+                    new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8), maxBodyLength);
+            ShapeInput shape = new ShapeInput();
+            Summary summary = new Summary();
+            Writer out = null;
+            try {
+                reader.beginArray();
+                for (boolean first = true; reader.hasNext(']', first); first = false) {
+                    if (summary.count == maxShapes) {
+                        throw new IllegalArgumentException("Request exceeds " + maxShapes + " shapes.");
+                    }
+                    shape.read(reader);
+                    double[] dims = shape.dims;
+                    double volume = ShapeKernels.volume(shape.type, dims[0], dims[1], dims[2]);
+                    double area = ShapeKernels.surfaceArea(shape.type, dims[0], dims[1], dims[2]);
+                    summary.add(shape.type, shape.name, volume, area);
+                    if (perShape) {
+                        if (out == null) {
+                            out = beginStream(exchange);
+                            out.write("{\"results\":[");
+                        } else {
+                            out.write(',');
+                        }
+                        out.write("{\"volume\":");
+                        writeNumber(out, volume);
+                        out.write(",\"surfaceArea\":");
+                        writeNumber(out, area);
+                        out.write('}');
+                    }
+                }
+                reader.endDocument();
+            } catch (IllegalArgumentException e) {
+                if (out == null) {
+                    sendError(exchange, 400, e.getMessage());
+                } else {
+                    out.write("],\"error\":");
+                    writeString(out, e.getMessage());
+                    out.write('}');
+                    out.flush();
+                }
+                return;
+            }
+
+            if (out == null) {
+                out = beginStream(exchange);
+                out.write(perShape ? "{\"results\":[" : "{");
+            }
+            out.write(perShape ? "],\"summary\":" : "\"summary\":");
+            summary.write(out);
+            out.write('}');
+            out.flush();
+        }
+    }
+
+    private static Writer beginStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(200, 0);
+        return new BufferedWriter(
+                new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringWriter body = new StringWriter();
+        body.write("{\"error\":");
+        writeString(body, message);
+        body.write('}');
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    /**
+     * The shape currently being parsed, reused for every element of a
+     * request.
+     */
+    private static final class ShapeInput {
+
+        private ShapeType type;
+
+        /** Dimensions in constructor order; unused entries are zero. */
+        private final double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+
+        private String name;
+
+        /**
+         * Reads one shape object, replacing the previous one.
+         *
+         * @throws IllegalArgumentException if the object is malformed or
+         *                                  describes an invalid shape
+         */
+        private void read(JsonReader reader) throws IOException {
+            type = null;
+            Arrays.fill(dims, 0);
+            int dimensionCount = 0;
+            name = "Unknown";
+            String color = "Unknown";
+            reader.beginObject();
+            for (boolean first = true; reader.hasNext('}', first); first = false) {
+                switch (reader.nextName()) {
+                    case "type" -> {
+                        String value = reader.nextString();
+                        try {
+                            type = ShapeType.valueOf(value.trim().toUpperCase(Locale.ROOT));
+                        } catch (IllegalArgumentException e) {
+                            throw new IllegalArgumentException("Unknown shape type: " + value);
+                        }
+                    }
+                    case "dimensions" -> {
+                        reader.beginArray();
+                        for (boolean firstDim = true; reader.hasNext(']', firstDim); firstDim = false) {
+                            if (dimensionCount == dims.length) {
+                                throw new IllegalArgumentException("Too many dimensions.");
+                            }
+                            dims[dimensionCount++] = reader.nextDouble();
+                        }
+                    }
+                    case "name" -> name = reader.nextString();
+                    case "color" -> color = reader.nextString();
+                    default -> reader.skipValue();
+                }
+            }
+            if (type == null) {
+                throw new IllegalArgumentException("Shape type is required.");
+            }
+            if (dimensionCount != type.getDimensionCount()) {
+                throw new IllegalArgumentException(type + " requires " + type.getDimensionCount() + " dimensions.");
+            }
+            type.checkDimensions(dims[0], dims[1], dims[2]);
+            if (name.trim().isEmpty()) {
+                throw new IllegalArgumentException("Shape name cannot be null or blank.");
+            }
+            if (color.trim().isEmpty()) {
+                throw new IllegalArgumentException("Shape color cannot be null or blank.");
+            }
+            name = name.trim();
+        }
+    }
+
+    /**
+     * Running summary of a request, folded one shape at a time. Totals use
+     * Neumaier summation; leaders keep only the name, type and value, and
+     * the earliest shape wins a tie.
+     */
+    private static final class Summary {
+
+        private static final int VOLUME = 0;
+        private static final int SURFACE_AREA = 1;
+        private static final int EFFICIENCY = 2;
+        private static final int METRICS = 3;
+
+        private static final String[] LEADER_LABELS = {"largestVolume", "largestSurfaceArea", "mostEfficient"};
+        private static final String[] METRIC_LABELS = {"volume", "surfaceArea", "efficiency"};
+
+        private int count;
+
+        private final double[] values = new double[METRICS];
+        private final double[] mins = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        private final double[] maxes = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        private final double[] totals = new double[METRICS];
+        private final double[] compensations = new double[METRICS];
+        private final String[] leaderNames = new String[METRICS];
+        private final ShapeType[] leaderTypes = new ShapeType[METRICS];
+
+        private void add(ShapeType type, String name, double volume, double area) {
+            count++;
+            values[VOLUME] = volume;
+            values[SURFACE_AREA] = area;
+            values[EFFICIENCY] = volume / area;
+            for (int metric = 0; metric < METRICS; metric++) {
+                double value = values[metric];
+                if (value > maxes[metric]) {
+                    maxes[metric] = value;
+                    leaderNames[metric] = name;
+                    leaderTypes[metric] = type;
+                }
+                mins[metric] = Math.min(mins[metric], value);
+                double total = totals[metric];
+                double sum = total + value;
+                if (Math.abs(total) >= Math.abs(value)) {
+                    compensations[metric] += (total - sum) + value;
+                } else {
+                    compensations[metric] += (value - sum) + total;
+                }
+                totals[metric] = sum;
+            }
+        }
+
+        private void write(Writer out) throws IOException {
+            if (count == 0) {
+                out.write("null");
+                return;
+            }
+            out.write("{\"count\":");
+            out.write(Integer.toString(count));
+            for (int metric = 0; metric < METRICS; metric++) {
+                out.write(",\"" + LEADER_LABELS[metric] + "\":");
+                if (leaderNames[metric] == null) {
+                    // Every value was NaN
+                    out.write("null");
+                    continue;
+                }
+                out.write("{\"name\":");
+                writeString(out, leaderNames[metric]);
+                out.write(",\"type\":\"" + leaderTypes[metric] + "\",\"value\":");
+                writeNumber(out, maxes[metric]);
+                out.write('}');
+            }
+            for (int metric = 0; metric < METRICS; metric++) {
+                writeMetric(out, METRIC_LABELS[metric], new MetricSummary(mins[metric], maxes[metric],
+                        totals[metric] + compensations[metric], count));
+            }
+            out.write('}');
+        }
+    }
+
+    private static void writeMetric(Writer out, String label, MetricSummary summary) throws IOException {
+        out.write(",\"" + label + "\":{\"min\":");
+        writeNumber(out, summary.min());
+        out.write(",\"max\":");
+        writeNumber(out, summary.max());
+        out.write(",\"total\":");
+        writeNumber(out, summary.total());
+        out.write(",\"mean\":");
+        writeNumber(out, summary.mean());
+        out.write('}');
+    }
+
+    private static void writeNumber(Writer out, double value) throws IOException {
+        out.write(Double.isFinite(value) ? Double.toString(value) : "null");
+    }
+
+    private static void writeString(Writer out, String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,123 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Read-only view of one record in a {@link ShapeArena}.
+ * <p>
+ * A view offers the read operations of {@link Shape3D} without copying the
+ * record onto the heap. Volume and surface area are computed with the
+ * {@link ShapeKernels} formulas. Use {@link #toShape()} to obtain an
+ * independent, mutable {@link Shape3D}. A view becomes unusable once its
+ * arena is closed.
+ */
+public final class ArenaShape implements ThreeDimensionalShape {
+
+    private final ShapeArena arena;
+
+    private final long index;
+
+    ArenaShape(ShapeArena arena, long index) {
+        this.arena = arena;
+        this.index = index;
+    }
+
+    /**
+     * Returns the index of the viewed record.
+     *
+     * @return record index
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the type of the shape.
+     *
+     * @return shape type
+     * @throws IllegalStateException if the arena is closed
+     */
+    public ShapeType getType() {
+        return arena.getType(index);
+    }
+
+    /**
+     * Returns one dimension of the shape, in constructor order.
+     *
+     * @param dimension dimension index, 0 to 2
+     * @return dimension value, 0 if the type does not use it
+     * @throws IllegalStateException if the arena is closed
+     */
+    public double getDimension(int dimension) {
+        return arena.getDimension(index, dimension);
+    }
+
+    /**
+     * Returns the name of the shape.
+     *
+     * @return shape name
+     * @throws IllegalStateException if the arena is closed
+     */
+    public String getName() {
+        return arena.getName(index);
+    }
+
+    /**
+     * Returns the color of the shape.
+     *
+     * @return shape color
+     * @throws IllegalStateException if the arena is closed
+     */
+    public String getColor() {
+        return arena.getColor(index);
+    }
+
+    @Override
+    public double getSurfaceArea() {
+        return ShapeKernels.surfaceArea(getType(), getDimension(0), getDimension(1), getDimension(2));
+    }
+
+    @Override
+    public double getVolume() {
+        return ShapeKernels.volume(getType(), getDimension(0), getDimension(1), getDimension(2));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the arena is closed
+     */
+    @Override
+    public boolean contains(double x, double y, double z) {
+        return ShapeKernels.contains(getType(), getDimension(0), getDimension(1), getDimension(2), x, y, z);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the arena is closed
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return BoundingBox.of(getType(), getDimension(0), getDimension(1), getDimension(2));
+    }
+
+    /**
+     * Creates a new {@link Shape3D} with this record's type, dimensions,
+     * name and color.
+     *
+     * @return a new shape
+     * @throws IllegalStateException if the arena is closed
+     */
+    public Shape3D toShape() {
+        return getType().create(getDimension(0), getDimension(1), getDimension(2), getName(), getColor());
+    }
+
+    /**
+     * Returns the same text as {@link Shape3D#toString()} for the equivalent shape.
+     *
+     * @return formatted shape description
+     */
+    @Override
+    public String toString() {
+        return toShape().toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable axis-aligned box, given by its minimum and maximum corners.
+ * Boxes are closed: points and boxes that only touch a face count as
+ * contained or intersecting.
+ *
+ * @param minX smallest x coordinate
+ * @param minY smallest y coordinate
+ * @param minZ smallest z coordinate
+ * @param maxX largest x coordinate
+ * @param maxY largest y coordinate
+ * @param maxZ largest z coordinate
+ */
+public record BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+
+    /**
+     * Validates the corners.
+     *
+     * @throws IllegalArgumentException if a minimum exceeds its maximum or a coordinate is NaN
+     */
+    public BoundingBox {
+        if (!(minX <= maxX) || !(minY <= maxY) || !(minZ <= maxZ)) {
+            throw new IllegalArgumentException("Bounding box minimum cannot exceed maximum.");
+        }
+    }
+
+    /**
+     * Returns the local-frame bounding box of a shape given its type and
+     * dimensions, the same box as {@link ThreeDimensionalShape#getBoundingBox()}.
+     *
+     * @param type the shape type
+     * @param d0   first dimension
+     * @param d1   second dimension, ignored if unused
+     * @param d2   third dimension, ignored if unused
+     * @return the box, centered on the origin
+     */
+    public static BoundingBox of(ShapeType type, double d0, double d1, double d2) {
+        double halfX = ShapeKernels.halfExtent(type, 0, d0, d1, d2);
+        double halfY = ShapeKernels.halfExtent(type, 1, d0, d1, d2);
+        double halfZ = ShapeKernels.halfExtent(type, 2, d0, d1, d2);
+        return new BoundingBox(-halfX, -halfY, -halfZ, halfX, halfY, halfZ);
+    }
+
+    /**
+     * Tests whether a point lies inside or on the box.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return true if the point is inside the box
+     */
+    public boolean contains(double x, double y, double z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * Tests whether two boxes overlap or touch.
+     *
+     * @param other the other box
+     * @return true if the boxes share at least one point
+     */
+    public boolean intersects(BoundingBox other) {
+        return minX <= other.maxX && other.minX <= maxX
+                && minY <= other.maxY && other.minY <= maxY
+                && minZ <= other.maxZ && other.minZ <= maxZ;
+    }
+
+    /**
+     * Returns this box moved by an offset.
+     *
+     * @param dx offset along x
+     * @param dy offset along y
+     * @param dz offset along z
+     * @return the moved box
+     */
+    public BoundingBox translate(double dx, double dy, double dz) {
+        return new BoundingBox(minX + dx, minY + dy, minZ + dz, maxX + dx, maxY + dy, maxZ + dz);
+    }
+
+    /**
+     * Returns the smallest box that encloses this box and another.
+     *
+     * @param other the other box
+     * @return the enclosing box
+     */
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(Math.min(minX, other.minX), Math.min(minY, other.minY), Math.min(minZ, other.minZ),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY), Math.max(maxZ, other.maxZ));
+    }
+}
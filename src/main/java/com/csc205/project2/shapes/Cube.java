@@ -81,6 +81,7 @@ public class Cube extends Shape3D {
             throw new IllegalArgumentException("Side length must be greater than zero.");
         }
         this.sideLength = sideLength;
+        dimensionsChanged();
     }
 
     /**
@@ -104,19 +105,36 @@ public class Cube extends Shape3D {
     }
 
     /**
-     * Returns a formatted string representation of the cube.
+     * Tests whether a point lies inside or on the cube, which is centered on
+     * the origin with faces parallel to the axes.
      *
-     * @return formatted cube description
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return true if the point is inside the cube
      */
     @Override
-    public String toString() {
-        return String.format(
-                "%s [Side Length=%.2f, Color=%s, Surface Area=%.2f, Volume=%.2f]",
-                getName(),
-                sideLength,
-                getColor(),
-                getSurfaceArea(),
-                getVolume()
-        );
+    public boolean contains(double x, double y, double z) {
+        return ShapeKernels.contains(ShapeType.CUBE, sideLength, 0, 0, x, y, z);
+    }
+
+    /**
+     * Returns the bounding box of the cube, centered on the origin.
+     *
+     * @return bounding box
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return BoundingBox.of(ShapeType.CUBE, sideLength, 0, 0);
+    }
+
+    /**
+     * Appends the dimensions of the cube.
+     *
+     * @param sb destination
+     */
+    @Override
+    protected void appendDimensions(StringBuilder sb) {
+        appendDimension(sb, "Side Length", sideLength);
     }
 }
\ No newline at end of file
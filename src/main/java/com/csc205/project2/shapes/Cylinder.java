@@ -88,6 +88,7 @@ public class Cylinder extends Shape3D {
             throw new IllegalArgumentException("Radius must be greater than zero.");
         }
         this.radius = radius;
+        dimensionsChanged();
     }
 
     /**
@@ -110,6 +111,7 @@ public class Cylinder extends Shape3D {
             throw new IllegalArgumentException("Height must be greater than zero.");
         }
         this.height = height;
+        dimensionsChanged();
     }
 
     /**
@@ -142,20 +144,37 @@ public class Cylinder extends Shape3D {
     }
 
     /**
-     * Returns a formatted string representation of the cylinder.
+     * Tests whether a point lies inside or on the cylinder, whose axis runs
+     * along z from {@code -height/2} to {@code height/2}.
      *
-     * @return formatted cylinder description
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return true if the point is inside the cylinder
      */
     @Override
-    public String toString() {
-        return String.format(
-                "%s [Radius=%.2f, Height=%.2f, Color=%s, Surface Area=%.2f, Volume=%.2f]",
-                getName(),
-                radius,
-                height,
-                getColor(),
-                getSurfaceArea(),
-                getVolume()
-        );
+    public boolean contains(double x, double y, double z) {
+        return ShapeKernels.contains(ShapeType.CYLINDER, radius, height, 0, x, y, z);
+    }
+
+    /**
+     * Returns the bounding box of the cylinder, centered on the origin.
+     *
+     * @return bounding box
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return BoundingBox.of(ShapeType.CYLINDER, radius, height, 0);
+    }
+
+    /**
+     * Appends the dimensions of the cylinder.
+     *
+     * @param sb destination
+     */
+    @Override
+    protected void appendDimensions(StringBuilder sb) {
+        appendDimension(sb, "Radius", radius);
+        appendDimension(sb, "Height", height);
     }
 }
\ No newline at end of file
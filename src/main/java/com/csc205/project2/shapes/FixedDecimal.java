@@ -0,0 +1,135 @@
+package com.csc205.project2.shapes;
+
+import java.nio.ByteBuffer;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Fixed-precision double-to-text conversion without {@link String#format}.
+ * <p>
+ * {@link #append(StringBuilder, double, int)} produces exactly the text of
+ * {@code String.format("%.<digits>f", value)} in the default format locale.
+ * Non-negative values whose scaled product (value times
+ * 10<sup>digits</sup>) is below 2<sup>40</sup>, about 10<sup>10</sup> at
+ * two digits, are converted with integer arithmetic and no allocation.
+ * Values whose scaled fraction lies too close to a rounding tie for that
+ * arithmetic to decide, and all other values (negative, huge, NaN,
+ * infinite), fall back to
+ * {@code String.format}, as does every value when the default locale does
+ * not use {@code '.'} and ASCII digits.
+ */
+public final class FixedDecimal {
+
+    /** Largest number of fraction digits supported. */
+    public static final int MAX_DIGITS = 6;
+
+    /** Scaled products at or above this bound are formatted by {@code String.format}. */
+    private static final double FAST_PATH_LIMIT = 0x1p40;
+
+    /**
+     * Distance from a rounding tie, in units of the last printed digit,
+     * below which the fast path cannot trust its scaled product. Below
+     * {@link #FAST_PATH_LIMIT} the product is off by at most 2<sup>-12</sup>,
+     * so this margin leaves plenty of room.
+     */
+    private static final double TIE_MARGIN = 1e-3;
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+    private static final String[] PATTERNS = {"%.0f", "%.1f", "%.2f", "%.3f", "%.4f", "%.5f", "%.6f"};
+
+    /** Default format locale last checked, and whether it allows the fast path. */
+    private static volatile LocaleCheck localeCheck = new LocaleCheck(null, false);
+
+    private FixedDecimal() {
+    }
+
+    /**
+     * Appends a value rounded to a fixed number of fraction digits.
+     *
+     * @param sb     destination
+     * @param value  value to format
+     * @param digits number of fraction digits, from 0 to {@link #MAX_DIGITS}
+     * @return sb
+     * @throws IllegalArgumentException if digits is out of range
+     */
+    public static StringBuilder append(StringBuilder sb, double value, int digits) {
+        if (digits < 0 || digits > MAX_DIGITS) {
+            throw new IllegalArgumentException("Digits must be between 0 and " + MAX_DIGITS + ".");
+        }
+        long scale = POWERS_OF_TEN[digits];
+        double scaled = value * scale;
+        // Also rejects NaN and -0.0 (whose text is "-0.00")
+        if (!(value >= 0 && scaled < FAST_PATH_LIMIT)
+                || Double.doubleToRawLongBits(value) < 0
+                || !isPlainLocale()) {
+            return sb.append(String.format(PATTERNS[digits], value));
+        }
+        long whole = (long) scaled;
+        double fraction = scaled - whole;
+        if (Math.abs(fraction - 0.5) < TIE_MARGIN) {
+            return sb.append(String.format(PATTERNS[digits], value));
+        }
+        long rounded = fraction > 0.5 ? whole + 1 : whole;
+        sb.append(rounded / scale);
+        if (digits > 0) {
+            sb.append('.');
+            long fractionDigits = rounded % scale;
+            for (long p = scale / 10; p > fractionDigits && p > 1; p /= 10) {
+                sb.append('0');
+            }
+            sb.append(fractionDigits);
+        }
+        return sb;
+    }
+
+    /**
+     * Writes characters to a buffer as UTF-8.
+     *
+     * @param text   characters to write
+     * @param buffer destination
+     * @throws java.nio.BufferOverflowException if the buffer has too little room;
+     *                                          the position is then unspecified
+     */
+    static void putUtf8(CharSequence text, ByteBuffer buffer) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, text.charAt(++i));
+                buffer.put((byte) (0xF0 | (cp >> 18)));
+                buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /** Whether the default format locale prints '.' and ASCII digits. */
+    private static boolean isPlainLocale() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        LocaleCheck check = localeCheck;
+        if (check.locale() != locale) {
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            check = new LocaleCheck(locale,
+                    symbols.getDecimalSeparator() == '.' && symbols.getZeroDigit() == '0');
+            localeCheck = check;
+        }
+        return check.plain();
+    }
+
+    private record LocaleCheck(Locale locale, boolean plain) {
+    }
+}
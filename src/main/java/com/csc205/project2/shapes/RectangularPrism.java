@@ -94,6 +94,7 @@ public class RectangularPrism extends Shape3D {
             throw new IllegalArgumentException("Length must be greater than zero.");
         }
         this.length = length;
+        dimensionsChanged();
     }
 
     /**
@@ -116,6 +117,7 @@ public class RectangularPrism extends Shape3D {
             throw new IllegalArgumentException("Width must be greater than zero.");
         }
         this.width = width;
+        dimensionsChanged();
     }
 
     /**
@@ -138,6 +140,7 @@ public class RectangularPrism extends Shape3D {
             throw new IllegalArgumentException("Height must be greater than zero.");
         }
         this.height = height;
+        dimensionsChanged();
     }
 
     /**
@@ -183,21 +186,38 @@ public class RectangularPrism extends Shape3D {
     }
 
     /**
-     * Returns a formatted string representation of the rectangular prism.
+     * Tests whether a point lies inside or on the prism, which is centered on
+     * the origin with length along x, width along y and height along z.
      *
-     * @return formatted rectangular prism description
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return true if the point is inside the prism
      */
     @Override
-    public String toString() {
-        return String.format(
-                "%s [Length=%.2f, Width=%.2f, Height=%.2f, Color=%s, Surface Area=%.2f, Volume=%.2f]",
-                getName(),
-                length,
-                width,
-                height,
-                getColor(),
-                getSurfaceArea(),
-                getVolume()
-        );
+    public boolean contains(double x, double y, double z) {
+        return ShapeKernels.contains(ShapeType.RECTANGULAR_PRISM, length, width, height, x, y, z);
+    }
+
+    /**
+     * Returns the bounding box of the prism, centered on the origin.
+     *
+     * @return bounding box
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return BoundingBox.of(ShapeType.RECTANGULAR_PRISM, length, width, height);
+    }
+
+    /**
+     * Appends the dimensions of the rectangular prism.
+     *
+     * @param sb destination
+     */
+    @Override
+    protected void appendDimensions(StringBuilder sb) {
+        appendDimension(sb, "Length", length);
+        appendDimension(sb, "Width", width);
+        appendDimension(sb, "Height", height);
     }
 }
\ No newline at end of file
@@ -99,6 +99,7 @@ public class RectangularPyramid extends Shape3D {
             throw new IllegalArgumentException("Base length must be greater than zero.");
         }
         this.baseLength = baseLength;
+        dimensionsChanged();
     }
 
     /**
@@ -121,6 +122,7 @@ public class RectangularPyramid extends Shape3D {
             throw new IllegalArgumentException("Base width must be greater than zero.");
         }
         this.baseWidth = baseWidth;
+        dimensionsChanged();
     }
 
     /**
@@ -143,6 +145,7 @@ public class RectangularPyramid extends Shape3D {
             throw new IllegalArgumentException("Height must be greater than zero.");
         }
         this.height = height;
+        dimensionsChanged();
     }
 
     /**
@@ -188,21 +191,39 @@ public class RectangularPyramid extends Shape3D {
     }
 
     /**
-     * Returns a formatted string representation of the rectangular pyramid.
+     * Tests whether a point lies inside or on the pyramid, whose base lies at
+     * {@code z = -height/2} with length along x and width along y, and whose
+     * apex is at {@code (0, 0, height/2)}.
      *
-     * @return formatted pyramid description
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return true if the point is inside the pyramid
      */
     @Override
-    public String toString() {
-        return String.format(
-                "%s [Base Length=%.2f, Base Width=%.2f, Height=%.2f, Color=%s, Surface Area=%.2f, Volume=%.2f]",
-                getName(),
-                baseLength,
-                baseWidth,
-                height,
-                getColor(),
-                getSurfaceArea(),
-                getVolume()
-        );
+    public boolean contains(double x, double y, double z) {
+        return ShapeKernels.contains(ShapeType.RECTANGULAR_PYRAMID, baseLength, baseWidth, height, x, y, z);
+    }
+
+    /**
+     * Returns the bounding box of the pyramid, centered on the origin.
+     *
+     * @return bounding box
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return BoundingBox.of(ShapeType.RECTANGULAR_PYRAMID, baseLength, baseWidth, height);
+    }
+
+    /**
+     * Appends the dimensions of the rectangular pyramid.
+     *
+     * @param sb destination
+     */
+    @Override
+    protected void appendDimensions(StringBuilder sb) {
+        appendDimension(sb, "Base Length", baseLength);
+        appendDimension(sb, "Base Width", baseWidth);
+        appendDimension(sb, "Height", height);
     }
 }
\ No newline at end of file
@@ -1,19 +1,65 @@
 package com.csc205.project2.shapes;
 
+import com.csc205.project2.instrumentation.Instrumentation;
+import com.csc205.project2.instrumentation.Operation;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Abstract base class for all three-dimensional shapes.
  * <p>
  * This class implements the {@link ThreeDimensionalShape} interface and
  * provides common fields, validation, and formatting logic shared by
  * all 3D shapes.
+ * <p>
+ * Names and colors are dictionary-encoded: each shape keeps an int id
+ * per value, and all shapes with the same name or color share one
+ * canonical String (see {@link #getNameDictionary()} and
+ * {@link #getColorDictionary()}). Code that groups or filters many shapes
+ * can compare {@link #getNameId()} and {@link #getColorId()} instead of
+ * the strings.
+ * <p>
+ * Volume and surface area can optionally be cached per shape (see
+ * {@link #setMetricsCachingEnabled(boolean)}), and derived structures
+ * such as indexes can follow changes with
+ * {@link #addChangeListener(ShapeChangeListener)}. Subclasses must call
+ * {@link #dimensionsChanged()} from every setter that changes a dimension.
+ * <p>
+ * {@link #getVolume()}, {@link #getSurfaceArea()} and
+ * {@link #appendTo(StringBuilder)} are measured per shape type while
+ * {@link Instrumentation} is enabled.
  */
 public abstract class Shape3D implements ThreeDimensionalShape {
 
-    /** Name of the shape (e.g., "Sphere", "Cube"). */
-    private String name;
+    /** Number of cached metric reads served without recomputation, across all shapes. */
+    private static final LongAdder CACHE_HITS = new LongAdder();
+
+    /** Number of cached metric reads that had to recompute, across all shapes. */
+    private static final LongAdder CACHE_MISSES = new LongAdder();
+
+    /** Per-thread text buffer reused by {@link #writeTo(ByteBuffer)}. */
+    private static final ThreadLocal<StringBuilder> TEXT_BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    /** Canonical names of all shapes. */
+    private static final StringDictionary NAMES = new StringDictionary();
+
+    /** Canonical colors of all shapes. */
+    private static final StringDictionary COLORS = new StringDictionary();
 
-    /** Color of the shape. */
-    private String color;
+    /** Id of the shape's name (e.g., "Sphere", "Cube") in {@link #NAMES}. */
+    private int nameId;
+
+    /** Id of the shape's color in {@link #COLORS}. */
+    private int colorId;
+
+    /** Cached volume and surface area, or null when caching is disabled. */
+    private volatile MetricsCache metricsCache;
+
+    /** Listeners notified of dimension changes, or null when there are none. */
+    private volatile ShapeChangeListener[] changeListeners;
 
     /**
      * Constructs a Shape3D with a name and color.
@@ -42,7 +88,18 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      */
     @Override
     public double getSurfaceArea() {
-        return calculateSurfaceArea();
+        if (Instrumentation.isEnabled()) {
+            long start = Instrumentation.start();
+            double surfaceArea = surfaceArea();
+            Instrumentation.record(Operation.SURFACE_AREA, this, start);
+            return surfaceArea;
+        }
+        return surfaceArea();
+    }
+
+    private double surfaceArea() {
+        MetricsCache cache = metricsCache;
+        return cache == null ? calculateSurfaceArea() : cache.get(this).surfaceArea();
     }
 
     /**
@@ -52,7 +109,141 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      */
     @Override
     public double getVolume() {
-        return calculateVolume();
+        if (Instrumentation.isEnabled()) {
+            long start = Instrumentation.start();
+            double volume = volume();
+            Instrumentation.record(Operation.VOLUME, this, start);
+            return volume;
+        }
+        return volume();
+    }
+
+    private double volume() {
+        MetricsCache cache = metricsCache;
+        return cache == null ? calculateVolume() : cache.get(this).volume();
+    }
+
+    /**
+     * Enables or disables caching of volume and surface area for this shape.
+     * <p>
+     * While enabled, both values are computed together on first use and
+     * kept until a dimension setter changes the shape. A read that starts
+     * after a setter returns always sees the new dimensions, even from
+     * another thread. Each caching shape holds three extra small objects,
+     * the cache, its version counter and the cached values (about 90 bytes
+     * with compressed references), and every recomputation allocates new
+     * cached values, so caching pays off only for shapes that are read
+     * more often than they change; compare {@link #getCacheHitCount()}
+     * and {@link #getCacheMissCount()} to check.
+     *
+     * @param enabled true to cache, false to compute on every call
+     */
+    public void setMetricsCachingEnabled(boolean enabled) {
+        if (enabled != isMetricsCachingEnabled()) {
+            metricsCache = enabled ? new MetricsCache() : null;
+        }
+    }
+
+    /**
+     * Returns whether volume and surface area are cached for this shape.
+     *
+     * @return true if caching is enabled
+     */
+    public boolean isMetricsCachingEnabled() {
+        return metricsCache != null;
+    }
+
+    /**
+     * Returns the number of cached volume or surface area reads, across all
+     * shapes, that were served without recomputation.
+     *
+     * @return cache hit count
+     */
+    public static long getCacheHitCount() {
+        return CACHE_HITS.sum();
+    }
+
+    /**
+     * Returns the number of cached volume or surface area reads, across all
+     * shapes, that had to recompute because the cache was empty or stale.
+     *
+     * @return cache miss count
+     */
+    public static long getCacheMissCount() {
+        return CACHE_MISSES.sum();
+    }
+
+    /**
+     * Resets the cache hit and miss counters to zero.
+     */
+    public static void resetCacheStatistics() {
+        CACHE_HITS.reset();
+        CACHE_MISSES.reset();
+    }
+
+    /**
+     * Records that a dimension of this shape has changed.
+     * Must be called by subclasses after every dimension update.
+     */
+    protected final void dimensionsChanged() {
+        MetricsCache cache = metricsCache;
+        if (cache != null) {
+            cache.invalidate();
+        }
+        ShapeChangeListener[] listeners = changeListeners;
+        if (listeners != null) {
+            for (ShapeChangeListener listener : listeners) {
+                listener.dimensionsChanged(this);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener to be notified after every dimension change.
+     * Name and color changes are not reported.
+     *
+     * @param listener the listener
+     * @throws IllegalArgumentException if listener is null
+     */
+    public void addChangeListener(ShapeChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null.");
+        }
+        synchronized (this) {
+            ShapeChangeListener[] listeners = changeListeners;
+            if (listeners == null) {
+                changeListeners = new ShapeChangeListener[] {listener};
+            } else {
+                listeners = Arrays.copyOf(listeners, listeners.length + 1);
+                listeners[listeners.length - 1] = listener;
+                changeListeners = listeners;
+            }
+        }
+    }
+
+    /**
+     * Removes one registration of a listener.
+     *
+     * @param listener the listener
+     * @return true if the listener was registered
+     */
+    public boolean removeChangeListener(ShapeChangeListener listener) {
+        synchronized (this) {
+            ShapeChangeListener[] listeners = changeListeners;
+            if (listeners == null) {
+                return false;
+            }
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i] == listener) {
+                    ShapeChangeListener[] remaining = new ShapeChangeListener[listeners.length - 1];
+                    System.arraycopy(listeners, 0, remaining, 0, i);
+                    System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                    changeListeners = remaining.length == 0 ? null : remaining;
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 
     /**
@@ -77,7 +268,17 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      * @return shape name
      */
     public String getName() {
-        return name;
+        return NAMES.lookup(nameId);
+    }
+
+    /**
+     * Returns the id of the shape's name in {@link #getNameDictionary()}.
+     * Shapes have the same id exactly when they have equal names.
+     *
+     * @return name id
+     */
+    public int getNameId() {
+        return nameId;
     }
 
     /**
@@ -90,7 +291,7 @@ public abstract class Shape3D implements ThreeDimensionalShape {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Shape name cannot be null or blank.");
         }
-        this.name = name.trim();
+        this.nameId = NAMES.intern(name.trim());
     }
 
     /**
@@ -99,7 +300,17 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      * @return shape color
      */
     public String getColor() {
-        return color;
+        return COLORS.lookup(colorId);
+    }
+
+    /**
+     * Returns the id of the shape's color in {@link #getColorDictionary()}.
+     * Shapes have the same id exactly when they have equal colors.
+     *
+     * @return color id
+     */
+    public int getColorId() {
+        return colorId;
     }
 
     /**
@@ -112,22 +323,138 @@ public abstract class Shape3D implements ThreeDimensionalShape {
         if (color == null || color.trim().isEmpty()) {
             throw new IllegalArgumentException("Shape color cannot be null or blank.");
         }
-        this.color = color.trim();
+        this.colorId = COLORS.intern(color.trim());
+    }
+
+    /**
+     * Returns the dictionary that holds the names of all shapes.
+     *
+     * @return shared name dictionary
+     */
+    public static StringDictionary getNameDictionary() {
+        return NAMES;
+    }
+
+    /**
+     * Returns the dictionary that holds the colors of all shapes.
+     * Use {@link StringDictionary#idOf(String)} to find the id to compare
+     * with {@link #getColorId()}.
+     *
+     * @return shared color dictionary
+     */
+    public static StringDictionary getColorDictionary() {
+        return COLORS;
     }
 
     /**
      * Returns a formatted string representation of the shape.
      *
      * @return formatted shape description
+     * @see #appendTo(StringBuilder)
      */
     @Override
     public String toString() {
-        return String.format(
-                "%s [Color=%s, Surface Area=%.2f, Volume=%.2f]",
-                name,
-                color,
-                getSurfaceArea(),
-                getVolume()
-        );
+        return appendTo(new StringBuilder(96)).toString();
+    }
+
+    /**
+     * Appends the text of {@link #toString()} to a builder without
+     * intermediate objects. Numbers are printed as by {@code %.2f}
+     * (see {@link FixedDecimal}).
+     *
+     * @param sb destination
+     * @return sb
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        if (Instrumentation.isEnabled()) {
+            long start = Instrumentation.start();
+            format(sb);
+            Instrumentation.record(Operation.FORMAT, this, start);
+            return sb;
+        }
+        return format(sb);
+    }
+
+    private StringBuilder format(StringBuilder sb) {
+        sb.append(getName()).append(" [");
+        appendDimensions(sb);
+        sb.append("Color=").append(getColor()).append(", Surface Area=");
+        FixedDecimal.append(sb, surfaceArea(), 2);
+        sb.append(", Volume=");
+        FixedDecimal.append(sb, volume(), 2);
+        return sb.append(']');
+    }
+
+    /**
+     * Writes the text of {@link #toString()} to a buffer as UTF-8, starting
+     * at its current position.
+     *
+     * @param buffer destination
+     * @throws java.nio.BufferOverflowException if the buffer has too little room
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StringBuilder sb = TEXT_BUFFER.get();
+        sb.setLength(0);
+        FixedDecimal.putUtf8(appendTo(sb), buffer);
+    }
+
+    /**
+     * Appends the shape-specific dimensions to the text of
+     * {@link #appendTo(StringBuilder)}, each followed by {@code ", "}.
+     * The default appends nothing.
+     *
+     * @param sb destination
+     */
+    protected void appendDimensions(StringBuilder sb) {
+    }
+
+    /**
+     * Appends {@code label=value, } with the value printed as by {@code %.2f}.
+     *
+     * @param sb    destination
+     * @param label dimension label
+     * @param value dimension value
+     */
+    protected static void appendDimension(StringBuilder sb, String label, double value) {
+        FixedDecimal.append(sb.append(label).append('='), value, 2).append(", ");
+    }
+
+    /**
+     * Volume and surface area computed at a given dimension version.
+     */
+    private record Metrics(long version, double volume, double surfaceArea) {
+    }
+
+    /**
+     * Per-shape metric cache.
+     * <p>
+     * Every dimension change increments {@code version} after the new
+     * value is written. Cached metrics are only used when they were computed
+     * at the current version, so a reader that observes an increment can
+     * never be handed values computed from the old dimensions.
+     */
+    private static final class MetricsCache {
+
+        private final AtomicLong version = new AtomicLong();
+
+        private volatile Metrics metrics;
+
+        private Metrics get(Shape3D shape) {
+            long current = version.get();
+            Metrics cached = metrics;
+            if (cached != null && cached.version() == current) {
+                CACHE_HITS.increment();
+                return cached;
+            }
+            CACHE_MISSES.increment();
+            Metrics computed = new Metrics(current,
+                    shape.calculateVolume(), shape.calculateSurfaceArea());
+            metrics = computed;
+            return computed;
+        }
+
+        private void invalidate() {
+            version.incrementAndGet();
+        }
     }
 }
\ No newline at end of file
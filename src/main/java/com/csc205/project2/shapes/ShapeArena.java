@@ -0,0 +1,423 @@
+package com.csc205.project2.shapes;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Off-heap storage for very large shape datasets.
+ * <p>
+ * Shapes are stored as fixed-width records of {@link #RECORD_BYTES} bytes
+ * in direct (off-heap) buffers, so the number of shapes does not affect
+ * the size of the Java heap or the work done by the garbage collector.
+ * Each record holds, in native byte order:
+ * <pre>
+ * offset  0  int     type tag ({@link ShapeType#ordinal()})
+ * offset  4  int     name id
+ * offset  8  int     color id
+ * offset 12  int     reserved, always 0
+ * offset 16  double  first dimension
+ * offset 24  double  second dimension (0 if unused)
+ * offset 32  double  third dimension (0 if unused)
+ * </pre>
+ * Names and colors are kept once each in on-heap {@link StringDictionary}
+ * instances and referenced by id.
+ * <p>
+ * Records live in segments of {@link #RECORDS_PER_SEGMENT} records that
+ * are allocated with {@link ByteBuffer#allocateDirect(int)} as the arena
+ * grows. Direct buffers count against the JVM's direct memory limit,
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap
+ * size; an append that needs a segment beyond that limit throws
+ * {@link OutOfMemoryError} ("Cannot reserve ... bytes of direct buffer
+ * memory") and leaves the arena unchanged. A writable arena larger than
+ * the heap therefore needs the limit raised explicitly. Arenas returned
+ * by {@link ShapeFile#map(java.nio.file.Path)} are backed by the mapped
+ * file and do not count against the limit, which makes them the better
+ * choice for datasets that do not fit in memory.
+ * <p>
+ * {@link #close()} makes the arena unusable, so that every later access
+ * throws {@link IllegalStateException}, and drops its references to the
+ * segments, but it does not free them: JDK 21 offers no supported way to
+ * free a direct buffer that other threads may still be reading. Their
+ * memory is returned to the operating system only once the garbage
+ * collector has reclaimed the buffers, which can take until a later
+ * collection, and it still counts against the direct memory limit until
+ * then.
+ * <p>
+ * Appends are not thread-safe; reads of existing records may run
+ * concurrently with each other, with appends and with {@link #close()}.
+ */
+public class ShapeArena implements AutoCloseable {
+
+    /** Size of one shape record in bytes. */
+    public static final int RECORD_BYTES = 40;
+
+    /** Number of records held by each off-heap segment. */
+    public static final int RECORDS_PER_SEGMENT = 1 << 20;
+
+    static final int TYPE_OFFSET = 0;
+    static final int NAME_OFFSET = 4;
+    static final int COLOR_OFFSET = 8;
+    static final int DIMENSION_OFFSET = 16;
+
+    private static final int SEGMENT_SHIFT = Integer.numberOfTrailingZeros(RECORDS_PER_SEGMENT);
+
+    /** Segments in index order; replaced, with any new segment already in place, as the arena grows. */
+    private volatile ByteBuffer[] segments;
+
+    private final StringDictionary names;
+
+    private final StringDictionary colors;
+
+    private final boolean readOnly;
+
+    /** Number of records, raised only after a new record and its segment have been written. */
+    private volatile long size;
+
+    private volatile boolean closed;
+
+    /**
+     * Constructs an empty arena with its own name and color dictionaries.
+     */
+    public ShapeArena() {
+        this(new ByteBuffer[0], 0, new StringDictionary(), new StringDictionary(), false);
+    }
+
+    /**
+     * Constructs an arena over existing segments.
+     *
+     * @param segments segments laid out as described above, each holding
+     *                 {@link #RECORDS_PER_SEGMENT} records except possibly the last
+     * @param size     number of records in use
+     * @param names    dictionary for name ids
+     * @param colors   dictionary for color ids
+     * @param readOnly whether appends are rejected
+     */
+    ShapeArena(ByteBuffer[] segments, long size, StringDictionary names, StringDictionary colors,
+               boolean readOnly) {
+        this.segments = segments;
+        this.size = size;
+        this.names = names;
+        this.colors = colors;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Appends a copy of a shape.
+     *
+     * @param shape the shape to copy
+     * @return index of the new record
+     * @throws IllegalArgumentException if the shape is null or of an unknown type
+     * @throws IllegalStateException    if the arena is closed or read-only
+     */
+    public long add(Shape3D shape) {
+        ShapeType type = ShapeType.of(shape);
+        double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+        type.getDimensions(shape, dims);
+        return append(type, dims[0], dims[1], dims[2], shape.getName(), shape.getColor());
+    }
+
+    /**
+     * Appends a shape given its type and dimensions. Dimensions beyond
+     * {@link ShapeType#getDimensionCount()} are stored as 0.
+     *
+     * @param type  the shape type
+     * @param d0    first dimension
+     * @param d1    second dimension
+     * @param d2    third dimension
+     * @param name  name of the shape
+     * @param color color of the shape
+     * @return index of the new record
+     * @throws IllegalArgumentException if type is null, a used dimension is
+     *                                  not positive, or name or color is null or blank
+     * @throws IllegalStateException    if the arena is closed or read-only
+     */
+    public long add(ShapeType type, double d0, double d1, double d2, String name, String color) {
+        if (type == null) {
+            throw new IllegalArgumentException("Shape type cannot be null.");
+        }
+        int dimensionCount = type.getDimensionCount();
+        if (!(d0 > 0) || (dimensionCount > 1 && !(d1 > 0)) || (dimensionCount > 2 && !(d2 > 0))) {
+            throw new IllegalArgumentException("Dimensions must be greater than zero.");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Shape name cannot be null or blank.");
+        }
+        if (color == null || color.trim().isEmpty()) {
+            throw new IllegalArgumentException("Shape color cannot be null or blank.");
+        }
+        return append(type, d0, dimensionCount > 1 ? d1 : 0, dimensionCount > 2 ? d2 : 0,
+                name.trim(), color.trim());
+    }
+
+    private long append(ShapeType type, double d0, double d1, double d2, String name, String color) {
+        checkOpen();
+        if (readOnly) {
+            throw new IllegalStateException("Arena is read-only.");
+        }
+        long index = size;
+        int segment = (int) (index >>> SEGMENT_SHIFT);
+        ByteBuffer[] current = segments;
+        if (segment == current.length) {
+            // Allocated before the array is touched, so a failure leaves the arena unchanged
+            ByteBuffer added = ByteBuffer.allocateDirect(RECORDS_PER_SEGMENT * RECORD_BYTES)
+                    .order(ByteOrder.nativeOrder());
+            current = Arrays.copyOf(current, segment + 1);
+            current[segment] = added;
+            segments = current;
+        }
+        ByteBuffer buffer = current[segment];
+        int offset = recordOffset(index);
+        buffer.putInt(offset + TYPE_OFFSET, type.ordinal());
+        buffer.putInt(offset + NAME_OFFSET, names.intern(name));
+        buffer.putInt(offset + COLOR_OFFSET, colors.intern(color));
+        buffer.putInt(offset + 12, 0);
+        buffer.putDouble(offset + DIMENSION_OFFSET, d0);
+        buffer.putDouble(offset + DIMENSION_OFFSET + 8, d1);
+        buffer.putDouble(offset + DIMENSION_OFFSET + 16, d2);
+        size = index + 1;
+        return index;
+    }
+
+    /**
+     * Returns the number of records in the arena.
+     *
+     * @return record count
+     */
+    public long size() {
+        checkOpen();
+        return size;
+    }
+
+    /**
+     * Returns the off-heap memory reserved by this arena.
+     *
+     * @return reserved bytes
+     */
+    public long reservedBytes() {
+        ByteBuffer[] current = segments;
+        checkOpen();
+        long bytes = 0;
+        for (ByteBuffer segment : current) {
+            bytes += segment.capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the type of a record.
+     *
+     * @param index record index
+     * @return shape type
+     * @throws IndexOutOfBoundsException if index is out of range
+     * @throws IllegalStateException     if the arena is closed
+     */
+    public ShapeType getType(long index) {
+        return ShapeType.fromTag(segment(index).getInt(recordOffset(index) + TYPE_OFFSET));
+    }
+
+    /**
+     * Returns one dimension of a record, in constructor order.
+     *
+     * @param index     record index
+     * @param dimension dimension index, 0 to 2
+     * @return dimension value, 0 if the type does not use it
+     * @throws IndexOutOfBoundsException if index or dimension is out of range
+     * @throws IllegalStateException     if the arena is closed
+     */
+    public double getDimension(long index, int dimension) {
+        if (dimension < 0 || dimension >= ShapeType.MAX_DIMENSIONS) {
+            throw new IndexOutOfBoundsException("Dimension " + dimension + " out of range.");
+        }
+        return segment(index).getDouble(recordOffset(index) + DIMENSION_OFFSET + 8 * dimension);
+    }
+
+    /**
+     * Returns the name id of a record.
+     *
+     * @param index record index
+     * @return id in {@link #getNames()}
+     * @throws IndexOutOfBoundsException if index is out of range
+     * @throws IllegalStateException     if the arena is closed
+     */
+    public int getNameId(long index) {
+        return segment(index).getInt(recordOffset(index) + NAME_OFFSET);
+    }
+
+    /**
+     * Returns the color id of a record.
+     *
+     * @param index record index
+     * @return id in {@link #getColors()}
+     * @throws IndexOutOfBoundsException if index is out of range
+     * @throws IllegalStateException     if the arena is closed
+     */
+    public int getColorId(long index) {
+        return segment(index).getInt(recordOffset(index) + COLOR_OFFSET);
+    }
+
+    /**
+     * Returns the name of a record.
+     *
+     * @param index record index
+     * @return shape name
+     * @throws IndexOutOfBoundsException if index is out of range
+     * @throws IllegalStateException     if the arena is closed
+     */
+    public String getName(long index) {
+        return names.lookup(getNameId(index));
+    }
+
+    /**
+     * Returns the color of a record.
+     *
+     * @param index record index
+     * @return shape color
+     * @throws IndexOutOfBoundsException if index is out of range
+     * @throws IllegalStateException     if the arena is closed
+     */
+    public String getColor(long index) {
+        return colors.lookup(getColorId(index));
+    }
+
+    /**
+     * Returns the dictionary that resolves name ids.
+     *
+     * @return name dictionary
+     */
+    public StringDictionary getNames() {
+        return names;
+    }
+
+    /**
+     * Returns the dictionary that resolves color ids.
+     *
+     * @return color dictionary
+     */
+    public StringDictionary getColors() {
+        return colors;
+    }
+
+    /**
+     * Returns a read-only view of a record that behaves like a shape.
+     *
+     * @param index record index
+     * @return view of the record
+     * @throws IndexOutOfBoundsException if index is out of range
+     * @throws IllegalStateException     if the arena is closed
+     */
+    public ArenaShape view(long index) {
+        checkIndex(index);
+        return new ArenaShape(this, index);
+    }
+
+    /**
+     * Computes the volumes of a range of records with the
+     * {@link ShapeKernels} formulas.
+     *
+     * @param first index of the first record
+     * @param count number of records
+     * @param out   destination, receiving the volume of record {@code first + i} at index {@code i}
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     * @throws IllegalStateException     if the arena is closed
+     */
+    public void computeVolumes(long first, int count, double[] out) {
+        compute(first, count, out, true);
+    }
+
+    /**
+     * Computes the surface areas of a range of records with the
+     * {@link ShapeKernels} formulas.
+     *
+     * @param first index of the first record
+     * @param count number of records
+     * @param out   destination, receiving the surface area of record {@code first + i} at index {@code i}
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     * @throws IllegalStateException     if the arena is closed
+     */
+    public void computeSurfaceAreas(long first, int count, double[] out) {
+        compute(first, count, out, false);
+    }
+
+    private void compute(long first, int count, double[] out, boolean volume) {
+        long size = this.size;
+        ByteBuffer[] segments = this.segments;
+        checkOpen();
+        if (first < 0 || count < 0 || first + count > size || count > out.length) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + first + ", " + (first + count) + ") out of bounds for size " + size);
+        }
+        ShapeType[] types = ShapeType.values();
+        int i = 0;
+        while (i < count) {
+            long index = first + i;
+            ByteBuffer buffer = segments[(int) (index >>> SEGMENT_SHIFT)];
+            int inSegment = (int) Math.min(count - i, RECORDS_PER_SEGMENT - (index & (RECORDS_PER_SEGMENT - 1)));
+            int offset = recordOffset(index);
+            for (int k = 0; k < inSegment; k++, offset += RECORD_BYTES) {
+                ShapeType type = types[buffer.getInt(offset + TYPE_OFFSET)];
+                double d0 = buffer.getDouble(offset + DIMENSION_OFFSET);
+                double d1 = buffer.getDouble(offset + DIMENSION_OFFSET + 8);
+                double d2 = buffer.getDouble(offset + DIMENSION_OFFSET + 16);
+                out[i + k] = volume
+                        ? ShapeKernels.volume(type, d0, d1, d2)
+                        : ShapeKernels.surfaceArea(type, d0, d1, d2);
+            }
+            i += inSegment;
+        }
+    }
+
+    /**
+     * Returns whether the arena has been closed.
+     *
+     * @return true if closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Makes the arena and all views of it unusable and drops its
+     * references to the records. The off-heap memory is freed later, when
+     * the garbage collector reclaims the buffers, not by this method.
+     */
+    @Override
+    public void close() {
+        // Before the fields are cleared, so a reader that sees them cleared also sees closed
+        closed = true;
+        segments = new ByteBuffer[0];
+        size = 0;
+    }
+
+    /**
+     * Returns the segment holding a record. Reads size, then segments, then
+     * closed: a size covers every segment published before it, and a
+     * segment array cleared by {@link #close()} is always caught.
+     */
+    private ByteBuffer segment(long index) {
+        long size = this.size;
+        ByteBuffer[] segments = this.segments;
+        checkOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Record " + index + " out of range for size " + size);
+        }
+        return segments[(int) (index >>> SEGMENT_SHIFT)];
+    }
+
+    private void checkIndex(long index) {
+        checkOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Record " + index + " out of range for size " + size);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Arena is closed.");
+        }
+    }
+
+    private static int recordOffset(long index) {
+        return (int) (index & (RECORDS_PER_SEGMENT - 1)) * RECORD_BYTES;
+    }
+}
@@ -0,0 +1,18 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Receives notice that a shape's dimensions have changed.
+ *
+ * @see Shape3D#addChangeListener(ShapeChangeListener)
+ */
+@FunctionalInterface
+public interface ShapeChangeListener {
+
+    /**
+     * Called on the thread that changed the shape, after the new dimension
+     * has been stored and any cached metrics invalidated.
+     *
+     * @param shape the shape that changed
+     */
+    void dimensionsChanged(Shape3D shape);
+}
@@ -0,0 +1,191 @@
+package com.csc205.project2.shapes;
+
+import com.csc205.project2.instrumentation.IngestEvent;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary file format for shape collections.
+ * <p>
+ * A shape file is written by {@link ShapeFileWriter} and read with
+ * {@link #map(Path)}. All values are little-endian. The file consists of
+ * three sections:
+ * <pre>
+ * header, {@link #HEADER_BYTES} bytes at offset 0
+ *   offset  0  int   magic, {@link #MAGIC} ("SHP3")
+ *   offset  4  int   format version, {@link #VERSION}
+ *   offset  8  int   record size, {@link ShapeArena#RECORD_BYTES}
+ *   offset 12  int   reserved, always 0
+ *   offset 16  long  record count
+ *   offset 24  long  offset of the dictionary section
+ *   offset 32  -     reserved up to offset 64, always 0
+ * records, from offset {@link #HEADER_BYTES}
+ *   fixed-width records laid out exactly like {@link ShapeArena} records
+ * dictionary, directly after the records
+ *   int name count, then per name: int byte length, UTF-8 bytes
+ *   int color count, then per color: int byte length, UTF-8 bytes
+ * </pre>
+ * Names and colors are listed in id order, so a record's name and color
+ * ids index straight into them. The dictionary follows the records
+ * because it is only complete once the last record has been written; the
+ * header is written last of all, so an interrupted write leaves a file
+ * without a valid magic number rather than one that looks complete.
+ * <p>
+ * Readers reject files with a different version, and files whose records
+ * hold a type tag, name id or color id outside the known types and
+ * dictionaries. A later format that changes the layout must use a new
+ * version number.
+ */
+public final class ShapeFile {
+
+    /** Magic number at the start of every shape file: "SHP3" in ASCII. */
+    public static final int MAGIC = 0x33504853;
+
+    /** Current format version. */
+    public static final int VERSION = 1;
+
+    /** Size of the header; records start at this offset. */
+    public static final int HEADER_BYTES = 64;
+
+    static final int VERSION_OFFSET = 4;
+    static final int RECORD_SIZE_OFFSET = 8;
+    static final int COUNT_OFFSET = 16;
+    static final int DICTIONARY_OFFSET = 24;
+
+    private static final long SEGMENT_BYTES = (long) ShapeArena.RECORDS_PER_SEGMENT * ShapeArena.RECORD_BYTES;
+
+    private ShapeFile() {
+    }
+
+    /**
+     * Memory-maps a shape file read-only.
+     * <p>
+     * Records stay in the file's mapped pages and are read in place through
+     * the returned arena; nothing is copied onto the heap except the name
+     * and color dictionaries. Because the mapping is read-only, any number
+     * of processes can map the same file at once and share its pages in the
+     * operating system's page cache. The mapping stays valid after the
+     * file channel is closed and is released when the arena's buffers are
+     * reclaimed after {@link ShapeArena#close()}. The file must not be
+     * modified while it is mapped. Every record's type tag and dictionary
+     * ids are checked here, in one sequential pass over the records, so
+     * reads through the arena never fail on them. Each call emits an
+     * {@link IngestEvent}.
+     *
+     * @param file the shape file
+     * @return a read-only arena over the file's records
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a complete, valid
+     *                                  shape file of a supported version
+     */
+    public static ShapeArena map(Path file) throws IOException {
+        IngestEvent event = new IngestEvent();
+        event.begin();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw new IllegalArgumentException("Not a shape file: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("Not a shape file: " + file);
+            }
+            int version = header.getInt(VERSION_OFFSET);
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported shape file version " + version + ".");
+            }
+            int recordBytes = header.getInt(RECORD_SIZE_OFFSET);
+            if (recordBytes != ShapeArena.RECORD_BYTES) {
+                throw new IllegalArgumentException("Unsupported record size " + recordBytes + ".");
+            }
+            long count = header.getLong(COUNT_OFFSET);
+            long dictionaryOffset = header.getLong(DICTIONARY_OFFSET);
+            if (count < 0 || count > (fileSize - HEADER_BYTES) / ShapeArena.RECORD_BYTES
+                    || dictionaryOffset != HEADER_BYTES + count * ShapeArena.RECORD_BYTES) {
+                throw new IllegalArgumentException("Corrupt shape file header: " + file);
+            }
+
+            ByteBuffer dictionary = channel.map(FileChannel.MapMode.READ_ONLY, dictionaryOffset,
+                    fileSize - dictionaryOffset).order(ByteOrder.LITTLE_ENDIAN);
+            StringDictionary names = readDictionary(dictionary);
+            StringDictionary colors = readDictionary(dictionary);
+
+            int segmentCount = (int) ((count + ShapeArena.RECORDS_PER_SEGMENT - 1) / ShapeArena.RECORDS_PER_SEGMENT);
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                long start = HEADER_BYTES + s * SEGMENT_BYTES;
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(SEGMENT_BYTES, dictionaryOffset - start)).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            checkRecords(segments, names.size(), colors.size());
+            event.end();
+            if (event.shouldCommit()) {
+                event.source = file.toString();
+                event.format = "binary";
+                event.shapeCount = count;
+                event.bytes = fileSize;
+                event.commit();
+            }
+            return new ShapeArena(segments, count, names, colors, true);
+        }
+    }
+
+    private static void checkRecords(ByteBuffer[] segments, int nameCount, int colorCount) {
+        int typeCount = ShapeType.values().length;
+        long index = 0;
+        for (ByteBuffer segment : segments) {
+            for (int offset = 0; offset < segment.limit(); offset += ShapeArena.RECORD_BYTES, index++) {
+                int tag = segment.getInt(offset + ShapeArena.TYPE_OFFSET);
+                int nameId = segment.getInt(offset + ShapeArena.NAME_OFFSET);
+                int colorId = segment.getInt(offset + ShapeArena.COLOR_OFFSET);
+                if (tag < 0 || tag >= typeCount) {
+                    throw corruptRecord(index, "type tag " + tag);
+                }
+                if (nameId < 0 || nameId >= nameCount) {
+                    throw corruptRecord(index, "name id " + nameId);
+                }
+                if (colorId < 0 || colorId >= colorCount) {
+                    throw corruptRecord(index, "color id " + colorId);
+                }
+            }
+        }
+    }
+
+    private static IllegalArgumentException corruptRecord(long index, String detail) {
+        return new IllegalArgumentException("Corrupt shape file record " + index + ": " + detail + ".");
+    }
+
+    private static StringDictionary readDictionary(ByteBuffer buffer) {
+        StringDictionary dictionary = new StringDictionary();
+        try {
+            int count = buffer.getInt();
+            if (count < 0) {
+                throw new IllegalArgumentException("Corrupt shape file dictionary.");
+            }
+            byte[] bytes = new byte[64];
+            for (int i = 0; i < count; i++) {
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new IllegalArgumentException("Corrupt shape file dictionary.");
+                }
+                if (length > bytes.length) {
+                    bytes = new byte[Math.max(length, 2 * bytes.length)];
+                }
+                buffer.get(bytes, 0, length);
+                if (dictionary.intern(new String(bytes, 0, length, StandardCharsets.UTF_8)) != i) {
+                    throw new IllegalArgumentException("Corrupt shape file dictionary.");
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Corrupt shape file dictionary.");
+        }
+        return dictionary;
+    }
+}
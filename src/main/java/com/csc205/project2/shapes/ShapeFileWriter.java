@@ -0,0 +1,303 @@
+package com.csc205.project2.shapes;
+
+import com.csc205.project2.instrumentation.ExportEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes shapes to a file in the {@link ShapeFile} format.
+ * <p>
+ * Records are encoded into one large direct buffer and handed to a
+ * {@link FileChannel} whenever it fills, so writing costs one system call
+ * per {@link #DEFAULT_BUFFER_BYTES} bytes and no per-shape allocation.
+ * Names and colors are dictionary-encoded as they are written.
+ * <p>
+ * Shapes are written to a temporary file next to the target.
+ * {@link #close()} appends the dictionary, writes the header, forces the
+ * temporary file to storage and atomically renames it over the target, so
+ * a reader that has the previous file mapped keeps its pages and never
+ * sees a partly written file. {@link #abort()} deletes the temporary
+ * file and leaves the target untouched. A completed file is reported by
+ * an {@link ExportEvent}.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class ShapeFileWriter implements AutoCloseable {
+
+    /** Default size of the direct write buffer. */
+    public static final int DEFAULT_BUFFER_BYTES = 8 << 20;
+
+    private final Path file;
+
+    /** File being written, renamed to {@link #file} on {@link #close()}. */
+    private final Path temporary;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final StringDictionary names = new StringDictionary();
+
+    private final StringDictionary colors = new StringDictionary();
+
+    private final double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+
+    /** Spans the whole write, from construction to {@link #close()}. */
+    private final ExportEvent event = new ExportEvent();
+
+    private long count;
+
+    private boolean closed;
+
+    /**
+     * Creates or replaces a shape file, using the default buffer size.
+     *
+     * @param file the file to write
+     * @throws IOException if the temporary file cannot be created
+     */
+    public ShapeFileWriter(Path file) throws IOException {
+        this(file, DEFAULT_BUFFER_BYTES);
+    }
+
+    /**
+     * Creates or replaces a shape file.
+     *
+     * @param file        the file to write
+     * @param bufferBytes size of the direct write buffer, at least one record
+     * @throws IOException              if the temporary file cannot be created
+     * @throws IllegalArgumentException if bufferBytes is smaller than one record
+     */
+    public ShapeFileWriter(Path file, int bufferBytes) throws IOException {
+        if (bufferBytes < ShapeArena.RECORD_BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least " + ShapeArena.RECORD_BYTES + " bytes.");
+        }
+        // Whole records per buffer, so records never straddle two writes
+        this.buffer = ByteBuffer.allocateDirect(bufferBytes - bufferBytes % ShapeArena.RECORD_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        event.begin();
+        this.file = file;
+        // Same directory as the target, so the final rename cannot cross file
+        // systems; unlike Files.createTempFile, CREATE_NEW keeps default permissions
+        Path directory = file.toAbsolutePath().getParent();
+        Path candidate;
+        FileChannel opened = null;
+        do {
+            candidate = directory.resolve(file.getFileName() + "."
+                    + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                opened = FileChannel.open(candidate, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException e) {
+                // Try another name
+            }
+        } while (opened == null);
+        this.temporary = candidate;
+        this.channel = opened;
+        channel.position(ShapeFile.HEADER_BYTES);
+    }
+
+    /**
+     * Writes a shape.
+     *
+     * @param shape the shape
+     * @throws IOException              if writing fails
+     * @throws IllegalArgumentException if the shape is null or of an unknown type
+     * @throws IllegalStateException    if the writer is closed
+     */
+    public void add(Shape3D shape) throws IOException {
+        ShapeType type = ShapeType.of(shape);
+        type.getDimensions(shape, dims);
+        // dims is reused, so entries past this type's dimensions belong to an earlier shape
+        int dimensionCount = type.getDimensionCount();
+        write(type, dims[0], dimensionCount > 1 ? dims[1] : 0, dimensionCount > 2 ? dims[2] : 0,
+                shape.getName(), shape.getColor());
+    }
+
+    /**
+     * Writes a shape given its type and dimensions. Dimensions beyond
+     * {@link ShapeType#getDimensionCount()} are stored as 0.
+     *
+     * @param type  the shape type
+     * @param d0    first dimension
+     * @param d1    second dimension
+     * @param d2    third dimension
+     * @param name  name of the shape
+     * @param color color of the shape
+     * @throws IOException              if writing fails
+     * @throws IllegalArgumentException if type is null, a used dimension is
+     *                                  not positive, or name or color is null or blank
+     * @throws IllegalStateException    if the writer is closed
+     */
+    public void add(ShapeType type, double d0, double d1, double d2, String name, String color)
+            throws IOException {
+        if (type == null) {
+            throw new IllegalArgumentException("Shape type cannot be null.");
+        }
+        int dimensionCount = type.getDimensionCount();
+        if (!(d0 > 0) || (dimensionCount > 1 && !(d1 > 0)) || (dimensionCount > 2 && !(d2 > 0))) {
+            throw new IllegalArgumentException("Dimensions must be greater than zero.");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Shape name cannot be null or blank.");
+        }
+        if (color == null || color.trim().isEmpty()) {
+            throw new IllegalArgumentException("Shape color cannot be null or blank.");
+        }
+        write(type, d0, dimensionCount > 1 ? d1 : 0, dimensionCount > 2 ? d2 : 0, name.trim(), color.trim());
+    }
+
+    /**
+     * Writes every shape of a collection, in iteration order.
+     *
+     * @param shapes the shapes
+     * @throws IOException              if writing fails
+     * @throws IllegalArgumentException if a shape is null or of an unknown type
+     * @throws IllegalStateException    if the writer is closed
+     */
+    public void addAll(Iterable<? extends Shape3D> shapes) throws IOException {
+        for (Shape3D shape : shapes) {
+            add(shape);
+        }
+    }
+
+    /**
+     * Returns the number of shapes written so far.
+     *
+     * @return shape count
+     */
+    public long count() {
+        return count;
+    }
+
+    private void write(ShapeType type, double d0, double d1, double d2, String name, String color)
+            throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed.");
+        }
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.putInt(type.ordinal())
+                .putInt(names.intern(name))
+                .putInt(colors.intern(color))
+                .putInt(0)
+                .putDouble(d0)
+                .putDouble(d1)
+                .putDouble(d2);
+        count++;
+    }
+
+    /**
+     * Writes the dictionary and header, closes the file and moves it into
+     * place. Does nothing if the writer is already closed. If this fails,
+     * the temporary file is deleted and the target is left unchanged.
+     *
+     * @throws IOException if writing or renaming fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        long fileSize;
+        try {
+            fileSize = finish();
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.destination = file.toString();
+            event.format = "binary";
+            event.shapeCount = count;
+            event.bytes = fileSize;
+            event.commit();
+        }
+    }
+
+    /** Writes the dictionary and header and closes the channel, returning the file size. */
+    private long finish() throws IOException {
+        try (channel) {
+            long dictionaryOffset = ShapeFile.HEADER_BYTES + count * ShapeArena.RECORD_BYTES;
+            writeDictionary(names);
+            writeDictionary(colors);
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(ShapeFile.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(ShapeFile.MAGIC)
+                    .putInt(ShapeFile.VERSION)
+                    .putInt(ShapeArena.RECORD_BYTES)
+                    .putInt(0)
+                    .putLong(count)
+                    .putLong(dictionaryOffset)
+                    .clear();
+            // The header goes to storage only after everything it describes
+            channel.force(false);
+            for (long position = 0; header.hasRemaining(); ) {
+                position += channel.write(header, position);
+            }
+            channel.force(true);
+            return channel.size();
+        }
+    }
+
+    /**
+     * Discards everything written so far, leaving the target file as it
+     * was. Does nothing if the writer is already closed.
+     */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.close();
+            Files.deleteIfExists(temporary);
+        } catch (IOException e) {
+            // Only a stray temporary file is left behind
+        }
+    }
+
+    private void writeDictionary(StringDictionary dictionary) throws IOException {
+        int size = dictionary.size();
+        putInt(size);
+        for (int id = 0; id < size; id++) {
+            byte[] bytes = dictionary.lookup(id).getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            for (int offset = 0; offset < bytes.length; ) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int length = Math.min(bytes.length - offset, buffer.remaining());
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+    }
+
+    private void putInt(int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush();
+        }
+        buffer.putInt(value);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
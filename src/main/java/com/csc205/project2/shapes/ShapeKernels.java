@@ -0,0 +1,977 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Batch volume and surface area formulas over primitive dimension arrays.
+ * <p>
+ * Every formula has two implementations, selected with {@link #setMode(Mode)}:
+ * <ul>
+ *   <li>{@link Mode#SCALAR} evaluates exactly the expressions used by the
+ *       shape classes (including {@code Math.pow}), so results are
+ *       bit-identical to {@code calculateVolume}/{@code calculateSurfaceArea}.</li>
+ *   <li>{@link Mode#VECTOR} replaces {@code Math.pow} with multiplications
+ *       and keeps every loop free of calls and branches, which lets the
+ *       HotSpot C2 compiler turn it into SIMD instructions (SuperWord
+ *       auto-vectorization) on the host's widest vector unit.</li>
+ * </ul>
+ * Vector results differ from the scalar ones by at most
+ * {@link #MAX_ULP_ERROR} units in the last place. Only sphere and cube
+ * volumes ({@code r*r*r} instead of {@code Math.pow(r, 3)}) and pyramid
+ * surface areas ({@code x*x} instead of {@code Math.pow(x, 2)}) can
+ * differ at all; every other formula is evaluated in the same order and
+ * matches exactly.
+ * <p>
+ * The initial mode is {@link Mode#VECTOR}, or {@link Mode#SCALAR} when the
+ * system property {@code shapes.kernels} is set to {@code scalar}.
+ * <p>
+ * The {@code float[]} overloads evaluate the vector-mode expressions in
+ * single precision, with twice as many lanes per SIMD instruction and half
+ * the memory traffic, regardless of the mode. Their results differ from
+ * the double results for the same (unrounded) dimensions by at most the
+ * relative errors below, in units of u = 2<sup>-24</sup>
+ * ({@link #FLOAT_UNIT_ROUNDOFF}), counting the rounding of the inputs and
+ * constants to float:
+ * <table>
+ *   <caption>Maximum relative error of the float kernels</caption>
+ *   <tr><th>Type</th><th>Volume</th><th>Surface area</th></tr>
+ *   <tr><td>Sphere</td><td>8u</td><td>6u</td></tr>
+ *   <tr><td>Cube</td><td>6u</td><td>5u</td></tr>
+ *   <tr><td>Cylinder</td><td>8u</td><td>7u</td></tr>
+ *   <tr><td>Rectangular prism</td><td>6u</td><td>6u</td></tr>
+ *   <tr><td>Rectangular pyramid</td><td>8u</td><td>8u</td></tr>
+ * </table>
+ * Each bound is one u above the first-order count of rounded inputs,
+ * constants and operations in the formula (for example
+ * {@code (4/3)π·(r·r·r)}: one constant, the radius three times and three
+ * products), so 8u, about 4.8e-7 or 6.3 significant digits, covers every
+ * formula. The bounds hold while all dimensions and intermediate results
+ * stay within the normal float range, which is the case for dimensions
+ * from 1e-12 to 1e12; see {@link #maxFloatVolumeError(ShapeType)} and
+ * {@link #maxFloatSurfaceAreaError(ShapeType)}.
+ * <p>
+ * The containment kernels test points against shapes in the shapes'
+ * local frame (see {@link ThreeDimensionalShape}). They are written as
+ * <em>containment margins</em>: a branch-free expression per shape type
+ * that is zero or positive exactly when the point is inside, for example
+ * {@code r*r - (x*x + y*y + z*z)} for a sphere or
+ * {@code min(s/2 - |x|, s/2 - |y|, s/2 - |z|)} for a cube. Loops that store
+ * the margins into a {@code double[]} vectorize; loops that store a
+ * {@code boolean} per point do not, so the {@code boolean[]} kernels
+ * compute margins for a chunk of points first and compare them in a
+ * second, cheap pass. Margins are not distances; only their sign is
+ * meaningful. Containment results do not depend on the mode, and
+ * {@link #contains} gives the same answer as the batch kernels.
+ */
+public final class ShapeKernels {
+
+    /**
+     * Maximum difference, in ulps of the scalar result, between the
+     * {@link Mode#VECTOR} and {@link Mode#SCALAR} results of any formula.
+     */
+    public static final int MAX_ULP_ERROR = 4;
+
+    private static final double SPHERE_VOLUME_FACTOR = (4.0 / 3.0) * Math.PI;
+
+    private static final double FOUR_PI = 4 * Math.PI;
+
+    private static final double TWO_PI = 2 * Math.PI;
+
+    private static final double ONE_THIRD = 1.0 / 3.0;
+
+    /** Unit roundoff of single precision, 2<sup>-24</sup>. */
+    public static final double FLOAT_UNIT_ROUNDOFF = 0x1p-24;
+
+    private static final float SPHERE_VOLUME_FACTOR_F = (float) SPHERE_VOLUME_FACTOR;
+
+    private static final float PI_F = (float) Math.PI;
+
+    private static final float FOUR_PI_F = (float) FOUR_PI;
+
+    private static final float TWO_PI_F = (float) TWO_PI;
+
+    private static final float ONE_THIRD_F = (float) ONE_THIRD;
+
+    /** Number of margins computed per chunk by the {@code boolean[]} containment kernels. */
+    private static final int CONTAINMENT_CHUNK = 512;
+
+    /** Float volume error bounds in units of {@link #FLOAT_UNIT_ROUNDOFF}, by type ordinal. */
+    private static final int[] FLOAT_VOLUME_ERROR = {8, 6, 8, 6, 8};
+
+    /** Float surface area error bounds in units of {@link #FLOAT_UNIT_ROUNDOFF}, by type ordinal. */
+    private static final int[] FLOAT_SURFACE_AREA_ERROR = {6, 5, 7, 6, 8};
+
+    /**
+     * Implementation used by the batch kernels.
+     */
+    public enum Mode {
+        /** Same expressions as the shape classes, bit-identical results. */
+        SCALAR,
+        /** Auto-vectorizable loops, within {@link #MAX_ULP_ERROR} ulps. */
+        VECTOR
+    }
+
+    private static volatile Mode mode =
+            "scalar".equalsIgnoreCase(System.getProperty("shapes.kernels")) ? Mode.SCALAR : Mode.VECTOR;
+
+    private ShapeKernels() {
+    }
+
+    /**
+     * Returns the implementation currently used by the batch kernels.
+     *
+     * @return kernel mode
+     */
+    public static Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Selects the implementation used by the batch kernels.
+     *
+     * @param newMode kernel mode
+     * @throws IllegalArgumentException if newMode is null
+     */
+    public static void setMode(Mode newMode) {
+        if (newMode == null) {
+            throw new IllegalArgumentException("Kernel mode cannot be null.");
+        }
+        mode = newMode;
+    }
+
+    /**
+     * Returns the maximum relative error of the float volume kernel of a
+     * type against the double result for the same dimensions.
+     *
+     * @param type the shape type
+     * @return error bound, as a fraction of the double result
+     */
+    public static double maxFloatVolumeError(ShapeType type) {
+        return FLOAT_VOLUME_ERROR[type.ordinal()] * FLOAT_UNIT_ROUNDOFF;
+    }
+
+    /**
+     * Returns the maximum relative error of the float surface area kernel
+     * of a type against the double result for the same dimensions.
+     *
+     * @param type the shape type
+     * @return error bound, as a fraction of the double result
+     */
+    public static double maxFloatSurfaceAreaError(ShapeType type) {
+        return FLOAT_SURFACE_AREA_ERROR[type.ordinal()] * FLOAT_UNIT_ROUNDOFF;
+    }
+
+    /**
+     * Computes the volume of a single shape from its type and dimensions,
+     * using the same formula as the batch kernels in the current mode.
+     *
+     * @param type the shape type
+     * @param d0   first dimension
+     * @param d1   second dimension, ignored if unused
+     * @param d2   third dimension, ignored if unused
+     * @return volume
+     */
+    public static double volume(ShapeType type, double d0, double d1, double d2) {
+        boolean scalar = mode == Mode.SCALAR;
+        return switch (type) {
+            case SPHERE -> scalar
+                    ? (4.0 / 3.0) * Math.PI * Math.pow(d0, 3)
+                    : SPHERE_VOLUME_FACTOR * (d0 * d0 * d0);
+            case CUBE -> scalar ? Math.pow(d0, 3) : d0 * d0 * d0;
+            case CYLINDER -> Math.PI * d0 * d0 * d1;
+            case RECTANGULAR_PRISM -> d0 * d1 * d2;
+            case RECTANGULAR_PYRAMID -> ONE_THIRD * d0 * d1 * d2;
+        };
+    }
+
+    /**
+     * Computes the surface area of a single shape from its type and
+     * dimensions, using the same formula as the batch kernels in the
+     * current mode.
+     *
+     * @param type the shape type
+     * @param d0   first dimension
+     * @param d1   second dimension, ignored if unused
+     * @param d2   third dimension, ignored if unused
+     * @return surface area
+     */
+    public static double surfaceArea(ShapeType type, double d0, double d1, double d2) {
+        return switch (type) {
+            case SPHERE -> FOUR_PI * d0 * d0;
+            case CUBE -> 6 * d0 * d0;
+            case CYLINDER -> TWO_PI * d0 * (d0 + d1);
+            case RECTANGULAR_PRISM -> 2 * (d0 * d1 + d0 * d2 + d1 * d2);
+            case RECTANGULAR_PYRAMID -> {
+                if (mode == Mode.SCALAR) {
+                    double slantLength = Math.sqrt(Math.pow(d1 / 2, 2) + Math.pow(d2, 2));
+                    double slantWidth = Math.sqrt(Math.pow(d0 / 2, 2) + Math.pow(d2, 2));
+                    yield d0 * d1 + (d0 * slantLength + d1 * slantWidth);
+                }
+                double halfL = d0 * 0.5;
+                double halfW = d1 * 0.5;
+                double hh = d2 * d2;
+                yield d0 * d1 + (d0 * Math.sqrt(halfW * halfW + hh) + d1 * Math.sqrt(halfL * halfL + hh));
+            }
+        };
+    }
+
+    /**
+     * Computes the volumes of {@code count} shapes of one type.
+     *
+     * @param type  the shape type
+     * @param dims  dimension columns in constructor order, at least
+     *              {@link ShapeType#getDimensionCount()} of them
+     * @param out   destination for the volumes
+     * @param count number of shapes
+     */
+    public static void volumes(ShapeType type, double[][] dims, double[] out, int count) {
+        switch (type) {
+            case SPHERE -> sphereVolumes(dims[0], out, count);
+            case CUBE -> cubeVolumes(dims[0], out, count);
+            case CYLINDER -> cylinderVolumes(dims[0], dims[1], out, count);
+            case RECTANGULAR_PRISM -> prismVolumes(dims[0], dims[1], dims[2], out, count);
+            case RECTANGULAR_PYRAMID -> pyramidVolumes(dims[0], dims[1], dims[2], out, count);
+        }
+    }
+
+    /**
+     * Computes the surface areas of {@code count} shapes of one type.
+     *
+     * @param type  the shape type
+     * @param dims  dimension columns in constructor order, at least
+     *              {@link ShapeType#getDimensionCount()} of them
+     * @param out   destination for the surface areas
+     * @param count number of shapes
+     */
+    public static void surfaceAreas(ShapeType type, double[][] dims, double[] out, int count) {
+        switch (type) {
+            case SPHERE -> sphereSurfaceAreas(dims[0], out, count);
+            case CUBE -> cubeSurfaceAreas(dims[0], out, count);
+            case CYLINDER -> cylinderSurfaceAreas(dims[0], dims[1], out, count);
+            case RECTANGULAR_PRISM -> prismSurfaceAreas(dims[0], dims[1], dims[2], out, count);
+            case RECTANGULAR_PYRAMID -> pyramidSurfaceAreas(dims[0], dims[1], dims[2], out, count);
+        }
+    }
+
+    /**
+     * Computes sphere volumes, (4/3)πr³.
+     *
+     * @param radius radii
+     * @param out    destination
+     * @param count  number of spheres
+     */
+    public static void sphereVolumes(double[] radius, double[] out, int count) {
+        if (mode == Mode.SCALAR) {
+            for (int i = 0; i < count; i++) {
+                out[i] = (4.0 / 3.0) * Math.PI * Math.pow(radius[i], 3);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                double r = radius[i];
+                out[i] = SPHERE_VOLUME_FACTOR * (r * r * r);
+            }
+        }
+    }
+
+    /**
+     * Computes sphere surface areas, 4πr².
+     *
+     * @param radius radii
+     * @param out    destination
+     * @param count  number of spheres
+     */
+    public static void sphereSurfaceAreas(double[] radius, double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = FOUR_PI * radius[i] * radius[i];
+        }
+    }
+
+    /**
+     * Computes cube volumes, s³.
+     *
+     * @param side  side lengths
+     * @param out   destination
+     * @param count number of cubes
+     */
+    public static void cubeVolumes(double[] side, double[] out, int count) {
+        if (mode == Mode.SCALAR) {
+            for (int i = 0; i < count; i++) {
+                out[i] = Math.pow(side[i], 3);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                double s = side[i];
+                out[i] = s * s * s;
+            }
+        }
+    }
+
+    /**
+     * Computes cube surface areas, 6s².
+     *
+     * @param side  side lengths
+     * @param out   destination
+     * @param count number of cubes
+     */
+    public static void cubeSurfaceAreas(double[] side, double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = 6 * side[i] * side[i];
+        }
+    }
+
+    /**
+     * Computes cylinder volumes, πr²h.
+     *
+     * @param radius radii
+     * @param height heights
+     * @param out    destination
+     * @param count  number of cylinders
+     */
+    public static void cylinderVolumes(double[] radius, double[] height, double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = Math.PI * radius[i] * radius[i] * height[i];
+        }
+    }
+
+    /**
+     * Computes cylinder surface areas, 2πr(r + h).
+     *
+     * @param radius radii
+     * @param height heights
+     * @param out    destination
+     * @param count  number of cylinders
+     */
+    public static void cylinderSurfaceAreas(double[] radius, double[] height, double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = TWO_PI * radius[i] * (radius[i] + height[i]);
+        }
+    }
+
+    /**
+     * Computes rectangular prism volumes, lwh.
+     *
+     * @param length lengths
+     * @param width  widths
+     * @param height heights
+     * @param out    destination
+     * @param count  number of prisms
+     */
+    public static void prismVolumes(double[] length, double[] width, double[] height,
+                                    double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = length[i] * width[i] * height[i];
+        }
+    }
+
+    /**
+     * Computes rectangular prism surface areas, 2(lw + lh + wh).
+     *
+     * @param length lengths
+     * @param width  widths
+     * @param height heights
+     * @param out    destination
+     * @param count  number of prisms
+     */
+    public static void prismSurfaceAreas(double[] length, double[] width, double[] height,
+                                         double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = 2 * (length[i] * width[i] + length[i] * height[i] + width[i] * height[i]);
+        }
+    }
+
+    /**
+     * Computes rectangular pyramid volumes, lwh/3.
+     *
+     * @param baseLength base lengths
+     * @param baseWidth  base widths
+     * @param height     heights
+     * @param out        destination
+     * @param count      number of pyramids
+     */
+    public static void pyramidVolumes(double[] baseLength, double[] baseWidth, double[] height,
+                                      double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = ONE_THIRD * baseLength[i] * baseWidth[i] * height[i];
+        }
+    }
+
+    /**
+     * Computes rectangular pyramid surface areas: the base plus the
+     * triangular faces along the length and along the width.
+     *
+     * @param baseLength base lengths
+     * @param baseWidth  base widths
+     * @param height     heights
+     * @param out        destination
+     * @param count      number of pyramids
+     */
+    public static void pyramidSurfaceAreas(double[] baseLength, double[] baseWidth, double[] height,
+                                           double[] out, int count) {
+        if (mode == Mode.SCALAR) {
+            for (int i = 0; i < count; i++) {
+                double l = baseLength[i];
+                double w = baseWidth[i];
+                double h = height[i];
+                double slantLength = Math.sqrt(Math.pow(w / 2, 2) + Math.pow(h, 2));
+                double slantWidth = Math.sqrt(Math.pow(l / 2, 2) + Math.pow(h, 2));
+                out[i] = l * w + (l * slantLength + w * slantWidth);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                double l = baseLength[i];
+                double w = baseWidth[i];
+                double h = height[i];
+                double halfL = l * 0.5;
+                double halfW = w * 0.5;
+                double hh = h * h;
+                double slantLength = Math.sqrt(halfW * halfW + hh);
+                double slantWidth = Math.sqrt(halfL * halfL + hh);
+                out[i] = l * w + (l * slantLength + w * slantWidth);
+            }
+        }
+    }
+
+    /**
+     * Computes the volumes of {@code count} shapes of one type in single
+     * precision.
+     *
+     * @param type  the shape type
+     * @param dims  dimension columns in constructor order, at least
+     *              {@link ShapeType#getDimensionCount()} of them
+     * @param out   destination for the volumes
+     * @param count number of shapes
+     */
+    public static void volumes(ShapeType type, float[][] dims, float[] out, int count) {
+        switch (type) {
+            case SPHERE -> sphereVolumes(dims[0], out, count);
+            case CUBE -> cubeVolumes(dims[0], out, count);
+            case CYLINDER -> cylinderVolumes(dims[0], dims[1], out, count);
+            case RECTANGULAR_PRISM -> prismVolumes(dims[0], dims[1], dims[2], out, count);
+            case RECTANGULAR_PYRAMID -> pyramidVolumes(dims[0], dims[1], dims[2], out, count);
+        }
+    }
+
+    /**
+     * Computes the surface areas of {@code count} shapes of one type in
+     * single precision.
+     *
+     * @param type  the shape type
+     * @param dims  dimension columns in constructor order, at least
+     *              {@link ShapeType#getDimensionCount()} of them
+     * @param out   destination for the surface areas
+     * @param count number of shapes
+     */
+    public static void surfaceAreas(ShapeType type, float[][] dims, float[] out, int count) {
+        switch (type) {
+            case SPHERE -> sphereSurfaceAreas(dims[0], out, count);
+            case CUBE -> cubeSurfaceAreas(dims[0], out, count);
+            case CYLINDER -> cylinderSurfaceAreas(dims[0], dims[1], out, count);
+            case RECTANGULAR_PRISM -> prismSurfaceAreas(dims[0], dims[1], dims[2], out, count);
+            case RECTANGULAR_PYRAMID -> pyramidSurfaceAreas(dims[0], dims[1], dims[2], out, count);
+        }
+    }
+
+    /**
+     * Computes sphere volumes in single precision.
+     *
+     * @param radius radii
+     * @param out    destination
+     * @param count  number of spheres
+     */
+    public static void sphereVolumes(float[] radius, float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            float r = radius[i];
+            out[i] = SPHERE_VOLUME_FACTOR_F * (r * r * r);
+        }
+    }
+
+    /**
+     * Computes sphere surface areas in single precision.
+     *
+     * @param radius radii
+     * @param out    destination
+     * @param count  number of spheres
+     */
+    public static void sphereSurfaceAreas(float[] radius, float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = FOUR_PI_F * radius[i] * radius[i];
+        }
+    }
+
+    /**
+     * Computes cube volumes in single precision.
+     *
+     * @param side  side lengths
+     * @param out   destination
+     * @param count number of cubes
+     */
+    public static void cubeVolumes(float[] side, float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            float s = side[i];
+            out[i] = s * s * s;
+        }
+    }
+
+    /**
+     * Computes cube surface areas in single precision.
+     *
+     * @param side  side lengths
+     * @param out   destination
+     * @param count number of cubes
+     */
+    public static void cubeSurfaceAreas(float[] side, float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = 6 * side[i] * side[i];
+        }
+    }
+
+    /**
+     * Computes cylinder volumes in single precision.
+     *
+     * @param radius radii
+     * @param height heights
+     * @param out    destination
+     * @param count  number of cylinders
+     */
+    public static void cylinderVolumes(float[] radius, float[] height, float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = PI_F * radius[i] * radius[i] * height[i];
+        }
+    }
+
+    /**
+     * Computes cylinder surface areas in single precision.
+     *
+     * @param radius radii
+     * @param height heights
+     * @param out    destination
+     * @param count  number of cylinders
+     */
+    public static void cylinderSurfaceAreas(float[] radius, float[] height, float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = TWO_PI_F * radius[i] * (radius[i] + height[i]);
+        }
+    }
+
+    /**
+     * Computes rectangular prism volumes in single precision.
+     *
+     * @param length lengths
+     * @param width  widths
+     * @param height heights
+     * @param out    destination
+     * @param count  number of prisms
+     */
+    public static void prismVolumes(float[] length, float[] width, float[] height, float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = length[i] * width[i] * height[i];
+        }
+    }
+
+    /**
+     * Computes rectangular prism surface areas in single precision.
+     *
+     * @param length lengths
+     * @param width  widths
+     * @param height heights
+     * @param out    destination
+     * @param count  number of prisms
+     */
+    public static void prismSurfaceAreas(float[] length, float[] width, float[] height, float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = 2 * (length[i] * width[i] + length[i] * height[i] + width[i] * height[i]);
+        }
+    }
+
+    /**
+     * Computes rectangular pyramid volumes in single precision.
+     *
+     * @param baseLength base lengths
+     * @param baseWidth  base widths
+     * @param height     heights
+     * @param out        destination
+     * @param count      number of pyramids
+     */
+    public static void pyramidVolumes(float[] baseLength, float[] baseWidth, float[] height,
+                                      float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = ONE_THIRD_F * baseLength[i] * baseWidth[i] * height[i];
+        }
+    }
+
+    /**
+     * Computes rectangular pyramid surface areas in single precision.
+     * The square roots are taken in double and rounded once, which gives
+     * the correctly rounded float square root.
+     *
+     * @param baseLength base lengths
+     * @param baseWidth  base widths
+     * @param height     heights
+     * @param out        destination
+     * @param count      number of pyramids
+     */
+    public static void pyramidSurfaceAreas(float[] baseLength, float[] baseWidth, float[] height,
+                                           float[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            float l = baseLength[i];
+            float w = baseWidth[i];
+            float h = height[i];
+            float halfL = l * 0.5f;
+            float halfW = w * 0.5f;
+            float hh = h * h;
+            float slantLength = (float) Math.sqrt(halfW * halfW + hh);
+            float slantWidth = (float) Math.sqrt(halfL * halfL + hh);
+            out[i] = l * w + (l * slantLength + w * slantWidth);
+        }
+    }
+
+    /**
+     * Returns the half extent of a shape's local-frame bounding box along
+     * one axis.
+     *
+     * @param type the shape type
+     * @param axis 0 for x, 1 for y, 2 for z
+     * @param d0   first dimension
+     * @param d1   second dimension, ignored if unused
+     * @param d2   third dimension, ignored if unused
+     * @return half the box's size along the axis
+     */
+    public static double halfExtent(ShapeType type, int axis, double d0, double d1, double d2) {
+        return switch (type) {
+            case SPHERE -> d0;
+            case CUBE -> d0 * 0.5;
+            case CYLINDER -> axis < 2 ? d0 : d1 * 0.5;
+            case RECTANGULAR_PRISM, RECTANGULAR_PYRAMID -> (axis == 0 ? d0 : axis == 1 ? d1 : d2) * 0.5;
+        };
+    }
+
+    /**
+     * Tests whether a point lies inside or on a shape, in the shape's
+     * local frame.
+     *
+     * @param type the shape type
+     * @param d0   first dimension
+     * @param d1   second dimension, ignored if unused
+     * @param d2   third dimension, ignored if unused
+     * @param x    x coordinate of the point
+     * @param y    y coordinate of the point
+     * @param z    z coordinate of the point
+     * @return true if the point is inside the shape
+     */
+    public static boolean contains(ShapeType type, double d0, double d1, double d2,
+                                   double x, double y, double z) {
+        return containmentMargin(type, d0, d1, d2, x, y, z) >= 0;
+    }
+
+    /**
+     * Computes the containment margin of a point for a shape: a value that
+     * is zero or positive exactly when the point is inside the shape.
+     *
+     * @param type the shape type
+     * @param d0   first dimension
+     * @param d1   second dimension, ignored if unused
+     * @param d2   third dimension, ignored if unused
+     * @param x    x coordinate of the point
+     * @param y    y coordinate of the point
+     * @param z    z coordinate of the point
+     * @return the margin; NaN if a coordinate is NaN
+     */
+    public static double containmentMargin(ShapeType type, double d0, double d1, double d2,
+                                           double x, double y, double z) {
+        return switch (type) {
+            case SPHERE -> d0 * d0 - (x * x + y * y + z * z);
+            case CUBE -> boxMargin(d0 * 0.5, d0 * 0.5, d0 * 0.5, x, y, z);
+            case CYLINDER -> Math.min(d0 * d0 - (x * x + y * y), d1 * 0.5 - Math.abs(z));
+            case RECTANGULAR_PRISM -> boxMargin(d0 * 0.5, d1 * 0.5, d2 * 0.5, x, y, z);
+            case RECTANGULAR_PYRAMID -> pyramidMargin(d2 * 0.5, d0 * 0.5 / d2, d1 * 0.5 / d2, x, y, z);
+        };
+    }
+
+    private static double boxMargin(double halfX, double halfY, double halfZ, double x, double y, double z) {
+        return Math.min(halfX - Math.abs(x), Math.min(halfY - Math.abs(y), halfZ - Math.abs(z)));
+    }
+
+    /**
+     * Margin of a pyramid whose half-width along x shrinks by
+     * {@code slopeX} per unit of height, from the base at {@code -halfZ}
+     * to the apex at {@code halfZ}.
+     */
+    private static double pyramidMargin(double halfZ, double slopeX, double slopeY, double x, double y, double z) {
+        double rise = halfZ - z;
+        return Math.min(halfZ - Math.abs(z), Math.min(rise * slopeX - Math.abs(x), rise * slopeY - Math.abs(y)));
+    }
+
+    /**
+     * Computes the containment margins of {@code count} points for one
+     * shape. Each loop is branch-free and auto-vectorizes.
+     *
+     * @param type  the shape type
+     * @param d0    first dimension
+     * @param d1    second dimension, ignored if unused
+     * @param d2    third dimension, ignored if unused
+     * @param x     x coordinates of the points
+     * @param y     y coordinates of the points
+     * @param z     z coordinates of the points
+     * @param out   destination for the margins
+     * @param count number of points
+     */
+    public static void containmentMargins(ShapeType type, double d0, double d1, double d2,
+                                          double[] x, double[] y, double[] z, double[] out, int count) {
+        containmentMargins(type, d0, d1, d2, x, y, z, 0, out, count);
+    }
+
+    /** Computes margins of points {@code [offset, offset + count)} into {@code out[0, count)}. */
+    private static void containmentMargins(ShapeType type, double d0, double d1, double d2,
+                                           double[] x, double[] y, double[] z, int offset,
+                                           double[] out, int count) {
+        switch (type) {
+            case SPHERE -> {
+                double rr = d0 * d0;
+                for (int i = 0; i < count; i++) {
+                    double px = x[offset + i];
+                    double py = y[offset + i];
+                    double pz = z[offset + i];
+                    out[i] = rr - (px * px + py * py + pz * pz);
+                }
+            }
+            case CUBE -> boxMargins(d0 * 0.5, d0 * 0.5, d0 * 0.5, x, y, z, offset, out, count);
+            case CYLINDER -> {
+                double rr = d0 * d0;
+                double halfZ = d1 * 0.5;
+                for (int i = 0; i < count; i++) {
+                    double px = x[offset + i];
+                    double py = y[offset + i];
+                    out[i] = Math.min(rr - (px * px + py * py), halfZ - Math.abs(z[offset + i]));
+                }
+            }
+            case RECTANGULAR_PRISM -> boxMargins(d0 * 0.5, d1 * 0.5, d2 * 0.5, x, y, z, offset, out, count);
+            case RECTANGULAR_PYRAMID -> {
+                double halfZ = d2 * 0.5;
+                double slopeX = d0 * 0.5 / d2;
+                double slopeY = d1 * 0.5 / d2;
+                for (int i = 0; i < count; i++) {
+                    double pz = z[offset + i];
+                    double rise = halfZ - pz;
+                    out[i] = Math.min(halfZ - Math.abs(pz), Math.min(
+                            rise * slopeX - Math.abs(x[offset + i]), rise * slopeY - Math.abs(y[offset + i])));
+                }
+            }
+        }
+    }
+
+    private static void boxMargins(double halfX, double halfY, double halfZ,
+                                   double[] x, double[] y, double[] z, int offset, double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = Math.min(halfX - Math.abs(x[offset + i]),
+                    Math.min(halfY - Math.abs(y[offset + i]), halfZ - Math.abs(z[offset + i])));
+        }
+    }
+
+    /**
+     * Tests {@code count} points against one shape.
+     *
+     * @param type  the shape type
+     * @param d0    first dimension
+     * @param d1    second dimension, ignored if unused
+     * @param d2    third dimension, ignored if unused
+     * @param x     x coordinates of the points
+     * @param y     y coordinates of the points
+     * @param z     z coordinates of the points
+     * @param out   destination: true for each point inside the shape
+     * @param count number of points
+     */
+    public static void containsPoints(ShapeType type, double d0, double d1, double d2,
+                                      double[] x, double[] y, double[] z, boolean[] out, int count) {
+        double[] margins = new double[Math.min(count, CONTAINMENT_CHUNK)];
+        for (int start = 0; start < count; start += CONTAINMENT_CHUNK) {
+            int length = Math.min(CONTAINMENT_CHUNK, count - start);
+            containmentMargins(type, d0, d1, d2, x, y, z, start, margins, length);
+            for (int i = 0; i < length; i++) {
+                out[start + i] = margins[i] >= 0;
+            }
+        }
+    }
+
+    /**
+     * Computes the containment margins of one point for {@code count}
+     * shapes of one type. Each loop is branch-free and auto-vectorizes.
+     *
+     * @param type  the shape type
+     * @param dims  dimension columns in constructor order, at least
+     *              {@link ShapeType#getDimensionCount()} of them
+     * @param x     x coordinate of the point
+     * @param y     y coordinate of the point
+     * @param z     z coordinate of the point
+     * @param out   destination for the margins
+     * @param count number of shapes
+     */
+    public static void containmentMargins(ShapeType type, double[][] dims, double x, double y, double z,
+                                          double[] out, int count) {
+        double ax = Math.abs(x);
+        double ay = Math.abs(y);
+        double az = Math.abs(z);
+        switch (type) {
+            case SPHERE -> {
+                double[] radius = dims[0];
+                double pp = x * x + y * y + z * z;
+                for (int i = 0; i < count; i++) {
+                    out[i] = radius[i] * radius[i] - pp;
+                }
+            }
+            case CUBE -> {
+                double[] side = dims[0];
+                for (int i = 0; i < count; i++) {
+                    double half = side[i] * 0.5;
+                    out[i] = Math.min(half - ax, Math.min(half - ay, half - az));
+                }
+            }
+            case CYLINDER -> {
+                double[] radius = dims[0];
+                double[] height = dims[1];
+                double pp = x * x + y * y;
+                for (int i = 0; i < count; i++) {
+                    out[i] = Math.min(radius[i] * radius[i] - pp, height[i] * 0.5 - az);
+                }
+            }
+            case RECTANGULAR_PRISM -> {
+                double[] length = dims[0];
+                double[] width = dims[1];
+                double[] height = dims[2];
+                for (int i = 0; i < count; i++) {
+                    out[i] = Math.min(length[i] * 0.5 - ax, Math.min(width[i] * 0.5 - ay, height[i] * 0.5 - az));
+                }
+            }
+            case RECTANGULAR_PYRAMID -> {
+                double[] baseLength = dims[0];
+                double[] baseWidth = dims[1];
+                double[] height = dims[2];
+                for (int i = 0; i < count; i++) {
+                    double h = height[i];
+                    double halfZ = h * 0.5;
+                    double rise = halfZ - z;
+                    out[i] = Math.min(halfZ - az, Math.min(
+                            rise * (baseLength[i] * 0.5 / h) - ax, rise * (baseWidth[i] * 0.5 / h) - ay));
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the containment margins of one point for {@code count}
+     * shapes of one type with single-precision dimensions. The margins are
+     * computed in double from the widened dimensions.
+     *
+     * @param type  the shape type
+     * @param dims  dimension columns in constructor order, at least
+     *              {@link ShapeType#getDimensionCount()} of them
+     * @param x     x coordinate of the point
+     * @param y     y coordinate of the point
+     * @param z     z coordinate of the point
+     * @param out   destination for the margins
+     * @param count number of shapes
+     */
+    public static void containmentMargins(ShapeType type, float[][] dims, double x, double y, double z,
+                                          double[] out, int count) {
+        double ax = Math.abs(x);
+        double ay = Math.abs(y);
+        double az = Math.abs(z);
+        switch (type) {
+            case SPHERE -> {
+                float[] radius = dims[0];
+                double pp = x * x + y * y + z * z;
+                for (int i = 0; i < count; i++) {
+                    double r = radius[i];
+                    out[i] = r * r - pp;
+                }
+            }
+            case CUBE -> {
+                float[] side = dims[0];
+                for (int i = 0; i < count; i++) {
+                    double half = side[i] * 0.5;
+                    out[i] = Math.min(half - ax, Math.min(half - ay, half - az));
+                }
+            }
+            case CYLINDER -> {
+                float[] radius = dims[0];
+                float[] height = dims[1];
+                double pp = x * x + y * y;
+                for (int i = 0; i < count; i++) {
+                    double r = radius[i];
+                    out[i] = Math.min(r * r - pp, height[i] * 0.5 - az);
+                }
+            }
+            case RECTANGULAR_PRISM -> {
+                float[] length = dims[0];
+                float[] width = dims[1];
+                float[] height = dims[2];
+                for (int i = 0; i < count; i++) {
+                    out[i] = Math.min(length[i] * 0.5 - ax, Math.min(width[i] * 0.5 - ay, height[i] * 0.5 - az));
+                }
+            }
+            case RECTANGULAR_PYRAMID -> {
+                float[] baseLength = dims[0];
+                float[] baseWidth = dims[1];
+                float[] height = dims[2];
+                for (int i = 0; i < count; i++) {
+                    double h = height[i];
+                    double halfZ = h * 0.5;
+                    double rise = halfZ - z;
+                    out[i] = Math.min(halfZ - az, Math.min(
+                            rise * (baseLength[i] * 0.5 / h) - ax, rise * (baseWidth[i] * 0.5 / h) - ay));
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the half extents along one axis of the local-frame bounding
+     * boxes of {@code count} shapes of one type.
+     *
+     * @param type  the shape type
+     * @param axis  0 for x, 1 for y, 2 for z
+     * @param dims  dimension columns in constructor order, at least
+     *              {@link ShapeType#getDimensionCount()} of them
+     * @param out   destination for the half extents
+     * @param count number of shapes
+     */
+    public static void halfExtents(ShapeType type, int axis, double[][] dims, double[] out, int count) {
+        double[] source = dims[halfExtentDimension(type, axis)];
+        double scale = halfExtentScale(type, axis);
+        for (int i = 0; i < count; i++) {
+            out[i] = source[i] * scale;
+        }
+    }
+
+    /**
+     * Computes the half extents along one axis of the local-frame bounding
+     * boxes of {@code count} shapes of one type with single-precision
+     * dimensions. Halving is exact, so the results equal the double
+     * results for the same dimensions.
+     *
+     * @param type  the shape type
+     * @param axis  0 for x, 1 for y, 2 for z
+     * @param dims  dimension columns in constructor order, at least
+     *              {@link ShapeType#getDimensionCount()} of them
+     * @param out   destination for the half extents
+     * @param count number of shapes
+     */
+    public static void halfExtents(ShapeType type, int axis, float[][] dims, float[] out, int count) {
+        float[] source = dims[halfExtentDimension(type, axis)];
+        float scale = (float) halfExtentScale(type, axis);
+        for (int i = 0; i < count; i++) {
+            out[i] = source[i] * scale;
+        }
+    }
+
+    /** Dimension that determines a type's half extent along an axis. */
+    private static int halfExtentDimension(ShapeType type, int axis) {
+        return switch (type) {
+            case SPHERE, CUBE -> 0;
+            case CYLINDER -> axis < 2 ? 0 : 1;
+            case RECTANGULAR_PRISM, RECTANGULAR_PYRAMID -> axis;
+        };
+    }
+
+    /** Factor from {@link #halfExtentDimension} to the half extent. */
+    private static double halfExtentScale(ShapeType type, int axis) {
+        return type == ShapeType.SPHERE || (type == ShapeType.CYLINDER && axis < 2) ? 1.0 : 0.5;
+    }
+}
@@ -0,0 +1,198 @@
+package com.csc205.project2.shapes;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Append-only, thread-safe shape collection with stable ids.
+ * <p>
+ * Shapes are stored in chunks that double in size ({@link #FIRST_CHUNK_SIZE},
+ * then twice that, and so on) and are never copied, so an id maps to the
+ * same slot forever. {@link #add(Shape3D)} never locks: a writer makes
+ * sure the chunk of the next free id exists, allocating it with a
+ * compare-and-set if it is the first to reach it, then claims that id with
+ * a compare-and-set and stores the shape. Nothing that can fail runs
+ * between the claim and the store, so a writer never leaves a claimed id
+ * empty.
+ * <p>
+ * {@link #get(int)} returns a shape as soon as it has been stored, so an
+ * id returned by {@code add} can be looked up at once even while lower ids
+ * are still being stored. {@link #size()} and {@link #snapshot()} only see
+ * the longest prefix of ids whose shapes have been stored, so they never
+ * observe a gap left by a writer that is still between its claim and its
+ * store, and never block writers. Every writer extends that prefix over
+ * whatever stored shapes follow it, so a writer that stops after its store
+ * cannot hold the prefix back. A snapshot is a fixed-size list view of the
+ * prefix at the time it was taken and stays valid while the registry grows.
+ */
+public class ShapeRegistry implements Iterable<Shape3D> {
+
+    /** Number of slots in the first chunk; chunk {@code c} has {@code FIRST_CHUNK_SIZE << c}. */
+    public static final int FIRST_CHUNK_SIZE = 1024;
+
+    private static final int FIRST_CHUNK_SHIFT = Integer.numberOfTrailingZeros(FIRST_CHUNK_SIZE);
+
+    /** Number of chunks; the largest holds 2<sup>30</sup> slots. */
+    private static final int MAX_CHUNKS = 31 - FIRST_CHUNK_SHIFT;
+
+    /** Maximum number of shapes, just under 2<sup>31</sup>. */
+    public static final int CAPACITY = (int) ((long) FIRST_CHUNK_SIZE * ((1L << MAX_CHUNKS) - 1));
+
+    private final AtomicReferenceArray<AtomicReferenceArray<Shape3D>> chunks =
+            new AtomicReferenceArray<>(MAX_CHUNKS);
+
+    /** Next id to hand out. */
+    private final AtomicInteger claimed = new AtomicInteger();
+
+    /** Length of the published prefix; every id below it holds a shape. */
+    private final AtomicInteger published = new AtomicInteger();
+
+    /**
+     * Appends a shape.
+     *
+     * @param shape the shape
+     * @return the shape's id, its position in every later snapshot
+     * @throws IllegalArgumentException if shape is null
+     * @throws IllegalStateException    if the registry already holds {@link #CAPACITY} shapes
+     */
+    public int add(Shape3D shape) {
+        if (shape == null) {
+            throw new IllegalArgumentException("Shape cannot be null.");
+        }
+        while (true) {
+            int id = claimed.get();
+            if (id >= CAPACITY) {
+                throw new IllegalStateException("Registry is full.");
+            }
+            int chunk = chunkOf(id);
+            // Allocate before claiming, so only the store follows the claim
+            AtomicReferenceArray<Shape3D> slots = chunkFor(chunk);
+            if (claimed.compareAndSet(id, id + 1)) {
+                slots.set(offsetOf(id, chunk), shape);
+                publish();
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of published shapes.
+     *
+     * @return shape count
+     */
+    public int size() {
+        return published.get();
+    }
+
+    /**
+     * Returns the shape with the given id. Any id returned by a completed
+     * {@link #add(Shape3D)} can be looked up, whether or not it is in the
+     * published prefix yet.
+     *
+     * @param id the shape id
+     * @return the shape
+     * @throws IndexOutOfBoundsException if no shape has been stored with this id
+     */
+    public Shape3D get(int id) {
+        Shape3D shape = id < 0 || id >= CAPACITY ? null : slotOrNull(id);
+        if (shape == null) {
+            throw new IndexOutOfBoundsException("No shape with id " + id + "; size is " + published.get());
+        }
+        return shape;
+    }
+
+    /**
+     * Returns an immutable random-access view of the shapes published so far.
+     *
+     * @return snapshot list, in id order
+     */
+    public List<Shape3D> snapshot() {
+        return new Snapshot(published.get());
+    }
+
+    /**
+     * Iterates over a snapshot taken when this method is called.
+     *
+     * @return iterator in id order
+     */
+    @Override
+    public Iterator<Shape3D> iterator() {
+        return snapshot().iterator();
+    }
+
+    /**
+     * Extends the published prefix over every stored shape that directly
+     * follows it. A writer calls this after its own store, so when it stops
+     * at an empty slot, the writer of that slot has not stored yet and will
+     * extend the prefix over this writer's shape when it calls this in turn.
+     */
+    private void publish() {
+        int next = published.get();
+        while (next < CAPACITY && slotOrNull(next) != null) {
+            // A failed exchange means another writer advanced the prefix; continue from there
+            int witness = published.compareAndExchange(next, next + 1);
+            next = witness == next ? next + 1 : witness;
+        }
+    }
+
+    private AtomicReferenceArray<Shape3D> chunkFor(int chunk) {
+        AtomicReferenceArray<Shape3D> slots = chunks.get(chunk);
+        if (slots == null) {
+            AtomicReferenceArray<Shape3D> created = new AtomicReferenceArray<>(FIRST_CHUNK_SIZE << chunk);
+            slots = chunks.compareAndExchange(chunk, null, created);
+            if (slots == null) {
+                slots = created;
+            }
+        }
+        return slots;
+    }
+
+    private Shape3D slotOrNull(int id) {
+        int chunk = chunkOf(id);
+        AtomicReferenceArray<Shape3D> slots = chunks.get(chunk);
+        return slots == null ? null : slots.get(offsetOf(id, chunk));
+    }
+
+    private Shape3D slot(int id) {
+        int chunk = chunkOf(id);
+        return chunks.get(chunk).get(offsetOf(id, chunk));
+    }
+
+    /** Chunk {@code c} starts at id {@code FIRST_CHUNK_SIZE * (2^c - 1)}. */
+    private static int chunkOf(int id) {
+        return 31 - Integer.numberOfLeadingZeros((id >>> FIRST_CHUNK_SHIFT) + 1);
+    }
+
+    private static int offsetOf(int id, int chunk) {
+        return id - ((FIRST_CHUNK_SIZE << chunk) - FIRST_CHUNK_SIZE);
+    }
+
+    /**
+     * Fixed-size view of a published prefix.
+     */
+    private final class Snapshot extends AbstractList<Shape3D> implements RandomAccess {
+
+        private final int size;
+
+        private Snapshot(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Shape3D get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of range for size " + size);
+            }
+            return slot(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,837 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Columnar (structure-of-arrays) storage for large numbers of shapes.
+ * <p>
+ * Instead of one {@link Shape3D} object per shape, the store keeps the
+ * dimensions of each shape type in primitive {@code double[]} columns
+ * (radius for spheres, side length for cubes, and so on) together with a
+ * type tag column. Shapes are identified by their insertion index.
+ * <p>
+ * Shapes are only ever appended, so the shapes of one type occupy their
+ * column in id order. The store therefore keeps no per-shape map between
+ * ids and column slots: the kernels merge the per-type results back into
+ * id order by walking the type tags, and a single shape's slot is found
+ * from per-type counts recorded every 64 ids plus a scan of at most 63
+ * tags. Names and colors are stored as their ids in the shared
+ * {@link Shape3D#getNameDictionary()} and
+ * {@link Shape3D#getColorDictionary()}. A double-precision shape costs one
+ * tag byte, eight bytes of name and color ids and eight bytes per used
+ * dimension, plus growth slack.
+ * <p>
+ * The bulk kernels {@link #computeVolumes(double[])} and
+ * {@link #computeSurfaceAreas(double[])} run one {@link ShapeKernels}
+ * loop per shape type over that type's columns, avoiding the virtual
+ * {@code calculateVolume}/{@code calculateSurfaceArea} call made for
+ * every object in a {@code List<Shape3D>}. Results match the values
+ * returned by the corresponding {@link Shape3D} objects within
+ * {@link ShapeKernels#MAX_ULP_ERROR} ulps, or exactly in
+ * {@link ShapeKernels.Mode#SCALAR} mode.
+ * <p>
+ * A store is created with a {@link Precision}. {@link Precision#FLOAT}
+ * stores keep dimensions in {@code float[]} columns, halving their memory,
+ * and compute with the single-precision kernels, which process twice as
+ * many shapes per SIMD instruction; dimensions are rounded to float when
+ * added, are rejected if rounding would make them zero or infinite, and
+ * results are within {@link ShapeKernels#maxFloatVolumeError}
+ * and {@link ShapeKernels#maxFloatSurfaceAreaError} of the double results.
+ * Results can be read into {@code double[]} or {@code float[]} arrays at
+ * either precision.
+ * <p>
+ * {@link #containsPoint(double, double, double, boolean[])} tests one point
+ * against every stored shape and
+ * {@link #computeHalfExtents(double[], double[], double[])} returns every
+ * shape's bounding box, both in the shapes' local frame (see
+ * {@link ThreeDimensionalShape}) and with the same per-type column loops.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class ShapeStore {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Number of shape types, the width of a {@link #ranks} block. */
+    private static final int TYPES = ShapeType.values().length;
+
+    /** Number of ids per {@link #ranks} block. */
+    private static final int RANK_BLOCK = 64;
+
+    /**
+     * Precision of stored dimensions and of the kernels that read them.
+     */
+    public enum Precision {
+        /** 64-bit dimensions and kernels. */
+        DOUBLE,
+        /** 32-bit dimensions and kernels, for about seven significant digits. */
+        FLOAT
+    }
+
+    private final Precision precision;
+
+    /** Type tag ({@link ShapeType#ordinal()}) of each shape, by id. */
+    private byte[] types;
+
+    /** Id of each shape's name in the shared name dictionary, by id. */
+    private int[] nameIds;
+
+    /** Id of each shape's color in the shared color dictionary, by id. */
+    private int[] colorIds;
+
+    /**
+     * Number of shapes of each type before each block of
+     * {@link #RANK_BLOCK} ids: entry {@code block * TYPES + tag}.
+     */
+    private int[] ranks;
+
+    /** Number of shapes in the store. */
+    private int size;
+
+    /** Dimension columns of each shape type, indexed by tag. */
+    private final TypeColumn[] columns;
+
+    /** Kernel results of each type, indexed by tag then slot, before they are merged by id. */
+    private final double[][] scratch = new double[TYPES][0];
+
+    /** Single-precision kernel results of each type before they are merged by id. */
+    private final float[][] floatScratch = new float[TYPES][0];
+
+    /**
+     * Constructs an empty double-precision store.
+     */
+    public ShapeStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty double-precision store sized for the given number
+     * of shapes.
+     *
+     * @param initialCapacity expected number of shapes
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public ShapeStore(int initialCapacity) {
+        this(initialCapacity, Precision.DOUBLE);
+    }
+
+    /**
+     * Constructs an empty store with the given precision, sized for the
+     * given number of shapes.
+     *
+     * @param initialCapacity expected number of shapes
+     * @param precision       precision of dimensions and kernels
+     * @throws IllegalArgumentException if initialCapacity is negative or precision is null
+     */
+    public ShapeStore(int initialCapacity, Precision precision) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative.");
+        }
+        if (precision == null) {
+            throw new IllegalArgumentException("Precision cannot be null.");
+        }
+        this.precision = precision;
+        types = new byte[initialCapacity];
+        nameIds = new int[initialCapacity];
+        colorIds = new int[initialCapacity];
+        ranks = new int[rankBlocks(initialCapacity) * TYPES];
+
+        ShapeType[] shapeTypes = ShapeType.values();
+        columns = new TypeColumn[shapeTypes.length];
+        for (ShapeType type : shapeTypes) {
+            columns[type.ordinal()] = new TypeColumn(type.getDimensionCount(), precision);
+        }
+    }
+
+    /**
+     * Creates a double-precision store holding copies of the given shapes,
+     * in iteration order.
+     *
+     * @param shapes the shapes to copy
+     * @return a new store
+     * @throws IllegalArgumentException if a shape is null or of an unknown type
+     */
+    public static ShapeStore of(Collection<? extends Shape3D> shapes) {
+        return of(shapes, Precision.DOUBLE);
+    }
+
+    /**
+     * Creates a store with the given precision holding copies of the given
+     * shapes, in iteration order.
+     *
+     * @param shapes    the shapes to copy
+     * @param precision precision of dimensions and kernels
+     * @return a new store
+     * @throws IllegalArgumentException if a shape is null or of an unknown type, precision is
+     *                                  null, or a dimension is out of float range in a float store
+     */
+    public static ShapeStore of(Collection<? extends Shape3D> shapes, Precision precision) {
+        ShapeStore store = new ShapeStore(shapes.size(), precision);
+        for (Shape3D shape : shapes) {
+            store.add(shape);
+        }
+        return store;
+    }
+
+    /**
+     * Adds a copy of a shape's type, dimensions, name and color.
+     *
+     * @param shape the shape to copy
+     * @return id of the stored shape
+     * @throws IllegalArgumentException if the shape is null or of an unknown
+     *                                  type, or a dimension is out of float
+     *                                  range in a float store
+     */
+    public int add(Shape3D shape) {
+        ShapeType type = ShapeType.of(shape);
+        double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+        type.getDimensions(shape, dims);
+        return append(type, dims[0], dims[1], dims[2], shape.getNameId(), shape.getColorId());
+    }
+
+    /**
+     * Adds a shape given its type and dimensions. Dimensions beyond
+     * {@link ShapeType#getDimensionCount()} are ignored.
+     *
+     * @param type  the shape type
+     * @param d0    first dimension
+     * @param d1    second dimension
+     * @param d2    third dimension
+     * @param name  name of the shape
+     * @param color color of the shape
+     * @return id of the stored shape
+     * @throws IllegalArgumentException if type is null, a used dimension is
+     *                                  not positive or is out of float range
+     *                                  in a float store, or name or color is
+     *                                  null or blank
+     */
+    public int add(ShapeType type, double d0, double d1, double d2, String name, String color) {
+        if (type == null) {
+            throw new IllegalArgumentException("Shape type cannot be null.");
+        }
+        int dimensionCount = type.getDimensionCount();
+        if (!(d0 > 0) || (dimensionCount > 1 && !(d1 > 0)) || (dimensionCount > 2 && !(d2 > 0))) {
+            throw new IllegalArgumentException("Dimensions must be greater than zero.");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Shape name cannot be null or blank.");
+        }
+        if (color == null || color.trim().isEmpty()) {
+            throw new IllegalArgumentException("Shape color cannot be null or blank.");
+        }
+        return append(type, d0, d1, d2,
+                Shape3D.getNameDictionary().intern(name.trim()),
+                Shape3D.getColorDictionary().intern(color.trim()));
+    }
+
+    /**
+     * Appends copies of all shapes in another store, in id order. The
+     * other store may have a different precision.
+     *
+     * @param other the store to copy from
+     * @throws IllegalArgumentException if this is a float store and a
+     *                                  dimension is out of float range; the
+     *                                  shapes before it have been added
+     */
+    public void addAll(ShapeStore other) {
+        int[] slots = new int[TYPES];
+        for (int id = 0; id < other.size; id++) {
+            ShapeType type = ShapeType.fromTag(other.types[id]);
+            TypeColumn column = other.columns[type.ordinal()];
+            int slot = slots[type.ordinal()]++;
+            int dimensionCount = type.getDimensionCount();
+            append(type,
+                    column.get(0, slot),
+                    dimensionCount > 1 ? column.get(1, slot) : 0,
+                    dimensionCount > 2 ? column.get(2, slot) : 0,
+                    other.nameIds[id],
+                    other.colorIds[id]);
+        }
+    }
+
+    /**
+     * Moves the shapes of several stores into one new store, in list order
+     * and then id order. Each column of the result is allocated once, at
+     * its final size, and the matching column of every part is released as
+     * soon as it has been copied, so the shapes are never held twice. The
+     * parts are left empty.
+     *
+     * @param parts the stores to move from, all of the same precision
+     * @return a new store of the parts' precision, or a double-precision
+     *         store if there are no parts
+     * @throws IllegalArgumentException if parts or a part is null, the parts
+     *                                  differ in precision, or they hold more
+     *                                  shapes than one store can
+     */
+    public static ShapeStore concat(List<ShapeStore> parts) {
+        if (parts == null) {
+            throw new IllegalArgumentException("Parts cannot be null.");
+        }
+        long total = 0;
+        for (ShapeStore part : parts) {
+            if (part == null) {
+                throw new IllegalArgumentException("Parts cannot contain null.");
+            }
+            if (part.precision != parts.get(0).precision) {
+                throw new IllegalArgumentException("Parts must have the same precision.");
+            }
+            total += part.size;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Parts hold " + total + " shapes, more than one store can.");
+        }
+        ShapeStore store = new ShapeStore(0, parts.isEmpty() ? Precision.DOUBLE : parts.get(0).precision);
+        int size = (int) total;
+
+        byte[] types = new byte[size];
+        int at = 0;
+        for (ShapeStore part : parts) {
+            System.arraycopy(part.types, 0, types, at, part.size);
+            at += part.size;
+            part.types = new byte[0];
+        }
+        int[] nameIds = new int[size];
+        at = 0;
+        for (ShapeStore part : parts) {
+            System.arraycopy(part.nameIds, 0, nameIds, at, part.size);
+            at += part.size;
+            part.nameIds = new int[0];
+        }
+        int[] colorIds = new int[size];
+        at = 0;
+        for (ShapeStore part : parts) {
+            System.arraycopy(part.colorIds, 0, colorIds, at, part.size);
+            at += part.size;
+            part.colorIds = new int[0];
+        }
+
+        for (int tag = 0; tag < TYPES; tag++) {
+            TypeColumn column = store.columns[tag];
+            int count = 0;
+            for (ShapeStore part : parts) {
+                count += part.columns[tag].count;
+            }
+            for (int d = 0; d < column.dimensionCount(); d++) {
+                at = 0;
+                if (column.dims != null) {
+                    column.dims[d] = new double[count];
+                    for (ShapeStore part : parts) {
+                        TypeColumn from = part.columns[tag];
+                        System.arraycopy(from.dims[d], 0, column.dims[d], at, from.count);
+                        at += from.count;
+                        from.dims[d] = new double[0];
+                    }
+                } else {
+                    column.floatDims[d] = new float[count];
+                    for (ShapeStore part : parts) {
+                        TypeColumn from = part.columns[tag];
+                        System.arraycopy(from.floatDims[d], 0, column.floatDims[d], at, from.count);
+                        at += from.count;
+                        from.floatDims[d] = new float[0];
+                    }
+                }
+            }
+            column.count = count;
+        }
+        for (ShapeStore part : parts) {
+            part.size = 0;
+            part.ranks = new int[0];
+            for (TypeColumn column : part.columns) {
+                column.count = 0;
+            }
+        }
+
+        int[] ranks = new int[rankBlocks(size) * TYPES];
+        int[] counts = new int[TYPES];
+        for (int id = 0; id < size; id++) {
+            if (id % RANK_BLOCK == 0) {
+                System.arraycopy(counts, 0, ranks, id / RANK_BLOCK * TYPES, TYPES);
+            }
+            counts[types[id]]++;
+        }
+        store.types = types;
+        store.nameIds = nameIds;
+        store.colorIds = colorIds;
+        store.ranks = ranks;
+        store.size = size;
+        return store;
+    }
+
+    private int append(ShapeType type, double d0, double d1, double d2, int nameId, int colorId) {
+        if (precision == Precision.FLOAT) {
+            // Checked after narrowing: a positive double can round to 0 or infinity
+            int dimensionCount = type.getDimensionCount();
+            if (!isFloatDimension(d0) || (dimensionCount > 1 && !isFloatDimension(d1))
+                    || (dimensionCount > 2 && !isFloatDimension(d2))) {
+                throw new IllegalArgumentException("Dimensions must be within float range in a float store.");
+            }
+        }
+        if (size == types.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            types = Arrays.copyOf(types, capacity);
+            nameIds = Arrays.copyOf(nameIds, capacity);
+            colorIds = Arrays.copyOf(colorIds, capacity);
+            ranks = Arrays.copyOf(ranks, rankBlocks(capacity) * TYPES);
+        }
+        int id = size++;
+        if (id % RANK_BLOCK == 0) {
+            int block = id / RANK_BLOCK * TYPES;
+            for (int tag = 0; tag < TYPES; tag++) {
+                ranks[block + tag] = columns[tag].count;
+            }
+        }
+        types[id] = (byte) type.ordinal();
+        columns[type.ordinal()].add(d0, d1, d2);
+        nameIds[id] = nameId;
+        colorIds[id] = colorId;
+        return id;
+    }
+
+    private static boolean isFloatDimension(double value) {
+        float narrowed = (float) value;
+        return narrowed > 0 && narrowed < Float.POSITIVE_INFINITY;
+    }
+
+    private static int rankBlocks(int capacity) {
+        return (capacity + RANK_BLOCK - 1) / RANK_BLOCK;
+    }
+
+    /** Position of a shape within its type's column. */
+    private int slot(int id) {
+        int tag = types[id];
+        int first = id - id % RANK_BLOCK;
+        int slot = ranks[first / RANK_BLOCK * TYPES + tag];
+        for (int i = first; i < id; i++) {
+            if (types[i] == tag) {
+                slot++;
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the number of shapes in the store.
+     *
+     * @return shape count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the precision of this store.
+     *
+     * @return precision of dimensions and kernels
+     */
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Removes all shapes, keeping the allocated capacity for reuse.
+     */
+    public void clear() {
+        size = 0;
+        for (TypeColumn column : columns) {
+            column.count = 0;
+        }
+    }
+
+    /**
+     * Returns the type of a stored shape.
+     *
+     * @param id the shape id
+     * @return shape type
+     * @throws IndexOutOfBoundsException if id is out of range
+     */
+    public ShapeType getType(int id) {
+        return ShapeType.fromTag(types[checkId(id)]);
+    }
+
+    /**
+     * Returns one dimension of a stored shape, in constructor order.
+     *
+     * @param id    the shape id
+     * @param index dimension index, less than the type's dimension count
+     * @return dimension value, as stored at this store's precision
+     * @throws IndexOutOfBoundsException if id or index is out of range
+     */
+    public double getDimension(int id, int index) {
+        TypeColumn column = columns[types[checkId(id)]];
+        return column.get(index, slot(id));
+    }
+
+    /**
+     * Returns the name of a stored shape.
+     *
+     * @param id the shape id
+     * @return shape name
+     * @throws IndexOutOfBoundsException if id is out of range
+     */
+    public String getName(int id) {
+        return Shape3D.getNameDictionary().lookup(nameIds[checkId(id)]);
+    }
+
+    /**
+     * Returns the id of a stored shape's name in
+     * {@link Shape3D#getNameDictionary()}.
+     *
+     * @param id the shape id
+     * @return name id
+     * @throws IndexOutOfBoundsException if id is out of range
+     */
+    public int getNameId(int id) {
+        return nameIds[checkId(id)];
+    }
+
+    /**
+     * Returns the color of a stored shape.
+     *
+     * @param id the shape id
+     * @return shape color
+     * @throws IndexOutOfBoundsException if id is out of range
+     */
+    public String getColor(int id) {
+        return Shape3D.getColorDictionary().lookup(colorIds[checkId(id)]);
+    }
+
+    /**
+     * Returns the id of a stored shape's color in
+     * {@link Shape3D#getColorDictionary()}.
+     *
+     * @param id the shape id
+     * @return color id
+     * @throws IndexOutOfBoundsException if id is out of range
+     */
+    public int getColorId(int id) {
+        return colorIds[checkId(id)];
+    }
+
+    /**
+     * Creates a new {@link Shape3D} object for a stored shape.
+     *
+     * @param id the shape id
+     * @return a new shape with the stored type, dimensions, name and color
+     * @throws IndexOutOfBoundsException if id is out of range
+     */
+    public Shape3D toShape(int id) {
+        ShapeType type = getType(id);
+        TypeColumn column = columns[type.ordinal()];
+        int slot = slot(id);
+        int dimensionCount = type.getDimensionCount();
+        return type.create(
+                column.get(0, slot),
+                dimensionCount > 1 ? column.get(1, slot) : 0,
+                dimensionCount > 2 ? column.get(2, slot) : 0,
+                getName(id),
+                getColor(id));
+    }
+
+    /**
+     * Computes the volume of every stored shape.
+     *
+     * @param out destination indexed by shape id, with room for {@link #size()} values
+     * @throws IllegalArgumentException if out is too small
+     */
+    public void computeVolumes(double[] out) {
+        checkOutput(out.length);
+        for (ShapeType type : ShapeType.values()) {
+            TypeColumn column = columns[type.ordinal()];
+            if (precision == Precision.FLOAT) {
+                ShapeKernels.volumes(type, column.floatDims, floatScratch(type, column.count), column.count);
+            } else {
+                ShapeKernels.volumes(type, column.dims, scratch(type, column.count), column.count);
+            }
+        }
+        merge(out);
+    }
+
+    /**
+     * Computes the volume of every stored shape into a float array. Results
+     * of a double-precision store are computed in double and then rounded.
+     *
+     * @param out destination indexed by shape id, with room for {@link #size()} values
+     * @throws IllegalArgumentException if out is too small
+     */
+    public void computeVolumes(float[] out) {
+        checkOutput(out.length);
+        for (ShapeType type : ShapeType.values()) {
+            TypeColumn column = columns[type.ordinal()];
+            if (precision == Precision.FLOAT) {
+                ShapeKernels.volumes(type, column.floatDims, floatScratch(type, column.count), column.count);
+            } else {
+                ShapeKernels.volumes(type, column.dims, scratch(type, column.count), column.count);
+            }
+        }
+        merge(out);
+    }
+
+    /**
+     * Computes the surface area of every stored shape.
+     *
+     * @param out destination indexed by shape id, with room for {@link #size()} values
+     * @throws IllegalArgumentException if out is too small
+     */
+    public void computeSurfaceAreas(double[] out) {
+        checkOutput(out.length);
+        for (ShapeType type : ShapeType.values()) {
+            TypeColumn column = columns[type.ordinal()];
+            if (precision == Precision.FLOAT) {
+                ShapeKernels.surfaceAreas(type, column.floatDims, floatScratch(type, column.count), column.count);
+            } else {
+                ShapeKernels.surfaceAreas(type, column.dims, scratch(type, column.count), column.count);
+            }
+        }
+        merge(out);
+    }
+
+    /**
+     * Computes the surface area of every stored shape into a float array.
+     * Results of a double-precision store are computed in double and then
+     * rounded.
+     *
+     * @param out destination indexed by shape id, with room for {@link #size()} values
+     * @throws IllegalArgumentException if out is too small
+     */
+    public void computeSurfaceAreas(float[] out) {
+        checkOutput(out.length);
+        for (ShapeType type : ShapeType.values()) {
+            TypeColumn column = columns[type.ordinal()];
+            if (precision == Precision.FLOAT) {
+                ShapeKernels.surfaceAreas(type, column.floatDims, floatScratch(type, column.count), column.count);
+            } else {
+                ShapeKernels.surfaceAreas(type, column.dims, scratch(type, column.count), column.count);
+            }
+        }
+        merge(out);
+    }
+
+    /**
+     * Tests one point, in the shapes' local frame, against every stored
+     * shape. Results match {@link ThreeDimensionalShape#contains} for the
+     * stored dimensions.
+     *
+     * @param x   x coordinate
+     * @param y   y coordinate
+     * @param z   z coordinate
+     * @param out destination indexed by shape id, with room for {@link #size()} values:
+     *            true for each shape that contains the point
+     * @throws IllegalArgumentException if out is too small
+     */
+    public void containsPoint(double x, double y, double z, boolean[] out) {
+        checkOutput(out.length);
+        for (ShapeType type : ShapeType.values()) {
+            TypeColumn column = columns[type.ordinal()];
+            double[] margins = scratch(type, column.count);
+            if (precision == Precision.FLOAT) {
+                ShapeKernels.containmentMargins(type, column.floatDims, x, y, z, margins, column.count);
+            } else {
+                ShapeKernels.containmentMargins(type, column.dims, x, y, z, margins, column.count);
+            }
+        }
+        int[] cursors = new int[TYPES];
+        for (int id = 0; id < size; id++) {
+            int tag = types[id];
+            out[id] = scratch[tag][cursors[tag]++] >= 0;
+        }
+    }
+
+    /**
+     * Computes the bounding box of every stored shape. Boxes are centered
+     * on the origin, so each is given by its half extents: shape {@code id}
+     * spans {@code [-halfX[id], halfX[id]]} along x, and so on.
+     *
+     * @param halfX destination for half extents along x, indexed by shape id
+     * @param halfY destination for half extents along y, indexed by shape id
+     * @param halfZ destination for half extents along z, indexed by shape id
+     * @throws IllegalArgumentException if an array is too small
+     */
+    public void computeHalfExtents(double[] halfX, double[] halfY, double[] halfZ) {
+        checkOutput(halfX.length);
+        checkOutput(halfY.length);
+        checkOutput(halfZ.length);
+        double[][] outs = {halfX, halfY, halfZ};
+        for (int axis = 0; axis < outs.length; axis++) {
+            for (ShapeType type : ShapeType.values()) {
+                TypeColumn column = columns[type.ordinal()];
+                if (precision == Precision.FLOAT) {
+                    ShapeKernels.halfExtents(type, axis, column.floatDims,
+                            floatScratch(type, column.count), column.count);
+                } else {
+                    ShapeKernels.halfExtents(type, axis, column.dims, scratch(type, column.count), column.count);
+                }
+            }
+            merge(outs[axis]);
+        }
+    }
+
+    /**
+     * Copies the per-type kernel results at this store's precision into id
+     * order. Each type's results are consumed in slot order, which is the
+     * order its shapes appear among the ids.
+     */
+    private void merge(double[] out) {
+        int[] cursors = new int[TYPES];
+        if (precision == Precision.FLOAT) {
+            for (int id = 0; id < size; id++) {
+                int tag = types[id];
+                out[id] = floatScratch[tag][cursors[tag]++];
+            }
+        } else {
+            for (int id = 0; id < size; id++) {
+                int tag = types[id];
+                out[id] = scratch[tag][cursors[tag]++];
+            }
+        }
+    }
+
+    /**
+     * Copies the per-type kernel results at this store's precision into id
+     * order, rounding double results to float.
+     */
+    private void merge(float[] out) {
+        int[] cursors = new int[TYPES];
+        if (precision == Precision.FLOAT) {
+            for (int id = 0; id < size; id++) {
+                int tag = types[id];
+                out[id] = floatScratch[tag][cursors[tag]++];
+            }
+        } else {
+            for (int id = 0; id < size; id++) {
+                int tag = types[id];
+                out[id] = (float) scratch[tag][cursors[tag]++];
+            }
+        }
+    }
+
+    /** Returns a type's reusable buffer with room for at least {@code count} values. */
+    private double[] scratch(ShapeType type, int count) {
+        double[] buffer = scratch[type.ordinal()];
+        if (buffer.length < count) {
+            buffer = new double[Math.max(count, buffer.length + (buffer.length >> 1))];
+            scratch[type.ordinal()] = buffer;
+        }
+        return buffer;
+    }
+
+    /** Returns a type's reusable float buffer with room for at least {@code count} values. */
+    private float[] floatScratch(ShapeType type, int count) {
+        float[] buffer = floatScratch[type.ordinal()];
+        if (buffer.length < count) {
+            buffer = new float[Math.max(count, buffer.length + (buffer.length >> 1))];
+            floatScratch[type.ordinal()] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns an estimate of the heap used by this store's arrays, excluding
+     * the shared name and color dictionaries and the reusable kernel
+     * buffers. Unused capacity is included.
+     *
+     * @return estimated size in bytes
+     */
+    public long estimatedSizeInBytes() {
+        long bytes = arrayBytes(types.length, Byte.BYTES)
+                + arrayBytes(nameIds.length, Integer.BYTES)
+                + arrayBytes(colorIds.length, Integer.BYTES)
+                + arrayBytes(ranks.length, Integer.BYTES);
+        for (TypeColumn column : columns) {
+            if (precision == Precision.FLOAT) {
+                for (float[] dim : column.floatDims) {
+                    bytes += arrayBytes(dim.length, Float.BYTES);
+                }
+            } else {
+                for (double[] dim : column.dims) {
+                    bytes += arrayBytes(dim.length, Double.BYTES);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /** Array size assuming a 16-byte header. */
+    private static long arrayBytes(int length, int elementSize) {
+        return 16 + (long) length * elementSize;
+    }
+
+    private int checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Shape id " + id + " out of range for size " + size);
+        }
+        return id;
+    }
+
+    private void checkOutput(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException(
+                    "Output array length " + length + " is smaller than store size " + size);
+        }
+    }
+
+    /**
+     * Dimension columns for the shapes of a single type, at the store's
+     * precision: exactly one of {@code dims} and {@code floatDims} is used.
+     */
+    private static final class TypeColumn {
+
+        /** Double dimension values, indexed by dimension then slot, or null. */
+        private final double[][] dims;
+
+        /** Float dimension values, indexed by dimension then slot, or null. */
+        private final float[][] floatDims;
+
+        /** Number of used slots. */
+        private int count;
+
+        private TypeColumn(int dimensionCount, Precision precision) {
+            dims = precision == Precision.DOUBLE ? new double[dimensionCount][0] : null;
+            floatDims = precision == Precision.FLOAT ? new float[dimensionCount][0] : null;
+        }
+
+        private void add(double d0, double d1, double d2) {
+            if (count == capacity()) {
+                int capacity = Math.max(DEFAULT_CAPACITY, count + (count >> 1));
+                if (dims != null) {
+                    for (int d = 0; d < dims.length; d++) {
+                        dims[d] = Arrays.copyOf(dims[d], capacity);
+                    }
+                } else {
+                    for (int d = 0; d < floatDims.length; d++) {
+                        floatDims[d] = Arrays.copyOf(floatDims[d], capacity);
+                    }
+                }
+            }
+            int slot = count++;
+            set(0, slot, d0);
+            if (dimensionCount() > 1) {
+                set(1, slot, d1);
+            }
+            if (dimensionCount() > 2) {
+                set(2, slot, d2);
+            }
+        }
+
+        private int capacity() {
+            return dims != null ? dims[0].length : floatDims[0].length;
+        }
+
+        private int dimensionCount() {
+            return dims != null ? dims.length : floatDims.length;
+        }
+
+        private double get(int dimension, int slot) {
+            return dims != null ? dims[dimension][slot] : floatDims[dimension][slot];
+        }
+
+        private void set(int dimension, int slot, double value) {
+            if (dims != null) {
+                dims[dimension][slot] = value;
+            } else {
+                floatDims[dimension][slot] = (float) value;
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Enumerates the concrete {@link Shape3D} types known to the system.
+ * <p>
+ * Each type has a compact numeric tag (its ordinal) and a fixed number of
+ * dimensions, which lets bulk representations such as {@link ShapeStore}
+ * keep shapes as primitive columns instead of objects. Dimensions are
+ * always listed in constructor order.
+ */
+public enum ShapeType {
+
+    /** {@link Sphere}: radius. */
+    SPHERE(1),
+
+    /** {@link Cube}: side length. */
+    CUBE(1),
+
+    /** {@link Cylinder}: radius, height. */
+    CYLINDER(2),
+
+    /** {@link RectangularPrism}: length, width, height. */
+    RECTANGULAR_PRISM(3),
+
+    /** {@link RectangularPyramid}: base length, base width, height. */
+    RECTANGULAR_PYRAMID(3);
+
+    /** Largest number of dimensions used by any shape type. */
+    public static final int MAX_DIMENSIONS = 3;
+
+    private static final ShapeType[] VALUES = values();
+
+    /** Number of dimensions that describe this shape type. */
+    private final int dimensionCount;
+
+    ShapeType(int dimensionCount) {
+        this.dimensionCount = dimensionCount;
+    }
+
+    /**
+     * Returns the number of dimensions that describe this shape type.
+     *
+     * @return dimension count (1 to {@link #MAX_DIMENSIONS})
+     */
+    public int getDimensionCount() {
+        return dimensionCount;
+    }
+
+    /**
+     * Returns the type with the given numeric tag.
+     *
+     * @param tag the tag, as returned by {@link #ordinal()}
+     * @return the shape type
+     * @throws IllegalArgumentException if the tag is out of range
+     */
+    public static ShapeType fromTag(int tag) {
+        if (tag < 0 || tag >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown shape type tag: " + tag);
+        }
+        return VALUES[tag];
+    }
+
+    /**
+     * Returns the type of the given shape.
+     *
+     * @param shape the shape
+     * @return the shape type
+     * @throws IllegalArgumentException if the shape is null or of an unknown type
+     */
+    public static ShapeType of(Shape3D shape) {
+        if (shape instanceof Sphere) {
+            return SPHERE;
+        }
+        if (shape instanceof Cube) {
+            return CUBE;
+        }
+        if (shape instanceof Cylinder) {
+            return CYLINDER;
+        }
+        if (shape instanceof RectangularPrism) {
+            return RECTANGULAR_PRISM;
+        }
+        if (shape instanceof RectangularPyramid) {
+            return RECTANGULAR_PYRAMID;
+        }
+        throw new IllegalArgumentException("Unsupported shape: "
+                + (shape == null ? "null" : shape.getClass().getName()));
+    }
+
+    /**
+     * Copies the dimensions of a shape of this type into an array.
+     * Unused trailing entries are left untouched.
+     *
+     * @param shape the shape, which must be of this type
+     * @param out   destination with room for {@link #getDimensionCount()} values
+     * @throws ClassCastException if the shape is not of this type
+     */
+    public void getDimensions(Shape3D shape, double[] out) {
+        switch (this) {
+            case SPHERE -> out[0] = ((Sphere) shape).getRadius();
+            case CUBE -> out[0] = ((Cube) shape).getSideLength();
+            case CYLINDER -> {
+                Cylinder c = (Cylinder) shape;
+                out[0] = c.getRadius();
+                out[1] = c.getHeight();
+            }
+            case RECTANGULAR_PRISM -> {
+                RectangularPrism r = (RectangularPrism) shape;
+                out[0] = r.getLength();
+                out[1] = r.getWidth();
+                out[2] = r.getHeight();
+            }
+            case RECTANGULAR_PYRAMID -> {
+                RectangularPyramid p = (RectangularPyramid) shape;
+                out[0] = p.getBaseLength();
+                out[1] = p.getBaseWidth();
+                out[2] = p.getHeight();
+            }
+        }
+    }
+
+    /**
+     * Creates a shape of this type. Dimensions beyond
+     * {@link #getDimensionCount()} are ignored.
+     *
+     * @param d0    first dimension
+     * @param d1    second dimension
+     * @param d2    third dimension
+     * @param name  name of the shape
+     * @param color color of the shape
+     * @return the new shape
+     * @throws IllegalArgumentException if a dimension, name or color is invalid
+     */
+    public Shape3D create(double d0, double d1, double d2, String name, String color) {
+        return switch (this) {
+            case SPHERE -> new Sphere(d0, name, color);
+            case CUBE -> new Cube(d0, name, color);
+            case CYLINDER -> new Cylinder(d0, d1, name, color);
+            case RECTANGULAR_PRISM -> new RectangularPrism(d0, d1, d2, name, color);
+            case RECTANGULAR_PYRAMID -> new RectangularPyramid(d0, d1, d2, name, color);
+        };
+    }
+
+    /**
+     * Checks dimensions for this type without creating a shape, using the
+     * same messages as the constructors. Dimensions beyond
+     * {@link #getDimensionCount()} are ignored.
+     *
+     * @param d0 first dimension
+     * @param d1 second dimension
+     * @param d2 third dimension
+     * @throws IllegalArgumentException if a used dimension is not positive or is NaN
+     */
+    public void checkDimensions(double d0, double d1, double d2) {
+        switch (this) {
+            case SPHERE -> checkPositive(d0, "Radius");
+            case CUBE -> checkPositive(d0, "Side length");
+            case CYLINDER -> {
+                checkPositive(d0, "Radius");
+                checkPositive(d1, "Height");
+            }
+            case RECTANGULAR_PRISM -> {
+                checkPositive(d0, "Length");
+                checkPositive(d1, "Width");
+                checkPositive(d2, "Height");
+            }
+            case RECTANGULAR_PYRAMID -> {
+                checkPositive(d0, "Base length");
+                checkPositive(d1, "Base width");
+                checkPositive(d2, "Height");
+            }
+        }
+    }
+
+    private static void checkPositive(double value, String label) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException(label + " must be greater than zero.");
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable, closed counterpart of the {@link Shape3D} hierarchy.
+ * <p>
+ * Every implementation is a record listed in the {@code permits} clause,
+ * so {@link #volume(ShapeValue)} and {@link #surfaceArea(ShapeValue)} can
+ * dispatch with an exhaustive pattern-matching {@code switch} instead of a
+ * virtual call. Formulas are the same expressions as in the mutable
+ * classes, so results are identical. Use {@link #of(Shape3D)} and
+ * {@link #toShape()} to convert between the two hierarchies.
+ */
+public sealed interface ShapeValue extends ThreeDimensionalShape
+        permits ShapeValue.SphereValue, ShapeValue.CubeValue, ShapeValue.CylinderValue,
+        ShapeValue.RectangularPrismValue, ShapeValue.RectangularPyramidValue {
+
+    /**
+     * Returns the name of the shape.
+     *
+     * @return shape name
+     */
+    String name();
+
+    /**
+     * Returns the color of the shape.
+     *
+     * @return shape color
+     */
+    String color();
+
+    /**
+     * Returns the type of the shape.
+     *
+     * @return shape type
+     */
+    default ShapeType type() {
+        return switch (this) {
+            case SphereValue s -> ShapeType.SPHERE;
+            case CubeValue c -> ShapeType.CUBE;
+            case CylinderValue c -> ShapeType.CYLINDER;
+            case RectangularPrismValue r -> ShapeType.RECTANGULAR_PRISM;
+            case RectangularPyramidValue p -> ShapeType.RECTANGULAR_PYRAMID;
+        };
+    }
+
+    @Override
+    default double getVolume() {
+        return volume(this);
+    }
+
+    @Override
+    default double getSurfaceArea() {
+        return surfaceArea(this);
+    }
+
+    @Override
+    default boolean contains(double x, double y, double z) {
+        return switch (this) {
+            case SphereValue(double r, String n, String c) -> ShapeKernels.contains(ShapeType.SPHERE, r, 0, 0, x, y, z);
+            case CubeValue(double s, String n, String c) -> ShapeKernels.contains(ShapeType.CUBE, s, 0, 0, x, y, z);
+            case CylinderValue(double r, double h, String n, String c) ->
+                    ShapeKernels.contains(ShapeType.CYLINDER, r, h, 0, x, y, z);
+            case RectangularPrismValue(double l, double w, double h, String n, String c) ->
+                    ShapeKernels.contains(ShapeType.RECTANGULAR_PRISM, l, w, h, x, y, z);
+            case RectangularPyramidValue(double l, double w, double h, String n, String c) ->
+                    ShapeKernels.contains(ShapeType.RECTANGULAR_PYRAMID, l, w, h, x, y, z);
+        };
+    }
+
+    @Override
+    default BoundingBox getBoundingBox() {
+        return switch (this) {
+            case SphereValue(double r, String n, String c) -> BoundingBox.of(ShapeType.SPHERE, r, 0, 0);
+            case CubeValue(double s, String n, String c) -> BoundingBox.of(ShapeType.CUBE, s, 0, 0);
+            case CylinderValue(double r, double h, String n, String c) -> BoundingBox.of(ShapeType.CYLINDER, r, h, 0);
+            case RectangularPrismValue(double l, double w, double h, String n, String c) ->
+                    BoundingBox.of(ShapeType.RECTANGULAR_PRISM, l, w, h);
+            case RectangularPyramidValue(double l, double w, double h, String n, String c) ->
+                    BoundingBox.of(ShapeType.RECTANGULAR_PYRAMID, l, w, h);
+        };
+    }
+
+    /**
+     * Computes the volume of a shape.
+     *
+     * @param shape the shape
+     * @return volume
+     */
+    static double volume(ShapeValue shape) {
+        return switch (shape) {
+            case SphereValue(double r, String n, String c) -> (4.0 / 3.0) * Math.PI * Math.pow(r, 3);
+            case CubeValue(double s, String n, String c) -> Math.pow(s, 3);
+            case CylinderValue(double r, double h, String n, String c) -> Math.PI * r * r * h;
+            case RectangularPrismValue(double l, double w, double h, String n, String c) -> l * w * h;
+            case RectangularPyramidValue(double l, double w, double h, String n, String c) ->
+                    (1.0 / 3.0) * l * w * h;
+        };
+    }
+
+    /**
+     * Computes the surface area of a shape.
+     *
+     * @param shape the shape
+     * @return surface area
+     */
+    static double surfaceArea(ShapeValue shape) {
+        return switch (shape) {
+            case SphereValue(double r, String n, String c) -> 4 * Math.PI * r * r;
+            case CubeValue(double s, String n, String c) -> 6 * s * s;
+            case CylinderValue(double r, double h, String n, String c) -> 2 * Math.PI * r * (r + h);
+            case RectangularPrismValue(double l, double w, double h, String n, String c) ->
+                    2 * (l * w + l * h + w * h);
+            case RectangularPyramidValue(double l, double w, double h, String n, String c) -> {
+                double slantLength = Math.sqrt(Math.pow(w / 2, 2) + Math.pow(h, 2));
+                double slantWidth = Math.sqrt(Math.pow(l / 2, 2) + Math.pow(h, 2));
+                yield l * w + (l * slantLength + w * slantWidth);
+            }
+        };
+    }
+
+    /**
+     * Creates an immutable copy of a mutable shape.
+     *
+     * @param shape the shape to copy
+     * @return an equivalent value
+     * @throws IllegalArgumentException if the shape is null or of an unknown type
+     */
+    static ShapeValue of(Shape3D shape) {
+        return switch (shape) {
+            case Sphere s -> new SphereValue(s.getRadius(), s.getName(), s.getColor());
+            case Cube c -> new CubeValue(c.getSideLength(), c.getName(), c.getColor());
+            case Cylinder c -> new CylinderValue(c.getRadius(), c.getHeight(), c.getName(), c.getColor());
+            case RectangularPrism r ->
+                    new RectangularPrismValue(r.getLength(), r.getWidth(), r.getHeight(), r.getName(), r.getColor());
+            case RectangularPyramid p -> new RectangularPyramidValue(
+                    p.getBaseLength(), p.getBaseWidth(), p.getHeight(), p.getName(), p.getColor());
+            case null -> throw new IllegalArgumentException("Shape cannot be null.");
+            default -> throw new IllegalArgumentException("Unsupported shape: " + shape.getClass().getName());
+        };
+    }
+
+    /**
+     * Creates a new mutable shape with this value's dimensions, name and color.
+     *
+     * @return a new shape
+     */
+    default Shape3D toShape() {
+        return switch (this) {
+            case SphereValue(double r, String n, String c) -> new Sphere(r, n, c);
+            case CubeValue(double s, String n, String c) -> new Cube(s, n, c);
+            case CylinderValue(double r, double h, String n, String c) -> new Cylinder(r, h, n, c);
+            case RectangularPrismValue(double l, double w, double h, String n, String c) ->
+                    new RectangularPrism(l, w, h, n, c);
+            case RectangularPyramidValue(double l, double w, double h, String n, String c) ->
+                    new RectangularPyramid(l, w, h, n, c);
+        };
+    }
+
+    private static String checkText(String value, String label) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Shape " + label + " cannot be null or blank.");
+        }
+        return value.trim();
+    }
+
+    private static void checkPositive(double value, String message) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    /**
+     * Immutable sphere.
+     *
+     * @param radius radius of the sphere
+     * @param name   name of the shape
+     * @param color  color of the shape
+     */
+    record SphereValue(double radius, String name, String color) implements ShapeValue {
+        public SphereValue {
+            checkPositive(radius, "Radius must be greater than zero.");
+            name = checkText(name, "name");
+            color = checkText(color, "color");
+        }
+    }
+
+    /**
+     * Immutable cube.
+     *
+     * @param sideLength length of each side
+     * @param name       name of the shape
+     * @param color      color of the shape
+     */
+    record CubeValue(double sideLength, String name, String color) implements ShapeValue {
+        public CubeValue {
+            checkPositive(sideLength, "Side length must be greater than zero.");
+            name = checkText(name, "name");
+            color = checkText(color, "color");
+        }
+    }
+
+    /**
+     * Immutable cylinder.
+     *
+     * @param radius radius of the base
+     * @param height height of the cylinder
+     * @param name   name of the shape
+     * @param color  color of the shape
+     */
+    record CylinderValue(double radius, double height, String name, String color) implements ShapeValue {
+        public CylinderValue {
+            checkPositive(radius, "Radius must be greater than zero.");
+            checkPositive(height, "Height must be greater than zero.");
+            name = checkText(name, "name");
+            color = checkText(color, "color");
+        }
+    }
+
+    /**
+     * Immutable rectangular prism.
+     *
+     * @param length length of the prism
+     * @param width  width of the prism
+     * @param height height of the prism
+     * @param name   name of the shape
+     * @param color  color of the shape
+     */
+    record RectangularPrismValue(double length, double width, double height, String name, String color)
+            implements ShapeValue {
+        public RectangularPrismValue {
+            checkPositive(length, "Length must be greater than zero.");
+            checkPositive(width, "Width must be greater than zero.");
+            checkPositive(height, "Height must be greater than zero.");
+            name = checkText(name, "name");
+            color = checkText(color, "color");
+        }
+    }
+
+    /**
+     * Immutable rectangular pyramid.
+     *
+     * @param baseLength length of the rectangular base
+     * @param baseWidth  width of the rectangular base
+     * @param height     vertical height of the pyramid
+     * @param name       name of the shape
+     * @param color      color of the shape
+     */
+    record RectangularPyramidValue(double baseLength, double baseWidth, double height, String name, String color)
+            implements ShapeValue {
+        public RectangularPyramidValue {
+            checkPositive(baseLength, "Base length must be greater than zero.");
+            checkPositive(baseWidth, "Base width must be greater than zero.");
+            checkPositive(height, "Height must be greater than zero.");
+            name = checkText(name, "name");
+            color = checkText(color, "color");
+        }
+    }
+}
@@ -82,6 +82,7 @@ public class Sphere extends Shape3D {
             throw new IllegalArgumentException("Radius must be greater than zero.");
         }
         this.radius = radius;
+        dimensionsChanged();
     }
 
     /**
@@ -105,19 +106,36 @@ public class Sphere extends Shape3D {
     }
 
     /**
-     * Returns a formatted string representation of the sphere.
+     * Tests whether a point lies inside or on the sphere, which is centered on
+     * the origin.
      *
-     * @return formatted sphere description
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return true if the point is inside the sphere
      */
     @Override
-    public String toString() {
-        return String.format(
-                "%s [Radius=%.2f, Color=%s, Surface Area=%.2f, Volume=%.2f]",
-                getName(),
-                radius,
-                getColor(),
-                getSurfaceArea(),
-                getVolume()
-        );
+    public boolean contains(double x, double y, double z) {
+        return ShapeKernels.contains(ShapeType.SPHERE, radius, 0, 0, x, y, z);
+    }
+
+    /**
+     * Returns the bounding box of the sphere, centered on the origin.
+     *
+     * @return bounding box
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return BoundingBox.of(ShapeType.SPHERE, radius, 0, 0);
+    }
+
+    /**
+     * Appends the dimensions of the sphere.
+     *
+     * @param sb destination
+     */
+    @Override
+    protected void appendDimensions(StringBuilder sb) {
+        appendDimension(sb, "Radius", radius);
     }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps strings to compact int ids and back.
+ * <p>
+ * Ids are assigned in insertion order starting at zero and never change,
+ * so shapes and bulk shape storage can keep a 4-byte id per shape instead
+ * of a reference to a (possibly duplicated) string. Every id resolves to
+ * one canonical string instance. Strings are never removed.
+ * <p>
+ * This class is thread-safe. Lookups of known strings and of ids do not
+ * lock; assigning a new id locks the dictionary.
+ */
+public class StringDictionary {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Canonical string of each id. A new id's slot is written, in place or
+     * in a larger copy, before {@link #size} is raised to cover it, and a
+     * slot below {@code size} is never written again; a reader that reads
+     * {@code size} first therefore sees an array holding every id below it.
+     */
+    private volatile String[] values = new String[INITIAL_CAPACITY];
+
+    /** Number of assigned ids. */
+    private volatile int size;
+
+    /**
+     * Returns the id of a string, assigning the next free id if the string
+     * has not been seen before.
+     *
+     * @param value the string
+     * @return its id
+     * @throws IllegalArgumentException if value is null
+     */
+    public int intern(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Dictionary value cannot be null.");
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : add(value);
+    }
+
+    private synchronized int add(String value) {
+        Integer existing = ids.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size;
+        String[] current = values;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, id + (id >> 1));
+        }
+        current[id] = value;
+        values = current;
+        size = id + 1;
+        // Published last, so a thread that finds the id can also look it up
+        ids.put(value, id);
+        return id;
+    }
+
+    /**
+     * Returns the id of a string without assigning one.
+     *
+     * @param value the string
+     * @return its id, or -1 if the string is null or not in the dictionary
+     */
+    public int idOf(String value) {
+        Integer id = value == null ? null : ids.get(value);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the canonical string with the given id.
+     *
+     * @param id the id
+     * @return the string
+     * @throws IndexOutOfBoundsException if no string has this id
+     */
+    public String lookup(int id) {
+        // Read size before values: a size that covers id guarantees an array that holds it
+        int count = size;
+        if (id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("Id " + id + " out of range for size " + count);
+        }
+        return values[id];
+    }
+
+    /**
+     * Returns the number of distinct strings in the dictionary.
+     *
+     * @return dictionary size
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -1,8 +1,36 @@
 package com.csc205.project2.shapes;
 
+/**
+ * Common queries of all three-dimensional shapes.
+ * <p>
+ * Geometric queries use the shape's local frame: the shape is centered on
+ * the origin of its bounding box, with heights along the z axis (the base
+ * of a cylinder or pyramid lies at {@code z = -height/2} and a pyramid's
+ * apex at {@code z = height/2}) and lengths and widths along the x and y
+ * axes. Points on the surface count as inside.
+ */
 public interface ThreeDimensionalShape {
 
     double getSurfaceArea();
     double getVolume();
 
+    /**
+     * Tests whether a point, in the shape's local frame, lies inside or on
+     * the shape.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return true if the point is inside the shape
+     */
+    boolean contains(double x, double y, double z);
+
+    /**
+     * Returns the smallest axis-aligned box that encloses the shape in its
+     * local frame.
+     *
+     * @return the bounding box, centered on the origin
+     */
+    BoundingBox getBoundingBox();
+
 }
@@ -0,0 +1,267 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Snapshot of a shape list grouped by concrete class, for computing volumes
+ * and surface areas with one loop per class.
+ * <p>
+ * A loop over a mixed {@code List<Shape3D>} calls {@code calculateVolume}
+ * and {@code calculateSurfaceArea} from a single call site inside
+ * {@link Shape3D}, which sees all five shape classes. HotSpot inlines a
+ * virtual call only when its site has seen at most two receiver classes,
+ * so in a mixed loop every shape pays a full virtual dispatch and the
+ * formulas are never optimized together with the loop. Here the shapes of
+ * each class are stored contiguously and read by a loop that casts them to
+ * that class; once {@link Shape3D#getVolume()} is inlined into such a loop
+ * the receiver class is known, so the formula is inlined as well.
+ * <p>
+ * Shapes are grouped by exact class: shapes of classes other than the
+ * five standard ones (including their subclasses) form a sixth group read
+ * through ordinary virtual calls. Results are written by original index,
+ * so callers that read them back in list order see the same values, in
+ * the same order, as a loop over the original list.
+ * <p>
+ * The snapshot fixes which shapes are included and their order; dimension
+ * changes made to the shapes afterwards are seen by later computations.
+ * This class is immutable; computing into separate arrays is thread-safe.
+ */
+public final class TypePartitionedShapes {
+
+    /**
+     * Number of consecutive shapes grouped together. Grouping within
+     * blocks rather than across the whole list keeps each block's shapes
+     * and results close together in memory, so the per-class loops touch
+     * the same cache lines as one pass in list order would.
+     */
+    public static final int BLOCK_SIZE = 4096;
+
+    /** Group of shapes not of one of the standard classes. */
+    private static final int OTHER = ShapeType.values().length;
+
+    /** Number of groups per block. */
+    private static final int GROUPS = OTHER + 1;
+
+    /** Original shapes, in list order. */
+    private final Shape3D[] shapes;
+
+    /**
+     * Shapes of each block grouped by class, in {@link ShapeType} order,
+     * then others.
+     */
+    private final Shape3D[] grouped;
+
+    /** Original index of each grouped shape. */
+    private final int[] order;
+
+    /**
+     * Start of each group of each block in {@link #grouped}: group g of
+     * block b starts at {@code groupStart[b * GROUPS + g]}. The last entry
+     * is the total size.
+     */
+    private final int[] groupStart;
+
+    /**
+     * Groups a list of shapes. Within each group, shapes keep their list
+     * order.
+     *
+     * @param shapes the shapes
+     * @throws IllegalArgumentException if shapes or a shape is null
+     */
+    public TypePartitionedShapes(List<? extends Shape3D> shapes) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Shape list cannot be null.");
+        }
+        this.shapes = shapes.toArray(new Shape3D[0]);
+        int size = this.shapes.length;
+        int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.grouped = new Shape3D[size];
+        this.order = new int[size];
+        this.groupStart = new int[blocks * GROUPS + 1];
+        byte[] groups = new byte[BLOCK_SIZE];
+        int[] next = new int[GROUPS];
+        for (int b = 0; b < blocks; b++) {
+            int from = b * BLOCK_SIZE;
+            int to = Math.min(size, from + BLOCK_SIZE);
+            Arrays.fill(next, 0);
+            for (int i = from; i < to; i++) {
+                if (this.shapes[i] == null) {
+                    throw new IllegalArgumentException("Shape cannot be null.");
+                }
+                groups[i - from] = (byte) group(this.shapes[i]);
+                next[groups[i - from]]++;
+            }
+            for (int g = 0, start = from; g < GROUPS; g++) {
+                groupStart[b * GROUPS + g] = start;
+                start += next[g];
+                next[g] = groupStart[b * GROUPS + g];
+            }
+            for (int i = from; i < to; i++) {
+                int position = next[groups[i - from]]++;
+                grouped[position] = this.shapes[i];
+                order[position] = i;
+            }
+        }
+        groupStart[blocks * GROUPS] = size;
+    }
+
+    private static int group(Shape3D shape) {
+        Class<?> type = shape.getClass();
+        if (type == Sphere.class) {
+            return ShapeType.SPHERE.ordinal();
+        }
+        if (type == Cube.class) {
+            return ShapeType.CUBE.ordinal();
+        }
+        if (type == Cylinder.class) {
+            return ShapeType.CYLINDER.ordinal();
+        }
+        if (type == RectangularPrism.class) {
+            return ShapeType.RECTANGULAR_PRISM.ordinal();
+        }
+        if (type == RectangularPyramid.class) {
+            return ShapeType.RECTANGULAR_PYRAMID.ordinal();
+        }
+        return OTHER;
+    }
+
+    /**
+     * Returns the number of shapes.
+     *
+     * @return shape count
+     */
+    public int size() {
+        return shapes.length;
+    }
+
+    /**
+     * Returns the shapes in their original order.
+     *
+     * @return unmodifiable list of the shapes
+     */
+    public List<Shape3D> getShapes() {
+        return Collections.unmodifiableList(Arrays.asList(shapes));
+    }
+
+    /**
+     * Returns the number of shapes of exactly the standard class of a type.
+     *
+     * @param type the shape type
+     * @return number of shapes in the type's groups
+     */
+    public int count(ShapeType type) {
+        int count = 0;
+        for (int b = 0; b + 1 < groupStart.length; b += GROUPS) {
+            count += groupStart[b + type.ordinal() + 1] - groupStart[b + type.ordinal()];
+        }
+        return count;
+    }
+
+    /**
+     * Computes the volume and surface area of every shape, indexed by its
+     * position in the original list.
+     *
+     * @param volumes      destination for volumes, with room for {@link #size()} values
+     * @param surfaceAreas destination for surface areas, with room for {@link #size()} values
+     * @throws IllegalArgumentException if an array is null or too short
+     */
+    public void computeMetrics(double[] volumes, double[] surfaceAreas) {
+        computeMetrics(0, shapes.length, volumes, surfaceAreas);
+    }
+
+    /**
+     * Computes the volume and surface area of the shapes at positions
+     * {@code [from, to)} of the original list, indexed by those positions.
+     * Both bounds must be multiples of {@link #BLOCK_SIZE} or the list
+     * size. Disjoint ranges can be computed by different threads.
+     *
+     * @param from         first position, inclusive
+     * @param to           last position, exclusive
+     * @param volumes      destination for volumes, with room for {@link #size()} values
+     * @param surfaceAreas destination for surface areas, with room for {@link #size()} values
+     * @throws IllegalArgumentException if the range is invalid or not on
+     *                                  block boundaries, or an array is null or too short
+     */
+    public void computeMetrics(int from, int to, double[] volumes, double[] surfaceAreas) {
+        int size = shapes.length;
+        if (from < 0 || to > size || from > to) {
+            throw new IllegalArgumentException("Range must satisfy 0 <= from <= to <= size.");
+        }
+        if ((from % BLOCK_SIZE != 0 && from != size) || (to % BLOCK_SIZE != 0 && to != size)) {
+            throw new IllegalArgumentException("Range must start and end on block boundaries.");
+        }
+        if (volumes == null || surfaceAreas == null) {
+            throw new IllegalArgumentException("Output arrays cannot be null.");
+        }
+        if (volumes.length < size || surfaceAreas.length < size) {
+            throw new IllegalArgumentException("Output arrays must have room for " + size + " values.");
+        }
+        int last = (to + BLOCK_SIZE - 1) / BLOCK_SIZE * GROUPS;
+        for (int g = from / BLOCK_SIZE * GROUPS; g < last; g++) {
+            int start = groupStart[g];
+            int end = groupStart[g + 1];
+            if (start == end) {
+                continue;
+            }
+            // One loop per class, so each call site sees a single receiver class
+            switch (g % GROUPS) {
+                case 0 -> spheres(start, end, volumes, surfaceAreas);
+                case 1 -> cubes(start, end, volumes, surfaceAreas);
+                case 2 -> cylinders(start, end, volumes, surfaceAreas);
+                case 3 -> prisms(start, end, volumes, surfaceAreas);
+                case 4 -> pyramids(start, end, volumes, surfaceAreas);
+                default -> others(start, end, volumes, surfaceAreas);
+            }
+        }
+    }
+
+    private void spheres(int from, int to, double[] volumes, double[] surfaceAreas) {
+        for (int p = from; p < to; p++) {
+            Sphere shape = (Sphere) grouped[p];
+            volumes[order[p]] = shape.getVolume();
+            surfaceAreas[order[p]] = shape.getSurfaceArea();
+        }
+    }
+
+    private void cubes(int from, int to, double[] volumes, double[] surfaceAreas) {
+        for (int p = from; p < to; p++) {
+            Cube shape = (Cube) grouped[p];
+            volumes[order[p]] = shape.getVolume();
+            surfaceAreas[order[p]] = shape.getSurfaceArea();
+        }
+    }
+
+    private void cylinders(int from, int to, double[] volumes, double[] surfaceAreas) {
+        for (int p = from; p < to; p++) {
+            Cylinder shape = (Cylinder) grouped[p];
+            volumes[order[p]] = shape.getVolume();
+            surfaceAreas[order[p]] = shape.getSurfaceArea();
+        }
+    }
+
+    private void prisms(int from, int to, double[] volumes, double[] surfaceAreas) {
+        for (int p = from; p < to; p++) {
+            RectangularPrism shape = (RectangularPrism) grouped[p];
+            volumes[order[p]] = shape.getVolume();
+            surfaceAreas[order[p]] = shape.getSurfaceArea();
+        }
+    }
+
+    private void pyramids(int from, int to, double[] volumes, double[] surfaceAreas) {
+        for (int p = from; p < to; p++) {
+            RectangularPyramid shape = (RectangularPyramid) grouped[p];
+            volumes[order[p]] = shape.getVolume();
+            surfaceAreas[order[p]] = shape.getSurfaceArea();
+        }
+    }
+
+    private void others(int from, int to, double[] volumes, double[] surfaceAreas) {
+        for (int p = from; p < to; p++) {
+            Shape3D shape = grouped[p];
+            volumes[order[p]] = shape.getVolume();
+            surfaceAreas[order[p]] = shape.getSurfaceArea();
+        }
+    }
+}
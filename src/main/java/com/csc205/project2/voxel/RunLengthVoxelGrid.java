@@ -0,0 +1,203 @@
+package com.csc205.project2.voxel;
+
+import java.util.Arrays;
+
+/**
+ * Immutable run-length encoded voxel grid.
+ * <p>
+ * Each row of voxels along x is stored as its runs of occupied voxels, so
+ * a convex shape takes at most one run, eight bytes, per row instead of
+ * {@code ceil(sizeX / 64)} words. Runs of all rows share one {@code int[]}
+ * of start and end pairs, and a per-row offset array locates a row's runs.
+ * Reading a voxel binary-searches its row. The grid has the same geometry
+ * as the {@link VoxelGrid} it was made from and can be expanded back to
+ * one with {@link #toGrid()}.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class RunLengthVoxelGrid {
+
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+
+    private final double originX;
+    private final double originY;
+    private final double originZ;
+
+    private final double voxelSize;
+
+    /** Runs of row {@code r} are pairs {@code rowStarts[r]} to {@code rowStarts[r + 1]} of {@link #runs}. */
+    private final int[] rowStarts;
+
+    /** First voxel and end (exclusive) of each run, in row order. */
+    private final int[] runs;
+
+    private RunLengthVoxelGrid(VoxelGrid grid, int[] rowStarts, int[] runs) {
+        this.sizeX = grid.getSizeX();
+        this.sizeY = grid.getSizeY();
+        this.sizeZ = grid.getSizeZ();
+        this.originX = grid.getOriginX();
+        this.originY = grid.getOriginY();
+        this.originZ = grid.getOriginZ();
+        this.voxelSize = grid.getVoxelSize();
+        this.rowStarts = rowStarts;
+        this.runs = runs;
+    }
+
+    /**
+     * Encodes a grid.
+     *
+     * @param grid the grid
+     * @return the encoded grid
+     * @throws IllegalArgumentException if grid is null
+     */
+    public static RunLengthVoxelGrid of(VoxelGrid grid) {
+        if (grid == null) {
+            throw new IllegalArgumentException("Voxel grid cannot be null.");
+        }
+        int sizeX = grid.getSizeX();
+        int rows = grid.getSizeY() * grid.getSizeZ();
+        int[] rowStarts = new int[rows + 1];
+        int[] runs = new int[16];
+        int pairs = 0;
+        for (int z = 0, row = 0; z < grid.getSizeZ(); z++) {
+            for (int y = 0; y < grid.getSizeY(); y++, row++) {
+                rowStarts[row] = pairs;
+                for (int x = grid.nextSet(y, z, 0); x < sizeX; x = grid.nextSet(y, z, x)) {
+                    int end = grid.nextClear(y, z, x);
+                    if (2 * pairs + 2 > runs.length) {
+                        runs = Arrays.copyOf(runs, 2 * runs.length);
+                    }
+                    runs[2 * pairs] = x;
+                    runs[2 * pairs + 1] = end;
+                    pairs++;
+                    x = end;
+                }
+            }
+        }
+        rowStarts[rows] = pairs;
+        return new RunLengthVoxelGrid(grid, rowStarts, Arrays.copyOf(runs, 2 * pairs));
+    }
+
+    /**
+     * Returns the number of voxels along x.
+     *
+     * @return the x size
+     */
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    /**
+     * Returns the number of voxels along y.
+     *
+     * @return the y size
+     */
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    /**
+     * Returns the number of voxels along z.
+     *
+     * @return the z size
+     */
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    /**
+     * Returns the edge length of each voxel.
+     *
+     * @return the voxel size
+     */
+    public double getVoxelSize() {
+        return voxelSize;
+    }
+
+    /**
+     * Returns the number of runs of occupied voxels.
+     *
+     * @return run count
+     */
+    public int getRunCount() {
+        return rowStarts[rowStarts.length - 1];
+    }
+
+    /**
+     * Tests whether a voxel is occupied.
+     *
+     * @param x voxel index along x
+     * @param y voxel index along y
+     * @param z voxel index along z
+     * @return true if the voxel is occupied
+     * @throws IndexOutOfBoundsException if an index is out of range
+     */
+    public boolean get(int x, int y, int z) {
+        if (x < 0 || x >= sizeX || y < 0 || y >= sizeY || z < 0 || z >= sizeZ) {
+            throw new IndexOutOfBoundsException("Voxel (" + x + ", " + y + ", " + z + ") is out of range.");
+        }
+        int row = z * sizeY + y;
+        // Last run of the row that starts at or before x
+        int lo = rowStarts[row];
+        int hi = rowStarts[row + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (runs[2 * mid] <= x) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi >= rowStarts[row] && x < runs[2 * hi + 1];
+    }
+
+    /**
+     * Returns the number of occupied voxels.
+     *
+     * @return occupied voxel count
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < runs.length; i += 2) {
+            count += runs[i + 1] - runs[i];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the volume of the occupied voxels.
+     *
+     * @return occupied voxel count times the volume of one voxel
+     */
+    public double estimateVolume() {
+        return count() * (voxelSize * voxelSize * voxelSize);
+    }
+
+    /**
+     * Expands this grid back into a bitset grid.
+     *
+     * @return the equivalent {@link VoxelGrid}
+     */
+    public VoxelGrid toGrid() {
+        VoxelGrid grid = new VoxelGrid(sizeX, sizeY, sizeZ, originX, originY, originZ, voxelSize);
+        for (int z = 0, row = 0; z < sizeZ; z++) {
+            for (int y = 0; y < sizeY; y++, row++) {
+                for (int run = rowStarts[row]; run < rowStarts[row + 1]; run++) {
+                    grid.fillRow(y, z, runs[2 * run], runs[2 * run + 1]);
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Returns an estimate of the heap used by this grid's arrays.
+     *
+     * @return estimated size in bytes
+     */
+    public long estimatedSizeInBytes() {
+        return 16 + (long) rowStarts.length * Integer.BYTES + 16 + (long) runs.length * Integer.BYTES;
+    }
+}
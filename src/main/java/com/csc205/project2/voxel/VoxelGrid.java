@@ -0,0 +1,289 @@
+package com.csc205.project2.voxel;
+
+/**
+ * Occupancy grid of cubic voxels stored as a bitset in a {@code long[]}.
+ * <p>
+ * Voxel {@code (x, y, z)} covers the cube whose minimum corner is
+ * {@code origin + (x, y, z) * voxelSize}. Each row of voxels along x
+ * starts on a fresh word, so a row occupies {@code ceil(sizeX / 64)}
+ * consecutive words and rows are laid out y-major within z slices. A span
+ * of a row is filled with whole-word writes by
+ * {@link #fillRow(int, int, int, int)}, and because no word is shared
+ * between rows, different threads may write different rows at the same
+ * time. Other concurrent access must be synchronized externally.
+ * <p>
+ * A 1024³ grid needs 128 MiB. Grids whose occupied voxels form few runs
+ * along x can be stored far more compactly with {@link #compress()}.
+ */
+public final class VoxelGrid {
+
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+
+    private final double originX;
+    private final double originY;
+    private final double originZ;
+
+    private final double voxelSize;
+
+    /** Number of words per row along x. */
+    private final int wordsPerRow;
+
+    private final long[] words;
+
+    /**
+     * Constructs an empty grid.
+     *
+     * @param sizeX     number of voxels along x
+     * @param sizeY     number of voxels along y
+     * @param sizeZ     number of voxels along z
+     * @param originX   x coordinate of the grid's minimum corner
+     * @param originY   y coordinate of the grid's minimum corner
+     * @param originZ   z coordinate of the grid's minimum corner
+     * @param voxelSize edge length of each voxel
+     * @throws IllegalArgumentException if a size or voxelSize is not
+     *                                  positive, an origin coordinate is not
+     *                                  finite, or the grid is too large for one array
+     */
+    public VoxelGrid(int sizeX, int sizeY, int sizeZ, double originX, double originY, double originZ,
+                     double voxelSize) {
+        if (sizeX <= 0 || sizeY <= 0 || sizeZ <= 0) {
+            throw new IllegalArgumentException("Grid sizes must be greater than zero.");
+        }
+        if (!(voxelSize > 0) || Double.isInfinite(voxelSize)) {
+            throw new IllegalArgumentException("Voxel size must be greater than zero.");
+        }
+        if (!Double.isFinite(originX) || !Double.isFinite(originY) || !Double.isFinite(originZ)) {
+            throw new IllegalArgumentException("Grid origin must be finite.");
+        }
+        int wordsPerRow = (sizeX + 63) >>> 6;
+        long wordCount = (long) wordsPerRow * sizeY * sizeZ;
+        if (wordCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Grid of " + sizeX + " x " + sizeY + " x " + sizeZ
+                    + " voxels is too large.");
+        }
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        this.voxelSize = voxelSize;
+        this.wordsPerRow = wordsPerRow;
+        this.words = new long[(int) wordCount];
+    }
+
+    /**
+     * Returns the number of voxels along x.
+     *
+     * @return the x size
+     */
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    /**
+     * Returns the number of voxels along y.
+     *
+     * @return the y size
+     */
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    /**
+     * Returns the number of voxels along z.
+     *
+     * @return the z size
+     */
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    /**
+     * Returns the x coordinate of the grid's minimum corner.
+     *
+     * @return the origin's x coordinate
+     */
+    public double getOriginX() {
+        return originX;
+    }
+
+    /**
+     * Returns the y coordinate of the grid's minimum corner.
+     *
+     * @return the origin's y coordinate
+     */
+    public double getOriginY() {
+        return originY;
+    }
+
+    /**
+     * Returns the z coordinate of the grid's minimum corner.
+     *
+     * @return the origin's z coordinate
+     */
+    public double getOriginZ() {
+        return originZ;
+    }
+
+    /**
+     * Returns the edge length of each voxel.
+     *
+     * @return the voxel size
+     */
+    public double getVoxelSize() {
+        return voxelSize;
+    }
+
+    /**
+     * Tests whether a voxel is occupied.
+     *
+     * @param x voxel index along x
+     * @param y voxel index along y
+     * @param z voxel index along z
+     * @return true if the voxel is occupied
+     * @throws IndexOutOfBoundsException if an index is out of range
+     */
+    public boolean get(int x, int y, int z) {
+        int base = rowBase(y, z);
+        checkX(x);
+        return (words[base + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    /**
+     * Marks a voxel occupied.
+     *
+     * @param x voxel index along x
+     * @param y voxel index along y
+     * @param z voxel index along z
+     * @throws IndexOutOfBoundsException if an index is out of range
+     */
+    public void set(int x, int y, int z) {
+        int base = rowBase(y, z);
+        checkX(x);
+        words[base + (x >>> 6)] |= 1L << x;
+    }
+
+    /**
+     * Marks the voxels {@code [fromX, toX)} of a row occupied.
+     *
+     * @param y     voxel index along y
+     * @param z     voxel index along z
+     * @param fromX first voxel along x, inclusive
+     * @param toX   last voxel along x, exclusive
+     * @throws IndexOutOfBoundsException if an index is out of range or
+     *                                   fromX exceeds toX
+     */
+    public void fillRow(int y, int z, int fromX, int toX) {
+        int base = rowBase(y, z);
+        if (fromX < 0 || toX > sizeX || fromX > toX) {
+            throw new IndexOutOfBoundsException("Row span [" + fromX + ", " + toX + ") is out of range.");
+        }
+        if (fromX == toX) {
+            return;
+        }
+        int first = base + (fromX >>> 6);
+        int last = base + ((toX - 1) >>> 6);
+        long firstMask = -1L << fromX;
+        long lastMask = -1L >>> -toX;
+        if (first == last) {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+        words[first] |= firstMask;
+        for (int w = first + 1; w < last; w++) {
+            words[w] = -1L;
+        }
+        words[last] |= lastMask;
+    }
+
+    /**
+     * Returns the number of occupied voxels.
+     *
+     * @return occupied voxel count
+     */
+    public long count() {
+        long count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the volume of the occupied voxels, an estimate of the volume
+     * of whatever was voxelized into the grid.
+     *
+     * @return occupied voxel count times the volume of one voxel
+     */
+    public double estimateVolume() {
+        return count() * (voxelSize * voxelSize * voxelSize);
+    }
+
+    /**
+     * Returns a run-length encoded copy of this grid.
+     *
+     * @return the compressed grid
+     */
+    public RunLengthVoxelGrid compress() {
+        return RunLengthVoxelGrid.of(this);
+    }
+
+    /**
+     * Returns the size of the grid's bitset in bytes.
+     *
+     * @return size in bytes
+     */
+    public long estimatedSizeInBytes() {
+        return 16 + (long) words.length * Long.BYTES;
+    }
+
+    /**
+     * Returns the first occupied voxel of a row at or after {@code x}.
+     *
+     * @return the voxel index, or {@code sizeX} if there is none
+     */
+    int nextSet(int y, int z, int x) {
+        return next(rowBase(y, z), x, 0);
+    }
+
+    /**
+     * Returns the first empty voxel of a row at or after {@code x}.
+     *
+     * @return the voxel index, or {@code sizeX} if there is none
+     */
+    int nextClear(int y, int z, int x) {
+        return next(rowBase(y, z), x, -1L);
+    }
+
+    /** Scans a row for the first bit at or after x that differs from the given word pattern. */
+    private int next(int base, int x, long pattern) {
+        if (x >= sizeX) {
+            return sizeX;
+        }
+        int w = x >>> 6;
+        long word = (words[base + w] ^ pattern) & (-1L << x);
+        while (word == 0) {
+            if (++w == wordsPerRow) {
+                return sizeX;
+            }
+            word = words[base + w] ^ pattern;
+        }
+        return Math.min(sizeX, (w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    private int rowBase(int y, int z) {
+        if (y < 0 || y >= sizeY || z < 0 || z >= sizeZ) {
+            throw new IndexOutOfBoundsException("Row (" + y + ", " + z + ") is out of range.");
+        }
+        return (z * sizeY + y) * wordsPerRow;
+    }
+
+    private void checkX(int x) {
+        if (x < 0 || x >= sizeX) {
+            throw new IndexOutOfBoundsException("Voxel index " + x + " is out of range.");
+        }
+    }
+}
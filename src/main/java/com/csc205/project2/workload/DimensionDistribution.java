@@ -0,0 +1,221 @@
+package com.csc205.project2.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribution of shape dimensions drawn by a {@link WorkloadGenerator}.
+ * <p>
+ * Every implementation is listed in the {@code permits} clause and draws
+ * a deterministic sequence of values from the random generator it is
+ * given, so a workload is fully determined by its seed. All values are
+ * positive.
+ */
+public sealed interface DimensionDistribution
+        permits DimensionDistribution.Uniform, DimensionDistribution.LogNormal, DimensionDistribution.Zipf {
+
+    /**
+     * Draws one dimension.
+     *
+     * @param random source of randomness
+     * @return a positive dimension
+     */
+    double sample(SplittableRandom random);
+
+    /**
+     * Returns a uniform distribution over {@code [min, max)}.
+     *
+     * @param min smallest value, greater than zero
+     * @param max upper bound, greater than min
+     * @return the distribution
+     * @throws IllegalArgumentException if the bounds are invalid
+     */
+    static DimensionDistribution uniform(double min, double max) {
+        return new Uniform(min, max);
+    }
+
+    /**
+     * Returns a log-normal distribution: {@code median * exp(sigma * Z)}
+     * for a standard normal Z.
+     *
+     * @param median median value, greater than zero
+     * @param sigma  standard deviation of the logarithm, at least zero
+     * @return the distribution
+     * @throws IllegalArgumentException if median or sigma is invalid
+     */
+    static DimensionDistribution logNormal(double median, double sigma) {
+        return new LogNormal(median, sigma);
+    }
+
+    /**
+     * Returns a Zipf-skewed distribution over {@code values} evenly spaced
+     * values from {@code min} to {@code max}: the value of rank k (1 for
+     * min) is drawn with probability proportional to
+     * {@code 1 / k^exponent}, so a few small values dominate.
+     *
+     * @param values   number of distinct values, at least 1
+     * @param exponent skew, greater than zero
+     * @param min      most frequent value, greater than zero
+     * @param max      least frequent value, at least min
+     * @return the distribution
+     * @throws IllegalArgumentException if a parameter is invalid
+     */
+    static DimensionDistribution zipf(long values, double exponent, double min, double max) {
+        return new Zipf(values, exponent, min, max);
+    }
+
+    /**
+     * Uniform distribution over {@code [min, max)}.
+     *
+     * @param min smallest value
+     * @param max upper bound
+     */
+    record Uniform(double min, double max) implements DimensionDistribution {
+
+        /**
+         * Validates the bounds.
+         *
+         * @throws IllegalArgumentException if min is not positive or max is not greater than min
+         */
+        public Uniform {
+            if (!(min > 0) || !(max > min) || Double.isInfinite(max)) {
+                throw new IllegalArgumentException("Range must satisfy 0 < min < max.");
+            }
+        }
+
+        @Override
+        public double sample(SplittableRandom random) {
+            return random.nextDouble(min, max);
+        }
+    }
+
+    /**
+     * Log-normal distribution with the given median.
+     *
+     * @param median median value
+     * @param sigma  standard deviation of the logarithm
+     */
+    record LogNormal(double median, double sigma) implements DimensionDistribution {
+
+        /**
+         * Validates the parameters.
+         *
+         * @throws IllegalArgumentException if median is not positive or sigma is negative
+         */
+        public LogNormal {
+            if (!(median > 0) || Double.isInfinite(median)) {
+                throw new IllegalArgumentException("Median must be greater than zero.");
+            }
+            if (!(sigma >= 0) || Double.isInfinite(sigma)) {
+                throw new IllegalArgumentException("Sigma cannot be negative.");
+            }
+        }
+
+        @Override
+        public double sample(SplittableRandom random) {
+            return median * Math.exp(sigma * random.nextGaussian());
+        }
+    }
+
+    /**
+     * Zipf distribution over evenly spaced values, sampled by
+     * rejection-inversion (Hörmann and Derflinger, 1996) in constant time
+     * and memory for any number of values.
+     */
+    final class Zipf implements DimensionDistribution {
+
+        private final long values;
+
+        private final double exponent;
+
+        private final double min;
+
+        private final double max;
+
+        /** Precomputed bounds of the inversion, fixed by values and exponent. */
+        private final double hIntegralX1;
+
+        private final double hIntegralN;
+
+        private final double s;
+
+        /**
+         * Constructs the distribution.
+         *
+         * @param values   number of distinct values
+         * @param exponent skew
+         * @param min      value of rank 1
+         * @param max      value of the last rank
+         * @throws IllegalArgumentException if a parameter is out of range
+         */
+        public Zipf(long values, double exponent, double min, double max) {
+            if (values < 1) {
+                throw new IllegalArgumentException("Value count must be greater than zero.");
+            }
+            if (!(exponent > 0) || Double.isInfinite(exponent)) {
+                throw new IllegalArgumentException("Exponent must be greater than zero.");
+            }
+            if (!(min > 0) || !(max >= min) || Double.isInfinite(max)) {
+                throw new IllegalArgumentException("Range must satisfy 0 < min <= max.");
+            }
+            this.values = values;
+            this.exponent = exponent;
+            this.min = min;
+            this.max = max;
+            this.hIntegralX1 = hIntegral(1.5) - 1;
+            this.hIntegralN = hIntegral(values + 0.5);
+            this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+        }
+
+        @Override
+        public double sample(SplittableRandom random) {
+            long rank = sampleRank(random);
+            return values == 1 ? min : min + (max - min) * (rank - 1) / (values - 1);
+        }
+
+        /**
+         * Draws a rank from 1 to the number of values.
+         *
+         * @param random source of randomness
+         * @return the rank
+         */
+        public long sampleRank(SplittableRandom random) {
+            while (true) {
+                double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                long k = Math.max(1, Math.min(values, (long) (x + 0.5)));
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                    return k;
+                }
+            }
+        }
+
+        /** {@code x^-exponent}. */
+        private double h(double x) {
+            return Math.exp(-exponent * Math.log(x));
+        }
+
+        /** Antiderivative of h, written so it stays continuous at exponent 1. */
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return expm1OverX((1 - exponent) * logX) * logX;
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = Math.max(-1, x * (1 - exponent));
+            return Math.exp(log1pOverX(t) * x);
+        }
+
+        private static double expm1OverX(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+        }
+
+        private static double log1pOverX(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+        }
+
+        @Override
+        public String toString() {
+            return "Zipf[values=" + values + ", exponent=" + exponent + ", min=" + min + ", max=" + max + "]";
+        }
+    }
+}
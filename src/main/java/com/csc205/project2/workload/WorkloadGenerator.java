@@ -0,0 +1,338 @@
+package com.csc205.project2.workload;
+
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeStore;
+import com.csc205.project2.shapes.ShapeType;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reproducible generator of synthetic shape workloads of any size.
+ * <p>
+ * A workload is described by a seed, a type mix (relative weight of each
+ * {@link ShapeType}), a {@link DimensionDistribution} and the number of
+ * distinct names and colors. The shapes are cut into blocks of
+ * {@link #BLOCK_SIZE}, and block {@code b} is drawn from its own
+ * {@link SplittableRandom} whose seed is a hash of the workload seed and
+ * {@code b}. Any block can therefore be generated on its own, on any
+ * thread and in any order, and shape {@code i} of a workload is the same
+ * whether it is produced sequentially, by a parallel stream or block by
+ * block.
+ * <p>
+ * Shapes are produced either as {@link Shape3D} objects by
+ * {@link #shapes(long)}, or appended to a {@link ShapeStore} by
+ * {@link #generateBlock(long, int, ShapeStore)} and {@link #batches(long)}.
+ * Names and colors come from pools built once by the constructor, so
+ * filling a store allocates nothing per shape and a workload of billions
+ * of shapes needs memory only for the batches in use.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public class WorkloadGenerator {
+
+    /** Number of shapes drawn from each per-block random generator. */
+    public static final int BLOCK_SIZE = 4096;
+
+    /** Golden-ratio increment of {@link SplittableRandom}, spacing block seeds. */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final ShapeType[] TYPES = ShapeType.values();
+
+    private final long seed;
+
+    /** Cumulative probability of each type, indexed by ordinal; the last is 1. */
+    private final double[] cumulativeMix = new double[TYPES.length];
+
+    private final DimensionDistribution dimensions;
+
+    private final String[] names;
+
+    private final String[] colors;
+
+    /**
+     * Constructs a generator with an equal type mix, dimensions uniform
+     * over [1, 10), 1000 names and 8 colors.
+     *
+     * @param seed the workload seed
+     */
+    public WorkloadGenerator(long seed) {
+        this(seed, equalMix(), DimensionDistribution.uniform(1.0, 10.0), 1000, 8);
+    }
+
+    /**
+     * Constructs a generator.
+     *
+     * @param seed       the workload seed
+     * @param typeMix    relative weight of each shape type; missing types
+     *                   are never generated
+     * @param dimensions distribution of every dimension
+     * @param nameCount  number of distinct names
+     * @param colorCount number of distinct colors
+     * @throws IllegalArgumentException if typeMix or dimensions is null, a
+     *                                  weight is negative or not finite, no
+     *                                  weight is positive, or a count is not positive
+     */
+    public WorkloadGenerator(long seed, Map<ShapeType, Double> typeMix, DimensionDistribution dimensions,
+                             int nameCount, int colorCount) {
+        if (typeMix == null) {
+            throw new IllegalArgumentException("Type mix cannot be null.");
+        }
+        if (dimensions == null) {
+            throw new IllegalArgumentException("Dimension distribution cannot be null.");
+        }
+        if (nameCount <= 0) {
+            throw new IllegalArgumentException("Name count must be greater than zero.");
+        }
+        if (colorCount <= 0) {
+            throw new IllegalArgumentException("Color count must be greater than zero.");
+        }
+        double total = 0;
+        for (Map.Entry<ShapeType, Double> entry : typeMix.entrySet()) {
+            Double weight = entry.getValue();
+            if (entry.getKey() == null) {
+                throw new IllegalArgumentException("Shape type cannot be null.");
+            }
+            if (weight == null || !(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Type weights must be finite and non-negative.");
+            }
+            total += weight;
+        }
+        if (!(total > 0)) {
+            throw new IllegalArgumentException("At least one type weight must be greater than zero.");
+        }
+        double cumulative = 0;
+        int last = 0;
+        for (ShapeType type : TYPES) {
+            double weight = typeMix.getOrDefault(type, 0.0);
+            cumulative += weight / total;
+            cumulativeMix[type.ordinal()] = cumulative;
+            if (weight > 0) {
+                last = type.ordinal();
+            }
+        }
+        // Rounding must never let a draw fall past the last weighted type
+        for (int i = last; i < TYPES.length; i++) {
+            cumulativeMix[i] = 1.0;
+        }
+        this.seed = seed;
+        this.dimensions = dimensions;
+        this.names = pool("Shape ", nameCount);
+        this.colors = pool("Color ", colorCount);
+    }
+
+    /**
+     * Returns a stream of the first {@code count} shapes of the workload, in
+     * order. The stream splits at block boundaries, so it can be made
+     * parallel without changing its contents.
+     *
+     * @param count number of shapes
+     * @return the shapes
+     * @throws IllegalArgumentException if count is negative
+     */
+    public Stream<Shape3D> shapes(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative.");
+        }
+        return StreamSupport.stream(new ShapeSpliterator(0, count), false);
+    }
+
+    /**
+     * Returns a stream of the first {@code count} shapes of the workload in
+     * double-precision stores of up to {@link #BLOCK_SIZE} shapes, one per
+     * block, in order.
+     *
+     * @param count number of shapes
+     * @return the batches
+     * @throws IllegalArgumentException if count is negative
+     */
+    public Stream<ShapeStore> batches(long count) {
+        return batches(count, ShapeStore.Precision.DOUBLE);
+    }
+
+    /**
+     * Returns a stream of the first {@code count} shapes of the workload in
+     * stores of up to {@link #BLOCK_SIZE} shapes, one per block, in order.
+     * Each store is allocated once and filled without per-shape
+     * allocation.
+     *
+     * @param count     number of shapes
+     * @param precision precision of the stores
+     * @return the batches
+     * @throws IllegalArgumentException if count is negative or precision is null
+     */
+    public Stream<ShapeStore> batches(long count, ShapeStore.Precision precision) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative.");
+        }
+        if (precision == null) {
+            throw new IllegalArgumentException("Precision cannot be null.");
+        }
+        long blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        return LongStream.range(0, blocks).mapToObj(block -> {
+            int size = (int) Math.min(BLOCK_SIZE, count - block * BLOCK_SIZE);
+            ShapeStore store = new ShapeStore(size, precision);
+            generateBlock(block, size, store);
+            return store;
+        });
+    }
+
+    /**
+     * Appends the first {@code count} shapes of a block to a store. Shape
+     * {@code i} of the block is shape {@code block * BLOCK_SIZE + i} of the
+     * workload. Allocates nothing per shape beyond the store's own growth.
+     *
+     * @param block the block number
+     * @param count number of shapes, at most {@link #BLOCK_SIZE}
+     * @param into  the store to append to
+     * @throws IllegalArgumentException if block is negative, count is out of
+     *                                  range, or into is null
+     */
+    public void generateBlock(long block, int count, ShapeStore into) {
+        if (block < 0) {
+            throw new IllegalArgumentException("Block cannot be negative.");
+        }
+        if (count < 0 || count > BLOCK_SIZE) {
+            throw new IllegalArgumentException("Count must be between 0 and " + BLOCK_SIZE + ".");
+        }
+        if (into == null) {
+            throw new IllegalArgumentException("Store cannot be null.");
+        }
+        SplittableRandom random = blockRandom(block);
+        for (int i = 0; i < count; i++) {
+            ShapeType type = nextType(random);
+            int dimensionCount = type.getDimensionCount();
+            double d0 = dimensions.sample(random);
+            double d1 = dimensionCount > 1 ? dimensions.sample(random) : 0;
+            double d2 = dimensionCount > 2 ? dimensions.sample(random) : 0;
+            into.add(type, d0, d1, d2, names[random.nextInt(names.length)], colors[random.nextInt(colors.length)]);
+        }
+    }
+
+    /**
+     * Returns the workload seed.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Draws the next shape as an object. Consumes exactly the random values
+     * that {@link #generateBlock} consumes for the same shape.
+     */
+    private Shape3D nextShape(SplittableRandom random) {
+        ShapeType type = nextType(random);
+        int dimensionCount = type.getDimensionCount();
+        double d0 = dimensions.sample(random);
+        double d1 = dimensionCount > 1 ? dimensions.sample(random) : 0;
+        double d2 = dimensionCount > 2 ? dimensions.sample(random) : 0;
+        return type.create(d0, d1, d2, names[random.nextInt(names.length)], colors[random.nextInt(colors.length)]);
+    }
+
+    private ShapeType nextType(SplittableRandom random) {
+        double u = random.nextDouble();
+        int i = 0;
+        while (u >= cumulativeMix[i]) {
+            i++;
+        }
+        return TYPES[i];
+    }
+
+    /**
+     * Creates the random generator of a block. Block seeds are spaced like
+     * the gammas of {@link SplittableRandom} and then mixed, so neighbouring
+     * blocks get unrelated streams rather than shifted copies of one stream.
+     */
+    private SplittableRandom blockRandom(long block) {
+        return new SplittableRandom(mix64(seed + (block + 1) * GOLDEN_GAMMA));
+    }
+
+    /** The 64-bit finalizer of MurmurHash3, as used by SplittableRandom. */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static String[] pool(String prefix, int count) {
+        String[] pool = new String[count];
+        for (int i = 0; i < count; i++) {
+            pool[i] = prefix + i;
+        }
+        return pool;
+    }
+
+    private static Map<ShapeType, Double> equalMix() {
+        Map<ShapeType, Double> mix = new EnumMap<>(ShapeType.class);
+        for (ShapeType type : TYPES) {
+            mix.put(type, 1.0);
+        }
+        return mix;
+    }
+
+    /**
+     * Spliterator over shapes {@code [index, end)} of the workload. Ranges
+     * always start on a block boundary, so a split half begins with a fresh
+     * block generator and produces the same shapes it would have produced
+     * unsplit.
+     */
+    private final class ShapeSpliterator implements Spliterator<Shape3D> {
+
+        private long index;
+
+        private final long end;
+
+        private SplittableRandom random;
+
+        private ShapeSpliterator(long index, long end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Shape3D> action) {
+            if (index >= end) {
+                return false;
+            }
+            if (index % BLOCK_SIZE == 0) {
+                random = blockRandom(index / BLOCK_SIZE);
+            }
+            index++;
+            action.accept(nextShape(random));
+            return true;
+        }
+
+        @Override
+        public Spliterator<Shape3D> trySplit() {
+            // Only split ranges that have not started drawing from a block
+            if (index % BLOCK_SIZE != 0) {
+                return null;
+            }
+            long blocks = (end - index + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            if (blocks < 2) {
+                return null;
+            }
+            long mid = index + blocks / 2 * BLOCK_SIZE;
+            Spliterator<Shape3D> prefix = new ShapeSpliterator(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.csc205.project2;
+
+import com.csc205.project2.analysis.AnalysisEngine;
+import com.csc205.project2.analysis.AnalysisResult;
+import com.csc205.project2.shapes.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the analysis pass over collections of 10 to 10M shapes, with
+ * either a single shape type (monomorphic call sites) or all five types
+ * interleaved (megamorphic call sites), sequentially and in parallel.
+ * The {@code partitioned} benchmarks analyze a prebuilt
+ * {@link TypePartitionedShapes} view of the same list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AnalysisBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"MONOMORPHIC", "MEGAMORPHIC"})
+    public String mix;
+
+    private final AnalysisEngine engine = new AnalysisEngine();
+
+    private List<Shape3D> shapes;
+
+    private TypePartitionedShapes partitioned;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ShapeType[] types = ShapeType.values();
+        shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ShapeType type = mix.equals("MONOMORPHIC") ? ShapeType.SPHERE : types[i % types.length];
+            shapes.add(type.create(
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    "Shape " + (i % 100), "Red"));
+        }
+        partitioned = new TypePartitionedShapes(shapes);
+    }
+
+    @Benchmark
+    public AnalysisResult analyzeSequential() {
+        return engine.analyze(shapes);
+    }
+
+    @Benchmark
+    public AnalysisResult analyzeParallel() {
+        return engine.analyzeParallel(shapes);
+    }
+
+    @Benchmark
+    public AnalysisResult analyzePartitionedSequential() {
+        return engine.analyze(partitioned);
+    }
+
+    @Benchmark
+    public AnalysisResult analyzePartitionedParallel() {
+        return engine.analyzeParallel(partitioned);
+    }
+}
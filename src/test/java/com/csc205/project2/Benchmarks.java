@@ -0,0 +1,32 @@
+package com.csc205.project2;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the JMH benchmarks.
+ * <p>
+ * Runs every benchmark whose name matches the regular expression given as
+ * the first argument (all benchmarks by default) with the GC profiler
+ * attached, so allocation per operation ({@code gc.alloc.rate.norm}) is
+ * reported next to each score. From Maven:
+ * <pre>
+ * mvn -P benchmarks test-compile exec:exec -Djmh.include=ShapeBenchmark
+ * </pre>
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : ".*Benchmark.*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.*;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisEngineBasicFunctionalityTest {
+    @Test
+    void testLeadersAndSummaries() {
+        List<Shape3D> shapes = List.of(
+                new Sphere(5.0, "Red Ball", "Red"),
+                new Cube(4.0, "Blue Box", "Blue"),
+                new Cylinder(3.0, 7.0, "Green Can", "Green"));
+        AnalysisResult result = new AnalysisEngine().analyze(shapes);
+
+        assertEquals(3, result.count());
+        assertEquals("Red Ball", result.largestVolume().getName());
+        assertEquals("Red Ball", result.largestSurfaceArea().getName());
+        assertEquals("Red Ball", result.mostEfficient().getName());
+        assertEquals(64.0, result.volume().min(), 0.0001);
+        double total = shapes.get(0).getVolume() + 64.0 + shapes.get(2).getVolume();
+        assertEquals(total, result.volume().total(), 0.0001);
+        assertEquals(total / 3, result.volume().mean(), 0.0001);
+    }
+
+    @Test
+    void testFirstShapeWinsTies() {
+        List<Shape3D> shapes = List.of(new Cube(2.0, "First", "Red"), new Cube(2.0, "Second", "Red"));
+        AnalysisResult result = new AnalysisEngine().analyze(shapes);
+        assertEquals("First", result.largestVolume().getName());
+    }
+}
+
+class AnalysisEngineParallelTest {
+    @Test
+    void testParallelIdenticalToSequential() {
+        SplittableRandom random = new SplittableRandom(7);
+        ShapeType[] types = ShapeType.values();
+        List<Shape3D> shapes = new ArrayList<>();
+        for (int i = 0; i < 100_003; i++) {
+            shapes.add(types[random.nextInt(types.length)].create(
+                    random.nextDouble(0.1, 100), random.nextDouble(0.1, 100), random.nextDouble(0.1, 100),
+                    "Shape " + i, "Red"));
+        }
+        AnalysisEngine engine = new AnalysisEngine(new ForkJoinPool(4), 512);
+
+        AnalysisResult sequential = engine.analyze(shapes);
+        AnalysisResult parallel = engine.analyzeParallel(shapes);
+
+        assertEquals(sequential, parallel);
+        assertSame(sequential.largestVolume(), parallel.largestVolume());
+        assertEquals(sequential, engine.analyzeParallel(new LinkedList<>(shapes)));
+
+        TypePartitionedShapes partitioned = new TypePartitionedShapes(shapes);
+        assertEquals(sequential, engine.analyze(partitioned));
+        assertEquals(sequential, engine.analyzeParallel(partitioned));
+        assertSame(sequential.mostEfficient(), engine.analyzeParallel(partitioned).mostEfficient());
+    }
+}
+
+class AnalysisEngineInputValidationTest {
+    @Test
+    void testEmptyList() {
+        assertThrows(IllegalArgumentException.class, () -> new AnalysisEngine().analyze(List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AnalysisEngine().analyzeParallel(new TypePartitionedShapes(List.of())));
+    }
+
+    @Test
+    void testInvalidBlockSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AnalysisEngine(ForkJoinPool.commonPool(), 0));
+    }
+}
@@ -0,0 +1,41 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.*;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColorGroupingBasicFunctionalityTest {
+    private final List<Shape3D> shapes = List.of(
+            new Sphere(5.0, "Red Ball", "Red"),
+            new Cube(4.0, "Blue Box", "Blue"),
+            new Cylinder(3.0, 7.0, "Red Can", "Red"),
+            new RectangularPrism(2.0, 5.0, 6.0, "Blue Brick", " Blue "));
+
+    @Test
+    void testGroupByColor() {
+        Map<String, List<Shape3D>> groups = ColorGrouping.groupByColor(shapes);
+        assertEquals(2, groups.size());
+        assertEquals(List.of(shapes.get(0), shapes.get(2)), groups.get("Red"));
+        assertEquals(List.of(shapes.get(1), shapes.get(3)), groups.get("Blue"));
+
+        int[] counts = ColorGrouping.countByColorId(shapes);
+        assertEquals(2, counts[shapes.get(0).getColorId()]);
+        assertEquals(2, counts[shapes.get(1).getColorId()]);
+    }
+
+    @Test
+    void testFilterByColor() {
+        assertEquals(List.of(shapes.get(1), shapes.get(3)), ColorGrouping.filterByColor(shapes, "Blue "));
+        assertTrue(ColorGrouping.filterByColor(shapes, "Never Used Color").isEmpty());
+    }
+}
+
+class ColorGroupingInputValidationTest {
+    @Test
+    void testNullArguments() {
+        assertThrows(IllegalArgumentException.class, () -> ColorGrouping.groupByColor(null));
+        assertThrows(IllegalArgumentException.class, () -> ColorGrouping.filterByColor(List.of(), null));
+    }
+}
@@ -0,0 +1,183 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveStatisticsBasicFunctionalityTest {
+    @Test
+    void testAddRemoveAndResize() {
+        Sphere ball = new Sphere(5.0, "Red Ball", "Red");
+        Cube box = new Cube(4.0, "Blue Box", "Blue");
+        try (LiveStatistics statistics = new LiveStatistics(List.of(ball, box))) {
+            assertEquals(2, statistics.size());
+            assertSame(ball, statistics.current().largestVolume());
+
+            ball.setRadius(1.0);
+            assertSame(box, statistics.current().largestVolume());
+            assertEquals(ball.getVolume(), statistics.current().volume().min());
+
+            assertTrue(statistics.remove(box));
+            assertFalse(statistics.remove(box));
+            assertSame(ball, statistics.current().largestSurfaceArea());
+            assertEquals(1, statistics.current().count());
+
+            statistics.remove(ball);
+            assertNull(statistics.current());
+        }
+    }
+
+    @Test
+    void testTiesGoToEarliestAdded() {
+        Cube first = new Cube(2.0);
+        Cube second = new Cube(2.0);
+        try (LiveStatistics statistics = new LiveStatistics()) {
+            statistics.add(first);
+            statistics.add(second);
+            assertSame(first, statistics.current().largestVolume());
+            statistics.remove(first);
+            statistics.add(first);
+            assertSame(second, statistics.current().largestVolume());
+        }
+    }
+
+    @Test
+    void testCloseStopsFollowing() {
+        Cube cube = new Cube(2.0);
+        LiveStatistics statistics = new LiveStatistics(List.of(cube));
+        statistics.close();
+        cube.setSideLength(3.0);
+        assertEquals(8.0, statistics.current().volume().max(), 1e-9);
+    }
+}
+
+class LiveStatisticsRandomizedTest {
+    @Test
+    void testMatchesFullRecomputationUnderMutation() {
+        AnalysisEngine engine = new AnalysisEngine();
+        for (long seed = 0; seed < 5; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            List<Shape3D> shapes = new ArrayList<>();
+            try (LiveStatistics statistics = new LiveStatistics()) {
+                for (int step = 0; step < 3_000; step++) {
+                    int action = random.nextInt(10);
+                    if (shapes.isEmpty() || action < 3) {
+                        Shape3D shape = randomShape(random);
+                        shapes.add(shape);
+                        statistics.add(shape);
+                    } else if (action < 5) {
+                        Shape3D shape = shapes.remove(random.nextInt(shapes.size()));
+                        assertTrue(statistics.remove(shape));
+                    } else {
+                        resize(shapes.get(random.nextInt(shapes.size())), random);
+                    }
+
+                    if (shapes.isEmpty()) {
+                        assertNull(statistics.current());
+                    } else {
+                        assertMatches(engine.analyze(shapes), statistics.current());
+                    }
+                }
+            }
+        }
+    }
+
+    /** Small integer dimensions, so ties are frequent. */
+    private static Shape3D randomShape(SplittableRandom random) {
+        return switch (random.nextInt(5)) {
+            case 0 -> new Sphere(random.nextInt(1, 8));
+            case 1 -> new Cube(random.nextInt(1, 8));
+            case 2 -> new Cylinder(random.nextInt(1, 8), random.nextInt(1, 8));
+            case 3 -> new RectangularPrism(random.nextInt(1, 8), random.nextInt(1, 8), random.nextInt(1, 8));
+            default -> new RectangularPyramid(random.nextInt(1, 8), random.nextInt(1, 8), random.nextInt(1, 8));
+        };
+    }
+
+    private static void resize(Shape3D shape, SplittableRandom random) {
+        double value = random.nextInt(1, 8);
+        switch (shape) {
+            case Sphere s -> s.setRadius(value);
+            case Cube c -> c.setSideLength(value);
+            case Cylinder c -> {
+                if (random.nextBoolean()) {
+                    c.setRadius(value);
+                } else {
+                    c.setHeight(value);
+                }
+            }
+            case RectangularPrism p -> p.setWidth(value);
+            case RectangularPyramid p -> p.setHeight(value);
+            default -> fail("Unexpected shape " + shape);
+        }
+    }
+
+    private static void assertMatches(AnalysisResult expected, AnalysisResult actual) {
+        assertEquals(expected.count(), actual.count());
+        assertSame(expected.largestVolume(), actual.largestVolume());
+        assertSame(expected.largestSurfaceArea(), actual.largestSurfaceArea());
+        assertSame(expected.mostEfficient(), actual.mostEfficient());
+        assertMatches(expected.volume(), actual.volume());
+        assertMatches(expected.surfaceArea(), actual.surfaceArea());
+        assertMatches(expected.efficiency(), actual.efficiency());
+    }
+
+    private static void assertMatches(MetricSummary expected, MetricSummary actual) {
+        assertEquals(expected.min(), actual.min());
+        assertEquals(expected.max(), actual.max());
+        assertEquals(expected.count(), actual.count());
+        assertEquals(expected.total(), actual.total(), 1e-12 * expected.total());
+    }
+}
+
+class LiveStatisticsConcurrencyTest {
+    @Test
+    void testChangeDuringAddIsNotLost() throws Exception {
+        CountDownLatch changed = new CountDownLatch(1);
+        Thread[] resizer = new Thread[1];
+        // Resized by another thread after add has read the old volume
+        Cube cube = new Cube(2.0) {
+            @Override
+            public double getVolume() {
+                double volume = super.getVolume();
+                if (resizer[0] == null) {
+                    resizer[0] = Thread.ofPlatform().start(() -> setSideLength(3.0));
+                    try {
+                        changed.await();
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+                return volume;
+            }
+        };
+        // Registered first, so it runs before the statistics are notified
+        cube.addChangeListener(shape -> changed.countDown());
+        try (LiveStatistics statistics = new LiveStatistics()) {
+            statistics.add(cube);
+            resizer[0].join();
+            assertEquals(27.0, statistics.current().volume().max());
+            assertEquals(27.0, statistics.current().volume().total());
+            assertEquals(54.0, statistics.current().surfaceArea().max());
+        }
+    }
+}
+
+class LiveStatisticsInputValidationTest {
+    @Test
+    void testInvalidArguments() {
+        Cube cube = new Cube(1.0);
+        try (LiveStatistics statistics = new LiveStatistics(List.of(cube))) {
+            assertThrows(IllegalArgumentException.class, () -> statistics.add(null));
+            assertThrows(IllegalArgumentException.class, () -> statistics.add(cube));
+            assertFalse(statistics.remove(null));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new LiveStatistics(null));
+        LiveStatistics closed = new LiveStatistics();
+        closed.close();
+        assertThrows(IllegalStateException.class, () -> closed.add(new Cube(1.0)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares volume range queries on a {@link MetricIndex} with a linear
+ * scan that calls {@code getVolume()} on every shape, and measures the
+ * cost of re-keying a shape after a setter call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class MetricIndexBenchmark {
+
+    @Param({"100000", "10000000"})
+    public int size;
+
+    /** Fraction of the shapes selected by each range query. */
+    @Param({"0.0001", "0.01"})
+    public double selectivity;
+
+    private List<Shape3D> shapes;
+
+    private MetricIndex index;
+
+    private double min;
+
+    private double max;
+
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        ShapeType[] types = ShapeType.values();
+        shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(types[i % types.length].create(
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    "Shape " + (i % 100), "Red"));
+        }
+        index = MetricIndex.byVolume(shapes);
+        double[] volumes = shapes.stream().mapToDouble(Shape3D::getVolume).sorted().toArray();
+        int from = size / 2;
+        min = volumes[from];
+        max = volumes[Math.min(size - 1, from + (int) (size * selectivity))];
+    }
+
+    @TearDown
+    public void tearDown() {
+        index.close();
+    }
+
+    @Benchmark
+    public List<Shape3D> linearScan() {
+        List<Shape3D> result = new ArrayList<>();
+        for (Shape3D shape : shapes) {
+            double volume = shape.getVolume();
+            if (volume >= min && volume <= max) {
+                result.add(shape);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Shape3D> indexRange() {
+        return index.range(min, max);
+    }
+
+    @Benchmark
+    public int indexCount() {
+        return index.count(min, max);
+    }
+
+    @Benchmark
+    public void setterWithIndexUpdate() {
+        Shape3D shape = shapes.get(random.nextInt(size));
+        if (shape instanceof Cube cube) {
+            cube.setSideLength(1 + 9 * random.nextDouble());
+        } else if (shape instanceof Sphere sphere) {
+            sphere.setRadius(1 + 9 * random.nextDouble());
+        }
+    }
+}
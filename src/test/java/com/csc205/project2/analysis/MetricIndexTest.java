@@ -0,0 +1,121 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricIndexBasicFunctionalityTest {
+    @Test
+    void testRangeQueries() {
+        List<Shape3D> shapes = List.of(new Cube(2.0), new Cube(5.0), new Cube(3.0), new Cube(4.0));
+        try (MetricIndex index = MetricIndex.byVolume(shapes)) {
+            assertEquals(List.of(shapes.get(2), shapes.get(3)), index.range(27.0, 100.0));
+            assertArrayEquals(new int[] {2, 3, 1}, index.rangeIds(10.0, Double.POSITIVE_INFINITY));
+            assertEquals(List.of(shapes.get(1)), index.atLeast(100.0));
+            assertEquals(List.of(shapes.get(0)), index.atMost(8.0));
+            assertEquals(4, index.count(0.0, 1000.0));
+            assertTrue(index.range(9.0, 26.0).isEmpty());
+        }
+    }
+
+    @Test
+    void testSetterUpdatesIndex() {
+        Sphere sphere = new Sphere(1.0);
+        List<Shape3D> shapes = List.of(sphere, new Cube(1.0));
+        try (MetricIndex index = MetricIndex.bySurfaceArea(shapes)) {
+            sphere.setRadius(10.0);
+            assertEquals(List.of(sphere), index.atLeast(1000.0));
+        }
+        sphere.setRadius(1.0);
+        try (MetricIndex index = new MetricIndex(shapes, ShapeMetric.SURFACE_AREA)) {
+            assertEquals(0, index.count(1000.0, 2000.0));
+        }
+    }
+}
+
+class MetricIndexRandomizedTest {
+    @Test
+    void testMatchesLinearScanUnderUpdates() {
+        SplittableRandom random = new SplittableRandom(3);
+        List<Cylinder> shapes = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            shapes.add(new Cylinder(random.nextInt(1, 30), random.nextInt(1, 30)));
+        }
+        try (MetricIndex index = MetricIndex.byVolume(shapes)) {
+            for (int round = 0; round < 2_000; round++) {
+                Cylinder shape = shapes.get(random.nextInt(shapes.size()));
+                if (random.nextBoolean()) {
+                    shape.setRadius(random.nextInt(1, 30));
+                } else {
+                    shape.setHeight(random.nextInt(1, 30));
+                }
+                if (round % 100 == 0) {
+                    double min = random.nextDouble(0, 40_000);
+                    double max = min + random.nextDouble(0, 20_000);
+                    List<Integer> expected = new ArrayList<>();
+                    for (int id = 0; id < shapes.size(); id++) {
+                        double volume = shapes.get(id).getVolume();
+                        if (volume >= min && volume <= max) {
+                            expected.add(id);
+                        }
+                    }
+                    expected.sort((a, b) -> {
+                        int c = Double.compare(shapes.get(a).getVolume(), shapes.get(b).getVolume());
+                        return c != 0 ? c : Integer.compare(a, b);
+                    });
+                    List<Integer> actual = new ArrayList<>();
+                    for (int id : index.rangeIds(min, max)) {
+                        actual.add(id);
+                    }
+                    assertEquals(expected, actual);
+                    assertEquals(expected.size(), index.count(min, max));
+                }
+            }
+        }
+    }
+}
+
+class MetricIndexConcurrencyTest {
+    @Test
+    void testChangesDuringBuildAreNotLost() throws InterruptedException {
+        List<Cube> shapes = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            shapes.add(new Cube(1.0));
+        }
+        for (int round = 0; round < 5; round++) {
+            Thread writer = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(5);
+                for (int i = 0; i < 200_000; i++) {
+                    shapes.get(random.nextInt(shapes.size())).setSideLength(random.nextInt(1, 10));
+                }
+            });
+            writer.start();
+            MetricIndex index = MetricIndex.byVolume(shapes);
+            try {
+                writer.join();
+                for (int id = 0; id < shapes.size(); id++) {
+                    double volume = shapes.get(id).getVolume();
+                    int[] ids = index.rangeIds(volume, volume);
+                    assertTrue(Arrays.binarySearch(ids, id) >= 0, "shape " + id + " has a stale key");
+                }
+            } finally {
+                index.close();
+            }
+        }
+    }
+}
+
+class MetricIndexInputValidationTest {
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> MetricIndex.byVolume(null));
+        MetricIndex index = MetricIndex.byVolume(List.of(new Cube(1.0)));
+        assertThrows(IllegalArgumentException.class, () -> index.range(2.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> index.count(Double.NaN, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new Cube(1.0).addChangeListener(null));
+    }
+}
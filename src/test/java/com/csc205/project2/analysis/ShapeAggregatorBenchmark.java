@@ -0,0 +1,92 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the primitive group-by aggregation with a boxed
+ * {@code HashMap<String, Double>} rollup, and measures concurrent feeding
+ * of one {@link ShapeAggregator} from several threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ShapeAggregatorBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Shape3D> shapes;
+
+    private ShapeAggregator shared;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ShapeType[] types = ShapeType.values();
+        shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(types[random.nextInt(types.length)].create(
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    "Shape", "Color " + random.nextInt(40)));
+        }
+        shared = new ShapeAggregator();
+    }
+
+    @Benchmark
+    public Map<String, Double> boxedHashMap() {
+        Map<String, Double> volumes = new HashMap<>();
+        Map<String, Double> areas = new HashMap<>();
+        Map<String, Long> counts = new HashMap<>();
+        for (Shape3D shape : shapes) {
+            String key = shape.getClass().getSimpleName() + "/" + shape.getColor();
+            volumes.merge(key, shape.getVolume(), Double::sum);
+            areas.merge(key, shape.getSurfaceArea(), Double::sum);
+            counts.merge(key, 1L, Long::sum);
+        }
+        return volumes;
+    }
+
+    @Benchmark
+    public AggregationSummary aggregateSequential() {
+        return ShapeAggregator.aggregate(shapes);
+    }
+
+    @Benchmark
+    public AggregationSummary aggregateParallel() {
+        return ShapeAggregator.aggregateParallel(shapes);
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(1000)
+    public void concurrentAdd(ThreadCursor cursor) {
+        for (int i = 0; i < 1000; i++) {
+            shared.add(shapes.get(cursor.next(size)));
+        }
+    }
+
+    /**
+     * Per-thread position in the shape list.
+     */
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+        private int position;
+
+        int next(int size) {
+            position = position + 1 == size ? 0 : position + 1;
+            return position;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapeAggregatorBasicFunctionalityTest {
+    @Test
+    void testGroupsAndRollups() {
+        Sphere sphere = new Sphere(1.0, "Ball", "Agg Red");
+        Cube small = new Cube(1.0, "Small", "Agg Red");
+        Cube large = new Cube(4.0, "Large", "Agg Blue");
+        AggregationSummary summary = ShapeAggregator.aggregate(List.of(sphere, small, large));
+
+        assertEquals(3, summary.count());
+        GroupStatistics redCubes = summary.group(ShapeType.CUBE, "Agg Red");
+        assertEquals(1, redCubes.count());
+        assertEquals(1.0, redCubes.totalVolume());
+        assertEquals(1.0 / 6.0, redCubes.meanEfficiency(), 1e-12);
+
+        GroupStatistics red = summary.byColor("Agg Red");
+        assertEquals(2, red.count());
+        assertEquals(sphere.getVolume() + 1.0, red.totalVolume(), 1e-12);
+        assertEquals(6.0 + 4 * Math.PI, red.totalSurfaceArea(), 1e-12);
+
+        GroupStatistics cubes = summary.byType(ShapeType.CUBE);
+        assertEquals(2, cubes.count());
+        assertEquals(65.0, cubes.totalVolume());
+        assertEquals(0, summary.byColor("Agg Never Used").count());
+    }
+
+    @Test
+    void testHistogramBins() {
+        AggregationSummary summary = ShapeAggregator.aggregate(List.of(new Cube(2.0, "Bin", "Agg Bin")));
+        long[] histogram = summary.byColor("Agg Bin").volumeHistogram();
+        int bin = 0;
+        while (bin + 1 < AggregationSummary.HISTOGRAM_BINS && AggregationSummary.binLowerBound(bin + 1) <= 8.0) {
+            bin++;
+        }
+        assertEquals(8.0, AggregationSummary.binLowerBound(bin));
+        assertEquals(1, histogram[bin]);
+    }
+
+    @Test
+    void testAccumulatorSizedByColorsUsed() {
+        int colorId = new Cube(1.0, "Early", "Agg Early").getColorId();
+        for (int i = 0; i < 5_000; i++) {
+            Shape3D.getColorDictionary().intern("Agg Filler " + i);
+        }
+        GroupAccumulator accumulator = new GroupAccumulator(0);
+        accumulator.add(ShapeType.CUBE, colorId, 1.0, 6.0);
+        assertTrue(accumulator.colorCount() <= colorId + 1);
+        GroupAccumulator copy = accumulator.copy();
+        assertTrue(copy.colorCount() <= colorId + 1);
+        assertEquals(1, copy.counts[colorId * GroupAccumulator.TYPES + ShapeType.CUBE.ordinal()]);
+    }
+
+    @Test
+    void testMerge() {
+        List<Shape3D> first = List.of(new Cube(1.0, "A", "Agg Merge"));
+        List<Shape3D> second = List.of(new Cube(2.0, "B", "Agg Merge"), new Sphere(1.0, "C", "Agg Merge"));
+        List<Shape3D> all = new ArrayList<>(first);
+        all.addAll(second);
+        assertEquals(ShapeAggregator.aggregate(all),
+                ShapeAggregator.aggregate(first).merge(ShapeAggregator.aggregate(second)));
+    }
+}
+
+class ShapeAggregatorConcurrencyTest {
+    private static List<Shape3D> randomShapes(int count) {
+        SplittableRandom random = new SplittableRandom(5);
+        ShapeType[] types = ShapeType.values();
+        List<Shape3D> shapes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            shapes.add(types[random.nextInt(types.length)].create(
+                    random.nextInt(1, 50), random.nextInt(1, 50), random.nextInt(1, 50),
+                    "Shape", "Agg Color " + random.nextInt(40)));
+        }
+        return shapes;
+    }
+
+    @Test
+    void testParallelIdenticalToSequential() {
+        List<Shape3D> shapes = randomShapes(60_001);
+        assertEquals(ShapeAggregator.aggregate(shapes), ShapeAggregator.aggregateParallel(shapes));
+    }
+
+    @Test
+    void testConcurrentAddsMatchSequential() throws Exception {
+        // Integer dimensions keep the cube and prism sums exact in any order
+        List<Shape3D> shapes = randomShapes(40_000).stream()
+                .filter(s -> s instanceof Cube || s instanceof RectangularPrism)
+                .toList();
+        ShapeAggregator aggregator = new ShapeAggregator();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        int chunk = shapes.size() / 4 + 1;
+        for (int t = 0; t < 4; t++) {
+            List<Shape3D> part = shapes.subList(Math.min(shapes.size(), t * chunk),
+                    Math.min(shapes.size(), (t + 1) * chunk));
+            executor.execute(() -> part.forEach(aggregator::add));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        AggregationSummary expected = ShapeAggregator.aggregate(shapes);
+        AggregationSummary actual = aggregator.summary();
+        assertEquals(expected.count(), actual.count());
+        for (GroupStatistics group : expected.groups()) {
+            GroupStatistics other = actual.group(group.type(), group.color());
+            assertEquals(group.count(), other.count());
+            assertEquals(group.totalVolume(), other.totalVolume());
+            assertArrayEquals(group.volumeHistogram(), other.volumeHistogram());
+        }
+    }
+
+    @Test
+    void testCellsBoundedAcrossThreads() throws Exception {
+        ShapeAggregator aggregator = new ShapeAggregator();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 500; i++) {
+                executor.execute(() -> aggregator.add(new Cube(1.0, "Cell", "Agg Cell")));
+            }
+        }
+        assertTrue(aggregator.cellCount() <= ShapeAggregator.CELLS);
+        assertEquals(500, aggregator.summary().byColor("Agg Cell").count());
+
+        ShapeAggregator single = new ShapeAggregator(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 500; i++) {
+                executor.execute(() -> single.add(ShapeType.CUBE, "Agg Single", 1.0, 6.0));
+            }
+        }
+        assertEquals(1, single.cellCount());
+        assertEquals(500, single.summary().byColor("Agg Single").count());
+    }
+}
+
+class ShapeAggregatorInputValidationTest {
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ShapeAggregator().add(null));
+        assertThrows(IllegalArgumentException.class, () -> new ShapeAggregator(0));
+        assertThrows(IllegalArgumentException.class, () -> ShapeAggregator.aggregate(null));
+        assertThrows(IllegalArgumentException.class, () -> AggregationSummary.binLowerBound(-1));
+        assertThrows(IllegalArgumentException.class, () -> AggregationSummary.empty().byColor(null));
+    }
+}
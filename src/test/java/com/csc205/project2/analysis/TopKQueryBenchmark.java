@@ -0,0 +1,63 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares top-K selection with sorting the whole collection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TopKQueryBenchmark {
+
+    @Param({"100000", "10000000"})
+    public int size;
+
+    @Param({"100"})
+    public int k;
+
+    private final TopKQuery query = new TopKQuery();
+
+    private List<Shape3D> shapes;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ShapeType[] types = ShapeType.values();
+        shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(types[i % types.length].create(
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    "Shape " + (i % 100), "Red"));
+        }
+    }
+
+    @Benchmark
+    public List<Shape3D> fullSort() {
+        return shapes.stream()
+                .sorted(Comparator.comparingDouble(ShapeMetric.VOLUME).reversed())
+                .limit(k)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Shape3D> topSequential() {
+        return query.top(shapes, k, ShapeMetric.VOLUME);
+    }
+
+    @Benchmark
+    public List<Shape3D> topParallel() {
+        return query.topParallel(shapes, k, ShapeMetric.VOLUME);
+    }
+}
@@ -0,0 +1,91 @@
+package com.csc205.project2.analysis;
+
+import com.csc205.project2.shapes.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKQueryBasicFunctionalityTest {
+    @Test
+    void testTopByVolume() {
+        List<Shape3D> shapes = List.of(
+                new Sphere(5.0, "Red Ball", "Red"),
+                new Cube(4.0, "Blue Box", "Blue"),
+                new Cylinder(3.0, 7.0, "Green Can", "Green"),
+                new RectangularPrism(2.0, 5.0, 6.0, "Yellow Brick", "Yellow"));
+        List<Shape3D> top = new TopKQuery().top(shapes, 2, ShapeMetric.VOLUME);
+        assertEquals(List.of(shapes.get(0), shapes.get(2)), top);
+    }
+
+    @Test
+    void testKLargerThanInput() {
+        List<Shape3D> shapes = List.of(new Cube(1.0), new Cube(3.0), new Cube(2.0));
+        List<Shape3D> top = new TopKQuery().topParallel(shapes, 10, ShapeMetric.SURFACE_AREA);
+        assertEquals(List.of(shapes.get(1), shapes.get(2), shapes.get(0)), top);
+    }
+
+    @Test
+    void testTiesKeepListOrderAndNaNIsSkipped() {
+        List<Shape3D> shapes = List.of(new Cube(2.0, "A", "Red"), new Cube(1.0, "B", "Red"),
+                new Cube(2.0, "C", "Red"), new Cube(2.0, "D", "Red"));
+        ToDoubleFunction<Shape3D> key = s -> s.getName().equals("B") ? Double.NaN : s.getVolume();
+        List<Shape3D> top = new TopKQuery().top(shapes, 4, key);
+        assertEquals(List.of(shapes.get(0), shapes.get(2), shapes.get(3)), top);
+    }
+}
+
+class TopKQueryParallelTest {
+    @Test
+    void testMatchesFullSortInBothModes() {
+        SplittableRandom random = new SplittableRandom(11);
+        ShapeType[] types = ShapeType.values();
+        List<Shape3D> shapes = new ArrayList<>();
+        for (int i = 0; i < 50_001; i++) {
+            // Coarse dimensions so that many keys tie
+            shapes.add(types[random.nextInt(types.length)].create(
+                    random.nextInt(1, 20), random.nextInt(1, 20), random.nextInt(1, 20), "Shape", "Red"));
+        }
+        TopKQuery query = new TopKQuery(new ForkJoinPool(4), 256);
+        for (ShapeMetric metric : ShapeMetric.values()) {
+            List<Shape3D> expected = shapes.stream()
+                    .sorted(Comparator.comparingDouble(metric).reversed())
+                    .limit(100)
+                    .toList();
+            assertEquals(expected, query.top(shapes, 100, metric), metric.name());
+            assertEquals(expected, query.topParallel(shapes, 100, metric), metric.name());
+            assertEquals(expected, query.topParallel(new LinkedList<>(shapes), 100, metric), metric.name());
+        }
+    }
+
+    @Test
+    void testUnboundedKReturnsEverything() {
+        SplittableRandom random = new SplittableRandom(12);
+        List<Shape3D> shapes = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            shapes.add(new Cube(random.nextInt(1, 50), "Box", "Red"));
+        }
+        List<Shape3D> expected = shapes.stream()
+                .sorted(Comparator.comparingDouble(ShapeMetric.VOLUME).reversed())
+                .toList();
+        // Heaps are sized by their range, not by k
+        TopKQuery query = new TopKQuery(new ForkJoinPool(4), 256);
+        assertEquals(expected, query.top(shapes, Integer.MAX_VALUE, ShapeMetric.VOLUME));
+        assertEquals(expected, query.topParallel(shapes, Integer.MAX_VALUE, ShapeMetric.VOLUME));
+    }
+}
+
+class TopKQueryInputValidationTest {
+    @Test
+    void testInvalidArguments() {
+        TopKQuery query = new TopKQuery();
+        assertThrows(IllegalArgumentException.class, () -> query.top(null, 1, ShapeMetric.VOLUME));
+        assertThrows(IllegalArgumentException.class, () -> query.top(List.of(), 0, ShapeMetric.VOLUME));
+        assertThrows(IllegalArgumentException.class, () -> query.topParallel(List.of(), 1, null));
+    }
+}
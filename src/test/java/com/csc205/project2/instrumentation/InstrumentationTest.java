@@ -0,0 +1,194 @@
+package com.csc205.project2.instrumentation;
+
+import com.csc205.project2.analysis.AnalysisEngine;
+import com.csc205.project2.shapes.BoundingBox;
+import com.csc205.project2.shapes.Cube;
+import com.csc205.project2.shapes.Cylinder;
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeArena;
+import com.csc205.project2.shapes.ShapeFile;
+import com.csc205.project2.shapes.ShapeFileWriter;
+import com.csc205.project2.shapes.ShapeType;
+import com.csc205.project2.shapes.Sphere;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentationBasicFunctionalityTest {
+    @Test
+    void testCountsPerOperationAndType() {
+        Instrumentation.reset();
+        Instrumentation.setEnabled(true);
+        try {
+            Shape3D sphere = new Sphere(1.0);
+            Shape3D cube = new Cube(2.0);
+            for (int i = 0; i < 10; i++) {
+                sphere.getVolume();
+            }
+            cube.getSurfaceArea();
+            String text = cube.toString();
+            assertTrue(text.contains("Volume=8.00"));
+        } finally {
+            Instrumentation.setEnabled(false);
+        }
+        assertEquals(10, Instrumentation.getStatistics(Operation.VOLUME, ShapeType.SPHERE).count());
+        assertEquals(0, Instrumentation.getStatistics(Operation.VOLUME, ShapeType.CUBE).count());
+        assertEquals(1, Instrumentation.getStatistics(Operation.SURFACE_AREA, ShapeType.CUBE).count());
+        // Formatting is one operation; the metrics it prints are not counted again
+        assertEquals(1, Instrumentation.getStatistics(Operation.FORMAT, ShapeType.CUBE).count());
+        assertEquals(3, Instrumentation.getAllStatistics().size());
+    }
+
+    @Test
+    void testDisabledRecordsNothing() {
+        Instrumentation.reset();
+        assertFalse(Instrumentation.isEnabled());
+        new Cylinder(1.0, 2.0).getVolume();
+        assertTrue(Instrumentation.getAllStatistics().isEmpty());
+    }
+
+    @Test
+    void testUnknownShapesAreUntyped() {
+        Instrumentation.reset();
+        Shape3D custom = new Shape3D("Blob", "Grey") {
+            @Override
+            protected double calculateSurfaceArea() {
+                return 1.0;
+            }
+
+            @Override
+            protected double calculateVolume() {
+                return 2.0;
+            }
+
+            @Override
+            public boolean contains(double x, double y, double z) {
+                return false;
+            }
+
+            @Override
+            public BoundingBox getBoundingBox() {
+                return new BoundingBox(0, 0, 0, 0, 0, 0);
+            }
+        };
+        Instrumentation.setEnabled(true);
+        try {
+            assertEquals(2.0, custom.getVolume());
+        } finally {
+            Instrumentation.setEnabled(false);
+        }
+        assertEquals(1, Instrumentation.getStatistics(Operation.VOLUME, null).count());
+    }
+
+    @Test
+    void testResetClearsCounts() {
+        Instrumentation.record(Operation.ANALYSIS, Instrumentation.start());
+        assertTrue(Instrumentation.getStatistics(Operation.ANALYSIS, null).count() > 0);
+        Instrumentation.reset();
+        assertEquals(0, Instrumentation.getStatistics(Operation.ANALYSIS, null).count());
+    }
+}
+
+class InstrumentationCalculationAccuracyTest {
+    @Test
+    void testBucketsAndPercentiles() {
+        assertEquals(0, OperationStatistics.bucketOf(0));
+        assertEquals(1, OperationStatistics.bucketOf(1));
+        assertEquals(2, OperationStatistics.bucketOf(3));
+        assertEquals(3, OperationStatistics.bucketOf(4));
+        assertEquals(OperationStatistics.BUCKETS - 1, OperationStatistics.bucketOf(Long.MAX_VALUE));
+        for (long nanos : new long[]{1, 5, 100, 1_000_000, 123_456_789}) {
+            int bucket = OperationStatistics.bucketOf(nanos);
+            assertTrue(nanos <= OperationStatistics.bucketUpperBound(bucket));
+            assertTrue(nanos > OperationStatistics.bucketUpperBound(bucket - 1));
+        }
+
+        long[] buckets = new long[OperationStatistics.BUCKETS];
+        buckets[OperationStatistics.bucketOf(100)] = 98;
+        buckets[OperationStatistics.bucketOf(10_000)] = 2;
+        OperationStatistics statistics = new OperationStatistics(Operation.VOLUME, ShapeType.CUBE, 100, 29_800, buckets);
+        assertEquals(298.0, statistics.meanNanos());
+        assertEquals(127, statistics.percentileNanos(50));
+        assertEquals(127, statistics.percentileNanos(98));
+        assertEquals(16_383, statistics.percentileNanos(99));
+        assertThrows(IllegalArgumentException.class, () -> statistics.percentileNanos(0));
+    }
+}
+
+class InstrumentationConcurrencyTest {
+    @Test
+    void testConcurrentCountsAreExact() throws Exception {
+        Instrumentation.reset();
+        Instrumentation.setEnabled(true);
+        int threads = 4;
+        int calls = 50_000;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    Shape3D cube = new Cube(3.0);
+                    for (int i = 0; i < calls; i++) {
+                        cube.getVolume();
+                    }
+                });
+            }
+        } finally {
+            Instrumentation.setEnabled(false);
+        }
+        OperationStatistics statistics = Instrumentation.getStatistics(Operation.VOLUME, ShapeType.CUBE);
+        assertEquals((long) threads * calls, statistics.count());
+        long histogramTotal = 0;
+        for (long count : statistics.latencyBuckets()) {
+            histogramTotal += count;
+        }
+        assertEquals(statistics.count(), histogramTotal);
+    }
+}
+
+class InstrumentationFlightRecorderTest {
+    @Test
+    void testBatchOperationsEmitEvents() throws Exception {
+        Path file = Files.createTempFile("shapes", ".shp");
+        Path dump = Files.createTempFile("shapes", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(AnalysisEvent.class);
+            recording.enable(IngestEvent.class);
+            recording.enable(ExportEvent.class);
+            recording.start();
+
+            List<Shape3D> shapes = new ArrayList<>();
+            for (int i = 1; i <= 100; i++) {
+                shapes.add(new Cube(i));
+            }
+            new AnalysisEngine().analyze(shapes);
+            try (ShapeFileWriter writer = new ShapeFileWriter(file)) {
+                writer.addAll(shapes);
+            }
+            try (ShapeArena arena = ShapeFile.map(file)) {
+                assertEquals(100, arena.size());
+            }
+
+            recording.stop();
+            recording.dump(dump);
+            List<String> seen = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+                String name = event.getEventType().getName();
+                seen.add(name);
+                assertEquals(100, event.getLong("shapeCount"), name);
+            }
+            assertTrue(seen.contains("com.csc205.project2.Analysis"), seen.toString());
+            assertTrue(seen.contains("com.csc205.project2.Export"), seen.toString());
+            assertTrue(seen.contains("com.csc205.project2.Ingest"), seen.toString());
+        } finally {
+            Files.delete(file);
+            Files.delete(dump);
+        }
+    }
+}
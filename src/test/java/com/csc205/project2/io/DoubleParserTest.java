@@ -0,0 +1,53 @@
+package com.csc205.project2.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import static com.csc205.project2.io.DoubleParserHelper.parse;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleParserCalculationAccuracyTest {
+    @Test
+    void testSimpleValues() {
+        assertEquals(5.0, parse("5"));
+        assertEquals(0.25, parse("0.25"));
+        assertEquals(-3.5, parse("-3.5"));
+        assertEquals(1200.0, parse("1.2e3"));
+        assertEquals(0.0012, parse("12E-4"));
+        assertEquals(0.5, parse(".5"));
+    }
+
+    @Test
+    void testMatchesJdkParser() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 100_000; i++) {
+            double value = Math.exp(random.nextDouble(-20, 20));
+            String[] texts = {
+                    Double.toString(value),
+                    String.format("%.3f", value),
+                    String.format("%.9e", value),
+                    Long.toString(random.nextLong(1_000_000_000L))
+            };
+            for (String text : texts) {
+                assertEquals(Double.parseDouble(text), parse(text), text);
+            }
+        }
+    }
+}
+
+class DoubleParserInputValidationTest {
+    @Test
+    void testGarbage() {
+        assertThrows(NumberFormatException.class, () -> parse("abc"));
+        assertThrows(NumberFormatException.class, () -> parse("1.5x"));
+        assertThrows(NumberFormatException.class, () -> parse(""));
+    }
+}
+
+class DoubleParserHelper {
+    static double parse(String text) {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+        return DoubleParser.parse(buffer, 0, buffer.limit());
+    }
+}
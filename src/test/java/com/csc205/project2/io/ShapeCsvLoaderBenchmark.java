@@ -0,0 +1,82 @@
+package com.csc205.project2.io;
+
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeStore;
+import com.csc205.project2.shapes.ShapeType;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares {@link ShapeCsvLoader} with a naive {@link BufferedReader}
+ * loader that splits each line and parses with {@link Double#parseDouble}.
+ * Divide the row count by the reported time for rows/sec; the GC
+ * profiler's {@code gc.alloc.rate.norm} shows bytes allocated per load.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ShapeCsvLoaderBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("shapes-benchmark", ".csv");
+        SplittableRandom random = new SplittableRandom(42);
+        ShapeType[] types = ShapeType.values();
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                writer.write(String.format("%s,Shape %d,Color %d,%.4f,%.4f,%.4f%n",
+                        types[i % types.length], i % 5000, i % 40,
+                        1 + 99 * random.nextDouble(), 1 + 99 * random.nextDouble(), 1 + 99 * random.nextDouble()));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<Shape3D> mappedShapes() throws IOException {
+        return new ShapeCsvLoader().loadShapes(file);
+    }
+
+    @Benchmark
+    public ShapeStore mappedStore() throws IOException {
+        return new ShapeCsvLoader().loadStore(file);
+    }
+
+    @Benchmark
+    public List<Shape3D> bufferedReaderShapes() throws IOException {
+        List<Shape3D> shapes = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                ShapeType type = ShapeType.valueOf(fields[0]);
+                double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+                for (int d = 0; d < type.getDimensionCount(); d++) {
+                    dims[d] = Double.parseDouble(fields[3 + d]);
+                }
+                shapes.add(type.create(dims[0], dims[1], dims[2], fields[1], fields[2]));
+            }
+        }
+        return shapes;
+    }
+}
@@ -0,0 +1,101 @@
+package com.csc205.project2.io;
+
+import com.csc205.project2.shapes.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapeCsvLoaderBasicFunctionalityTest {
+    private static final String CSV = """
+            type,name,color,dim1,dim2,dim3
+            sphere,Red Ball,Red,5.0
+            Cube,Blue Box,Blue,4,,
+            CYLINDER,Green Can,Green,3.0,7.0
+
+            rectangular_prism,Yellow Brick,Yellow,2,5,6\r
+            RectangularPyramid, Purple Pyramid ,Purple,4,6,9
+            """;
+
+    @Test
+    void testLoadShapes() throws IOException {
+        Path file = write(CSV);
+        List<Shape3D> shapes = new ShapeCsvLoader().loadShapes(file);
+
+        assertEquals(5, shapes.size());
+        assertTrue(shapes.get(0) instanceof Sphere);
+        assertEquals(5.0, ((Sphere) shapes.get(0)).getRadius());
+        assertEquals(7.0, ((Cylinder) shapes.get(2)).getHeight());
+        assertEquals(60.0, shapes.get(3).getVolume(), 0.0001);
+        assertEquals("Purple Pyramid", shapes.get(4).getName());
+    }
+
+    @Test
+    void testLoadStoreAcrossManyChunks() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            csv.append("cube,Box ").append(i).append(",Blue,").append(i).append('\n');
+        }
+        for (int i = 1; i <= 1000; i++) {
+            csv.append("cylinder,Can ").append(i).append(",Green,").append(i).append(',').append(i + 1).append('\n');
+        }
+        ShapeStore store = new ShapeCsvLoader(64).loadStore(write(csv.toString()));
+
+        assertEquals(2000, store.size());
+        double[] volumes = new double[store.size()];
+        store.computeVolumes(volumes);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i + 1.0, store.getDimension(i, 0));
+            assertEquals("Box " + (i + 1), store.getName(i));
+            assertEquals(i + 2.0, store.getDimension(1000 + i, 1));
+            assertEquals("Can " + (i + 1), store.getName(1000 + i));
+            assertEquals(store.toShape(1000 + i).getVolume(), volumes[1000 + i],
+                    ShapeKernels.MAX_ULP_ERROR * Math.ulp(volumes[1000 + i]));
+        }
+        store.add(ShapeType.SPHERE, 1.0, 0, 0, "Ball", "Red");
+        assertEquals(ShapeType.SPHERE, store.getType(2000));
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        assertEquals(0, new ShapeCsvLoader().loadShapes(write("")).size());
+    }
+
+    static Path write(String content) throws IOException {
+        Path file = Files.createTempFile("shapes", ".csv");
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, content);
+    }
+}
+
+class ShapeCsvLoaderInputValidationTest {
+    @Test
+    void testUnknownType() throws IOException {
+        Path file = ShapeCsvLoaderBasicFunctionalityTest.write("sphere,Ball,Red,1\ntorus,Ring,Red,1,2\n");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new ShapeCsvLoader().loadShapes(file));
+        assertTrue(e.getMessage().contains("byte offset 18"));
+    }
+
+    @Test
+    void testMissingDimension() throws IOException {
+        Path file = ShapeCsvLoaderBasicFunctionalityTest.write("cylinder,Can,Red,1\n");
+        assertThrows(IllegalArgumentException.class, () -> new ShapeCsvLoader().loadStore(file));
+    }
+
+    @Test
+    void testTooManyFields() throws IOException {
+        Path file = ShapeCsvLoaderBasicFunctionalityTest.write("prism,Brick,Red,1,2,3,4\n");
+        assertThrows(IllegalArgumentException.class, () -> new ShapeCsvLoader().loadStore(file));
+        Path trailing = ShapeCsvLoaderBasicFunctionalityTest.write("cube,Box,Red,1,,,\n");
+        assertThrows(IllegalArgumentException.class, () -> new ShapeCsvLoader().loadShapes(trailing));
+    }
+
+    @Test
+    void testInvalidDimension() throws IOException {
+        Path file = ShapeCsvLoaderBasicFunctionalityTest.write("cube,Box,Red,-1\n");
+        assertThrows(IllegalArgumentException.class, () -> new ShapeCsvLoader().loadShapes(file));
+    }
+}
@@ -0,0 +1,228 @@
+package com.csc205.project2.pipeline;
+
+import com.csc205.project2.analysis.AggregationSummary;
+import com.csc205.project2.analysis.GroupStatistics;
+import com.csc205.project2.analysis.ShapeAggregator;
+import com.csc205.project2.shapes.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapePipelineBasicFunctionalityTest {
+    @Test
+    void testAggregatesLikeShapeAggregator() throws IOException {
+        List<Shape3D> shapes = randomShapes(10_000);
+        AggregatingSink aggregation = new AggregatingSink();
+        PipelineResult result = new ShapePipeline(64, 4, 4, null, List.of(aggregation)).run(shapes);
+
+        assertEquals(new PipelineResult(10_000, 0, 157), result);
+        AggregationSummary expected = ShapeAggregator.aggregate(shapes);
+        AggregationSummary actual = aggregation.summary();
+        assertEquals(expected.count(), actual.count());
+        for (ShapeType type : ShapeType.values()) {
+            GroupStatistics e = expected.byType(type);
+            GroupStatistics a = actual.byType(type);
+            assertEquals(e.count(), a.count());
+            assertArrayEquals(e.volumeHistogram(), a.volumeHistogram());
+            assertEquals(e.totalVolume(), a.totalVolume(), 1e-9 * e.totalVolume());
+            assertEquals(e.totalSurfaceArea(), a.totalSurfaceArea(), 1e-9 * e.totalSurfaceArea());
+        }
+    }
+
+    @Test
+    void testSinksSeeSourceOrder() throws IOException {
+        List<Shape3D> shapes = randomShapes(5_000);
+        List<String> names = new ArrayList<>();
+        List<Long> sequences = new ArrayList<>();
+        ShapeSink collector = batch -> {
+            sequences.add(batch.getSequence());
+            for (int id = 0; id < batch.size(); id++) {
+                names.add(batch.getStore().getName(id));
+            }
+        };
+        new ShapePipeline(7, 2, 8, null, List.of(collector)).run(shapes);
+
+        for (int i = 0; i < sequences.size(); i++) {
+            assertEquals(i, sequences.get(i).longValue());
+        }
+        assertEquals(shapes.stream().map(Shape3D::getName).toList(), names);
+    }
+
+    @Test
+    void testCsvToShapeFile() throws IOException {
+        Path csv = Files.createTempFile("shapes", ".csv");
+        Path out = Files.createTempFile("shapes", ".shp");
+        try {
+            Files.writeString(csv, """
+                    type,name,color,d1,d2,d3
+                    sphere,Red Ball,Red,5.0
+                    cube,Blue Box,Blue,4.0
+                    cylinder,Green Can,Green,3.0,7.0
+                    rectangular_prism,Yellow Brick,Yellow,2.0,5.0,6.0
+                    rectangular_pyramid,Purple Pyramid,Purple,4.0,6.0,9.0
+                    """);
+            AggregatingSink aggregation = new AggregatingSink();
+            PipelineResult result = new ShapePipeline(2, 1, 2, null,
+                    List.of(aggregation, new ShapeFileSink(out))).run(csv);
+
+            assertEquals(new PipelineResult(5, 0, 3), result);
+            assertEquals(5, aggregation.summary().count());
+            try (ShapeArena arena = ShapeFile.map(out)) {
+                assertEquals(5, arena.size());
+                assertEquals("Purple Pyramid", arena.view(4).getName());
+                assertEquals(new Cylinder(3.0, 7.0).getVolume(), arena.view(2).getVolume(), 1e-9);
+            }
+        } finally {
+            Files.delete(csv);
+            Files.delete(out);
+        }
+    }
+
+    @Test
+    void testPublisherSource() throws IOException {
+        List<Shape3D> shapes = randomShapes(1_000);
+        AggregatingSink aggregation = new AggregatingSink();
+        try (SubmissionPublisher<Shape3D> source = new SubmissionPublisher<>()) {
+            Thread producer = Thread.ofVirtual().start(() -> {
+                // Items submitted before the pipeline subscribes would be dropped
+                while (source.getNumberOfSubscribers() == 0) {
+                    Thread.onSpinWait();
+                }
+                for (Shape3D shape : shapes) {
+                    source.submit(shape);
+                }
+                source.close();
+            });
+            PipelineResult result = new ShapePipeline(100, 2, 2, null, List.of(aggregation)).run(source);
+            assertEquals(1_000, result.shapeCount());
+            assertEquals(1_000, aggregation.summary().count());
+            assertDoesNotThrow(() -> producer.join());
+        }
+    }
+
+    @Test
+    void testFilterRejectsShapes() throws IOException {
+        List<Shape3D> shapes = List.of(new Sphere(1.0), new Cube(2.0), new Sphere(3.0), new Cube(4.0));
+        AggregatingSink aggregation = new AggregatingSink();
+        ShapeFilter noSpheres = (batch, id) -> batch.getType(id) != ShapeType.SPHERE;
+        PipelineResult result = new ShapePipeline(3, 1, 1, noSpheres, List.of(aggregation)).run(shapes);
+
+        assertEquals(2, result.shapeCount());
+        assertEquals(2, result.rejectedCount());
+        assertEquals(2, aggregation.summary().byType(ShapeType.CUBE).count());
+        assertEquals(0, aggregation.summary().byType(ShapeType.SPHERE).count());
+    }
+
+    static List<Shape3D> randomShapes(int count) {
+        SplittableRandom random = new SplittableRandom(20);
+        ShapeType[] types = ShapeType.values();
+        String[] colors = {"Red", "Green", "Blue"};
+        List<Shape3D> shapes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shapes.add(types[random.nextInt(types.length)].create(
+                    1 + 9 * random.nextDouble(), 1 + 9 * random.nextDouble(), 1 + 9 * random.nextDouble(),
+                    "Shape " + i, colors[random.nextInt(colors.length)]));
+        }
+        return shapes;
+    }
+}
+
+class ShapePipelineConcurrencyTest {
+    @Test
+    void testSlowSinkBoundsShapesInFlight() throws IOException {
+        int batchSize = 10;
+        AtomicLong produced = new AtomicLong();
+        AtomicLong consumed = new AtomicLong();
+        AtomicLong maxInFlight = new AtomicLong();
+        Iterable<Shape3D> source = () -> new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return produced.get() < 2_000;
+            }
+
+            @Override
+            public Shape3D next() {
+                long inFlight = produced.incrementAndGet() - consumed.get();
+                maxInFlight.accumulateAndGet(inFlight, Math::max);
+                return new Cube(1.0);
+            }
+        };
+        ShapeSink slow = batch -> {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumed.addAndGet(batch.size());
+        };
+        PipelineResult result = new ShapePipeline(batchSize, 1, 2, null, List.of(slow)).run(source);
+
+        assertEquals(2_000, result.shapeCount());
+        // Source buffer 1, compute 2, sink buffer 1 plus 1 in progress, 1 being read
+        assertTrue(maxInFlight.get() <= 6 * batchSize + 1, "in flight: " + maxInFlight.get());
+    }
+
+    @Test
+    void testFailingSinkAbortsRun() {
+        AtomicBoolean aborted = new AtomicBoolean();
+        AtomicBoolean completed = new AtomicBoolean();
+        ShapeSink failing = batch -> {
+            if (batch.getSequence() == 3) {
+                throw new IOException("disk full");
+            }
+        };
+        ShapeSink other = new ShapeSink() {
+            @Override
+            public void accept(ShapeBatch batch) {
+            }
+
+            @Override
+            public void complete() {
+                completed.set(true);
+            }
+
+            @Override
+            public void abort() {
+                aborted.set(true);
+            }
+        };
+        List<Shape3D> shapes = ShapePipelineBasicFunctionalityTest.randomShapes(10_000);
+        IOException e = assertThrows(IOException.class,
+                () -> new ShapePipeline(10, 2, 4, null, List.of(failing, other)).run(shapes));
+        assertEquals("disk full", e.getMessage());
+        assertTrue(aborted.get());
+        assertFalse(completed.get());
+    }
+}
+
+class ShapePipelineInputValidationTest {
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ShapePipeline(0, 1, 1, null, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new ShapePipeline(1, 0, 1, null, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new ShapePipeline(1, 1, 0, null, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new ShapePipeline(null));
+    }
+
+    @Test
+    void testMalformedCsvFailsRun() throws IOException {
+        Path csv = Files.createTempFile("shapes", ".csv");
+        try {
+            Files.writeString(csv, "cube,Box,Blue,2.0\nhexagon,Bad,Red,1.0\n");
+            AggregatingSink aggregation = new AggregatingSink();
+            assertThrows(IllegalArgumentException.class,
+                    () -> new ShapePipeline(List.of(aggregation)).run(csv));
+        } finally {
+            Files.delete(csv);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.csc205.project2.scene;
+
+import com.csc205.project2.shapes.BoundingBox;
+import com.csc205.project2.shapes.ShapeType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures building a {@link BoundingVolumeHierarchy} over a scene of
+ * placed shapes, finding every overlapping pair with it, and refitting it
+ * as shapes move. The scene is scaled so each shape overlaps about two
+ * others at every size. {@code bruteForcePairs}, which compares every
+ * pair of boxes, is only run at the smallest size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class BoundingVolumeHierarchyBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private List<PlacedShape> shapes;
+    private BoundingVolumeHierarchy hierarchy;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        ShapeType[] types = ShapeType.values();
+        double extent = 2.2 * Math.cbrt(size);
+        shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(new PlacedShape(types[random.nextInt(types.length)].create(
+                    0.5 + random.nextDouble(), 0.5 + random.nextDouble(), 0.5 + random.nextDouble(), "Shape", "Red"),
+                    random.nextDouble(-extent, extent), random.nextDouble(-extent, extent),
+                    random.nextDouble(-extent, extent),
+                    random.nextDouble(-1, 1), random.nextDouble(-1, 1), random.nextDouble(-1, 1), 1));
+        }
+        hierarchy = new BoundingVolumeHierarchy(shapes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hierarchy.close();
+    }
+
+    @Benchmark
+    public BoundingVolumeHierarchy build() {
+        BoundingVolumeHierarchy built = new BoundingVolumeHierarchy(shapes);
+        built.close();
+        return built;
+    }
+
+    @Benchmark
+    public long[] overlappingPairs() {
+        return hierarchy.overlappingPairs();
+    }
+
+    @Benchmark
+    public void refitOneShape() {
+        PlacedShape placed = shapes.get(random.nextInt(size));
+        placed.setPosition(placed.getX() + random.nextDouble(-0.01, 0.01), placed.getY(), placed.getZ());
+    }
+
+    @Benchmark
+    public int bruteForcePairs() {
+        if (size > 10_000) {
+            return 0;
+        }
+        BoundingBox[] boxes = shapes.stream().map(PlacedShape::getBoundingBox).toArray(BoundingBox[]::new);
+        int count = 0;
+        for (int i = 0; i < boxes.length; i++) {
+            for (int j = i + 1; j < boxes.length; j++) {
+                if (boxes[i].intersects(boxes[j])) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,274 @@
+package com.csc205.project2.scene;
+
+import com.csc205.project2.shapes.BoundingBox;
+import com.csc205.project2.shapes.Cube;
+import com.csc205.project2.shapes.Cylinder;
+import com.csc205.project2.shapes.RectangularPrism;
+import com.csc205.project2.shapes.RectangularPyramid;
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeType;
+import com.csc205.project2.shapes.Sphere;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundingVolumeHierarchyBasicFunctionalityTest {
+    @Test
+    void testKnownPairs() {
+        List<PlacedShape> shapes = List.of(
+                new PlacedShape(new Cube(2.0), 0, 0, 0),
+                new PlacedShape(new Cube(2.0), 1.5, 0, 0),
+                new PlacedShape(new Cube(2.0), 10, 0, 0),
+                new PlacedShape(new Sphere(1.0), 3, 0, 0));
+        try (BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy(shapes)) {
+            long[] pairs = bvh.overlappingPairs();
+            assertEquals(2, pairs.length);
+            assertEquals(0, BoundingVolumeHierarchy.firstIndex(pairs[0]));
+            assertEquals(1, BoundingVolumeHierarchy.secondIndex(pairs[0]));
+            assertEquals(1, BoundingVolumeHierarchy.firstIndex(pairs[1]));
+            assertEquals(3, BoundingVolumeHierarchy.secondIndex(pairs[1]));
+
+            assertEquals(new BoundingBox(-1, -1, -1, 11, 1, 1), bvh.getBounds());
+            assertArrayEquals(new int[] {0, 1}, bvh.query(new BoundingBox(-5, -5, -5, 0.6, 0, 0)));
+            assertArrayEquals(new int[] {2}, bvh.query(new BoundingBox(9, 1, 1, 9, 1, 1)));
+        }
+    }
+
+    @Test
+    void testRefitFollowsMovesAndResizes() {
+        Cube far = new Cube(2.0);
+        List<PlacedShape> shapes = List.of(
+                new PlacedShape(new Cube(2.0), 0, 0, 0),
+                new PlacedShape(far, 10, 0, 0));
+        try (BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy(shapes)) {
+            assertEquals(0, bvh.overlappingPairs().length);
+            far.setSideLength(18.0);
+            assertEquals(1, bvh.overlappingPairs().length);
+            far.setSideLength(2.0);
+            assertEquals(0, bvh.overlappingPairs().length);
+            shapes.get(1).setPosition(1, 1, 1);
+            assertEquals(1, bvh.overlappingPairs().length);
+            assertEquals(new BoundingBox(-1, -1, -1, 2, 2, 2), bvh.getBounds());
+        }
+    }
+
+    @Test
+    void testCloseStopsFollowing() {
+        List<PlacedShape> shapes = List.of(
+                new PlacedShape(new Cube(2.0), 0, 0, 0),
+                new PlacedShape(new Cube(2.0), 10, 0, 0));
+        BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy(shapes);
+        bvh.close();
+        shapes.get(1).setPosition(0, 0, 0);
+        assertEquals(0, bvh.overlappingPairs().length);
+        bvh.close();
+    }
+
+    @Test
+    void testEmptyAndSingle() {
+        try (BoundingVolumeHierarchy empty = new BoundingVolumeHierarchy(List.of())) {
+            assertNull(empty.getBounds());
+            assertEquals(0, empty.overlappingPairs().length);
+            assertEquals(0, empty.query(new BoundingBox(0, 0, 0, 1, 1, 1)).length);
+        }
+        try (BoundingVolumeHierarchy single = new BoundingVolumeHierarchy(
+                List.of(new PlacedShape(new Sphere(1.0))))) {
+            assertEquals(0, single.overlappingPairs().length);
+            assertArrayEquals(new int[] {0}, single.query(new BoundingBox(0, 0, 0, 1, 1, 1)));
+        }
+    }
+}
+
+class BoundingVolumeHierarchyRandomizedTest {
+    @Test
+    void testPairsMatchBruteForce() {
+        SplittableRandom random = new SplittableRandom(24);
+        List<PlacedShape> shapes = randomScene(random, 3_000, 60);
+        try (BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy(shapes)) {
+            assertArrayEquals(bruteForcePairs(shapes), bvh.overlappingPairs());
+
+            // Move, turn and resize a third of the shapes, then check again
+            for (int i = 0; i < shapes.size(); i += 3) {
+                PlacedShape placed = shapes.get(i);
+                switch (i % 9) {
+                    case 0 -> placed.setPosition(random.nextDouble(-30, 30), 0, random.nextDouble(-30, 30));
+                    case 3 -> placed.setOrientation(random.nextDouble(), random.nextDouble(), 0, 1);
+                    default -> resize(placed.getShape(), random.nextDouble(0.5, 6));
+                }
+            }
+            assertArrayEquals(bruteForcePairs(shapes), bvh.overlappingPairs());
+
+            BoundingBox query = new BoundingBox(-10, -5, -20, 10, 5, 0);
+            int[] expected = new int[shapes.size()];
+            int count = 0;
+            for (int i = 0; i < shapes.size(); i++) {
+                if (shapes.get(i).getBoundingBox().intersects(query)) {
+                    expected[count++] = i;
+                }
+            }
+            assertArrayEquals(Arrays.copyOf(expected, count), bvh.query(query));
+        }
+    }
+
+    @Test
+    void testRebuildAfterScatter() {
+        SplittableRandom random = new SplittableRandom(26);
+        List<PlacedShape> shapes = randomScene(random, 2_000, 5);
+        try (BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy(shapes)) {
+            for (PlacedShape placed : shapes) {
+                placed.setPosition(random.nextDouble(-100, 100), random.nextDouble(-100, 100),
+                        random.nextDouble(-100, 100));
+            }
+            long[] expected = bruteForcePairs(shapes);
+            assertArrayEquals(expected, bvh.overlappingPairs());
+            bvh.rebuild();
+            assertArrayEquals(expected, bvh.overlappingPairs());
+            shapes.get(0).setPosition(shapes.get(1).getX(), shapes.get(1).getY(), shapes.get(1).getZ());
+            assertArrayEquals(bruteForcePairs(shapes), bvh.overlappingPairs());
+        }
+    }
+
+    @Test
+    void testDegenerateScenes() {
+        // Identical boxes, and centroids spread so unevenly that binning puts
+        // nearly every shape in the first bin
+        List<PlacedShape> stacked = new ArrayList<>();
+        List<PlacedShape> skewed = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            stacked.add(new PlacedShape(new Cube(1.0), 5, 5, 5));
+            skewed.add(new PlacedShape(new Cube(0.1), Math.pow(1.05, i), 0, 0));
+        }
+        try (BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy(stacked)) {
+            assertEquals(500 * 499 / 2, bvh.overlappingPairs().length);
+        }
+        try (BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy(skewed)) {
+            assertArrayEquals(bruteForcePairs(skewed), bvh.overlappingPairs());
+        }
+    }
+
+    static List<PlacedShape> randomScene(SplittableRandom random, int count, double extent) {
+        ShapeType[] types = ShapeType.values();
+        List<PlacedShape> shapes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Shape3D shape = types[random.nextInt(types.length)].create(random.nextDouble(0.2, 3),
+                    random.nextDouble(0.2, 3), random.nextDouble(0.2, 3), "Shape", "Red");
+            shapes.add(new PlacedShape(shape,
+                    random.nextDouble(-extent, extent), random.nextDouble(-extent, extent),
+                    random.nextDouble(-extent, extent),
+                    random.nextDouble(-1, 1), random.nextDouble(-1, 1), random.nextDouble(-1, 1), 1));
+        }
+        return shapes;
+    }
+
+    static long[] bruteForcePairs(List<PlacedShape> shapes) {
+        BoundingBox[] boxes = shapes.stream().map(PlacedShape::getBoundingBox).toArray(BoundingBox[]::new);
+        long[] pairs = new long[16];
+        int count = 0;
+        for (int i = 0; i < boxes.length; i++) {
+            for (int j = i + 1; j < boxes.length; j++) {
+                if (boxes[i].intersects(boxes[j])) {
+                    if (count == pairs.length) {
+                        pairs = Arrays.copyOf(pairs, 2 * count);
+                    }
+                    pairs[count++] = (long) i << 32 | j;
+                }
+            }
+        }
+        return Arrays.copyOf(pairs, count);
+    }
+
+    private static void resize(Shape3D shape, double size) {
+        switch (shape) {
+            case Sphere sphere -> sphere.setRadius(size);
+            case Cube cube -> cube.setSideLength(size);
+            case Cylinder cylinder -> cylinder.setHeight(size);
+            case RectangularPrism prism -> prism.setLength(size);
+            case RectangularPyramid pyramid -> pyramid.setHeight(size);
+            default -> throw new IllegalStateException();
+        }
+    }
+}
+
+class BoundingVolumeHierarchyConcurrencyTest {
+    @Test
+    void testConcurrentMovesThenQuery() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(25);
+        List<PlacedShape> shapes = BoundingVolumeHierarchyRandomizedTest.randomScene(random, 20_000, 150);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy(shapes, pool)) {
+            assertArrayEquals(BoundingVolumeHierarchyRandomizedTest.bruteForcePairs(shapes), bvh.overlappingPairs());
+
+            // Each thread nudges its own quarter of the shapes while querying
+            Thread[] movers = new Thread[4];
+            for (int t = 0; t < movers.length; t++) {
+                int first = t;
+                long seed = random.nextLong();
+                movers[t] = Thread.ofPlatform().start(() -> {
+                    SplittableRandom local = new SplittableRandom(seed);
+                    for (int i = first; i < shapes.size(); i += movers.length) {
+                        PlacedShape placed = shapes.get(i);
+                        placed.setPosition(placed.getX() + local.nextDouble(-2, 2),
+                                placed.getY() + local.nextDouble(-2, 2), placed.getZ() + local.nextDouble(-2, 2));
+                        if (i % 1000 == first) {
+                            bvh.overlappingPairs();
+                        }
+                    }
+                });
+            }
+            for (Thread mover : movers) {
+                mover.join();
+            }
+            assertArrayEquals(BoundingVolumeHierarchyRandomizedTest.bruteForcePairs(shapes), bvh.overlappingPairs());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testChangesDuringBuildAreNotLost() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(27);
+        List<PlacedShape> shapes = BoundingVolumeHierarchyRandomizedTest.randomScene(random, 20_000, 150);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (int round = 0; round < 5; round++) {
+                long seed = random.nextLong();
+                // Jumps far enough that a stale leaf box never covers the new one
+                Thread mover = Thread.ofPlatform().start(() -> {
+                    SplittableRandom local = new SplittableRandom(seed);
+                    for (int i = 0; i < 100_000; i++) {
+                        shapes.get(local.nextInt(shapes.size())).setPosition(
+                                local.nextDouble(-1e5, 1e5), local.nextDouble(-1e5, 1e5), local.nextDouble(-1e5, 1e5));
+                    }
+                });
+                try (BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy(shapes, pool)) {
+                    mover.join();
+                    for (int i = 0; i < shapes.size(); i++) {
+                        int[] found = bvh.query(shapes.get(i).getBoundingBox());
+                        assertTrue(Arrays.binarySearch(found, i) >= 0, "shape " + i + " has a stale box");
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
+
+class BoundingVolumeHierarchyInputValidationTest {
+    @Test
+    void testInvalidArguments() {
+        PlacedShape placed = new PlacedShape(new Cube(1.0));
+        assertThrows(IllegalArgumentException.class, () -> new BoundingVolumeHierarchy(null));
+        assertThrows(IllegalArgumentException.class, () -> new BoundingVolumeHierarchy(List.of(placed), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BoundingVolumeHierarchy(Arrays.asList(placed, null)));
+        assertThrows(IllegalArgumentException.class, () -> new BoundingVolumeHierarchy(List.of(placed, placed)));
+        try (BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy(List.of(placed))) {
+            assertThrows(IllegalArgumentException.class, () -> bvh.query(null));
+        }
+    }
+}
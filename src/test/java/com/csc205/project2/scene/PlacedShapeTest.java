@@ -0,0 +1,112 @@
+package com.csc205.project2.scene;
+
+import com.csc205.project2.shapes.BoundingBox;
+import com.csc205.project2.shapes.Cube;
+import com.csc205.project2.shapes.Cylinder;
+import com.csc205.project2.shapes.RectangularPrism;
+import com.csc205.project2.shapes.Sphere;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlacedShapeBasicFunctionalityTest {
+    @Test
+    void testTranslatedBox() {
+        PlacedShape placed = new PlacedShape(new Cylinder(3.0, 7.0), 10, -5, 2);
+        assertEquals(new BoundingBox(7, -8, -1.5, 13, -2, 5.5), placed.getBoundingBox());
+        assertTrue(placed.contains(12.9, -5, 5.5));
+        assertFalse(placed.contains(12.9, -5, 5.6));
+        placed.setPosition(0, 0, 0);
+        assertEquals(new Cylinder(3.0, 7.0).getBoundingBox(), placed.getBoundingBox());
+    }
+
+    @Test
+    void testRotatedBox() {
+        double half = Math.sqrt(0.5);
+        // A quarter turn about z swaps the x and y extents
+        PlacedShape placed = new PlacedShape(new RectangularPrism(2.0, 4.0, 6.0), 1, 1, 1, half, 0, 0, half);
+        BoundingBox box = placed.getBoundingBox();
+        assertEquals(-1, box.minX(), 1e-12);
+        assertEquals(3, box.maxX(), 1e-12);
+        assertEquals(0, box.minY(), 1e-12);
+        assertEquals(2, box.maxY(), 1e-12);
+        assertEquals(-2, box.minZ(), 1e-12);
+        assertTrue(placed.contains(2.9, 1.9, 1));
+        assertFalse(placed.contains(1.9, 2.9, 1));
+
+        double[] orientation = placed.getOrientation();
+        assertEquals(half, orientation[0], 1e-15);
+        assertEquals(half, orientation[3], 1e-15);
+    }
+
+    @Test
+    void testOrientationIsNormalized() {
+        PlacedShape placed = new PlacedShape(new Cube(2.0));
+        placed.setOrientation(0, 0, 0, 5);
+        assertArrayEquals(new double[] {0, 0, 0, 1}, placed.getOrientation());
+        assertEquals(new Cube(2.0).getBoundingBox(), placed.getBoundingBox());
+    }
+
+    @Test
+    void testListenersSeeMovesAndResizes() {
+        Sphere sphere = new Sphere(1.0);
+        PlacedShape placed = new PlacedShape(sphere);
+        List<PlacedShape> changes = new ArrayList<>();
+        PlacementListener listener = changes::add;
+        placed.addPlacementListener(listener);
+        placed.setPosition(1, 2, 3);
+        placed.setOrientation(1, 1, 0, 0);
+        sphere.setRadius(2.0);
+        assertEquals(3, changes.size());
+        assertSame(placed, changes.get(0));
+
+        assertTrue(placed.removePlacementListener(listener));
+        assertFalse(placed.removePlacementListener(listener));
+        sphere.setRadius(3.0);
+        placed.setPosition(0, 0, 0);
+        assertEquals(3, changes.size());
+    }
+}
+
+class PlacedShapeRandomizedTest {
+    @Test
+    void testContainedPointsLieInBox() {
+        SplittableRandom random = new SplittableRandom(24);
+        for (int trial = 0; trial < 200; trial++) {
+            PlacedShape placed = new PlacedShape(
+                    new RectangularPrism(random.nextDouble(0.5, 3), random.nextDouble(0.5, 3), random.nextDouble(0.5, 3)),
+                    random.nextDouble(-5, 5), random.nextDouble(-5, 5), random.nextDouble(-5, 5),
+                    random.nextDouble(-1, 1), random.nextDouble(-1, 1), random.nextDouble(-1, 1), 1);
+            BoundingBox box = placed.getBoundingBox();
+            int inside = 0;
+            for (int i = 0; i < 500; i++) {
+                double x = random.nextDouble(box.minX(), box.maxX());
+                double y = random.nextDouble(box.minY(), box.maxY());
+                double z = random.nextDouble(box.minZ(), box.maxZ());
+                if (placed.contains(x, y, z)) {
+                    inside++;
+                }
+                assertFalse(placed.contains(box.maxX() + 1e-9, y, z));
+                assertFalse(placed.contains(x, box.minY() - 1e-9, z));
+            }
+            assertTrue(inside > 0);
+        }
+    }
+}
+
+class PlacedShapeInputValidationTest {
+    @Test
+    void testInvalidPlacements() {
+        Cube cube = new Cube(1.0);
+        assertThrows(IllegalArgumentException.class, () -> new PlacedShape(null));
+        assertThrows(IllegalArgumentException.class, () -> new PlacedShape(cube, Double.NaN, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PlacedShape(cube, 0, 0, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> new PlacedShape(cube, 0, 0, 0, 0, 0, 0, 0));
+        PlacedShape placed = new PlacedShape(cube);
+        assertThrows(IllegalArgumentException.class, () -> placed.setOrientation(Double.NaN, 1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> placed.setPosition(0, Double.NaN, 0));
+        assertThrows(IllegalArgumentException.class, () -> placed.addPlacementListener(null));
+    }
+}
@@ -0,0 +1,117 @@
+package com.csc205.project2.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local load test for {@link ShapeServer}.
+ * <p>
+ * Opens {@code connections} concurrent clients, each on its own virtual
+ * thread, that post shape batches to {@code /shapes/metrics} back to back
+ * until {@code requests} responses have been received, then prints
+ * requests per second and p50/p99/max latency.
+ * <pre>
+ * java ... LoadTestClient [url] [connections] [requests] [batchSize]
+ * </pre>
+ * Without a URL (or with {@code -}) an in-process server on a free port
+ * is used. Defaults: 10,000 connections, 100,000 requests, 100 shapes per
+ * batch. Running 10,000 connections needs an open-file limit above that
+ * ({@code ulimit -n}).
+ */
+public class LoadTestClient {
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "-";
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        int batchSize = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+
+        ShapeServer server = null;
+        if (url.equals("-")) {
+            server = ShapeServer.start(0);
+            url = "http://localhost:" + server.getPort();
+        }
+        try {
+            run(URI.create(url + "/shapes/metrics"), connections, requests, batchSize);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static void run(URI uri, int connections, int requests, int batchSize) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMinutes(1))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(batch(batchSize)))
+                .build();
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .connectTimeout(Duration.ofMinutes(1))
+                     .build()) {
+            long start = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < connections; c++) {
+                    clients.execute(() -> {
+                        for (int i; (i = next.getAndIncrement()) < requests; ) {
+                            long sent = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response =
+                                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() != 200) {
+                                    failures.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                failures.incrementAndGet();
+                            }
+                            latencies[i] = System.nanoTime() - sent;
+                        }
+                    });
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            System.out.printf(Locale.ROOT, "%d requests, %d connections, %d shapes/request, %d failures%n",
+                    requests, connections, batchSize, failures.get());
+            System.out.printf(Locale.ROOT, "throughput: %.0f requests/s%n", requests * 1e9 / elapsed);
+            System.out.printf(Locale.ROOT, "latency: p50=%.2f ms, p99=%.2f ms, max=%.2f ms%n",
+                    percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                    latencies[requests - 1] / 1e6);
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static String batch(int size) {
+        String[] types = {"SPHERE", "CUBE", "CYLINDER", "RECTANGULAR_PRISM", "RECTANGULAR_PYRAMID"};
+        int[] dimensions = {1, 1, 2, 3, 3};
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            int t = i % types.length;
+            sb.append(i == 0 ? "" : ",").append("{\"type\":\"").append(types[t]).append("\",\"dimensions\":[");
+            for (int d = 0; d < dimensions[t]; d++) {
+                sb.append(d == 0 ? "" : ",").append(1 + (i * 7 + d * 3) % 10);
+            }
+            sb.append("],\"color\":\"Red\"}");
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,254 @@
+package com.csc205.project2.server;
+
+import com.csc205.project2.shapes.Shape3D;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapeServerBasicFunctionalityTest {
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    @Test
+    void testHealth() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0)) {
+            HttpResponse<String> response = CLIENT.send(
+                    HttpRequest.newBuilder(uri(server, "/health")).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertEquals("{\"status\":\"UP\"}", response.body());
+        }
+    }
+
+    @Test
+    void testMetrics() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0)) {
+            HttpResponse<String> response = post(server, "/shapes/metrics",
+                    "[{\"type\":\"CUBE\",\"dimensions\":[2],\"name\":\"Box\",\"color\":\"Blue\"},"
+                            + " {\"type\":\"rectangular_prism\",\"dimensions\":[1,2,3]}]");
+            assertEquals(200, response.statusCode());
+            String body = response.body();
+            assertTrue(body.startsWith("{\"results\":[{\"volume\":8.0,\"surfaceArea\":24.0},"
+                    + "{\"volume\":6.0,\"surfaceArea\":22.0}],\"summary\":{\"count\":2,"), body);
+            assertTrue(body.contains("\"largestVolume\":{\"name\":\"Box\",\"type\":\"CUBE\",\"value\":8.0}"), body);
+            assertTrue(body.contains("\"volume\":{\"min\":6.0,\"max\":8.0,\"total\":14.0,\"mean\":7.0}"), body);
+        }
+    }
+
+    @Test
+    void testAnalysisOnly() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0)) {
+            HttpResponse<String> response = post(server, "/shapes/analysis",
+                    "[{\"type\":\"CUBE\",\"dimensions\":[2],\"ignored\":{\"a\":[true,null]}}]");
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().startsWith("{\"summary\":{\"count\":1,"), response.body());
+        }
+    }
+
+    @Test
+    void testClientStringsAreNotInterned() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0)) {
+            String name = "Request Only " + System.nanoTime();
+            HttpResponse<String> response = post(server, "/shapes/analysis",
+                    "[{\"type\":\"SPHERE\",\"dimensions\":[1],\"name\":\" " + name + " \",\"color\":\""
+                            + name + "\"}]");
+            assertTrue(response.body().contains("\"largestVolume\":{\"name\":\"" + name + "\",\"type\":\"SPHERE\""),
+                    response.body());
+            assertEquals(-1, Shape3D.getNameDictionary().idOf(name));
+            assertEquals(-1, Shape3D.getColorDictionary().idOf(name));
+        }
+    }
+
+    @Test
+    void testEmptyBatch() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0)) {
+            HttpResponse<String> response = post(server, "/shapes/metrics", " [ ] ");
+            assertEquals(200, response.statusCode());
+            assertEquals("{\"results\":[],\"summary\":null}", response.body());
+        }
+    }
+
+    @Test
+    void testLargeBatchIsStreamed() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0)) {
+            int count = 20_000;
+            StringBuilder request = new StringBuilder("[");
+            for (int i = 0; i < count; i++) {
+                request.append(i == 0 ? "" : ",").append("{\"type\":\"SPHERE\",\"dimensions\":[1]}");
+            }
+            HttpResponse<String> response = post(server, "/shapes/metrics", request.append(']').toString());
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().contains("\"count\":" + count));
+        }
+    }
+
+    @Test
+    void testConcurrentRequests() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int side = i + 1;
+                responses.add(executor.submit(() -> post(server, "/shapes/metrics",
+                        "[{\"type\":\"CUBE\",\"dimensions\":[" + side + "]}]")));
+            }
+            for (int i = 0; i < responses.size(); i++) {
+                double side = i + 1;
+                assertTrue(responses.get(i).get().body()
+                        .startsWith("{\"results\":[{\"volume\":" + side * side * side + ","));
+            }
+        }
+    }
+
+    private static HttpResponse<String> post(ShapeServer server, String path, String body) throws Exception {
+        return CLIENT.send(HttpRequest.newBuilder(uri(server, path))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(ShapeServer server, String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+}
+
+class ShapeServerInputValidationTest {
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    @Test
+    void testMalformedJsonIsBadRequest() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0)) {
+            HttpResponse<String> response = post(server, "[{\"type\":\"CUBE\",\"dimensions\":[2]");
+            assertEquals(400, response.statusCode());
+            assertTrue(response.body().startsWith("{\"error\":\""), response.body());
+        }
+    }
+
+    @Test
+    void testInvalidShapesAreBadRequest() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0)) {
+            assertEquals(400, post(server, "[{\"type\":\"TORUS\",\"dimensions\":[2]}]").statusCode());
+            assertEquals(400, post(server, "[{\"type\":\"CUBE\",\"dimensions\":[2,3]}]").statusCode());
+            assertEquals(400, post(server, "[{\"dimensions\":[2]}]").statusCode());
+            HttpResponse<String> response = post(server, "[{\"type\":\"CUBE\",\"dimensions\":[-2]}]");
+            assertEquals(400, response.statusCode());
+            assertEquals("{\"error\":\"Side length must be greater than zero.\"}", response.body());
+        }
+    }
+
+    @Test
+    void testErrorAfterFirstResultEndsDocument() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0)) {
+            HttpResponse<String> response = post(server,
+                    "[{\"type\":\"CUBE\",\"dimensions\":[2]},{\"type\":\"CUBE\"}]");
+            assertEquals(200, response.statusCode());
+            assertEquals("{\"results\":[{\"volume\":8.0,\"surfaceArea\":24.0}],"
+                    + "\"error\":\"CUBE requires 1 dimensions.\"}", response.body());
+        }
+    }
+
+    @Test
+    void testRequestLimits() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0, 2, 200)) {
+            String cube = "{\"type\":\"CUBE\",\"dimensions\":[2]}";
+            assertEquals(200, post(server, "[" + cube + "," + cube + "]").statusCode());
+            HttpResponse<String> response = post(server, "[" + cube + "," + cube + "," + cube + "]");
+            assertEquals("{\"results\":[{\"volume\":8.0,\"surfaceArea\":24.0},"
+                    + "{\"volume\":8.0,\"surfaceArea\":24.0}],\"error\":\"Request exceeds 2 shapes.\"}",
+                    response.body());
+            response = post(server, "[" + " ".repeat(300) + "]");
+            assertEquals(400, response.statusCode());
+            assertTrue(response.body().contains("exceeds 200 characters"), response.body());
+        }
+        assertThrows(IllegalArgumentException.class, () -> ShapeServer.start(0, 0, 200));
+        assertThrows(IllegalArgumentException.class, () -> ShapeServer.start(0, 2, 0));
+    }
+
+    @Test
+    void testDeeplyNestedValueIsBadRequest() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0)) {
+            int depth = 100_000;
+            String body = "[{\"type\":\"CUBE\",\"dimensions\":[2],\"extra\":"
+                    + "[".repeat(depth) + "]".repeat(depth) + "}]";
+            HttpResponse<String> response = post(server, body);
+            assertEquals(400, response.statusCode());
+            assertTrue(response.body().contains("Nesting deeper than"), response.body());
+        }
+    }
+
+    @Test
+    void testWrongMethod() throws Exception {
+        try (ShapeServer server = ShapeServer.start(0)) {
+            HttpResponse<String> response = CLIENT.send(HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + server.getPort() + "/shapes/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, response.statusCode());
+        }
+    }
+
+    private static HttpResponse<String> post(ShapeServer server, String body) throws Exception {
+        return CLIENT.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + server.getPort() + "/shapes/metrics"))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
+
+class JsonReaderTest {
+    @Test
+    void testStringEscapes() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("\"a\\\"b\\\\c\\/\\n\\u00e9\\uD83D\\uDE00\""));
+        assertEquals("a\"b\\c/\né😀", reader.nextString());
+        reader.endDocument();
+    }
+
+    @Test
+    void testNumbers() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("[1, -2.5e3 ,0.125]"));
+        reader.beginArray();
+        List<Double> values = new ArrayList<>();
+        for (boolean first = true; reader.hasNext(']', first); first = false) {
+            values.add(reader.nextDouble());
+        }
+        assertEquals(List.of(1.0, -2500.0, 0.125), values);
+    }
+
+    @Test
+    void testSkipNestedValues() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader(
+                "[{\"a\":[1,{\"b\":{}},[]],\"c\":\"x\"},[[true]],null] 5"));
+        reader.skipValue();
+        assertEquals(5.0, reader.nextDouble());
+        reader.endDocument();
+
+        String deepest = "[".repeat(JsonReader.MAX_DEPTH) + "]".repeat(JsonReader.MAX_DEPTH);
+        new JsonReader(new StringReader(deepest)).skipValue();
+        assertThrows(IllegalArgumentException.class,
+                () -> new JsonReader(new StringReader("[" + deepest + "]")).skipValue());
+    }
+
+    @Test
+    void testMaxLength() throws IOException {
+        new JsonReader(new StringReader("[1,2]"), 5).skipValue();
+        assertThrows(IllegalArgumentException.class,
+                () -> new JsonReader(new StringReader("[1,2] "), 5).skipValue());
+    }
+
+    @Test
+    void testErrorsReportOffset() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new JsonReader(new StringReader("[1 2]")).skipValue());
+        assertTrue(e.getMessage().endsWith("at offset 3"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new JsonReader(new StringReader("\"abc")).nextString());
+        assertThrows(IllegalArgumentException.class, () -> {
+            JsonReader reader = new JsonReader(new StringReader("[] x"));
+            reader.skipValue();
+            reader.endDocument();
+        });
+    }
+}
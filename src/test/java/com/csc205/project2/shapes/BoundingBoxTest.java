@@ -0,0 +1,42 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundingBoxBasicFunctionalityTest {
+    @Test
+    void testShapeBoxes() {
+        assertEquals(new BoundingBox(-2, -2, -2, 2, 2, 2), new Sphere(2.0).getBoundingBox());
+        assertEquals(new BoundingBox(-1.5, -1.5, -1.5, 1.5, 1.5, 1.5), new Cube(3.0).getBoundingBox());
+        assertEquals(new BoundingBox(-3, -3, -3.5, 3, 3, 3.5), new Cylinder(3.0, 7.0).getBoundingBox());
+        assertEquals(new BoundingBox(-1, -2.5, -3, 1, 2.5, 3), new RectangularPrism(2.0, 5.0, 6.0).getBoundingBox());
+        assertEquals(new BoundingBox(-2, -3, -4.5, 2, 3, 4.5),
+                new RectangularPyramid(4.0, 6.0, 9.0).getBoundingBox());
+    }
+
+    @Test
+    void testContainsAndIntersects() {
+        BoundingBox box = new BoundingBox(0, 0, 0, 1, 2, 3);
+        assertTrue(box.contains(1, 2, 3));
+        assertTrue(box.contains(0.5, 1, 1.5));
+        assertFalse(box.contains(1.0001, 1, 1));
+        assertTrue(box.intersects(new BoundingBox(1, 2, 3, 4, 4, 4)));
+        assertFalse(box.intersects(new BoundingBox(1.5, 0, 0, 2, 1, 1)));
+        assertTrue(box.intersects(new BoundingBox(-1, -1, -1, 5, 5, 5)));
+    }
+
+    @Test
+    void testTranslateAndUnion() {
+        BoundingBox box = new Cube(2.0).getBoundingBox().translate(10, 0, -1);
+        assertEquals(new BoundingBox(9, -1, -2, 11, 1, 0), box);
+        assertEquals(new BoundingBox(-1, -1, -2, 11, 1, 1), box.union(new Cube(2.0).getBoundingBox()));
+    }
+}
+
+class BoundingBoxInputValidationTest {
+    @Test
+    void testInvertedBox() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundingBox(1, 0, 0, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BoundingBox(0, 0, Double.NaN, 1, 1, 1));
+    }
+}
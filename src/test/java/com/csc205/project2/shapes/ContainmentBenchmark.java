@@ -0,0 +1,89 @@
+package com.csc205.project2.shapes;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures point containment throughput: many points against one shape,
+ * and one point against a store of many shapes.
+ * <p>
+ * {@code scalarContains} calls {@link Shape3D#contains} per point.
+ * {@code containmentMargins} writes signed margins, a loop HotSpot
+ * vectorizes; {@code containsPoints} adds the pass that turns margins into
+ * booleans. A single loop storing booleans directly does not vectorize,
+ * which is why the boolean kernel is built from two passes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContainmentBenchmark {
+
+    @Param({"SPHERE", "RECTANGULAR_PRISM", "RECTANGULAR_PYRAMID"})
+    public ShapeType type;
+
+    @Param({"4096"})
+    public int count;
+
+    private Shape3D shape;
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private double[] margins;
+    private boolean[] inside;
+    private ShapeStore store;
+    private boolean[] storeInside;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        shape = type.create(3.0, 4.0, 5.0, "Shape", "Red");
+        x = new double[count];
+        y = new double[count];
+        z = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = random.nextDouble(-4, 4);
+            y[i] = random.nextDouble(-4, 4);
+            z[i] = random.nextDouble(-4, 4);
+        }
+        margins = new double[count];
+        inside = new boolean[count];
+
+        ShapeType[] types = ShapeType.values();
+        store = new ShapeStore(count);
+        for (int i = 0; i < count; i++) {
+            store.add(types[random.nextInt(types.length)], 1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(), 1 + 9 * random.nextDouble(), "Shape", "Red");
+        }
+        storeInside = new boolean[count];
+    }
+
+    @Benchmark
+    public boolean[] scalarContains() {
+        for (int i = 0; i < count; i++) {
+            inside[i] = shape.contains(x[i], y[i], z[i]);
+        }
+        return inside;
+    }
+
+    @Benchmark
+    public double[] containmentMargins() {
+        ShapeKernels.containmentMargins(type, 3.0, 4.0, 5.0, x, y, z, margins, count);
+        return margins;
+    }
+
+    @Benchmark
+    public boolean[] containsPoints() {
+        ShapeKernels.containsPoints(type, 3.0, 4.0, 5.0, x, y, z, inside, count);
+        return inside;
+    }
+
+    @Benchmark
+    public boolean[] storeContainsPoint() {
+        store.containsPoint(1.0, -0.5, 2.0, storeInside);
+        return storeInside;
+    }
+}
@@ -0,0 +1,75 @@
+package com.csc205.project2.shapes;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedDecimalBasicFunctionalityTest {
+    @Test
+    void testSimpleValues() {
+        assertEquals("3.14", FixedDecimal.append(new StringBuilder(), Math.PI, 2).toString());
+        assertEquals("0.05", FixedDecimal.append(new StringBuilder(), 0.05, 2).toString());
+        assertEquals("7.0", FixedDecimal.append(new StringBuilder(), 7, 1).toString());
+        assertEquals("10", FixedDecimal.append(new StringBuilder(), 9.5001, 0).toString());
+    }
+
+    @Test
+    void testWriteToUtf8() {
+        Shape3D shape = new Cube(2.0, "Würfel ☐", "Blau");
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        shape.writeTo(buffer);
+        String written = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        assertEquals(shape.toString(), written);
+    }
+}
+
+class FixedDecimalCalculationAccuracyTest {
+    private static void assertMatchesFormat(double value, int digits) {
+        String expected = String.format("%." + digits + "f", value);
+        assertEquals(expected, FixedDecimal.append(new StringBuilder(), value, digits).toString(),
+                "value " + value);
+    }
+
+    @Test
+    void testRandomValuesMatchFormat() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 200_000; i++) {
+            double value = Math.pow(10, random.nextDouble(-6, 12)) * random.nextDouble();
+            assertMatchesFormat(value, 1 + (i & 1));
+        }
+    }
+
+    @Test
+    void testTiesAndEdgeCases() {
+        double[] values = {0.0, -0.0, 0.005, 0.015, 0.125, 1.005, 2.675, 0.994999, 0.995, 9.995,
+                99.995, 1e10, 1e15, -1.234, Double.NaN, Double.POSITIVE_INFINITY, Double.MIN_VALUE,
+                4.35, 0.45, 1234567.125};
+        for (double value : values) {
+            for (int digits = 0; digits <= FixedDecimal.MAX_DIGITS; digits++) {
+                assertMatchesFormat(value, digits);
+            }
+        }
+    }
+
+    @Test
+    void testNonAsciiLocaleFallsBack() {
+        Locale previous = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+            assertMatchesFormat(12.345678, 2);
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, previous);
+        }
+    }
+}
+
+class FixedDecimalInputValidationTest {
+    @Test
+    void testInvalidDigits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FixedDecimal.append(new StringBuilder(), 1.0, FixedDecimal.MAX_DIGITS + 1));
+    }
+}
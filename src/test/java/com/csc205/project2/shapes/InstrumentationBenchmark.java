@@ -0,0 +1,84 @@
+package com.csc205.project2.shapes;
+
+import com.csc205.project2.instrumentation.Instrumentation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the cost of {@link Instrumentation} on the hot shape
+ * operations. {@code calculateVolume} and {@code sumCalculatedVolumes}
+ * call the uninstrumented formulas directly and are the baselines for
+ * {@code getVolume} and {@code sumVolumes}; with {@code enabled=false}
+ * the instrumented and baseline scores should be within noise of each
+ * other.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InstrumentationBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    private Shape3D shape;
+
+    private Shape3D[] shapes;
+
+    private final StringBuilder text = new StringBuilder(128);
+
+    @Setup
+    public void setUp() {
+        Instrumentation.setEnabled(enabled);
+        shape = new Cylinder(3.0, 4.0, "Benchmark Shape", "Red");
+        ShapeType[] types = ShapeType.values();
+        shapes = new Shape3D[1024];
+        for (int i = 0; i < shapes.length; i++) {
+            shapes[i] = types[i % types.length].create(1 + i % 7, 1 + i % 5, 1 + i % 3, "Shape", "Red");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Instrumentation.setEnabled(false);
+        Instrumentation.reset();
+    }
+
+    @Benchmark
+    public double calculateVolume() {
+        return shape.calculateVolume();
+    }
+
+    @Benchmark
+    public double getVolume() {
+        return shape.getVolume();
+    }
+
+    @Benchmark
+    public StringBuilder appendTo() {
+        text.setLength(0);
+        return shape.appendTo(text);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public double sumCalculatedVolumes() {
+        double sum = 0;
+        for (Shape3D s : shapes) {
+            sum += s.calculateVolume();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public double sumVolumes() {
+        double sum = 0;
+        for (Shape3D s : shapes) {
+            sum += s.getVolume();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,165 @@
+package com.csc205.project2.shapes;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Shape3DMetricsCacheTest {
+    @Test
+    void testCachingIsOptIn() {
+        Sphere s = new Sphere(2.0);
+        assertFalse(s.isMetricsCachingEnabled());
+        s.setMetricsCachingEnabled(true);
+        assertTrue(s.isMetricsCachingEnabled());
+    }
+
+    @Test
+    void testCachedValuesMatch() {
+        RectangularPyramid p = new RectangularPyramid(4, 6, 9);
+        double volume = p.getVolume();
+        double area = p.getSurfaceArea();
+        p.setMetricsCachingEnabled(true);
+        assertEquals(volume, p.getVolume());
+        assertEquals(area, p.getSurfaceArea());
+    }
+
+    @Test
+    void testSetterInvalidatesCache() {
+        Cylinder c = new Cylinder(1.0, 2.0);
+        c.setMetricsCachingEnabled(true);
+        c.getVolume();
+        c.setHeight(4.0);
+        assertEquals(Math.PI * 4.0, c.getVolume(), 0.0001);
+        c.setRadius(2.0);
+        assertEquals(2 * Math.PI * 2.0 * 6.0, c.getSurfaceArea(), 0.0001);
+    }
+
+    @Test
+    void testHitAndMissCounters() {
+        Cube c = new Cube(3.0);
+        c.setMetricsCachingEnabled(true);
+        long hits = Shape3D.getCacheHitCount();
+        long misses = Shape3D.getCacheMissCount();
+
+        c.getVolume();
+        c.getSurfaceArea();
+        c.getVolume();
+        c.setSideLength(4.0);
+        c.getVolume();
+
+        assertEquals(hits + 2, Shape3D.getCacheHitCount());
+        assertEquals(misses + 2, Shape3D.getCacheMissCount());
+    }
+}
+
+class Shape3DMetricsCacheConcurrencyTest {
+    @Test
+    void testReadersNeverSeeStaleValues() throws InterruptedException {
+        Sphere sphere = new Sphere(1.0);
+        sphere.setMetricsCachingEnabled(true);
+        int steps = 20_000;
+        double[] published = {1.0};
+        Object lock = new Object();
+        AtomicBoolean stale = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+
+        Thread[] readers = new Thread[3];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                while (!done.get()) {
+                    double radius;
+                    synchronized (lock) {
+                        radius = published[0];
+                    }
+                    // The radius only grows, so a value below the last
+                    // published radius can only come from a stale cache.
+                    if (sphere.getVolume() < new Sphere(radius).getVolume()) {
+                        stale.set(true);
+                    }
+                }
+            });
+            readers[t].start();
+        }
+
+        for (int i = 2; i <= steps; i++) {
+            sphere.setRadius(i);
+            synchronized (lock) {
+                published[0] = i;
+            }
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertFalse(stale.get());
+        assertEquals(new Sphere(steps).getVolume(), sphere.getVolume());
+    }
+}
+
+class Shape3DFormattingTest {
+    @Test
+    void testToStringMatchesFormat() {
+        Shape3D sphere = new Sphere(5.0, "Red Ball", "Red");
+        assertEquals(String.format("%s [Radius=%.2f, Color=%s, Surface Area=%.2f, Volume=%.2f]",
+                "Red Ball", 5.0, "Red", sphere.getSurfaceArea(), sphere.getVolume()), sphere.toString());
+
+        Shape3D pyramid = new RectangularPyramid(4.0, 6.0, 9.0, "Purple Pyramid", "Purple");
+        assertEquals(String.format(
+                "%s [Base Length=%.2f, Base Width=%.2f, Height=%.2f, Color=%s, Surface Area=%.2f, Volume=%.2f]",
+                "Purple Pyramid", 4.0, 6.0, 9.0, "Purple", pyramid.getSurfaceArea(), pyramid.getVolume()),
+                pyramid.toString());
+    }
+
+    @Test
+    void testAppendToReusesBuilder() {
+        StringBuilder sb = new StringBuilder("1. ");
+        Shape3D prism = new RectangularPrism(2.0, 5.0, 6.0, "Yellow Brick", "Yellow");
+        assertSame(sb, prism.appendTo(sb));
+        assertEquals("1. Yellow Brick [Length=2.00, Width=5.00, Height=6.00, Color=Yellow, "
+                + "Surface Area=104.00, Volume=60.00]", sb.toString());
+    }
+}
+
+class Shape3DDictionaryEncodingTest {
+    @Test
+    void testEqualValuesShareIdsAndStrings() {
+        Shape3D first = new Cube(1.0, new String("Box"), new String("Teal"));
+        Shape3D second = new Sphere(1.0, " Ball ", new String("Teal"));
+        assertEquals(first.getColorId(), second.getColorId());
+        assertSame(first.getColor(), second.getColor());
+        assertNotEquals(first.getNameId(), second.getNameId());
+        assertEquals("Ball", second.getName());
+
+        second.setColor("Navy");
+        assertNotEquals(first.getColorId(), second.getColorId());
+        assertEquals("Navy", Shape3D.getColorDictionary().lookup(second.getColorId()));
+    }
+
+    @Test
+    void testPerShapeLayoutExcludesStrings() {
+        int count = 10_000;
+        Shape3D[] shapes = new Shape3D[count];
+        String[] strings = new String[2 * count];
+        for (int i = 0; i < count; i++) {
+            // Distinct String instances per shape, as parsed input would produce
+            strings[2 * i] = new String("Layout Box " + (i % 1000));
+            strings[2 * i + 1] = new String("Layout Color " + (i % 40));
+            shapes[i] = new Cube(1.0 + i, strings[2 * i], strings[2 * i + 1]);
+        }
+
+        long shapeBytes = ClassLayout.parseClass(Cube.class).instanceSize();
+        long retainedPerShape = GraphLayout.parseInstance((Object) shapes).totalSize() / count;
+        long stringsPerShape = GraphLayout.parseInstance((Object[]) strings).totalSize() / count;
+
+        // The shape array slot is the only cost beyond the object itself
+        assertTrue(retainedPerShape <= shapeBytes + 8,
+                "retained " + retainedPerShape + " bytes per " + shapeBytes + "-byte shape");
+        // Each parsed name and color costs far more than the shape keeps for it
+        assertTrue(stringsPerShape >= 2 * 40, "strings take " + stringsPerShape + " bytes per shape");
+        assertTrue(retainedPerShape < stringsPerShape,
+                "retained " + retainedPerShape + " bytes, strings " + stringsPerShape + " bytes per shape");
+    }
+}
@@ -0,0 +1,136 @@
+package com.csc205.project2.shapes;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapeArenaBasicFunctionalityTest {
+    @Test
+    void testAddAndRead() {
+        try (ShapeArena arena = new ShapeArena()) {
+            long index = arena.add(new RectangularPrism(2.0, 5.0, 6.0, "Yellow Brick", "Yellow"));
+            assertEquals(1, arena.size());
+            assertEquals(ShapeType.RECTANGULAR_PRISM, arena.getType(index));
+            assertEquals(5.0, arena.getDimension(index, 1));
+            assertEquals("Yellow Brick", arena.getName(index));
+            assertEquals("Yellow", arena.getColor(index));
+        }
+    }
+
+    @Test
+    void testDictionaryDeduplicatesStrings() {
+        try (ShapeArena arena = new ShapeArena()) {
+            for (int i = 0; i < 100; i++) {
+                arena.add(ShapeType.CUBE, i + 1, 0, 0, "Box", i % 2 == 0 ? "Red" : "Blue");
+            }
+            assertEquals(1, arena.getNames().size());
+            assertEquals(2, arena.getColors().size());
+            assertEquals(arena.getColorId(0), arena.getColorId(98));
+        }
+    }
+
+    @Test
+    void testViewMatchesShape() {
+        try (ShapeArena arena = new ShapeArena()) {
+            Cylinder cylinder = new Cylinder(3.0, 7.0, "Green Can", "Green");
+            ArenaShape view = arena.view(arena.add(cylinder));
+            assertEquals(cylinder.getVolume(), view.getVolume(), 0.0001);
+            assertEquals(cylinder.getSurfaceArea(), view.getSurfaceArea(), 0.0001);
+            assertEquals(cylinder.toString(), view.toString());
+            assertTrue(view.toShape() instanceof Cylinder);
+        }
+    }
+
+    @Test
+    void testViewContainment() {
+        try (ShapeArena arena = new ShapeArena()) {
+            RectangularPyramid pyramid = new RectangularPyramid(4.0, 6.0, 9.0, "Purple Pyramid", "Purple");
+            ArenaShape view = arena.view(arena.add(pyramid));
+            assertEquals(pyramid.getBoundingBox(), view.getBoundingBox());
+            assertTrue(view.contains(0, 0, 4.5));
+            assertFalse(view.contains(2, 3, 0));
+        }
+    }
+}
+
+class ShapeArenaCalculationAccuracyTest {
+    @Test
+    void testBulkAcrossSegments() {
+        try (ShapeArena arena = new ShapeArena()) {
+            int count = ShapeArena.RECORDS_PER_SEGMENT + 10;
+            ShapeType[] types = ShapeType.values();
+            for (int i = 0; i < count; i++) {
+                arena.add(types[i % types.length], 1 + i % 7, 2 + i % 3, 3, "Shape", "Red");
+            }
+            double[] volumes = new double[20];
+            double[] areas = new double[20];
+            long first = ShapeArena.RECORDS_PER_SEGMENT - 10;
+            arena.computeVolumes(first, 20, volumes);
+            arena.computeSurfaceAreas(first, 20, areas);
+            for (int i = 0; i < 20; i++) {
+                Shape3D shape = arena.view(first + i).toShape();
+                assertEquals(shape.getVolume(), volumes[i], ShapeKernels.MAX_ULP_ERROR * Math.ulp(volumes[i]));
+                assertEquals(shape.getSurfaceArea(), areas[i], ShapeKernels.MAX_ULP_ERROR * Math.ulp(areas[i]));
+            }
+        }
+    }
+}
+
+class ShapeArenaLifetimeTest {
+    @Test
+    void testClosedArenaRejectsAccess() {
+        ShapeArena arena = new ShapeArena();
+        ArenaShape view = arena.view(arena.add(new Sphere(1.0)));
+        assertTrue(arena.reservedBytes() > 0);
+        arena.close();
+        assertTrue(arena.isClosed());
+        assertThrows(IllegalStateException.class, () -> arena.getType(0));
+        assertThrows(IllegalStateException.class, view::getVolume);
+        assertThrows(IllegalStateException.class, () -> arena.add(new Sphere(1.0)));
+    }
+
+    @Test
+    void testReadsDuringCloseOnlySeeClosed() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            ShapeArena arena = new ShapeArena();
+            for (int i = 0; i < 1_000; i++) {
+                arena.add(new Cube(1 + i));
+            }
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread reader = Thread.ofPlatform().start(() -> {
+                double[] volumes = new double[1_000];
+                try {
+                    for (long i = 0; ; i = (i + 1) % 1_000) {
+                        arena.getDimension(i, 0);
+                        arena.computeVolumes(0, volumes.length, volumes);
+                    }
+                } catch (IllegalStateException expected) {
+                    // Closed
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            Thread.sleep(1);
+            arena.close();
+            reader.join();
+            assertNull(failure.get());
+        }
+    }
+}
+
+class ShapeArenaInputValidationTest {
+    @Test
+    void testInvalidIndex() {
+        try (ShapeArena arena = new ShapeArena()) {
+            assertThrows(IndexOutOfBoundsException.class, () -> arena.getType(0));
+        }
+    }
+
+    @Test
+    void testInvalidDimension() {
+        try (ShapeArena arena = new ShapeArena()) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> arena.add(ShapeType.SPHERE, -1, 0, 0, "Ball", "Red"));
+        }
+    }
+}
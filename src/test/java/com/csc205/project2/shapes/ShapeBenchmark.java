@@ -0,0 +1,71 @@
+package com.csc205.project2.shapes;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the per-shape operations of each concrete shape class.
+ * <p>
+ * Each shape type runs in its own fork, so the calls measured here are
+ * monomorphic; see {@code AnalysisBenchmark} for mixed collections.
+ * The {@code cached} parameter toggles the optional metrics cache, which
+ * only affects {@code getVolume} and the formatting benchmarks.
+ * {@code stringFormat} is the former {@code String.format}-based
+ * {@code toString} (without dimensions), kept as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShapeBenchmark {
+
+    @Param({"SPHERE", "CUBE", "CYLINDER", "RECTANGULAR_PRISM", "RECTANGULAR_PYRAMID"})
+    public ShapeType type;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private Shape3D shape;
+
+    private final StringBuilder text = new StringBuilder(128);
+
+    @Setup
+    public void setUp() {
+        shape = type.create(3.0, 4.0, 5.0, "Benchmark Shape", "Red");
+        shape.setMetricsCachingEnabled(cached);
+    }
+
+    @Benchmark
+    public double calculateVolume() {
+        return shape.calculateVolume();
+    }
+
+    @Benchmark
+    public double calculateSurfaceArea() {
+        return shape.calculateSurfaceArea();
+    }
+
+    @Benchmark
+    public double getVolume() {
+        return shape.getVolume();
+    }
+
+    @Benchmark
+    public String toStringFormatting() {
+        return shape.toString();
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format("%s [Color=%s, Surface Area=%.2f, Volume=%.2f]",
+                shape.getName(), shape.getColor(), shape.getSurfaceArea(), shape.getVolume());
+    }
+
+    @Benchmark
+    public int appendToReusedBuilder() {
+        text.setLength(0);
+        return shape.appendTo(text).length();
+    }
+}
@@ -0,0 +1,112 @@
+package com.csc205.project2.shapes;
+
+import com.csc205.project2.io.ShapeCsvLoader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the {@link ShapeFile} binary format with CSV for writing a
+ * snapshot and for reading it back and computing every volume. Divide the
+ * shape count by the reported time for shapes/sec.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ShapeFileBenchmark {
+
+    @Param({"1000000"})
+    public int shapes;
+
+    private ShapeArena source;
+
+    private Path binaryFile;
+
+    private Path csvFile;
+
+    private Path scratchFile;
+
+    private double[] volumes;
+
+    @Setup
+    public void setUp() throws IOException {
+        source = new ShapeArena();
+        SplittableRandom random = new SplittableRandom(42);
+        ShapeType[] types = ShapeType.values();
+        for (int i = 0; i < shapes; i++) {
+            source.add(types[i % types.length], 1 + 99 * random.nextDouble(), 1 + 99 * random.nextDouble(),
+                    1 + 99 * random.nextDouble(), "Shape " + (i % 5000), "Color " + (i % 40));
+        }
+        binaryFile = Files.createTempFile("shapes-benchmark", ".shp");
+        csvFile = Files.createTempFile("shapes-benchmark", ".csv");
+        scratchFile = Files.createTempFile("shapes-benchmark", ".tmp");
+        writeBinary(binaryFile);
+        writeCsv(csvFile);
+        volumes = new double[shapes];
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        source.close();
+        Files.deleteIfExists(binaryFile);
+        Files.deleteIfExists(csvFile);
+        Files.deleteIfExists(scratchFile);
+    }
+
+    @Benchmark
+    public long writeBinary() throws IOException {
+        return writeBinary(scratchFile);
+    }
+
+    @Benchmark
+    public long writeCsv() throws IOException {
+        return writeCsv(scratchFile);
+    }
+
+    @Benchmark
+    public double mapBinaryAndComputeVolumes() throws IOException {
+        try (ShapeArena arena = ShapeFile.map(binaryFile)) {
+            arena.computeVolumes(0, shapes, volumes);
+        }
+        return volumes[shapes - 1];
+    }
+
+    @Benchmark
+    public double loadCsvAndComputeVolumes() throws IOException {
+        new ShapeCsvLoader().loadStore(csvFile).computeVolumes(volumes);
+        return volumes[shapes - 1];
+    }
+
+    private long writeBinary(Path file) throws IOException {
+        try (ShapeFileWriter writer = new ShapeFileWriter(file)) {
+            for (long i = 0; i < shapes; i++) {
+                writer.add(source.getType(i), source.getDimension(i, 0), source.getDimension(i, 1),
+                        source.getDimension(i, 2), source.getName(i), source.getColor(i));
+            }
+        }
+        return Files.size(file);
+    }
+
+    private long writeCsv(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            StringBuilder sb = new StringBuilder(128);
+            for (long i = 0; i < shapes; i++) {
+                sb.setLength(0);
+                sb.append(source.getType(i)).append(',').append(source.getName(i)).append(',')
+                        .append(source.getColor(i));
+                for (int d = 0; d < source.getType(i).getDimensionCount(); d++) {
+                    sb.append(',').append(source.getDimension(i, d));
+                }
+                writer.append(sb).append('\n');
+            }
+        }
+        return Files.size(file);
+    }
+}
@@ -0,0 +1,279 @@
+package com.csc205.project2.shapes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapeFileBasicFunctionalityTest {
+    @Test
+    void testRoundTrip() throws IOException {
+        List<Shape3D> shapes = List.of(
+                new Sphere(5.0, "Red Ball", "Red"),
+                new Cube(4.0, "Blue Box", "Blue"),
+                new Cylinder(3.0, 7.0, "Green Can", "Green"),
+                new RectangularPrism(2.0, 5.0, 6.0, "Yellow Brick", "Yellow"),
+                new RectangularPyramid(4.0, 6.0, 9.0, "Purple Pyramid", "Purple"),
+                new Sphere(1.5, "Balle été 🌞", "Red"));
+        Path file = Files.createTempFile("shapes", ".shp");
+        try {
+            try (ShapeFileWriter writer = new ShapeFileWriter(file)) {
+                writer.addAll(shapes);
+                assertEquals(shapes.size(), writer.count());
+            }
+            try (ShapeArena arena = ShapeFile.map(file)) {
+                assertEquals(shapes.size(), arena.size());
+                assertEquals(5, arena.getColors().size());
+                for (int i = 0; i < shapes.size(); i++) {
+                    Shape3D expected = shapes.get(i);
+                    ArenaShape view = arena.view(i);
+                    assertEquals(ShapeType.of(expected), view.getType());
+                    assertEquals(expected.getName(), view.getName());
+                    assertEquals(expected.getColor(), view.getColor());
+                    assertEquals(expected.toString(), view.toString());
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testMappedArenaIsReadOnly() throws IOException {
+        Path file = Files.createTempFile("shapes", ".shp");
+        try {
+            try (ShapeFileWriter writer = new ShapeFileWriter(file)) {
+                writer.add(ShapeType.CUBE, 2.0, 0, 0, "Box", "Blue");
+            }
+            try (ShapeArena arena = ShapeFile.map(file)) {
+                assertThrows(IllegalStateException.class, () -> arena.add(new Cube(1.0)));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testSeveralReadersShareFile() throws IOException {
+        Path file = Files.createTempFile("shapes", ".shp");
+        try {
+            try (ShapeFileWriter writer = new ShapeFileWriter(file)) {
+                writer.add(ShapeType.CYLINDER, 3.0, 7.0, 0, "Can", "Green");
+            }
+            try (ShapeArena first = ShapeFile.map(file); ShapeArena second = ShapeFile.map(file)) {
+                assertEquals(first.view(0).getVolume(), second.view(0).getVolume());
+                first.close();
+                assertEquals("Can", second.getName(0));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testUnusedDimensionsAreZero() throws IOException {
+        Path file = Files.createTempFile("shapes", ".shp");
+        try {
+            try (ShapeFileWriter writer = new ShapeFileWriter(file)) {
+                writer.add(new RectangularPrism(2.0, 3.0, 4.0));
+                writer.add(new Cube(5.0));
+                writer.add(new Cylinder(1.0, 6.0));
+            }
+            try (ShapeArena arena = ShapeFile.map(file)) {
+                assertEquals(5.0, arena.getDimension(1, 0));
+                assertEquals(0.0, arena.getDimension(1, 1));
+                assertEquals(0.0, arena.getDimension(1, 2));
+                assertEquals(6.0, arena.getDimension(2, 1));
+                assertEquals(0.0, arena.getDimension(2, 2));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testReplaceKeepsMappedFile() throws IOException {
+        Path directory = Files.createTempDirectory("shapes");
+        Path file = directory.resolve("shapes.shp");
+        try {
+            try (ShapeFileWriter writer = new ShapeFileWriter(file)) {
+                writer.add(ShapeType.CUBE, 2.0, 0, 0, "Old", "Blue");
+            }
+            try (ShapeArena old = ShapeFile.map(file)) {
+                ShapeFileWriter writer = new ShapeFileWriter(file);
+                writer.add(ShapeType.SPHERE, 1.0, 0, 0, "New", "Red");
+                writer.add(ShapeType.SPHERE, 2.0, 0, 0, "New", "Red");
+                // Until close the target is the previous, complete file
+                try (ShapeArena current = ShapeFile.map(file)) {
+                    assertEquals(1, current.size());
+                }
+                writer.close();
+                assertEquals("Old", old.getName(0));
+                assertEquals(8.0, old.view(0).getVolume());
+            }
+            try (ShapeArena arena = ShapeFile.map(file)) {
+                assertEquals(2, arena.size());
+                assertEquals("New", arena.getName(1));
+            }
+
+            ShapeFileWriter aborted = new ShapeFileWriter(file);
+            aborted.add(ShapeType.CUBE, 3.0, 0, 0, "Aborted", "Green");
+            aborted.abort();
+            try (ShapeArena arena = ShapeFile.map(file)) {
+                assertEquals(2, arena.size());
+            }
+            try (var files = Files.list(directory)) {
+                assertEquals(List.of(file), files.toList());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        Path file = Files.createTempFile("shapes", ".shp");
+        try {
+            new ShapeFileWriter(file).close();
+            try (ShapeArena arena = ShapeFile.map(file)) {
+                assertEquals(0, arena.size());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
+
+class ShapeFileCalculationAccuracyTest {
+    @Test
+    void testBulkAcrossSegmentsAndBuffers() throws IOException {
+        int count = ShapeArena.RECORDS_PER_SEGMENT + 10;
+        ShapeType[] types = ShapeType.values();
+        Path file = Files.createTempFile("shapes", ".shp");
+        try {
+            // A buffer that is not a whole number of records
+            try (ShapeFileWriter writer = new ShapeFileWriter(file, 1000 * ShapeArena.RECORD_BYTES + 7)) {
+                for (int i = 0; i < count; i++) {
+                    writer.add(types[i % types.length], 1 + i % 97, 1 + i % 89, 1 + i % 83,
+                            "Shape " + (i % 1000), "Color " + (i % 7));
+                }
+            }
+            try (ShapeArena arena = ShapeFile.map(file)) {
+                assertEquals(count, arena.size());
+                assertEquals(1000, arena.getNames().size());
+                double[] volumes = new double[count];
+                arena.computeVolumes(0, count, volumes);
+                for (int i = 0; i < count; i += 9973) {
+                    ShapeType type = types[i % types.length];
+                    Shape3D shape = type.create(1 + i % 97, 1 + i % 89, 1 + i % 83, "x", "x");
+                    assertEquals(shape.getVolume(), volumes[i], 1e-9 * shape.getVolume());
+                    assertEquals("Color " + (i % 7), arena.getColor(i));
+                }
+                int last = count - 1;
+                assertEquals(1 + last % 97, arena.getDimension(last, 0));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
+
+class ShapeFileInputValidationTest {
+    @Test
+    void testRejectsInvalidShapes() throws IOException {
+        Path file = Files.createTempFile("shapes", ".shp");
+        try (ShapeFileWriter writer = new ShapeFileWriter(file)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.add(ShapeType.CUBE, -1, 0, 0, "Box", "Blue"));
+            assertThrows(IllegalArgumentException.class, () -> writer.add(ShapeType.CUBE, 1, 0, 0, " ", "Blue"));
+            assertThrows(IllegalArgumentException.class, () -> writer.add(null, 1, 0, 0, "Box", "Blue"));
+            assertThrows(IllegalArgumentException.class, () -> new ShapeFileWriter(file, 8));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testRejectsUnfinishedFile() throws IOException {
+        Path file = Files.createTempFile("shapes", ".shp");
+        try {
+            ShapeFileWriter writer = new ShapeFileWriter(file, ShapeArena.RECORD_BYTES);
+            writer.add(ShapeType.CUBE, 1, 0, 0, "Box", "Blue");
+            writer.add(ShapeType.CUBE, 2, 0, 0, "Box", "Blue");
+            // The empty file from createTempFile is still in place
+            assertThrows(IllegalArgumentException.class, () -> ShapeFile.map(file));
+            writer.close();
+            assertThrows(IllegalStateException.class, () -> writer.add(ShapeType.CUBE, 1, 0, 0, "Box", "Blue"));
+            try (ShapeArena arena = ShapeFile.map(file)) {
+                assertEquals(2, arena.size());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testRejectsOtherVersionsAndCorruptFiles() throws IOException {
+        Path file = Files.createTempFile("shapes", ".shp");
+        try {
+            try (ShapeFileWriter writer = new ShapeFileWriter(file)) {
+                writer.add(ShapeType.CUBE, 1, 0, 0, "Box", "Blue");
+            }
+            putInt(file, ShapeFile.VERSION_OFFSET, ShapeFile.VERSION + 1);
+            assertThrows(IllegalArgumentException.class, () -> ShapeFile.map(file));
+            putInt(file, ShapeFile.VERSION_OFFSET, ShapeFile.VERSION);
+            putInt(file, ShapeFile.COUNT_OFFSET, 1000);
+            assertThrows(IllegalArgumentException.class, () -> ShapeFile.map(file));
+            putInt(file, ShapeFile.COUNT_OFFSET, 1);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 1);
+            }
+            assertThrows(IllegalArgumentException.class, () -> ShapeFile.map(file));
+            Files.write(file, new byte[10]);
+            assertThrows(IllegalArgumentException.class, () -> ShapeFile.map(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testRejectsCorruptRecords() throws IOException {
+        Path file = Files.createTempFile("shapes", ".shp");
+        try {
+            try (ShapeFileWriter writer = new ShapeFileWriter(file)) {
+                writer.add(ShapeType.CUBE, 1, 0, 0, "Box", "Blue");
+                writer.add(ShapeType.SPHERE, 1, 0, 0, "Ball", "Red");
+            }
+            long second = ShapeFile.HEADER_BYTES + ShapeArena.RECORD_BYTES;
+            int[][] corruptions = {
+                    {ShapeArena.TYPE_OFFSET, ShapeType.values().length},
+                    {ShapeArena.TYPE_OFFSET, -1},
+                    {ShapeArena.NAME_OFFSET, 2},
+                    {ShapeArena.COLOR_OFFSET, -5}};
+            for (int[] corruption : corruptions) {
+                int field = corruption[0];
+                putInt(file, second + field, corruption[1]);
+                IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> ShapeFile.map(file));
+                assertTrue(e.getMessage().startsWith("Corrupt shape file record 1:"), e.getMessage());
+                putInt(file, second + field, field == ShapeArena.TYPE_OFFSET ? ShapeType.SPHERE.ordinal() : 1);
+            }
+            try (ShapeArena arena = ShapeFile.map(file)) {
+                assertEquals("Red", arena.getColor(1));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void putInt(Path file, long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value), position);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.csc205.project2.shapes;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the scalar and auto-vectorized batch formulas of
+ * {@link ShapeKernels} over one million shapes of each type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShapeKernelsBenchmark {
+
+    private static final int COUNT = 1_000_000;
+
+    @Param({"SPHERE", "CUBE", "CYLINDER", "RECTANGULAR_PRISM", "RECTANGULAR_PYRAMID"})
+    public ShapeType type;
+
+    @Param({"SCALAR", "VECTOR"})
+    public ShapeKernels.Mode mode;
+
+    private double[][] dims;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        ShapeKernels.setMode(mode);
+        SplittableRandom random = new SplittableRandom(42);
+        dims = new double[ShapeType.MAX_DIMENSIONS][COUNT];
+        for (double[] column : dims) {
+            for (int i = 0; i < COUNT; i++) {
+                column[i] = 1 + 9 * random.nextDouble();
+            }
+        }
+        out = new double[COUNT];
+    }
+
+    @Benchmark
+    public double[] volumes() {
+        ShapeKernels.volumes(type, dims, out, COUNT);
+        return out;
+    }
+
+    @Benchmark
+    public double[] surfaceAreas() {
+        ShapeKernels.surfaceAreas(type, dims, out, COUNT);
+        return out;
+    }
+}
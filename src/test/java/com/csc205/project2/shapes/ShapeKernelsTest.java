@@ -0,0 +1,228 @@
+package com.csc205.project2.shapes;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapeKernelsCalculationAccuracyTest {
+    private static final int COUNT = 10_000;
+
+    @Test
+    void testVectorWithinUlpBoundOfShapes() {
+        ShapeKernels.Mode previous = ShapeKernels.getMode();
+        ShapeKernels.setMode(ShapeKernels.Mode.VECTOR);
+        try {
+            for (ShapeType type : ShapeType.values()) {
+                assertKernelsMatch(type, ShapeKernels.MAX_ULP_ERROR);
+            }
+        } finally {
+            ShapeKernels.setMode(previous);
+        }
+    }
+
+    @Test
+    void testScalarIdenticalToShapes() {
+        ShapeKernels.Mode previous = ShapeKernels.getMode();
+        ShapeKernels.setMode(ShapeKernels.Mode.SCALAR);
+        try {
+            for (ShapeType type : ShapeType.values()) {
+                assertKernelsMatch(type, 0);
+            }
+        } finally {
+            ShapeKernels.setMode(previous);
+        }
+    }
+
+    @Test
+    void testFloatWithinDocumentedErrorBound() {
+        // Log-uniform over the whole documented range, then a typical range
+        assertFloatKernelsMatch(1e-12, 1e12);
+        assertFloatKernelsMatch(1e-3, 1e3);
+    }
+
+    private static void assertFloatKernelsMatch(double min, double max) {
+        for (ShapeType type : ShapeType.values()) {
+            SplittableRandom random = new SplittableRandom(type.ordinal());
+            double[][] dims = new double[ShapeType.MAX_DIMENSIONS][COUNT];
+            float[][] floatDims = new float[ShapeType.MAX_DIMENSIONS][COUNT];
+            for (int d = 0; d < dims.length; d++) {
+                for (int i = 0; i < COUNT; i++) {
+                    dims[d][i] = Math.exp(random.nextDouble(Math.log(min), Math.log(max)));
+                    floatDims[d][i] = (float) dims[d][i];
+                }
+            }
+            double[] volumes = new double[COUNT];
+            double[] areas = new double[COUNT];
+            float[] floatVolumes = new float[COUNT];
+            float[] floatAreas = new float[COUNT];
+            ShapeKernels.volumes(type, dims, volumes, COUNT);
+            ShapeKernels.surfaceAreas(type, dims, areas, COUNT);
+            ShapeKernels.volumes(type, floatDims, floatVolumes, COUNT);
+            ShapeKernels.surfaceAreas(type, floatDims, floatAreas, COUNT);
+
+            double volumeBound = ShapeKernels.maxFloatVolumeError(type);
+            double areaBound = ShapeKernels.maxFloatSurfaceAreaError(type);
+            for (int i = 0; i < COUNT; i++) {
+                assertEquals(volumes[i], floatVolumes[i], volumeBound * volumes[i], type + " volume");
+                assertEquals(areas[i], floatAreas[i], areaBound * areas[i], type + " surface area");
+            }
+        }
+    }
+
+    private static void assertKernelsMatch(ShapeType type, int maxUlps) {
+        SplittableRandom random = new SplittableRandom(type.ordinal());
+        double[][] dims = new double[ShapeType.MAX_DIMENSIONS][COUNT];
+        for (double[] column : dims) {
+            for (int i = 0; i < COUNT; i++) {
+                // Spans many binades so every exponent path is exercised.
+                column[i] = Math.exp(random.nextDouble(-10, 10));
+            }
+        }
+        double[] volumes = new double[COUNT];
+        double[] areas = new double[COUNT];
+        ShapeKernels.volumes(type, dims, volumes, COUNT);
+        ShapeKernels.surfaceAreas(type, dims, areas, COUNT);
+
+        for (int i = 0; i < COUNT; i++) {
+            Shape3D shape = type.create(dims[0][i], dims[1][i], dims[2][i], "Shape", "Red");
+            double volume = shape.getVolume();
+            double area = shape.getSurfaceArea();
+            assertEquals(volume, volumes[i], maxUlps * Math.ulp(volume), type + " volume");
+            assertEquals(area, areas[i], maxUlps * Math.ulp(area), type + " surface area");
+        }
+    }
+}
+
+class ShapeKernelsBasicFunctionalityTest {
+    @Test
+    void testFloatErrorBoundsDocumented() {
+        for (ShapeType type : ShapeType.values()) {
+            assertTrue(ShapeKernels.maxFloatVolumeError(type) <= 8 * ShapeKernels.FLOAT_UNIT_ROUNDOFF);
+            assertTrue(ShapeKernels.maxFloatSurfaceAreaError(type) <= 8 * ShapeKernels.FLOAT_UNIT_ROUNDOFF);
+            assertTrue(ShapeKernels.maxFloatVolumeError(type) > 0);
+            assertTrue(ShapeKernels.maxFloatSurfaceAreaError(type) > 0);
+        }
+    }
+}
+
+class ShapeKernelsInputValidationTest {
+    @Test
+    void testNullMode() {
+        assertThrows(IllegalArgumentException.class, () -> ShapeKernels.setMode(null));
+    }
+}
+
+class ShapeKernelsContainmentTest {
+    @Test
+    void testKnownPoints() {
+        assertTrue(new Sphere(1.0).contains(0, 0, 1));
+        assertFalse(new Sphere(1.0).contains(0.6, 0.6, 0.6));
+        assertTrue(new Cube(2.0).contains(1, -1, 1));
+        assertFalse(new Cube(2.0).contains(1, -1, 1.001));
+        assertTrue(new Cylinder(1.0, 4.0).contains(0.7, 0.7, -2));
+        assertFalse(new Cylinder(1.0, 4.0).contains(0.8, 0.8, 0));
+        assertTrue(new RectangularPrism(2.0, 4.0, 6.0).contains(-1, 2, 3));
+        assertFalse(new RectangularPrism(2.0, 4.0, 6.0).contains(-1, 2.1, 0));
+
+        RectangularPyramid pyramid = new RectangularPyramid(4.0, 6.0, 10.0);
+        assertTrue(pyramid.contains(2, 3, -5));
+        assertTrue(pyramid.contains(0, 0, 5));
+        assertTrue(pyramid.contains(1, 1.5, 0));
+        assertFalse(pyramid.contains(1.01, 0, 0));
+        assertFalse(pyramid.contains(0, 0, 5.01));
+        assertFalse(pyramid.contains(0, 0, -5.01));
+    }
+
+    @Test
+    void testNaNIsOutside() {
+        for (ShapeType type : ShapeType.values()) {
+            assertFalse(ShapeKernels.contains(type, 1, 1, 1, Double.NaN, 0, 0));
+        }
+    }
+}
+
+class ShapeKernelsRandomizedTest {
+    @Test
+    void testBatchesMatchScalarContains() {
+        SplittableRandom random = new SplittableRandom(23);
+        int count = 1_000;
+        double[] x = new double[count];
+        double[] y = new double[count];
+        double[] z = new double[count];
+        double[] margins = new double[count];
+        boolean[] inside = new boolean[count];
+        for (ShapeType type : ShapeType.values()) {
+            for (int trial = 0; trial < 20; trial++) {
+                double d0 = random.nextDouble(0.1, 10);
+                double d1 = random.nextDouble(0.1, 10);
+                double d2 = random.nextDouble(0.1, 10);
+                Shape3D shape = type.create(d0, d1, d2, "Shape", "Red");
+                BoundingBox box = shape.getBoundingBox();
+                for (int i = 0; i < count; i++) {
+                    x[i] = random.nextDouble(-1.2, 1.2) * box.maxX();
+                    y[i] = random.nextDouble(-1.2, 1.2) * box.maxY();
+                    z[i] = random.nextDouble(-1.2, 1.2) * box.maxZ();
+                }
+                ShapeKernels.containmentMargins(type, d0, d1, d2, x, y, z, margins, count);
+                ShapeKernels.containsPoints(type, d0, d1, d2, x, y, z, inside, count);
+                for (int i = 0; i < count; i++) {
+                    boolean expected = shape.contains(x[i], y[i], z[i]);
+                    assertEquals(expected, inside[i]);
+                    assertEquals(expected, margins[i] >= 0);
+                    assertEquals(expected, insideByDefinition(type, d0, d1, d2, x[i], y[i], z[i]));
+                    if (expected) {
+                        assertTrue(box.contains(x[i], y[i], z[i]));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testShapeColumnsMatchScalarContains() {
+        SplittableRandom random = new SplittableRandom(24);
+        int count = 500;
+        double[][] dims = new double[3][count];
+        float[][] floatDims = new float[3][count];
+        double[] margins = new double[count];
+        double[] floatMargins = new double[count];
+        for (ShapeType type : ShapeType.values()) {
+            for (int i = 0; i < count; i++) {
+                for (int d = 0; d < 3; d++) {
+                    floatDims[d][i] = (float) random.nextDouble(0.1, 10);
+                    dims[d][i] = floatDims[d][i];
+                }
+            }
+            for (int trial = 0; trial < 20; trial++) {
+                double x = random.nextDouble(-6, 6);
+                double y = random.nextDouble(-6, 6);
+                double z = random.nextDouble(-6, 6);
+                ShapeKernels.containmentMargins(type, dims, x, y, z, margins, count);
+                ShapeKernels.containmentMargins(type, floatDims, x, y, z, floatMargins, count);
+                for (int i = 0; i < count; i++) {
+                    boolean expected = ShapeKernels.contains(type, dims[0][i], dims[1][i], dims[2][i], x, y, z);
+                    assertEquals(expected, margins[i] >= 0);
+                    assertEquals(margins[i], floatMargins[i], 0.0);
+                }
+            }
+        }
+    }
+
+    /** Containment written directly from each shape's definition. */
+    private static boolean insideByDefinition(ShapeType type, double d0, double d1, double d2,
+                                              double x, double y, double z) {
+        return switch (type) {
+            case SPHERE -> Math.sqrt(x * x + y * y + z * z) <= d0 * (1 + 1e-12);
+            case CUBE -> Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z))) <= d0 / 2;
+            case CYLINDER -> Math.hypot(x, y) <= d0 * (1 + 1e-12) && Math.abs(z) <= d1 / 2;
+            case RECTANGULAR_PRISM -> Math.abs(x) <= d0 / 2 && Math.abs(y) <= d1 / 2 && Math.abs(z) <= d2 / 2;
+            case RECTANGULAR_PYRAMID -> {
+                // Cross-section at height z above the base shrinks linearly to the apex
+                double fraction = (z + d2 / 2) / d2;
+                yield fraction >= 0 && fraction <= 1
+                        && Math.abs(x) <= (1 - fraction) * d0 / 2 * (1 + 1e-12)
+                        && Math.abs(y) <= (1 - fraction) * d1 / 2 * (1 + 1e-12);
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares {@link ShapeRegistry} with {@code Collections.synchronizedList}
+ * and {@link CopyOnWriteArrayList} under three writers appending while one
+ * reader sums the volumes of a snapshot (for the synchronized list, while
+ * holding its lock, as iteration requires).
+ * <p>
+ * Collections are recreated every iteration. Copy-on-write appends copy
+ * the whole array, so its results are only comparable at the small
+ * {@code prefill} size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Group)
+public class ShapeRegistryBenchmark {
+
+    @Param({"REGISTRY", "SYNCHRONIZED_LIST", "COPY_ON_WRITE"})
+    public String impl;
+
+    @Param({"1000"})
+    public int prefill;
+
+    private Shape3D shape;
+
+    private ShapeRegistry registry;
+
+    private List<Shape3D> list;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        shape = new Cube(2.0, "Benchmark Box", "Red");
+        registry = new ShapeRegistry();
+        List<Shape3D> initial = new ArrayList<>(Collections.nCopies(prefill, shape));
+        switch (impl) {
+            case "REGISTRY" -> initial.forEach(registry::add);
+            case "SYNCHRONIZED_LIST" -> list = Collections.synchronizedList(initial);
+            case "COPY_ON_WRITE" -> list = new CopyOnWriteArrayList<>(initial);
+            default -> throw new IllegalArgumentException(impl);
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public int append() {
+        if (list == null) {
+            return registry.add(shape);
+        }
+        list.add(shape);
+        return 0;
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public double readSnapshot() {
+        double total = 0;
+        if (list == null) {
+            List<Shape3D> snapshot = registry.snapshot();
+            for (int i = 0, n = Math.min(snapshot.size(), prefill); i < n; i++) {
+                total += snapshot.get(i).getVolume();
+            }
+        } else if (list instanceof CopyOnWriteArrayList<Shape3D> cow) {
+            for (int i = 0, n = Math.min(cow.size(), prefill); i < n; i++) {
+                total += cow.get(i).getVolume();
+            }
+        } else {
+            synchronized (list) {
+                for (int i = 0, n = Math.min(list.size(), prefill); i < n; i++) {
+                    total += list.get(i).getVolume();
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,132 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapeRegistryBasicFunctionalityTest {
+    @Test
+    void testAddAndGet() {
+        ShapeRegistry registry = new ShapeRegistry();
+        Shape3D cube = new Cube(1.0);
+        assertEquals(0, registry.add(cube));
+        assertEquals(1, registry.add(new Sphere(1.0)));
+        assertEquals(2, registry.size());
+        assertSame(cube, registry.get(0));
+    }
+
+    @Test
+    void testSnapshotIsFixedAcrossChunks() {
+        ShapeRegistry registry = new ShapeRegistry();
+        List<Shape3D> added = new ArrayList<>();
+        for (int i = 0; i < 5 * ShapeRegistry.FIRST_CHUNK_SIZE; i++) {
+            Shape3D shape = new Cube(1.0 + i);
+            added.add(shape);
+            registry.add(shape);
+        }
+        List<Shape3D> snapshot = registry.snapshot();
+        registry.add(new Cube(1.0));
+        assertEquals(added, snapshot);
+        assertEquals(added.size() + 1, registry.size());
+        int count = 0;
+        for (Shape3D shape : registry) {
+            assertSame(added.size() > count ? added.get(count) : shape, shape);
+            count++;
+        }
+        assertEquals(registry.size(), count);
+    }
+}
+
+class ShapeRegistryConcurrencyTest {
+    @Test
+    void testMultiProducerMultiConsumer() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        ShapeRegistry registry = new ShapeRegistry();
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        try {
+            List<Future<int[]>> ids = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                ids.add(executor.submit(() -> {
+                    start.await();
+                    int[] assigned = new int[perProducer];
+                    for (int i = 0; i < perProducer; i++) {
+                        // Encode producer and sequence in the dimension to check identity later
+                        Cube cube = new Cube(producer * perProducer + i + 1.0);
+                        assigned[i] = registry.add(cube);
+                        // Lookup is stable as soon as add returns, even if lower ids are still being stored
+                        assertSame(cube, registry.get(assigned[i]));
+                    }
+                    return assigned;
+                }));
+            }
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(executor.submit(() -> {
+                    try {
+                        start.await();
+                        int previous = 0;
+                        while (!done.get()) {
+                            List<Shape3D> snapshot = registry.snapshot();
+                            assertTrue(snapshot.size() >= previous);
+                            for (Shape3D shape : snapshot) {
+                                assertNotNull(shape);
+                            }
+                            if (!snapshot.isEmpty()) {
+                                int last = snapshot.size() - 1;
+                                assertSame(snapshot.get(last), registry.get(last));
+                            }
+                            previous = snapshot.size();
+                        }
+                    } catch (Throwable t) {
+                        failures.add(t);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            boolean[] seen = new boolean[producers * perProducer];
+            for (int p = 0; p < producers; p++) {
+                int[] assigned = ids.get(p).get(30, TimeUnit.SECONDS);
+                for (int i = 0; i < perProducer; i++) {
+                    Cube cube = (Cube) registry.get(assigned[i]);
+                    assertEquals(p * perProducer + i + 1.0, cube.getSideLength());
+                    assertFalse(seen[assigned[i]]);
+                    seen[assigned[i]] = true;
+                }
+            }
+            done.set(true);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            done.set(true);
+            executor.shutdownNow();
+        }
+        assertTrue(failures.isEmpty(), "Reader failed: " + failures.peek());
+        assertEquals(producers * perProducer, registry.size());
+    }
+}
+
+class ShapeRegistryInputValidationTest {
+    @Test
+    void testInvalidArguments() {
+        ShapeRegistry registry = new ShapeRegistry();
+        assertThrows(IllegalArgumentException.class, () -> registry.add(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> registry.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> registry.snapshot().get(0));
+    }
+}
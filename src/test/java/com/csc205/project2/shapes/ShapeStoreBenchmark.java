@@ -0,0 +1,90 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares computing every volume through a {@code List<Shape3D>} with
+ * the per-type column kernels of {@link ShapeStore}, at both store
+ * precisions. The {@code float} benchmarks read results into a
+ * {@code float[]}, so the whole pass runs in single precision.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ShapeStoreBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"DOUBLE", "FLOAT"})
+    public ShapeStore.Precision precision;
+
+    private List<Shape3D> shapes;
+    private ShapeStore store;
+    private double[] out;
+    private float[] floatOut;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ShapeType[] types = ShapeType.values();
+        shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(types[i % types.length].create(
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    "Shape", "Red"));
+        }
+        store = ShapeStore.of(shapes, precision);
+        out = new double[size];
+        floatOut = new float[size];
+    }
+
+    @Benchmark
+    public double[] objectVolumes() {
+        for (int i = 0; i < size; i++) {
+            out[i] = shapes.get(i).getVolume();
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] storeVolumes() {
+        store.computeVolumes(out);
+        return out;
+    }
+
+    @Benchmark
+    public float[] storeFloatVolumes() {
+        store.computeVolumes(floatOut);
+        return floatOut;
+    }
+
+    @Benchmark
+    public double[] objectSurfaceAreas() {
+        for (int i = 0; i < size; i++) {
+            out[i] = shapes.get(i).getSurfaceArea();
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] storeSurfaceAreas() {
+        store.computeSurfaceAreas(out);
+        return out;
+    }
+
+    @Benchmark
+    public float[] storeFloatSurfaceAreas() {
+        store.computeSurfaceAreas(floatOut);
+        return floatOut;
+    }
+}
@@ -0,0 +1,264 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapeStoreBasicFunctionalityTest {
+    @Test
+    void testAddAndRead() {
+        ShapeStore store = new ShapeStore();
+        int id = store.add(new Cylinder(3.0, 7.0, "Green Can", "Green"));
+        assertEquals(1, store.size());
+        assertEquals(ShapeType.CYLINDER, store.getType(id));
+        assertEquals(3.0, store.getDimension(id, 0));
+        assertEquals(7.0, store.getDimension(id, 1));
+        assertEquals("Green Can", store.getName(id));
+        assertEquals("Green", store.getColor(id));
+    }
+
+    @Test
+    void testToShapeRoundTrip() {
+        ShapeStore store = new ShapeStore();
+        int id = store.add(new RectangularPyramid(4.0, 6.0, 9.0, "Purple Pyramid", "Purple"));
+        Shape3D shape = store.toShape(id);
+        assertTrue(shape instanceof RectangularPyramid);
+        assertEquals(72.0, shape.getVolume(), 0.0001);
+        assertEquals("Purple Pyramid", shape.getName());
+    }
+
+    @Test
+    void testFloatPrecision() {
+        ShapeStore store = new ShapeStore(4, ShapeStore.Precision.FLOAT);
+        assertEquals(ShapeStore.Precision.FLOAT, store.getPrecision());
+        int id = store.add(new Sphere(0.1, "Ball", "Red"));
+        assertEquals((float) 0.1, store.getDimension(id, 0));
+        assertEquals(ShapeStore.Precision.DOUBLE, new ShapeStore().getPrecision());
+    }
+
+    @Test
+    void testAddAllAcrossPrecisions() {
+        ShapeStore doubles = ShapeStore.of(List.of(new Cube(2.0, "Box", "Blue"), new Cylinder(3.0, 7.0)));
+        ShapeStore floats = new ShapeStore(0, ShapeStore.Precision.FLOAT);
+        floats.addAll(doubles);
+        ShapeStore back = new ShapeStore();
+        back.addAll(floats);
+        assertEquals(2, back.size());
+        assertEquals(ShapeType.CYLINDER, back.getType(1));
+        assertEquals(7.0, back.getDimension(1, 1));
+        assertEquals("Box", back.getName(0));
+    }
+
+    @Test
+    void testConcatMovesParts() {
+        ShapeStore first = ShapeStore.of(List.of(new Cube(2.0, "Box", "Blue"), new Cylinder(3.0, 7.0)),
+                ShapeStore.Precision.FLOAT);
+        ShapeStore second = ShapeStore.of(List.of(new Cylinder(1.0, 2.0, "Can", "Green")),
+                ShapeStore.Precision.FLOAT);
+        ShapeStore store = ShapeStore.concat(List.of(first, second));
+        assertEquals(ShapeStore.Precision.FLOAT, store.getPrecision());
+        assertEquals(3, store.size());
+        assertEquals(7.0, store.getDimension(1, 1));
+        assertEquals(2.0, store.getDimension(2, 1));
+        assertEquals("Can", store.getName(2));
+        assertEquals(0, first.size());
+        assertEquals(0, second.size());
+        first.add(new Sphere(1.0));
+        assertEquals(ShapeType.SPHERE, first.getType(0));
+        assertEquals(0, ShapeStore.concat(List.of()).size());
+    }
+
+    @Test
+    void testFloatStoreIsSmaller() {
+        List<Shape3D> shapes = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            shapes.add(new RectangularPrism(i, i + 1, i + 2, "Brick", "Red"));
+        }
+        long doubleBytes = ShapeStore.of(shapes).estimatedSizeInBytes();
+        long floatBytes = ShapeStore.of(shapes, ShapeStore.Precision.FLOAT).estimatedSizeInBytes();
+        assertTrue(floatBytes < doubleBytes);
+    }
+
+    @Test
+    void testMixedStoreSize() {
+        List<Shape3D> shapes = new ArrayList<>();
+        ShapeType[] types = ShapeType.values();
+        for (int i = 0; i < 10_000; i++) {
+            shapes.add(types[i % types.length].create(1.0, 2.0, 3.0, "Shape " + i, "Red"));
+        }
+        // One tag byte, two dictionary ids and two dimensions on average
+        long bytes = ShapeStore.of(shapes).estimatedSizeInBytes();
+        assertTrue(bytes < 28L * shapes.size(), "size " + bytes);
+    }
+}
+
+class ShapeStoreRandomizedTest {
+    @Test
+    void testRandomAccessMatchesShapes() {
+        SplittableRandom random = new SplittableRandom(7);
+        ShapeType[] types = ShapeType.values();
+        List<Shape3D> shapes = new ArrayList<>();
+        ShapeStore store = new ShapeStore(0);
+        for (int round = 0; round < 2; round++) {
+            shapes.clear();
+            store.clear();
+            for (int i = 0; i < 1_000; i++) {
+                // Runs of one type exercise slots that cross block boundaries
+                ShapeType type = types[random.nextInt(random.nextBoolean() ? 1 : types.length)];
+                Shape3D shape = type.create(random.nextDouble(1, 9), random.nextDouble(1, 9),
+                        random.nextDouble(1, 9), "Shape " + random.nextInt(50), "Color " + random.nextInt(5));
+                shapes.add(shape);
+                assertEquals(i, store.add(shape));
+            }
+            double[] volumes = new double[store.size()];
+            store.computeVolumes(volumes);
+            for (int id = 0; id < shapes.size(); id++) {
+                Shape3D shape = shapes.get(id);
+                assertEquals(shape.getNameId(), store.getNameId(id));
+                assertEquals(shape.getColor(), store.getColor(id));
+                assertEquals(shape.getVolume(), store.toShape(id).getVolume());
+                assertEquals(store.toShape(id).getVolume(), volumes[id],
+                        ShapeKernels.MAX_ULP_ERROR * Math.ulp(volumes[id]));
+            }
+        }
+    }
+}
+
+class ShapeStoreCalculationAccuracyTest {
+    @Test
+    void testKernelsMatchObjects() {
+        List<Shape3D> shapes = List.of(
+                new Sphere(5.0, "Red Ball", "Red"),
+                new Cube(4.0, "Blue Box", "Blue"),
+                new Cylinder(3.0, 7.0, "Green Can", "Green"),
+                new RectangularPrism(2.0, 5.0, 6.0, "Yellow Brick", "Yellow"),
+                new RectangularPyramid(4.0, 6.0, 9.0, "Purple Pyramid", "Purple"),
+                new Sphere(0.5));
+        ShapeStore store = ShapeStore.of(shapes);
+
+        double[] volumes = new double[store.size()];
+        double[] areas = new double[store.size()];
+        store.computeVolumes(volumes);
+        store.computeSurfaceAreas(areas);
+
+        for (int i = 0; i < shapes.size(); i++) {
+            double volume = shapes.get(i).getVolume();
+            double area = shapes.get(i).getSurfaceArea();
+            assertEquals(volume, volumes[i], ShapeKernels.MAX_ULP_ERROR * Math.ulp(volume));
+            assertEquals(area, areas[i], ShapeKernels.MAX_ULP_ERROR * Math.ulp(area));
+        }
+    }
+
+    @Test
+    void testFloatStoreWithinErrorBound() {
+        List<Shape3D> shapes = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(18);
+        ShapeType[] types = ShapeType.values();
+        for (int i = 0; i < 5_000; i++) {
+            shapes.add(types[i % types.length].create(
+                    Math.exp(random.nextDouble(-10, 10)),
+                    Math.exp(random.nextDouble(-10, 10)),
+                    Math.exp(random.nextDouble(-10, 10)),
+                    "Shape", "Red"));
+        }
+        ShapeStore store = ShapeStore.of(shapes, ShapeStore.Precision.FLOAT);
+        double[] volumes = new double[store.size()];
+        float[] areas = new float[store.size()];
+        store.computeVolumes(volumes);
+        store.computeSurfaceAreas(areas);
+
+        for (int i = 0; i < shapes.size(); i++) {
+            ShapeType type = store.getType(i);
+            double volume = shapes.get(i).getVolume();
+            double area = shapes.get(i).getSurfaceArea();
+            assertEquals(volume, volumes[i], ShapeKernels.maxFloatVolumeError(type) * volume);
+            assertEquals(area, areas[i], ShapeKernels.maxFloatSurfaceAreaError(type) * area);
+        }
+    }
+
+    @Test
+    void testContainmentMatchesObjects() {
+        List<Shape3D> shapes = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(23);
+        ShapeType[] types = ShapeType.values();
+        for (int i = 0; i < 2_000; i++) {
+            shapes.add(types[random.nextInt(types.length)].create(
+                    random.nextDouble(0.5, 5), random.nextDouble(0.5, 5), random.nextDouble(0.5, 5),
+                    "Shape", "Red"));
+        }
+        for (ShapeStore.Precision precision : ShapeStore.Precision.values()) {
+            ShapeStore store = ShapeStore.of(shapes, precision);
+            boolean[] inside = new boolean[store.size()];
+            double[] halfX = new double[store.size()];
+            double[] halfY = new double[store.size()];
+            double[] halfZ = new double[store.size()];
+            store.computeHalfExtents(halfX, halfY, halfZ);
+            for (int id = 0; id < store.size(); id++) {
+                BoundingBox box = store.toShape(id).getBoundingBox();
+                assertEquals(box.maxX(), halfX[id]);
+                assertEquals(box.maxY(), halfY[id]);
+                assertEquals(box.maxZ(), halfZ[id]);
+            }
+            for (int trial = 0; trial < 20; trial++) {
+                double x = random.nextDouble(-3, 3);
+                double y = random.nextDouble(-3, 3);
+                double z = random.nextDouble(-3, 3);
+                store.containsPoint(x, y, z, inside);
+                for (int id = 0; id < store.size(); id++) {
+                    assertEquals(store.toShape(id).contains(x, y, z), inside[id]);
+                }
+            }
+        }
+    }
+}
+
+class ShapeStoreInputValidationTest {
+    @Test
+    void testInvalidDimension() {
+        ShapeStore store = new ShapeStore();
+        assertThrows(IllegalArgumentException.class,
+                () -> store.add(ShapeType.CYLINDER, 1.0, 0.0, 0.0, "Can", "Red"));
+    }
+
+    @Test
+    void testDimensionOutOfFloatRange() {
+        ShapeStore store = new ShapeStore(0, ShapeStore.Precision.FLOAT);
+        // Positive as doubles, but 0 and infinity once narrowed
+        assertThrows(IllegalArgumentException.class,
+                () -> store.add(ShapeType.CYLINDER, 1.0, 1e-50, 0, "Can", "Red"));
+        assertThrows(IllegalArgumentException.class, () -> store.add(new Sphere(1e39)));
+        ShapeStore doubles = ShapeStore.of(List.of(new Cube(2.0), new Cube(Double.MAX_VALUE)));
+        assertThrows(IllegalArgumentException.class, () -> store.addAll(doubles));
+        assertEquals(1, store.size());
+        assertEquals(2.0, store.getDimension(0, 0));
+        // Unused dimensions are not checked
+        store.add(ShapeType.SPHERE, Float.MIN_VALUE, 1e-50, 1e50, "Dust", "Grey");
+        assertEquals(Float.MIN_VALUE, store.getDimension(1, 0));
+    }
+
+    @Test
+    void testOutputTooSmall() {
+        ShapeStore store = ShapeStore.of(List.of(new Cube(1.0), new Cube(2.0)));
+        assertThrows(IllegalArgumentException.class, () -> store.computeVolumes(new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> store.computeSurfaceAreas(new float[1]));
+    }
+
+    @Test
+    void testConcatMixedPrecision() {
+        List<ShapeStore> parts = List.of(new ShapeStore(), new ShapeStore(0, ShapeStore.Precision.FLOAT));
+        assertThrows(IllegalArgumentException.class, () -> ShapeStore.concat(parts));
+    }
+
+    @Test
+    void testNullPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new ShapeStore(0, null));
+    }
+
+    @Test
+    void testInvalidId() {
+        ShapeStore store = new ShapeStore();
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getType(0));
+    }
+}
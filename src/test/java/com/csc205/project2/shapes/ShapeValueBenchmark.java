@@ -0,0 +1,75 @@
+package com.csc205.project2.shapes;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares a megamorphic {@code getVolume()} loop over the mutable
+ * {@link Shape3D} hierarchy with the sealed {@link ShapeValue} records
+ * dispatched by a pattern-matching {@code switch}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ShapeValueBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private Shape3D[] shapes;
+    private ShapeValue[] values;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ShapeType[] types = ShapeType.values();
+        shapes = new Shape3D[size];
+        values = new ShapeValue[size];
+        for (int i = 0; i < size; i++) {
+            shapes[i] = types[random.nextInt(types.length)].create(
+                    1 + 9 * random.nextDouble(), 1 + 9 * random.nextDouble(), 1 + 9 * random.nextDouble(),
+                    "Shape", "Red");
+            values[i] = ShapeValue.of(shapes[i]);
+        }
+    }
+
+    @Benchmark
+    public double virtualVolumes() {
+        double total = 0;
+        for (Shape3D shape : shapes) {
+            total += shape.getVolume();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double sealedSwitchVolumes() {
+        double total = 0;
+        for (ShapeValue value : values) {
+            total += ShapeValue.volume(value);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double sealedSwitchSurfaceAreas() {
+        double total = 0;
+        for (ShapeValue value : values) {
+            total += ShapeValue.surfaceArea(value);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double virtualSurfaceAreas() {
+        double total = 0;
+        for (Shape3D shape : shapes) {
+            total += shape.getSurfaceArea();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,72 @@
+package com.csc205.project2.shapes;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShapeValueBasicFunctionalityTest {
+    @Test
+    void testRoundTrip() {
+        List<Shape3D> shapes = List.of(
+                new Sphere(5.0, "Red Ball", "Red"),
+                new Cube(4.0, "Blue Box", "Blue"),
+                new Cylinder(3.0, 7.0, "Green Can", "Green"),
+                new RectangularPrism(2.0, 5.0, 6.0, "Yellow Brick", "Yellow"),
+                new RectangularPyramid(4.0, 6.0, 9.0, "Purple Pyramid", "Purple"));
+        for (Shape3D shape : shapes) {
+            ShapeValue value = ShapeValue.of(shape);
+            assertEquals(ShapeType.of(shape), value.type());
+            assertEquals(shape.getName(), value.name());
+            Shape3D copy = value.toShape();
+            assertEquals(shape.getClass(), copy.getClass());
+            assertEquals(shape.toString(), copy.toString());
+        }
+    }
+
+    @Test
+    void testValueEquality() {
+        assertEquals(new ShapeValue.CubeValue(2.0, "Box", "Red"), ShapeValue.of(new Cube(2.0, "Box", "Red")));
+    }
+}
+
+class ShapeValueCalculationAccuracyTest {
+    @Test
+    void testIdenticalToMutableShapes() {
+        for (ShapeType type : ShapeType.values()) {
+            Shape3D shape = type.create(1.7, 2.3, 3.1, "Shape", "Red");
+            ShapeValue value = ShapeValue.of(shape);
+            assertEquals(shape.getVolume(), value.getVolume());
+            assertEquals(shape.getSurfaceArea(), ShapeValue.surfaceArea(value));
+        }
+    }
+
+    @Test
+    void testContainmentMatchesMutableShapes() {
+        for (ShapeType type : ShapeType.values()) {
+            Shape3D shape = type.create(1.7, 2.3, 3.1, "Shape", "Red");
+            ShapeValue value = ShapeValue.of(shape);
+            assertEquals(shape.getBoundingBox(), value.getBoundingBox());
+            for (double t = -2; t <= 2; t += 0.25) {
+                assertEquals(shape.contains(t, 0.5 * t, -0.3 * t), value.contains(t, 0.5 * t, -0.3 * t));
+            }
+        }
+    }
+}
+
+class ShapeValueInputValidationTest {
+    @Test
+    void testInvalidDimension() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShapeValue.CylinderValue(1.0, 0.0, "Can", "Red"));
+    }
+
+    @Test
+    void testBlankName() {
+        assertThrows(IllegalArgumentException.class, () -> new ShapeValue.SphereValue(1.0, " ", "Red"));
+    }
+
+    @Test
+    void testNullShape() {
+        assertThrows(IllegalArgumentException.class, () -> ShapeValue.of(null));
+    }
+}
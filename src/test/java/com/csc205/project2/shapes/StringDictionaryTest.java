@@ -0,0 +1,69 @@
+package com.csc205.project2.shapes;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDictionaryBasicFunctionalityTest {
+    @Test
+    void testInternAndLookup() {
+        StringDictionary dictionary = new StringDictionary();
+        assertEquals(0, dictionary.intern("Red"));
+        assertEquals(1, dictionary.intern("Blue"));
+        assertEquals(0, dictionary.intern(new String("Red")));
+        assertEquals(2, dictionary.size());
+        assertEquals("Blue", dictionary.lookup(1));
+        assertEquals(-1, dictionary.idOf("Green"));
+        assertEquals(-1, dictionary.idOf(null));
+    }
+}
+
+class StringDictionaryConcurrencyTest {
+    @Test
+    void testConcurrentInterningAssignsOneIdPerValue() throws Exception {
+        StringDictionary dictionary = new StringDictionary();
+        int values = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t * 997;
+                results.add(executor.submit(() -> {
+                    int[] ids = new int[values];
+                    for (int i = 0; i < values; i++) {
+                        int value = (i + offset) % values;
+                        ids[value] = dictionary.intern("Value " + value);
+                        assertEquals("Value " + value, dictionary.lookup(ids[value]));
+                    }
+                    return ids;
+                }));
+            }
+            int[] expected = results.get(0).get();
+            for (Future<int[]> result : results) {
+                assertArrayEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(values, dictionary.size());
+        for (int id = 0; id < values; id++) {
+            assertEquals(id, dictionary.idOf(dictionary.lookup(id)));
+        }
+    }
+}
+
+class StringDictionaryInputValidationTest {
+    @Test
+    void testNullValue() {
+        assertThrows(IllegalArgumentException.class, () -> new StringDictionary().intern(null));
+    }
+
+    @Test
+    void testUnknownId() {
+        assertThrows(IndexOutOfBoundsException.class, () -> new StringDictionary().lookup(0));
+    }
+}
@@ -0,0 +1,75 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares computing every volume and surface area of a shuffled mix of
+ * all five shape classes in list order with the per-class loops of
+ * {@link TypePartitionedShapes}.
+ * <p>
+ * To see why they differ, append
+ * {@code -XX:+UnlockDiagnosticVMOptions -XX:+PrintCompilation -XX:+PrintInlining}
+ * to the fork's JVM arguments ({@code -jvmArgsAppend}): in
+ * {@code mixedOrder} the {@code Shape3D::calculateVolume} and
+ * {@code Shape3D::calculateSurfaceArea} sites are compiled as
+ * {@code virtual call}, while in each per-class loop of
+ * {@code partitioned} the concrete formula is {@code inline (hot)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TypePartitionedShapesBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private List<Shape3D> shapes;
+    private TypePartitionedShapes partitioned;
+    private double[] volumes;
+    private double[] surfaceAreas;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ShapeType[] types = ShapeType.values();
+        shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(types[random.nextInt(types.length)].create(
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    1 + 9 * random.nextDouble(),
+                    "Shape", "Red"));
+        }
+        partitioned = new TypePartitionedShapes(shapes);
+        volumes = new double[size];
+        surfaceAreas = new double[size];
+    }
+
+    @Benchmark
+    public double[] mixedOrder() {
+        for (int i = 0; i < size; i++) {
+            Shape3D shape = shapes.get(i);
+            volumes[i] = shape.getVolume();
+            surfaceAreas[i] = shape.getSurfaceArea();
+        }
+        return volumes;
+    }
+
+    @Benchmark
+    public double[] partitioned() {
+        partitioned.computeMetrics(volumes, surfaceAreas);
+        return volumes;
+    }
+
+    @Benchmark
+    public TypePartitionedShapes partition() {
+        return new TypePartitionedShapes(shapes);
+    }
+}
@@ -0,0 +1,146 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TypePartitionedShapesBasicFunctionalityTest {
+    @Test
+    void testGroupsByExactClass() {
+        Sphere subclass = new Sphere(2.0) {
+        };
+        List<Shape3D> shapes = List.of(new Cube(1.0), new Sphere(1.0), subclass, new Cube(2.0),
+                new Cylinder(1.0, 2.0));
+        TypePartitionedShapes partitioned = new TypePartitionedShapes(shapes);
+
+        assertEquals(5, partitioned.size());
+        assertEquals(1, partitioned.count(ShapeType.SPHERE));
+        assertEquals(2, partitioned.count(ShapeType.CUBE));
+        assertEquals(1, partitioned.count(ShapeType.CYLINDER));
+        assertEquals(0, partitioned.count(ShapeType.RECTANGULAR_PYRAMID));
+        assertEquals(shapes, partitioned.getShapes());
+        assertThrows(UnsupportedOperationException.class, () -> partitioned.getShapes().clear());
+    }
+
+    @Test
+    void testSeesDimensionChanges() {
+        Cube cube = new Cube(1.0);
+        TypePartitionedShapes partitioned = new TypePartitionedShapes(List.of(cube));
+        double[] volumes = new double[1];
+        double[] areas = new double[1];
+        cube.setSideLength(2.0);
+        partitioned.computeMetrics(volumes, areas);
+        assertEquals(8.0, volumes[0], 0.0);
+        assertEquals(24.0, areas[0], 0.0);
+    }
+
+    @Test
+    void testEmpty() {
+        TypePartitionedShapes partitioned = new TypePartitionedShapes(List.of());
+        assertEquals(0, partitioned.size());
+        assertDoesNotThrow(() -> partitioned.computeMetrics(new double[0], new double[0]));
+    }
+}
+
+class TypePartitionedShapesCalculationAccuracyTest {
+    @Test
+    void testMetricsMatchListOrder() {
+        List<Shape3D> shapes = TypePartitionedShapesRandomizedTest.randomShapes(3,
+                3 * TypePartitionedShapes.BLOCK_SIZE + 5);
+        shapes.add(new Cube(3.0) {
+        });
+        TypePartitionedShapes partitioned = new TypePartitionedShapes(shapes);
+        double[] volumes = new double[shapes.size()];
+        double[] areas = new double[shapes.size()];
+        partitioned.computeMetrics(volumes, areas);
+        for (int i = 0; i < shapes.size(); i++) {
+            assertEquals(shapes.get(i).getVolume(), volumes[i], 0.0);
+            assertEquals(shapes.get(i).getSurfaceArea(), areas[i], 0.0);
+        }
+    }
+}
+
+class TypePartitionedShapesConcurrencyTest {
+    @Test
+    void testDisjointBlocksInParallel() throws InterruptedException {
+        List<Shape3D> shapes = TypePartitionedShapesRandomizedTest.randomShapes(4,
+                10 * TypePartitionedShapes.BLOCK_SIZE + 1);
+        TypePartitionedShapes partitioned = new TypePartitionedShapes(shapes);
+        double[] volumes = new double[shapes.size()];
+        double[] areas = new double[shapes.size()];
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int from = 0; from < shapes.size(); from += TypePartitionedShapes.BLOCK_SIZE) {
+                int start = from;
+                int end = Math.min(shapes.size(), from + TypePartitionedShapes.BLOCK_SIZE);
+                pool.execute(() -> partitioned.computeMetrics(start, end, volumes, areas));
+            }
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        for (int i = 0; i < shapes.size(); i++) {
+            assertEquals(shapes.get(i).getVolume(), volumes[i], 0.0);
+        }
+    }
+}
+
+class TypePartitionedShapesRandomizedTest {
+    @Test
+    void testRandomRangesCoverOnlyTheirBlocks() {
+        SplittableRandom random = new SplittableRandom(5);
+        List<Shape3D> shapes = randomShapes(6, 7 * TypePartitionedShapes.BLOCK_SIZE + 100);
+        TypePartitionedShapes partitioned = new TypePartitionedShapes(shapes);
+        int blocks = 8;
+        for (int trial = 0; trial < 20; trial++) {
+            int a = random.nextInt(blocks + 1);
+            int b = random.nextInt(blocks + 1);
+            int from = Math.min(shapes.size(), Math.min(a, b) * TypePartitionedShapes.BLOCK_SIZE);
+            int to = Math.min(shapes.size(), Math.max(a, b) * TypePartitionedShapes.BLOCK_SIZE);
+            double[] volumes = new double[shapes.size()];
+            double[] areas = new double[shapes.size()];
+            partitioned.computeMetrics(from, to, volumes, areas);
+            for (int i = 0; i < shapes.size(); i++) {
+                double expected = i >= from && i < to ? shapes.get(i).getSurfaceArea() : 0.0;
+                assertEquals(expected, areas[i], 0.0);
+            }
+        }
+    }
+
+    static List<Shape3D> randomShapes(long seed, int count) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ShapeType[] types = ShapeType.values();
+        List<Shape3D> shapes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shapes.add(types[random.nextInt(types.length)].create(
+                    random.nextDouble(0.1, 100), random.nextDouble(0.1, 100), random.nextDouble(0.1, 100),
+                    "Shape " + i, "Red"));
+        }
+        return shapes;
+    }
+}
+
+class TypePartitionedShapesInputValidationTest {
+    @Test
+    void testInvalidArguments() {
+        List<Shape3D> shapes = TypePartitionedShapesRandomizedTest.randomShapes(1,
+                TypePartitionedShapes.BLOCK_SIZE + 1);
+        TypePartitionedShapes partitioned = new TypePartitionedShapes(shapes);
+        double[] out = new double[shapes.size()];
+        assertThrows(IllegalArgumentException.class, () -> new TypePartitionedShapes(null));
+        List<Shape3D> withNull = new ArrayList<>(List.of(new Cube(1.0)));
+        withNull.add(null);
+        assertThrows(IllegalArgumentException.class, () -> new TypePartitionedShapes(withNull));
+        assertThrows(IllegalArgumentException.class, () -> partitioned.computeMetrics(null, out));
+        assertThrows(IllegalArgumentException.class, () -> partitioned.computeMetrics(out, new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> partitioned.computeMetrics(-1, 1, out, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> partitioned.computeMetrics(0, shapes.size() + 1, out, out));
+        assertThrows(IllegalArgumentException.class, () -> partitioned.computeMetrics(1, shapes.size(), out, out));
+        assertThrows(IllegalArgumentException.class, () -> partitioned.computeMetrics(0, 5, out, out));
+    }
+}
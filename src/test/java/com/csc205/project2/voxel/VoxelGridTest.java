@@ -0,0 +1,111 @@
+package com.csc205.project2.voxel;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoxelGridBasicFunctionalityTest {
+    @Test
+    void testSetAndGet() {
+        VoxelGrid grid = new VoxelGrid(100, 3, 2, -1, -2, -3, 0.5);
+        grid.set(0, 0, 0);
+        grid.set(63, 1, 0);
+        grid.set(64, 1, 0);
+        grid.set(99, 2, 1);
+        assertTrue(grid.get(0, 0, 0));
+        assertTrue(grid.get(63, 1, 0));
+        assertTrue(grid.get(64, 1, 0));
+        assertTrue(grid.get(99, 2, 1));
+        assertFalse(grid.get(99, 2, 0));
+        assertFalse(grid.get(0, 0, 1));
+        assertEquals(4, grid.count());
+        assertEquals(0.5, grid.estimateVolume());
+    }
+
+    @Test
+    void testFillRowAcrossWords() {
+        VoxelGrid grid = new VoxelGrid(200, 1, 1, 0, 0, 0, 1);
+        grid.fillRow(0, 0, 5, 5);
+        assertEquals(0, grid.count());
+        grid.fillRow(0, 0, 60, 130);
+        grid.fillRow(0, 0, 192, 200);
+        for (int x = 0; x < 200; x++) {
+            assertEquals((x >= 60 && x < 130) || x >= 192, grid.get(x, 0, 0), "x = " + x);
+        }
+        assertEquals(78, grid.count());
+    }
+}
+
+class VoxelGridRandomizedTest {
+    @Test
+    void testFillRowMatchesSet() {
+        SplittableRandom random = new SplittableRandom(25);
+        for (int trial = 0; trial < 200; trial++) {
+            int sizeX = random.nextInt(1, 300);
+            VoxelGrid filled = new VoxelGrid(sizeX, 2, 2, 0, 0, 0, 1);
+            VoxelGrid set = new VoxelGrid(sizeX, 2, 2, 0, 0, 0, 1);
+            for (int span = 0; span < 3; span++) {
+                int y = random.nextInt(2);
+                int z = random.nextInt(2);
+                int from = random.nextInt(sizeX + 1);
+                int to = random.nextInt(from, sizeX + 1);
+                filled.fillRow(y, z, from, to);
+                for (int x = from; x < to; x++) {
+                    set.set(x, y, z);
+                }
+            }
+            assertEquals(set.count(), filled.count());
+            for (int z = 0; z < 2; z++) {
+                for (int y = 0; y < 2; y++) {
+                    for (int x = 0; x < sizeX; x++) {
+                        assertEquals(set.get(x, y, z), filled.get(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCompressionRoundTrip() {
+        SplittableRandom random = new SplittableRandom(26);
+        VoxelGrid grid = new VoxelGrid(130, 7, 5, 1, 2, 3, 0.25);
+        for (int i = 0; i < 400; i++) {
+            grid.set(random.nextInt(130), random.nextInt(7), random.nextInt(5));
+        }
+        grid.fillRow(3, 2, 0, 130);
+        RunLengthVoxelGrid compressed = grid.compress();
+        assertEquals(grid.count(), compressed.count());
+        assertEquals(grid.estimateVolume(), compressed.estimateVolume());
+        VoxelGrid expanded = compressed.toGrid();
+        for (int z = 0; z < 5; z++) {
+            for (int y = 0; y < 7; y++) {
+                for (int x = 0; x < 130; x++) {
+                    assertEquals(grid.get(x, y, z), compressed.get(x, y, z));
+                    assertEquals(grid.get(x, y, z), expanded.get(x, y, z));
+                }
+            }
+        }
+        assertEquals(grid.getOriginY(), expanded.getOriginY());
+    }
+}
+
+class VoxelGridInputValidationTest {
+    @Test
+    void testInvalidGrids() {
+        assertThrows(IllegalArgumentException.class, () -> new VoxelGrid(0, 1, 1, 0, 0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new VoxelGrid(1, 1, 1, 0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new VoxelGrid(1, 1, 1, Double.NaN, 0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new VoxelGrid(1 << 16, 1 << 16, 1 << 16, 0, 0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> RunLengthVoxelGrid.of(null));
+    }
+
+    @Test
+    void testOutOfRange() {
+        VoxelGrid grid = new VoxelGrid(10, 2, 2, 0, 0, 0, 1);
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.get(10, 0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.set(0, 2, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.fillRow(0, 0, 3, 11));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.fillRow(0, 0, 4, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.compress().get(0, 0, -1));
+    }
+}
@@ -0,0 +1,52 @@
+package com.csc205.project2.voxel;
+
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeType;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures voxelizing one shape into a grid of {@code resolution} voxels
+ * along its longest side, and run-length encoding the result. A 1024³
+ * grid is 128 MiB, so allocating and zeroing it is part of what
+ * {@code voxelize} measures.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class VoxelizerBenchmark {
+
+    @Param({"SPHERE", "CYLINDER", "RECTANGULAR_PYRAMID"})
+    public ShapeType type;
+
+    @Param({"256", "1024"})
+    public int resolution;
+
+    private final Voxelizer voxelizer = new Voxelizer();
+    private Shape3D shape;
+    private VoxelGrid grid;
+
+    @Setup
+    public void setUp() {
+        shape = type.create(2.0, 3.0, 4.0, "Shape", "Red");
+        grid = voxelizer.voxelize(shape, resolution);
+    }
+
+    @Benchmark
+    public VoxelGrid voxelize() {
+        return voxelizer.voxelize(shape, resolution);
+    }
+
+    @Benchmark
+    public RunLengthVoxelGrid compress() {
+        return grid.compress();
+    }
+
+    @Benchmark
+    public double estimateVolume() {
+        return grid.estimateVolume();
+    }
+}
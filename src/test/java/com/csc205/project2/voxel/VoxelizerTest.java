@@ -0,0 +1,125 @@
+package com.csc205.project2.voxel;
+
+import com.csc205.project2.shapes.Cube;
+import com.csc205.project2.shapes.Cylinder;
+import com.csc205.project2.shapes.RectangularPrism;
+import com.csc205.project2.shapes.RectangularPyramid;
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeType;
+import com.csc205.project2.shapes.Sphere;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoxelizerBasicFunctionalityTest {
+    @Test
+    void testGridGeometry() {
+        VoxelGrid grid = new Voxelizer().voxelize(new RectangularPrism(2.0, 5.0, 10.0), 20);
+        assertEquals(0.5, grid.getVoxelSize());
+        assertEquals(4, grid.getSizeX());
+        assertEquals(10, grid.getSizeY());
+        assertEquals(20, grid.getSizeZ());
+        assertEquals(-1.0, grid.getOriginX());
+        assertEquals(-5.0, grid.getOriginZ());
+        // Every voxel center of a grid that exactly tiles a box is inside it
+        assertEquals(4 * 10 * 20, grid.count());
+    }
+
+    @Test
+    void testCompressedSphereIsSmaller() {
+        VoxelGrid grid = new Voxelizer().voxelize(new Sphere(1.0), 256);
+        RunLengthVoxelGrid compressed = grid.compress();
+        assertEquals(grid.count(), compressed.count());
+        assertTrue(compressed.getRunCount() <= 256 * 256);
+        assertTrue(compressed.estimatedSizeInBytes() < grid.estimatedSizeInBytes() / 2);
+    }
+}
+
+class VoxelizerCalculationAccuracyTest {
+    @Test
+    void testMatchesContains() {
+        SplittableRandom random = new SplittableRandom(25);
+        Voxelizer voxelizer = new Voxelizer();
+        for (ShapeType type : ShapeType.values()) {
+            for (int trial = 0; trial < 5; trial++) {
+                Shape3D shape = type.create(random.nextDouble(0.5, 5), random.nextDouble(0.5, 5),
+                        random.nextDouble(0.5, 5), "Shape", "Red");
+                VoxelGrid grid = voxelizer.voxelize(shape, random.nextInt(1, 50));
+                double size = grid.getVoxelSize();
+                for (int z = 0; z < grid.getSizeZ(); z++) {
+                    for (int y = 0; y < grid.getSizeY(); y++) {
+                        for (int x = 0; x < grid.getSizeX(); x++) {
+                            boolean inside = shape.contains(
+                                    grid.getOriginX() + (x + 0.5) * size,
+                                    grid.getOriginY() + (y + 0.5) * size,
+                                    grid.getOriginZ() + (z + 0.5) * size);
+                            assertEquals(inside, grid.get(x, y, z), type + " voxel " + x + ", " + y + ", " + z);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testVolumeEstimatesConverge() {
+        List<Shape3D> shapes = List.of(
+                new Sphere(5.0),
+                new Cube(4.0),
+                new Cylinder(3.0, 7.0),
+                new RectangularPrism(2.0, 5.0, 6.0),
+                new RectangularPyramid(4.0, 6.0, 9.0));
+        Voxelizer voxelizer = new Voxelizer();
+        for (Shape3D shape : shapes) {
+            double volume = shape.getVolume();
+            for (int resolution : new int[] {32, 256}) {
+                VoxelGrid grid = voxelizer.voxelize(shape, resolution);
+                // Center sampling misclassifies at most a voxel's depth of the surface
+                double bound = shape.getSurfaceArea() * grid.getVoxelSize();
+                assertEquals(volume, grid.estimateVolume(), bound, shape + " at " + resolution);
+            }
+            double error = Math.abs(voxelizer.voxelize(shape, 256).estimateVolume() - volume) / volume;
+            assertTrue(error < 0.02, shape + ": " + error);
+        }
+    }
+}
+
+class VoxelizerConcurrencyTest {
+    @Test
+    void testParallelMatchesSingleThread() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        try {
+            for (ShapeType type : ShapeType.values()) {
+                Shape3D shape = type.create(2.0, 3.0, 4.0, "Shape", "Red");
+                RunLengthVoxelGrid expected = new Voxelizer(single).voxelize(shape, 200).compress();
+                VoxelGrid actual = new Voxelizer(many).voxelize(shape, 200);
+                assertEquals(expected.count(), actual.count());
+                assertEquals(expected.getRunCount(), actual.compress().getRunCount());
+                for (int z = 0; z < actual.getSizeZ(); z += 7) {
+                    for (int y = 0; y < actual.getSizeY(); y += 3) {
+                        for (int x = 0; x < actual.getSizeX(); x++) {
+                            assertEquals(expected.get(x, y, z), actual.get(x, y, z));
+                        }
+                    }
+                }
+            }
+        } finally {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+}
+
+class VoxelizerInputValidationTest {
+    @Test
+    void testInvalidArguments() {
+        Voxelizer voxelizer = new Voxelizer();
+        assertThrows(IllegalArgumentException.class, () -> new Voxelizer(null));
+        assertThrows(IllegalArgumentException.class, () -> voxelizer.voxelize(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> voxelizer.voxelize(new Cube(1.0), 0));
+        assertThrows(IllegalArgumentException.class, () -> voxelizer.voxelize(new Cube(1.0), 1 << 16));
+    }
+}
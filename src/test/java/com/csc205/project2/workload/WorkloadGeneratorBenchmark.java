@@ -0,0 +1,56 @@
+package com.csc205.project2.workload;
+
+import com.csc205.project2.shapes.ShapeStore;
+import com.csc205.project2.shapes.ShapeType;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of generating one block of shapes as objects and into
+ * a reused {@link ShapeStore}, for each dimension distribution.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkloadGeneratorBenchmark {
+
+    @Param({"uniform", "logNormal", "zipf"})
+    public String distribution;
+
+    private WorkloadGenerator generator;
+    private ShapeStore store;
+    private long block;
+
+    @Setup
+    public void setUp() {
+        DimensionDistribution dims = switch (distribution) {
+            case "uniform" -> DimensionDistribution.uniform(1.0, 10.0);
+            case "logNormal" -> DimensionDistribution.logNormal(3.0, 0.5);
+            default -> DimensionDistribution.zipf(1_000_000, 1.1, 1.0, 10.0);
+        };
+        Map<ShapeType, Double> mix = new EnumMap<>(ShapeType.class);
+        for (ShapeType type : ShapeType.values()) {
+            mix.put(type, 1.0);
+        }
+        generator = new WorkloadGenerator(42, mix, dims, 1000, 8);
+        store = new ShapeStore(WorkloadGenerator.BLOCK_SIZE);
+    }
+
+    @Benchmark
+    public void objects(Blackhole blackhole) {
+        generator.shapes(WorkloadGenerator.BLOCK_SIZE).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public ShapeStore store() {
+        store.clear();
+        generator.generateBlock(block++ & 1023, WorkloadGenerator.BLOCK_SIZE, store);
+        return store;
+    }
+}
@@ -0,0 +1,221 @@
+package com.csc205.project2.workload;
+
+import com.csc205.project2.shapes.Shape3D;
+import com.csc205.project2.shapes.ShapeStore;
+import com.csc205.project2.shapes.ShapeType;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadGeneratorBasicFunctionalityTest {
+    @Test
+    void testShapesMatchBlocks() {
+        WorkloadGenerator generator = new WorkloadGenerator(42);
+        int count = 3 * WorkloadGenerator.BLOCK_SIZE + 100;
+        List<Shape3D> shapes = generator.shapes(count).toList();
+        assertEquals(count, shapes.size());
+
+        ShapeStore store = new ShapeStore();
+        for (long block = 0; block < 4; block++) {
+            generator.generateBlock(block, (int) Math.min(WorkloadGenerator.BLOCK_SIZE,
+                    count - block * WorkloadGenerator.BLOCK_SIZE), store);
+        }
+        assertEquals(count, store.size());
+        for (int id = 0; id < count; id++) {
+            Shape3D expected = shapes.get(id);
+            Shape3D actual = store.toShape(id);
+            assertEquals(expected.getClass(), actual.getClass());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getColor(), actual.getColor());
+            assertEquals(expected.getVolume(), actual.getVolume(), 0.0);
+        }
+    }
+
+    @Test
+    void testBatchesSplitIntoBlocks() {
+        WorkloadGenerator generator = new WorkloadGenerator(7);
+        List<ShapeStore> batches = generator.batches(2 * WorkloadGenerator.BLOCK_SIZE + 1).toList();
+        assertEquals(3, batches.size());
+        assertEquals(WorkloadGenerator.BLOCK_SIZE, batches.get(0).size());
+        assertEquals(1, batches.get(2).size());
+        assertEquals(0, generator.batches(0).count());
+
+        ShapeStore floats = generator.batches(10, ShapeStore.Precision.FLOAT).findFirst().orElseThrow();
+        assertEquals(ShapeStore.Precision.FLOAT, floats.getPrecision());
+        assertEquals(batches.get(0).getName(9), floats.getName(9));
+    }
+
+    @Test
+    void testSeedsDiffer() {
+        List<Double> a = new WorkloadGenerator(1).shapes(100).map(Shape3D::getVolume).toList();
+        List<Double> b = new WorkloadGenerator(2).shapes(100).map(Shape3D::getVolume).toList();
+        List<Double> c = new WorkloadGenerator(1).shapes(100).map(Shape3D::getVolume).toList();
+        assertNotEquals(a, b);
+        assertEquals(a, c);
+    }
+
+    @Test
+    void testBlocksAreNotShiftedCopies() {
+        WorkloadGenerator generator = new WorkloadGenerator(3);
+        ShapeStore first = new ShapeStore();
+        ShapeStore second = new ShapeStore();
+        generator.generateBlock(0, 100, first);
+        generator.generateBlock(1, 100, second);
+        Set<Double> dimensions = new HashSet<>();
+        for (int id = 0; id < 100; id++) {
+            dimensions.add(first.getDimension(id, 0));
+        }
+        for (int id = 0; id < 100; id++) {
+            assertFalse(dimensions.contains(second.getDimension(id, 0)));
+        }
+    }
+}
+
+class WorkloadGeneratorConcurrencyTest {
+    @Test
+    void testParallelStreamIsReproducible() {
+        WorkloadGenerator generator = new WorkloadGenerator(99);
+        long count = 20L * WorkloadGenerator.BLOCK_SIZE + 17;
+        List<String> sequential = generator.shapes(count).map(Shape3D::toString).toList();
+        List<String> parallel = generator.shapes(count).parallel().map(Shape3D::toString).toList();
+        assertEquals(sequential, parallel);
+
+        List<String> batched = new ArrayList<>();
+        generator.batches(count).parallel().forEachOrdered(store -> {
+            for (int id = 0; id < store.size(); id++) {
+                batched.add(store.toShape(id).toString());
+            }
+        });
+        assertEquals(sequential, batched);
+    }
+}
+
+class WorkloadGeneratorCalculationAccuracyTest {
+    @Test
+    void testTypeMixProportions() {
+        Map<ShapeType, Double> mix = new EnumMap<>(ShapeType.class);
+        mix.put(ShapeType.SPHERE, 1.0);
+        mix.put(ShapeType.CUBE, 3.0);
+        mix.put(ShapeType.RECTANGULAR_PYRAMID, 0.0);
+        WorkloadGenerator generator = new WorkloadGenerator(5, mix, DimensionDistribution.uniform(1, 2), 10, 3);
+        int count = 100_000;
+        Map<String, Long> byClass = generator.shapes(count)
+                .collect(Collectors.groupingBy(s -> s.getClass().getSimpleName(), Collectors.counting()));
+        assertEquals(Set.of("Sphere", "Cube"), byClass.keySet());
+        assertEquals(0.25, byClass.get("Sphere") / (double) count, 0.01);
+    }
+
+    @Test
+    void testNameAndColorCardinality() {
+        WorkloadGenerator generator = new WorkloadGenerator(5, Map.of(ShapeType.CUBE, 1.0),
+                DimensionDistribution.uniform(1, 2), 50, 4);
+        Set<String> names = new HashSet<>();
+        Set<String> colors = new HashSet<>();
+        generator.shapes(10_000).forEach(shape -> {
+            names.add(shape.getName());
+            colors.add(shape.getColor());
+        });
+        assertEquals(50, names.size());
+        assertEquals(4, colors.size());
+    }
+
+    @Test
+    void testUniformBounds() {
+        DimensionDistribution uniform = DimensionDistribution.uniform(2.0, 3.0);
+        SplittableRandom random = new SplittableRandom(1);
+        double sum = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double x = uniform.sample(random);
+            assertTrue(x >= 2.0 && x < 3.0);
+            sum += x;
+        }
+        assertEquals(2.5, sum / 100_000, 0.01);
+    }
+
+    @Test
+    void testLogNormalMedian() {
+        DimensionDistribution logNormal = DimensionDistribution.logNormal(4.0, 1.0);
+        SplittableRandom random = new SplittableRandom(2);
+        int below = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double x = logNormal.sample(random);
+            assertTrue(x > 0);
+            if (x < 4.0) {
+                below++;
+            }
+        }
+        assertEquals(0.5, below / 100_000.0, 0.01);
+    }
+
+    @Test
+    void testZipfSkew() {
+        for (double exponent : new double[]{0.5, 1.0, 1.5}) {
+            DimensionDistribution.Zipf zipf = new DimensionDistribution.Zipf(1000, exponent, 1.0, 10.0);
+            SplittableRandom random = new SplittableRandom(3);
+            long[] counts = new long[1001];
+            for (int i = 0; i < 200_000; i++) {
+                long rank = zipf.sampleRank(random);
+                assertTrue(rank >= 1 && rank <= 1000);
+                counts[(int) rank]++;
+            }
+            assertEquals(Math.pow(2, exponent), counts[1] / (double) counts[2], 0.1 * Math.pow(2, exponent));
+            assertTrue(counts[1] > counts[10]);
+        }
+        DimensionDistribution zipf = DimensionDistribution.zipf(10, 1.2, 1.0, 10.0);
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < 1000; i++) {
+            double x = zipf.sample(random);
+            assertTrue(x >= 1.0 && x <= 10.0);
+            assertEquals(Math.rint(x), x, 1e-9);
+        }
+        assertEquals(5.0, DimensionDistribution.zipf(1, 2.0, 5.0, 9.0).sample(random));
+    }
+}
+
+class WorkloadGeneratorInputValidationTest {
+    @Test
+    void testInvalidGenerators() {
+        DimensionDistribution dims = DimensionDistribution.uniform(1, 2);
+        Map<ShapeType, Double> mix = Map.of(ShapeType.SPHERE, 1.0);
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadGenerator(0, null, dims, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadGenerator(0, mix, null, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadGenerator(0, mix, dims, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadGenerator(0, mix, dims, 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkloadGenerator(0, Map.of(ShapeType.SPHERE, 0.0), dims, 1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkloadGenerator(0, Map.of(ShapeType.SPHERE, -1.0), dims, 1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkloadGenerator(0, Map.of(ShapeType.SPHERE, Double.NaN), dims, 1, 1));
+    }
+
+    @Test
+    void testInvalidCalls() {
+        WorkloadGenerator generator = new WorkloadGenerator(0);
+        assertThrows(IllegalArgumentException.class, () -> generator.shapes(-1));
+        assertThrows(IllegalArgumentException.class, () -> generator.batches(-1));
+        assertThrows(IllegalArgumentException.class, () -> generator.batches(1, null));
+        assertThrows(IllegalArgumentException.class, () -> generator.generateBlock(-1, 1, new ShapeStore()));
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.generateBlock(0, WorkloadGenerator.BLOCK_SIZE + 1, new ShapeStore()));
+        assertThrows(IllegalArgumentException.class, () -> generator.generateBlock(0, 1, null));
+    }
+
+    @Test
+    void testInvalidDistributions() {
+        assertThrows(IllegalArgumentException.class, () -> DimensionDistribution.uniform(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> DimensionDistribution.uniform(2, 2));
+        assertThrows(IllegalArgumentException.class, () -> DimensionDistribution.logNormal(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> DimensionDistribution.logNormal(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> DimensionDistribution.zipf(0, 1, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> DimensionDistribution.zipf(10, 0, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> DimensionDistribution.zipf(10, 1, 2, 1));
+    }
+}